@@ -0,0 +1,978 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.apache.connector;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.OutboundMessageContext;
+import org.glassfish.jersey.message.internal.Statuses;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.AuthenticationException;
+import org.apache.http.auth.ChallengeState;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.RedirectException;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.protocol.RequestAddCookies;
+import org.apache.http.client.protocol.ResponseProcessCookies;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.Lookup;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.apache.http.cookie.CookieSpecProvider;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CookieSpecRegistries;
+import org.apache.http.impl.nio.DefaultHttpClientIODispatch;
+import org.apache.http.impl.nio.pool.BasicNIOConnFactory;
+import org.apache.http.impl.nio.pool.BasicNIOConnPool;
+import org.apache.http.impl.nio.pool.BasicNIOPoolEntry;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.message.BasicHttpEntityEnclosingRequest;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.NHttpClientConnection;
+import org.apache.http.nio.entity.ContentOutputStream;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.nio.protocol.BasicAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncRequestExecutor;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncRequester;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.apache.http.nio.reactor.IOSession;
+import org.apache.http.nio.reactor.ssl.SSLSetupHandler;
+import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.nio.util.SharedOutputBuffer;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpProcessorBuilder;
+import org.apache.http.protocol.RequestConnControl;
+import org.apache.http.protocol.RequestContent;
+import org.apache.http.protocol.RequestTargetHost;
+import org.apache.http.util.VersionInfo;
+
+/**
+ * A non-blocking {@link Connector} that utilizes the I/O reactor of the Apache HTTP Core NIO to send and receive
+ * HTTP requests and responses.
+ * <p/>
+ * Requests are executed over connections leased from a pool shared by all the requests of the connector. No thread is
+ * blocked while a request waits for a connection or for a response: the I/O reactor threads transfer the data and the
+ * {@link AsyncConnectorCallback callback} is notified as soon as the response headers are received. The response entity
+ * is streamed, the connection is returned to the pool once the entity has been fully read (or closed). As the Jersey
+ * runtime reads response entities and writes streamed request entities using blocking streams, these tasks (including the
+ * callback notifications) are executed by the connector's executor service and never on the I/O reactor threads.
+ * <p/>
+ * The following properties are only supported at construction of this class:
+ * <ul>
+ * <li>{@link ApacheClientProperties#REQUEST_CONFIG} - connect, socket and connection request timeouts, redirects and
+ * cookie specification</li>
+ * <li>{@link ApacheClientProperties#CREDENTIALS_PROVIDER} - only the basic authentication scheme is supported</li>
+ * <li>{@link ApacheClientProperties#DISABLE_COOKIES}</li>
+ * <li>{@link ApacheClientProperties#PREEMPTIVE_BASIC_AUTHENTICATION}</li>
+ * <li>{@link ApacheClientProperties#MAX_CONNECTIONS}</li>
+ * <li>{@link ApacheClientProperties#MAX_CONNECTIONS_PER_ROUTE}</li>
+ * <li>{@link ClientProperties#PROXY_URI} - only plain HTTP requests can be sent through the proxy, {@code CONNECT}
+ * tunnelling is not supported and {@code https} requests fail with a {@link ProcessingException}</li>
+ * <li>{@link ClientProperties#PROXY_USERNAME}</li>
+ * <li>{@link ClientProperties#PROXY_PASSWORD}</li>
+ * <li>{@link ClientProperties#ASYNC_THREADPOOL_SIZE}</li>
+ * <li>{@link ClientProperties#CHUNKED_ENCODING_SIZE}</li>
+ * </ul>
+ * <p/>
+ * The following properties are resolved per request:
+ * <ul>
+ * <li>{@link ClientProperties#CONNECT_TIMEOUT}</li>
+ * <li>{@link ClientProperties#READ_TIMEOUT}</li>
+ * <li>{@link ClientProperties#FOLLOW_REDIRECTS}</li>
+ * <li>{@link ClientProperties#REQUEST_ENTITY_PROCESSING} - default value is {@link RequestEntityProcessing#CHUNKED}</li>
+ * </ul>
+ * <p/>
+ * As with the {@link ApacheConnector}, a request can be sent again in response to a 401 (or followed to a redirect
+ * location) only if its entity is buffered or if it has no entity.
+ *
+ * @see ApacheAsyncConnectorProvider
+ */
+class ApacheAsyncConnector implements Connector {
+
+    private static final Logger LOGGER = Logger.getLogger(ApacheAsyncConnector.class.getName());
+
+    private static final String RELEASE;
+
+    static {
+        final VersionInfo vi = VersionInfo.loadVersionInfo("org.apache.http.nio", HttpAsyncRequester.class.getClassLoader());
+        RELEASE = (vi != null) ? vi.getRelease() : VersionInfo.UNAVAILABLE;
+    }
+
+    private final DefaultConnectingIOReactor ioReactor;
+    private final BasicNIOConnPool pool;
+    private final HttpAsyncRequester requester;
+    private final ExecutorService executorService;
+
+    private final RequestConfig requestConfig;
+    private final CookieStore cookieStore;
+    private final Lookup<CookieSpecProvider> cookieSpecRegistry;
+    private final CredentialsProvider credentialsProvider;
+    private final boolean preemptiveBasicAuth;
+    private final HttpHost proxy;
+    private final Header proxyAuthorization;
+    private final int chunkSize;
+
+    /**
+     * Create the new asynchronous Apache HTTP Core NIO connector.
+     *
+     * @param client JAX-RS client instance for which the connector is being created.
+     * @param config client configuration.
+     */
+    ApacheAsyncConnector(final Client client, final Configuration config) {
+        final Map<String, Object> properties = config.getProperties();
+
+        Object reqConfig = properties.get(ApacheClientProperties.REQUEST_CONFIG);
+        if (reqConfig != null && !(reqConfig instanceof RequestConfig)) {
+            LOGGER.log(
+                    Level.WARNING,
+                    LocalizationMessages.IGNORING_VALUE_OF_PROPERTY(
+                            ApacheClientProperties.REQUEST_CONFIG,
+                            reqConfig.getClass().getName(),
+                            RequestConfig.class.getName())
+            );
+            reqConfig = null;
+        }
+        final RequestConfig.Builder requestConfigBuilder = reqConfig != null
+                ? RequestConfig.copy((RequestConfig) reqConfig) : RequestConfig.custom();
+        if (PropertiesHelper.isProperty(properties, ApacheClientProperties.DISABLE_COOKIES)) {
+            requestConfigBuilder.setCookieSpec(CookieSpecs.IGNORE_COOKIES);
+        }
+        this.requestConfig = requestConfigBuilder.build();
+
+        if (!CookieSpecs.IGNORE_COOKIES.equals(requestConfig.getCookieSpec())) {
+            this.cookieStore = new BasicCookieStore();
+            this.cookieSpecRegistry = CookieSpecRegistries.createDefault();
+        } else {
+            this.cookieStore = null;
+            this.cookieSpecRegistry = null;
+        }
+
+        final Object credentials = properties.get(ApacheClientProperties.CREDENTIALS_PROVIDER);
+        this.credentialsProvider = credentials instanceof CredentialsProvider ? (CredentialsProvider) credentials : null;
+        this.preemptiveBasicAuth = PropertiesHelper.isProperty(properties,
+                ApacheClientProperties.PREEMPTIVE_BASIC_AUTHENTICATION);
+
+        final Object proxyUri = properties.get(ClientProperties.PROXY_URI);
+        if (proxyUri != null) {
+            final URI u = getProxyUri(proxyUri);
+            this.proxy = new HttpHost(u.getHost(), u.getPort() == -1 ? 8080 : u.getPort(), u.getScheme());
+
+            final String userName = ClientProperties.getValue(properties, ClientProperties.PROXY_USERNAME, String.class);
+            final String password = ClientProperties.getValue(properties, ClientProperties.PROXY_PASSWORD, String.class);
+            this.proxyAuthorization = userName != null && password != null
+                    ? BasicScheme.authenticate(new UsernamePasswordCredentials(userName, password), "ISO-8859-1", true) : null;
+        } else {
+            this.proxy = null;
+            this.proxyAuthorization = null;
+        }
+
+        this.chunkSize = ClientProperties.getValue(properties,
+                ClientProperties.CHUNKED_ENCODING_SIZE, ClientProperties.DEFAULT_CHUNK_SIZE, Integer.class);
+
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("jersey-apache-async-connector-%d")
+                .setDaemon(true)
+                .build();
+        final Object threadPoolSize = properties.get(ClientProperties.ASYNC_THREADPOOL_SIZE);
+        if (threadPoolSize instanceof Integer && (Integer) threadPoolSize > 0) {
+            this.executorService = Executors.newFixedThreadPool((Integer) threadPoolSize, threadFactory);
+        } else {
+            this.executorService = Executors.newCachedThreadPool(threadFactory);
+        }
+
+        try {
+            this.ioReactor = new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT, new ThreadFactoryBuilder()
+                    .setNameFormat("jersey-apache-async-connector-io-%d")
+                    .setDaemon(true)
+                    .build());
+        } catch (final IOException e) {
+            executorService.shutdown();
+            throw new ProcessingException(LocalizationMessages.FAILED_TO_START_CLIENT(), e);
+        }
+
+        final SSLContext sslContext = client.getSslContext();
+        final HostnameVerifier hostnameVerifier = client.getHostnameVerifier() != null
+                ? client.getHostnameVerifier() : new DefaultHostnameVerifier();
+
+        final BasicNIOConnFactory connFactory = new BasicNIOConnFactory(sslContext,
+                new HostnameVerifyingSetupHandler(hostnameVerifier), ConnectionConfig.DEFAULT);
+        this.pool = new BasicNIOConnPool(ioReactor, connFactory, 0);
+        pool.setMaxTotal(ClientProperties.getValue(properties, ApacheClientProperties.MAX_CONNECTIONS,
+                ApacheClientProperties.DEFAULT_MAX_CONNECTIONS, Integer.class));
+        pool.setDefaultMaxPerRoute(ClientProperties.getValue(properties, ApacheClientProperties.MAX_CONNECTIONS_PER_ROUTE,
+                ApacheClientProperties.DEFAULT_MAX_CONNECTIONS_PER_ROUTE, Integer.class));
+
+        final HttpProcessorBuilder processorBuilder = HttpProcessorBuilder.create()
+                .add(new RequestContent())
+                .add(new RequestTargetHost())
+                .add(new RequestConnControl());
+        if (cookieStore != null) {
+            processorBuilder.add(new RequestAddCookies()).add(new ResponseProcessCookies());
+        }
+        final HttpProcessor httpProcessor = processorBuilder.build();
+        this.requester = new HttpAsyncRequester(httpProcessor, DefaultConnectionReuseStrategy.INSTANCE);
+
+        final DefaultHttpClientIODispatch dispatch = new DefaultHttpClientIODispatch(new HttpAsyncRequestExecutor(),
+                ConnectionConfig.DEFAULT);
+        final Thread reactorThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ioReactor.execute(dispatch);
+                } catch (final IOException e) {
+                    LOGGER.log(Level.SEVERE, LocalizationMessages.IO_REACTOR_TERMINATED(), e);
+                }
+            }
+        }, "jersey-apache-async-connector-reactor");
+        reactorThread.setDaemon(true);
+        reactorThread.start();
+    }
+
+    /**
+     * Get the {@link CookieStore}.
+     *
+     * @return the {@link CookieStore} instance or {@code null} when {@value ApacheClientProperties#DISABLE_COOKIES} set to
+     * {@code true}.
+     */
+    CookieStore getCookieStore() {
+        return cookieStore;
+    }
+
+    private static URI getProxyUri(final Object proxy) {
+        if (proxy instanceof URI) {
+            return (URI) proxy;
+        } else if (proxy instanceof String) {
+            return URI.create((String) proxy);
+        } else {
+            throw new ProcessingException(LocalizationMessages.WRONG_PROXY_URI_TYPE(ClientProperties.PROXY_URI));
+        }
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) throws ProcessingException {
+        final Exchange exchange = new Exchange(request, null);
+        exchange.start();
+        try {
+            return exchange.future.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof ProcessingException) {
+                throw (ProcessingException) cause;
+            }
+            throw new ProcessingException(cause);
+        } catch (final InterruptedException e) {
+            exchange.future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final Exchange exchange = new Exchange(request, callback);
+        exchange.start();
+        return exchange.future;
+    }
+
+    @Override
+    public String getName() {
+        return "Apache HttpCore NIO " + RELEASE;
+    }
+
+    @Override
+    public void close() {
+        try {
+            // shuts down the I/O reactor as well
+            pool.shutdown(1000);
+        } catch (final IOException e) {
+            throw new ProcessingException(LocalizationMessages.FAILED_TO_STOP_CLIENT(), e);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static HttpHost getTarget(final URI uri) {
+        final String scheme = uri.getScheme();
+        final int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(scheme) ? 443 : 80;
+        return new HttpHost(uri.getHost(), port, scheme);
+    }
+
+    private static String getRequestTarget(final URI uri, final boolean absolute) {
+        final StringBuilder sb = new StringBuilder();
+        if (absolute) {
+            sb.append(uri.getScheme()).append("://").append(uri.getRawAuthority());
+        }
+        final String path = uri.getRawPath();
+        sb.append(path == null || path.isEmpty() ? "/" : path);
+        if (uri.getRawQuery() != null) {
+            sb.append('?').append(uri.getRawQuery());
+        }
+        return sb.toString();
+    }
+
+    private static boolean canResponseHaveBody(final String method, final int status) {
+        return !"HEAD".equalsIgnoreCase(method)
+                && status >= HttpStatus.SC_OK
+                && status != HttpStatus.SC_NO_CONTENT
+                && status != HttpStatus.SC_NOT_MODIFIED
+                && status != HttpStatus.SC_RESET_CONTENT;
+    }
+
+    /**
+     * Processing of a single Jersey request which may consist of several HTTP exchanges if redirects are followed or
+     * if the request is authenticated in response to a 401.
+     */
+    private final class Exchange {
+
+        private final ClientRequest request;
+        private final AsyncConnectorCallback callback;
+        private final CompletableFuture<ClientResponse> future = new CompletableFuture<>();
+
+        private final int connectTimeout;
+        private final int socketTimeout;
+        private final boolean redirectsEnabled;
+        private final boolean bufferingEnabled;
+
+        private Map<String, String> headers;
+        private byte[] bufferedEntity;
+        private int redirects;
+        private boolean authenticated;
+
+        private volatile Future<BasicNIOPoolEntry> lease;
+        private volatile NHttpClientConnection connection;
+
+        private Exchange(final ClientRequest request, final AsyncConnectorCallback callback) {
+            this.request = request;
+            this.callback = callback;
+
+            final int connectTimeout = request.resolveProperty(ClientProperties.CONNECT_TIMEOUT, -1);
+            this.connectTimeout = connectTimeout >= 0 ? connectTimeout : Math.max(requestConfig.getConnectTimeout(), 0);
+            final int socketTimeout = request.resolveProperty(ClientProperties.READ_TIMEOUT, -1);
+            this.socketTimeout = socketTimeout >= 0 ? socketTimeout : Math.max(requestConfig.getSocketTimeout(), 0);
+            this.redirectsEnabled = request.resolveProperty(ClientProperties.FOLLOW_REDIRECTS,
+                    requestConfig.isRedirectsEnabled());
+            this.bufferingEnabled = request.resolveProperty(ClientProperties.REQUEST_ENTITY_PROCESSING,
+                    RequestEntityProcessing.class) == RequestEntityProcessing.BUFFERED;
+
+            // a failed or cancelled request must not leave its connection in the pool
+            future.whenComplete((response, failure) -> {
+                if (failure != null) {
+                    abort();
+                }
+            });
+        }
+
+        private void start() {
+            try {
+                if (request.hasEntity() && bufferingEnabled) {
+                    final ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+                    request.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+                        @Override
+                        public OutputStream getOutputStream(final int contentLength) throws IOException {
+                            return buffer;
+                        }
+                    });
+                    request.writeEntity();
+                    bufferedEntity = buffer.toByteArray();
+                }
+                headers = HeaderUtils.asStringHeadersSingleValue(request.getHeaders());
+                send(request.getUri(), request.getMethod(), request.hasEntity());
+            } catch (final Throwable t) {
+                fail(t);
+            }
+        }
+
+        private boolean isRepeatable() {
+            return !request.hasEntity() || bufferedEntity != null;
+        }
+
+        private void send(final URI uri, final String method, final boolean withEntity) {
+            final HttpHost target = getTarget(uri);
+            final boolean secure = "https".equalsIgnoreCase(target.getSchemeName());
+            if (proxy != null && secure) {
+                throw new ProcessingException(LocalizationMessages.HTTPS_PROXY_NOT_SUPPORTED(proxy.toURI()));
+            }
+
+            final HttpRequest httpRequest = createRequest(uri, method, withEntity);
+            final HttpAsyncRequestProducer producer = withEntity && bufferedEntity == null
+                    ? new StreamingRequestProducer(target, (HttpEntityEnclosingRequest) httpRequest)
+                    : new BasicAsyncRequestProducer(target, httpRequest);
+            final ResponseConsumer consumer = new ResponseConsumer(uri, method);
+
+            final HttpClientContext context = HttpClientContext.create();
+            context.setAttribute(HttpCoreContext.HTTP_TARGET_HOST, target);
+            context.setAttribute(HttpClientContext.HTTP_ROUTE, proxy != null
+                    ? new HttpRoute(target, proxy) : new HttpRoute(target, null, secure));
+            context.setRequestConfig(requestConfig);
+            if (cookieStore != null) {
+                context.setCookieStore(cookieStore);
+                context.setCookieSpecRegistry(cookieSpecRegistry);
+            }
+
+            lease = pool.lease(proxy != null ? proxy : target, null, connectTimeout,
+                    Math.max(requestConfig.getConnectionRequestTimeout(), 0), TimeUnit.MILLISECONDS,
+                    new FutureCallback<BasicNIOPoolEntry>() {
+                        @Override
+                        public void completed(final BasicNIOPoolEntry entry) {
+                            if (future.isDone()) {
+                                pool.release(entry, true);
+                                return;
+                            }
+                            connection = entry.getConnection();
+                            connection.setSocketTimeout(socketTimeout);
+                            requester.execute(producer, consumer, entry, pool, context, new FutureCallback<Boolean>() {
+                                @Override
+                                public void completed(final Boolean result) {
+                                }
+
+                                @Override
+                                public void failed(final Exception ex) {
+                                    fail(ex);
+                                }
+
+                                @Override
+                                public void cancelled() {
+                                    fail(new CancellationException());
+                                }
+                            });
+                        }
+
+                        @Override
+                        public void failed(final Exception ex) {
+                            fail(ex);
+                        }
+
+                        @Override
+                        public void cancelled() {
+                            fail(new CancellationException());
+                        }
+                    });
+        }
+
+        private HttpRequest createRequest(final URI uri, final String method, final boolean withEntity) {
+            final String requestTarget = getRequestTarget(uri, proxy != null);
+            final HttpRequest httpRequest;
+            if (withEntity) {
+                final BasicHttpEntityEnclosingRequest entityRequest = new BasicHttpEntityEnclosingRequest(method, requestTarget);
+                if (bufferedEntity != null) {
+                    entityRequest.setEntity(new NByteArrayEntity(bufferedEntity));
+                } else {
+                    final BasicHttpEntity entity = new BasicHttpEntity();
+                    entity.setChunked(true);
+                    entity.setContentLength(-1);
+                    entityRequest.setEntity(entity);
+                }
+                httpRequest = entityRequest;
+            } else {
+                httpRequest = new BasicHttpRequest(method, requestTarget);
+            }
+
+            for (final Map.Entry<String, String> e : headers.entrySet()) {
+                httpRequest.addHeader(e.getKey(), e.getValue());
+            }
+            if (proxyAuthorization != null) {
+                httpRequest.addHeader(proxyAuthorization);
+            }
+            if ((preemptiveBasicAuth || authenticated) && !httpRequest.containsHeader(HttpHeaders.AUTHORIZATION)) {
+                final Header authorization = authenticate(getTarget(uri), httpRequest);
+                if (authorization != null) {
+                    httpRequest.addHeader(authorization);
+                }
+            }
+            return httpRequest;
+        }
+
+        private Credentials getCredentials(final HttpHost target) {
+            return credentialsProvider == null
+                    ? null : credentialsProvider.getCredentials(new AuthScope(target.getHostName(), target.getPort()));
+        }
+
+        private Header authenticate(final HttpHost target, final HttpRequest httpRequest) {
+            final Credentials credentials = getCredentials(target);
+            if (credentials == null) {
+                return null;
+            }
+            try {
+                return new BasicScheme(ChallengeState.TARGET).authenticate(credentials, httpRequest, null);
+            } catch (final AuthenticationException e) {
+                LOGGER.log(Level.FINE, e.getMessage(), e);
+                return null;
+            }
+        }
+
+        private void respond(final ClientResponse response) {
+            if (future.complete(response) && callback != null) {
+                executorService.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.response(response);
+                    }
+                });
+            }
+        }
+
+        private void fail(final Throwable failure) {
+            if (future.completeExceptionally(failure) && callback != null) {
+                try {
+                    executorService.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            callback.failure(failure);
+                        }
+                    });
+                } catch (final RuntimeException e) {
+                    // the connector has been closed
+                    callback.failure(failure);
+                }
+            }
+        }
+
+        private void abort() {
+            final Future<BasicNIOPoolEntry> lease = this.lease;
+            if (lease != null) {
+                lease.cancel(true);
+            }
+            final NHttpClientConnection connection = this.connection;
+            if (connection != null) {
+                try {
+                    connection.shutdown();
+                } catch (final IOException e) {
+                    LOGGER.log(Level.FINEST, e.getMessage(), e);
+                }
+            }
+        }
+
+        /**
+         * Produces a chunked request entity written by the Jersey runtime on a thread of the connector's executor service.
+         */
+        private final class StreamingRequestProducer implements HttpAsyncRequestProducer {
+
+            private final HttpHost target;
+            private final HttpEntityEnclosingRequest httpRequest;
+            private final SharedOutputBuffer buffer = new SharedOutputBuffer(chunkSize);
+
+            private StreamingRequestProducer(final HttpHost target, final HttpEntityEnclosingRequest httpRequest) {
+                this.target = target;
+                this.httpRequest = httpRequest;
+            }
+
+            @Override
+            public HttpHost getTarget() {
+                return target;
+            }
+
+            @Override
+            public HttpRequest generateRequest() throws IOException, HttpException {
+                executorService.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        writeEntity();
+                    }
+                });
+                return httpRequest;
+            }
+
+            private void writeEntity() {
+                final OutputStream out = new ContentOutputStream(buffer);
+                request.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+                    @Override
+                    public OutputStream getOutputStream(final int contentLength) throws IOException {
+                        return out;
+                    }
+                });
+                try {
+                    request.writeEntity();
+                    HeaderUtils.checkHeaderChanges(headers, request.getHeaders(), ApacheAsyncConnector.class.getName());
+                } catch (final IOException | RuntimeException e) {
+                    fail(e);
+                }
+            }
+
+            @Override
+            public void produceContent(final ContentEncoder encoder, final IOControl ioctrl) throws IOException {
+                buffer.produceContent(encoder, ioctrl);
+            }
+
+            @Override
+            public void requestCompleted(final HttpContext context) {
+            }
+
+            @Override
+            public void failed(final Exception ex) {
+                buffer.shutdown();
+            }
+
+            @Override
+            public boolean isRepeatable() {
+                return false;
+            }
+
+            @Override
+            public void resetRequest() throws IOException {
+                buffer.shutdown();
+            }
+
+            @Override
+            public void close() throws IOException {
+                buffer.shutdown();
+            }
+        }
+
+        /**
+         * Streams the response entity to the Jersey runtime or discards the response if the request is sent again.
+         */
+        private final class ResponseConsumer implements HttpAsyncResponseConsumer<Boolean> {
+
+            private final URI uri;
+            private final String method;
+
+            private volatile SharedInputBuffer buffer;
+            private volatile Exception exception;
+            private volatile boolean done;
+            private URI followUpUri;
+            private String followUpMethod;
+
+            private ResponseConsumer(final URI uri, final String method) {
+                this.uri = uri;
+                this.method = method;
+            }
+
+            @Override
+            public void responseReceived(final HttpResponse response) throws IOException, HttpException {
+                final int statusCode = response.getStatusLine().getStatusCode();
+
+                if (followUp(response, statusCode)) {
+                    return;
+                }
+
+                final String reasonPhrase = response.getStatusLine().getReasonPhrase();
+                final Response.StatusType status = reasonPhrase == null
+                        ? Statuses.from(statusCode) : Statuses.from(statusCode, reasonPhrase);
+                final ClientResponse responseContext = new ClientResponse(status, request);
+                if (!request.getUri().equals(uri)) {
+                    responseContext.setResolvedRequestUri(uri);
+                }
+
+                final MultivaluedMap<String, String> headers = responseContext.getHeaders();
+                for (final Header header : response.getAllHeaders()) {
+                    final String headerName = header.getName();
+                    List<String> list = headers.get(headerName);
+                    if (list == null) {
+                        list = new ArrayList<>();
+                    }
+                    list.add(header.getValue());
+                    headers.put(headerName, list);
+                }
+
+                if (response.getEntity() != null && canResponseHaveBody(method, statusCode)) {
+                    buffer = new SharedInputBuffer(ConnectionConfig.DEFAULT.getBufferSize() > 0
+                            ? ConnectionConfig.DEFAULT.getBufferSize() : 8 * 1024);
+                    responseContext.setEntityStream(new EntityInputStream(this, buffer));
+                } else {
+                    responseContext.setEntityStream(new ByteArrayInputStream(new byte[0]));
+                }
+                respond(responseContext);
+            }
+
+            private boolean followUp(final HttpResponse response, final int statusCode) throws IOException, HttpException {
+                if (redirectsEnabled && isRedirect(statusCode)) {
+                    final Header location = response.getFirstHeader("Location");
+                    if (location != null) {
+                        if (++redirects > requestConfig.getMaxRedirects()) {
+                            throw new RedirectException(
+                                    LocalizationMessages.MAXIMUM_REDIRECTS_EXCEEDED(requestConfig.getMaxRedirects()));
+                        }
+                        try {
+                            followUpUri = URIUtils.resolve(uri, new URI(location.getValue()));
+                        } catch (final URISyntaxException e) {
+                            throw new IOException(e);
+                        }
+                        followUpMethod = "HEAD".equalsIgnoreCase(method) ? "HEAD" : "GET";
+                        return true;
+                    }
+                }
+                if (statusCode == HttpStatus.SC_UNAUTHORIZED && !authenticated && isRepeatable()
+                        && !headers.containsKey(HttpHeaders.AUTHORIZATION) && isBasicChallenge(response)
+                        && getCredentials(getTarget(uri)) != null) {
+                    authenticated = true;
+                    followUpUri = uri;
+                    followUpMethod = method;
+                    return true;
+                }
+                return false;
+            }
+
+            private boolean isRedirect(final int statusCode) {
+                switch (statusCode) {
+                    case HttpStatus.SC_MOVED_PERMANENTLY:
+                    case HttpStatus.SC_MOVED_TEMPORARILY:
+                    case HttpStatus.SC_TEMPORARY_REDIRECT:
+                        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+                    case HttpStatus.SC_SEE_OTHER:
+                        return true;
+                    default:
+                        return false;
+                }
+            }
+
+            private boolean isBasicChallenge(final HttpResponse response) {
+                for (final Header challenge : response.getHeaders("WWW-Authenticate")) {
+                    if (challenge.getValue().regionMatches(true, 0, "Basic", 0, 5)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void consumeContent(final ContentDecoder decoder, final IOControl ioctrl) throws IOException {
+                final SharedInputBuffer buffer = this.buffer;
+                if (buffer != null) {
+                    buffer.consumeContent(decoder, ioctrl);
+                } else {
+                    // discard the entity of a response that is not passed to Jersey
+                    final ByteBuffer discard = ByteBuffer.allocate(1024);
+                    while (decoder.read(discard) > 0) {
+                        discard.clear();
+                    }
+                }
+            }
+
+            @Override
+            public void responseCompleted(final HttpContext context) {
+                done = true;
+                if (followUpUri != null) {
+                    try {
+                        final boolean sameMethod = followUpMethod.equals(method);
+                        send(followUpUri, followUpMethod, sameMethod && request.hasEntity());
+                    } catch (final Throwable t) {
+                        fail(t);
+                    }
+                }
+            }
+
+            @Override
+            public void failed(final Exception ex) {
+                exception = ex;
+                done = true;
+                final SharedInputBuffer buffer = this.buffer;
+                if (buffer != null) {
+                    buffer.shutdown();
+                }
+                fail(ex);
+            }
+
+            @Override
+            public Exception getException() {
+                return exception;
+            }
+
+            @Override
+            public Boolean getResult() {
+                return exception == null;
+            }
+
+            @Override
+            public boolean isDone() {
+                return done;
+            }
+
+            @Override
+            public boolean cancel() {
+                done = true;
+                final SharedInputBuffer buffer = this.buffer;
+                if (buffer != null) {
+                    buffer.shutdown();
+                }
+                return true;
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        }
+
+        /**
+         * Response entity stream. Closing the stream before the entity has been fully received closes the connection.
+         */
+        private final class EntityInputStream extends InputStream {
+
+            private final ResponseConsumer consumer;
+            private final SharedInputBuffer buffer;
+
+            private EntityInputStream(final ResponseConsumer consumer, final SharedInputBuffer buffer) {
+                this.consumer = consumer;
+                this.buffer = buffer;
+            }
+
+            @Override
+            public int read() throws IOException {
+                try {
+                    return buffer.read();
+                } catch (final InterruptedIOException e) {
+                    throw failure(e);
+                }
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                try {
+                    return buffer.read(b, off, len);
+                } catch (final InterruptedIOException e) {
+                    throw failure(e);
+                }
+            }
+
+            @Override
+            public int available() throws IOException {
+                return buffer.available();
+            }
+
+            private IOException failure(final InterruptedIOException e) {
+                final Exception cause = consumer.getException();
+                return cause == null ? e : cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!consumer.isDone()) {
+                    abort();
+                }
+                buffer.close();
+            }
+        }
+    }
+
+    /**
+     * Verifies the host name of the server the TLS connection has been established with.
+     */
+    private static final class HostnameVerifyingSetupHandler implements SSLSetupHandler {
+
+        private final HostnameVerifier hostnameVerifier;
+
+        private HostnameVerifyingSetupHandler(final HostnameVerifier hostnameVerifier) {
+            this.hostnameVerifier = hostnameVerifier;
+        }
+
+        @Override
+        public void initalize(final SSLEngine sslengine) throws SSLException {
+        }
+
+        @Override
+        public void verify(final IOSession iosession, final SSLSession sslsession) throws SSLException {
+            final String hostname = sslsession.getPeerHost();
+            if (!hostnameVerifier.verify(hostname, sslsession)) {
+                throw new SSLException(LocalizationMessages.HOST_NAME_NOT_VERIFIED(hostname));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.apache.connector;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configurable;
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.client.Initializable;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.apache.http.client.CookieStore;
+
+/**
+ * Connector provider for non-blocking Jersey {@link Connector connectors} that utilize the I/O reactor of
+ * Apache HTTP Core NIO to send and receive HTTP request and responses.
+ * <p>
+ * Unlike connectors created by {@link ApacheConnectorProvider}, the connectors do not block a thread for each asynchronous
+ * request being processed: connections are leased from a pool without blocking, request and response entities are
+ * streamed by the I/O reactor and the {@link org.glassfish.jersey.client.spi.AsyncConnectorCallback callback} is notified
+ * once the response headers are received.
+ * </p>
+ * <p>
+ * The following connector configuration properties are supported:
+ * <ul>
+ * <li>{@link ApacheClientProperties#MAX_CONNECTIONS}</li>
+ * <li>{@link ApacheClientProperties#MAX_CONNECTIONS_PER_ROUTE}</li>
+ * <li>{@link ApacheClientProperties#REQUEST_CONFIG}</li>
+ * <li>{@link ApacheClientProperties#CREDENTIALS_PROVIDER} - basic authentication</li>
+ * <li>{@link ApacheClientProperties#DISABLE_COOKIES}</li>
+ * <li>{@link ApacheClientProperties#PREEMPTIVE_BASIC_AUTHENTICATION}</li>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_URI} - HTTP requests only, see below</li>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_USERNAME}</li>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_PASSWORD}</li>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#ASYNC_THREADPOOL_SIZE}</li>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#CHUNKED_ENCODING_SIZE}</li>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#REQUEST_ENTITY_PROCESSING}
+ * - default value is {@link org.glassfish.jersey.client.RequestEntityProcessing#CHUNKED}</li>
+ * </ul>
+ * </p>
+ * <p>
+ * The connectors do not establish {@code CONNECT} tunnels. When a proxy is configured, requests to {@code https} URIs
+ * fail with a {@link javax.ws.rs.ProcessingException} before any connection is opened; use the
+ * {@link ApacheConnectorProvider} to send HTTPS requests through a proxy.
+ * </p>
+ * <p>
+ * As with the {@link ApacheConnectorProvider}, if a {@link org.glassfish.jersey.client.ClientResponse} is obtained and
+ * an entity is not read from the response then {@link org.glassfish.jersey.client.ClientResponse#close()} MUST be called
+ * after processing the response to release the pooled connection.
+ * </p>
+ *
+ * @since 3.0
+ */
+public class ApacheAsyncConnectorProvider implements ConnectorProvider {
+
+    @Override
+    public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+        return new ApacheAsyncConnector(client, runtimeConfig);
+    }
+
+    /**
+     * Retrieve the underlying Apache {@link CookieStore} instance from
+     * {@link org.glassfish.jersey.client.JerseyClient} or {@link org.glassfish.jersey.client.JerseyWebTarget}
+     * configured to use {@code ApacheAsyncConnectorProvider}.
+     *
+     * @param component {@code JerseyClient} or {@code JerseyWebTarget} instance that is configured to use
+     *                  {@code ApacheAsyncConnectorProvider}.
+     * @return underlying Apache {@code CookieStore} instance or {@code null} if cookies are disabled.
+     * @throws java.lang.IllegalArgumentException in case the {@code component} is neither {@code JerseyClient}
+     *                                            nor {@code JerseyWebTarget} instance or in case the component
+     *                                            is not configured to use a {@code ApacheAsyncConnectorProvider}.
+     */
+    public static CookieStore getCookieStore(final Configurable<?> component) {
+        if (!(component instanceof Initializable)) {
+            throw new IllegalArgumentException(
+                    LocalizationMessages.INVALID_CONFIGURABLE_COMPONENT_TYPE(component.getClass().getName()));
+        }
+
+        final Initializable<?> initializable = (Initializable<?>) component;
+        Connector connector = initializable.getConfiguration().getConnector();
+        if (connector == null) {
+            initializable.preInitialize();
+            connector = initializable.getConfiguration().getConnector();
+        }
+
+        if (connector instanceof ApacheAsyncConnector) {
+            return ((ApacheAsyncConnector) connector).getCookieStore();
+        } else {
+            throw new IllegalArgumentException(LocalizationMessages.EXPECTED_ASYNC_CONNECTOR_PROVIDER_NOT_USED());
+        }
+    }
+}
@@ -145,6 +145,51 @@ public final class ApacheClientProperties {
      */
     public static final String REQUEST_CONFIG = "jersey.config.apache.client.requestConfig";
 
+    /**
+     * The maximum number of pooled connections the {@link ApacheAsyncConnectorProvider asynchronous Apache connector}
+     * keeps open in total.
+     * <p/>
+     * The connection pool of the synchronous {@link ApacheConnectorProvider Apache connector} is configured by providing
+     * a custom {@link #CONNECTION_MANAGER connection manager} instead.
+     * <p/>
+     * The value MUST be an instance of {@link java.lang.Integer}.
+     * <p/>
+     * The default value is {@value #DEFAULT_MAX_CONNECTIONS}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 3.0
+     */
+    public static final String MAX_CONNECTIONS = "jersey.config.apache.client.maxConnections";
+
+    /**
+     * The default value of {@link #MAX_CONNECTIONS} property.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+    /**
+     * The maximum number of pooled connections the {@link ApacheAsyncConnectorProvider asynchronous Apache connector}
+     * keeps open to a single host.
+     * <p/>
+     * The value MUST be an instance of {@link java.lang.Integer}.
+     * <p/>
+     * The default value is {@value #DEFAULT_MAX_CONNECTIONS_PER_ROUTE}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 3.0
+     */
+    public static final String MAX_CONNECTIONS_PER_ROUTE = "jersey.config.apache.client.maxConnectionsPerRoute";
+
+    /**
+     * The default value of {@link #MAX_CONNECTIONS_PER_ROUTE} property.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 2;
+
     /**
      * Get the value of the specified property.
      *
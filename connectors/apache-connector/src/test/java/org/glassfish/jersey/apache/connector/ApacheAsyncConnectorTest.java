@@ -0,0 +1,285 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.apache.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.NewCookie;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link ApacheAsyncConnector}.
+ */
+public class ApacheAsyncConnectorTest extends JerseyTest {
+
+    private static final int SIZE = 200 * 1024;
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Path("hello")
+        public String hello(@QueryParam("id") final String id) {
+            return "hello" + (id == null ? "" : id);
+        }
+
+        @POST
+        @Path("count")
+        public String count(final InputStream in) throws IOException {
+            final byte[] buffer = new byte[4096];
+            long count = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                count += n;
+            }
+            return String.valueOf(count);
+        }
+
+        @GET
+        @Path("large")
+        public StreamingOutput large() {
+            return new StreamingOutput() {
+                @Override
+                public void write(final OutputStream output) throws IOException {
+                    final byte[] chunk = new byte[1024];
+                    for (int i = 0; i < SIZE / chunk.length; i++) {
+                        output.write(chunk);
+                        output.flush();
+                    }
+                }
+            };
+        }
+
+        @GET
+        @Path("redirect")
+        public Response redirect() {
+            return Response.seeOther(URI.create("hello")).build();
+        }
+
+        @GET
+        @Path("cookie")
+        public Response cookie(@CookieParam("name") final String value) {
+            return value == null
+                    ? Response.ok("set").cookie(new NewCookie("name", "value")).build()
+                    : Response.ok(value).build();
+        }
+
+        @GET
+        @Path("secured")
+        public Response secured(@HeaderParam(HttpHeaders.AUTHORIZATION) final String authorization) {
+            return authorization == null
+                    ? Response.status(401).header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"test\"").build()
+                    : Response.ok(authorization).build();
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(Resource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials("user", "password"));
+
+        config.property(ApacheClientProperties.CREDENTIALS_PROVIDER, credentialsProvider);
+        config.property(ApacheClientProperties.MAX_CONNECTIONS_PER_ROUTE, 10);
+        config.connectorProvider(new ApacheAsyncConnectorProvider());
+    }
+
+    @Test
+    public void testGet() {
+        final Response response = target("hello").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("hello", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testAsyncCallbacks() throws Exception {
+        final int count = 50;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final List<String> results = new ArrayList<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int i = 0; i < count; i++) {
+            target("hello").queryParam("id", i).request().async().get(new InvocationCallback<String>() {
+                @Override
+                public void completed(final String response) {
+                    synchronized (results) {
+                        results.add(response);
+                    }
+                    latch.countDown();
+                }
+
+                @Override
+                public void failed(final Throwable throwable) {
+                    failure.set(throwable);
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(null, failure.get());
+        assertEquals(count, results.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(results.contains("hello" + i));
+        }
+    }
+
+    @Test
+    public void testStreamedRequestEntity() throws Exception {
+        final StreamingOutput entity = new StreamingOutput() {
+            @Override
+            public void write(final OutputStream output) throws IOException {
+                final byte[] chunk = new byte[1000];
+                for (int i = 0; i < SIZE / chunk.length; i++) {
+                    output.write(chunk);
+                }
+            }
+        };
+        final int expected = SIZE / 1000 * 1000;
+
+        final Future<String> chunked = target("count").request().async()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+        assertEquals(String.valueOf(expected), chunked.get(10, TimeUnit.SECONDS));
+
+        final String buffered = target("count").property(ClientProperties.REQUEST_ENTITY_PROCESSING,
+                RequestEntityProcessing.BUFFERED).request()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+        assertEquals(String.valueOf(expected), buffered);
+    }
+
+    @Test
+    public void testStreamedResponseEntity() throws Exception {
+        final Response response = target("large").request().async().get().get(10, TimeUnit.SECONDS);
+        assertEquals(SIZE, response.readEntity(byte[].class).length);
+
+        // closing the unread response releases the connection
+        for (int i = 0; i < 20; i++) {
+            target("large").request().get().close();
+        }
+        assertEquals("hello", target("hello").request().get(String.class));
+    }
+
+    @Test
+    public void testRedirect() {
+        final Response response = target("redirect").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("hello", response.readEntity(String.class));
+
+        final Response notFollowed = target("redirect").property(ClientProperties.FOLLOW_REDIRECTS, false).request().get();
+        assertEquals(303, notFollowed.getStatus());
+        notFollowed.close();
+    }
+
+    @Test
+    public void testCookies() {
+        assertEquals("set", target("cookie").request().get(String.class));
+        assertEquals("value", target("cookie").request().get(String.class));
+        assertFalse(ApacheAsyncConnectorProvider.getCookieStore(client()).getCookies().isEmpty());
+    }
+
+    @Test
+    public void testBasicAuthentication() {
+        final Response response = target("secured").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("Basic dXNlcjpwYXNzd29yZA==", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testHttpsThroughProxyNotSupported() {
+        final ClientConfig config = new ClientConfig()
+                .property(ClientProperties.PROXY_URI, getBaseUri())
+                .connectorProvider(new ApacheAsyncConnectorProvider());
+        final Client client = ClientBuilder.newClient(config);
+        try {
+            client.target("https://localhost:" + getPort()).path("hello").request().get();
+            fail("HTTPS request sent through a proxy.");
+        } catch (final ProcessingException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(getBaseUri().getHost()));
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.connector;
+
+/**
+ * Statistics of the connection pool maintained by a Netty {@link org.glassfish.jersey.client.spi.Connector connector}.
+ * <p>
+ * The values are aggregated over all destinations and reflect the state of the pool at the time of the method invocation.
+ * </p>
+ *
+ * @see NettyConnectorProvider#getConnectionPoolStatistics(javax.ws.rs.core.Configurable)
+ * @since 3.0
+ */
+public interface ConnectionPoolStatistics {
+
+    /**
+     * Get the number of currently open connections, including the ones being established.
+     *
+     * @return number of open connections.
+     */
+    int getOpenConnections();
+
+    /**
+     * Get the number of open connections that are not used by any request and are kept alive for reuse.
+     *
+     * @return number of idle connections.
+     */
+    int getIdleConnections();
+
+    /**
+     * Get the number of requests waiting for a connection because the connection limit of their destination
+     * has been reached.
+     *
+     * @return number of pending requests.
+     */
+    int getPendingRequests();
+
+    /**
+     * Get the total number of connections established by the connector.
+     *
+     * @return number of created connections.
+     */
+    long getCreatedConnections();
+
+    /**
+     * Get the total number of requests that were sent over an already established (kept-alive) connection.
+     *
+     * @return number of connection reuses.
+     */
+    long getReusedConnections();
+}
@@ -46,10 +46,12 @@ import java.io.InputStream;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.ws.rs.core.Response;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.HttpContent;
@@ -79,6 +81,20 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
     private final ClientRequest jerseyRequest;
     private final CompletableFuture future;
 
+    // the connection can be reused once the request is sent and the response is received
+    private final AtomicInteger pendingExchangeParts = new AtomicInteger(2);
+    private final GenericFutureListener<Future<? super Void>> closeListener = new GenericFutureListener<Future<? super Void>>() {
+        @Override
+        public void operationComplete(Future<? super Void> future) throws Exception {
+            channelClosed();
+        }
+    };
+
+    private volatile Channel channel;
+    private volatile boolean responseReceived = false;
+    private volatile boolean responseEntityExpected = false;
+    private volatile boolean keepAlive = false;
+
     JerseyClientHandler(NettyConnector nettyConnector, ClientRequest request,
                         AsyncConnectorCallback callback, CompletableFuture future) {
         this.connector = nettyConnector;
@@ -87,10 +103,40 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
         this.future = future;
     }
 
+    /**
+     * Start watching the channel the handler has been added to for a premature close.
+     *
+     * @param channel channel used to send the request.
+     */
+    void attach(Channel channel) {
+        this.channel = channel;
+        channel.closeFuture().addListener(closeListener);
+    }
+
+    /**
+     * Notify the handler that the request has been completely written to the channel.
+     */
+    void requestSent() {
+        if (pendingExchangeParts.decrementAndGet() == 0) {
+            release();
+        }
+    }
+
+    /**
+     * Close the channel unless the exchange has already been completed and the channel returned to the pool.
+     */
+    void abort() {
+        if (pendingExchangeParts.getAndSet(-1) > 0) {
+            channel.close();
+        }
+    }
+
     @Override
     public void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
         if (msg instanceof HttpResponse) {
             final HttpResponse response = (HttpResponse) msg;
+            responseReceived = true;
+            keepAlive = HttpUtil.isKeepAlive(response) && isDelimited(response);
 
             final ClientResponse jerseyResponse = new ClientResponse(new Response.StatusType() {
                 @Override
@@ -117,12 +163,7 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             if ((response.headers().contains(HttpHeaderNames.CONTENT_LENGTH) && HttpUtil.getContentLength(response) > 0)
                     || HttpUtil.isTransferEncodingChunked(response)) {
 
-                ctx.channel().closeFuture().addListener(new GenericFutureListener<Future<? super Void>>() {
-                    @Override
-                    public void operationComplete(Future<? super Void> future) throws Exception {
-                        isList.add(NettyInputStream.END_OF_INPUT_ERROR);
-                    }
-                });
+                responseEntityExpected = true;
 
                 jerseyResponse.setEntityStream(new NettyInputStream(isList));
             } else {
@@ -160,6 +201,16 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             }
 
             if (msg instanceof LastHttpContent) {
+                responseEntityExpected = false;
+                ctx.channel().closeFuture().removeListener(closeListener);
+
+                // return the connection before the entity is completed, so that it is available to a subsequent request
+                if (!keepAlive) {
+                    ctx.close();
+                } else if (pendingExchangeParts.decrementAndGet() == 0) {
+                    release();
+                }
+
                 isList.add(NettyInputStream.END_OF_INPUT);
             }
         }
@@ -177,5 +228,38 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
         }
         future.completeExceptionally(cause);
         isList.add(NettyInputStream.END_OF_INPUT_ERROR);
+        // broken connection must not be returned to the pool
+        ctx.close();
+    }
+
+    private void channelClosed() {
+        if (responseEntityExpected) {
+            isList.add(NettyInputStream.END_OF_INPUT_ERROR);
+        }
+        if (!responseReceived && !future.isDone()) {
+            final IOException failure = new IOException("Channel closed.");
+            if (asyncConnectorCallback != null) {
+                connector.executorService.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        asyncConnectorCallback.failure(failure);
+                    }
+                });
+            }
+            future.completeExceptionally(failure);
+        }
+    }
+
+    private void release() {
+        final Channel ch = channel;
+        ch.closeFuture().removeListener(closeListener);
+        ch.pipeline().remove(this);
+        connector.pool.release(ch);
+    }
+
+    private boolean isDelimited(HttpResponse response) {
+        final int status = response.status().code();
+        return HttpUtil.isContentLengthSet(response) || HttpUtil.isTransferEncodingChunked(response)
+                || status == 204 || status == 304 || "HEAD".equals(jerseyRequest.getMethod());
     }
 }
@@ -0,0 +1,359 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.connector;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Pool of keep-alive connections maintained per destination.
+ * <p>
+ * The number of connections open to a single destination is limited. Requests that cannot be served because
+ * the limit has been reached wait in a FIFO queue and get the first connection that becomes available, either
+ * a released one or a new one opened in place of a closed connection. Released connections are kept open
+ * for the configured idle timeout, closed connections are evicted from the pool.
+ * </p>
+ */
+final class NettyConnectionPool implements ConnectionPoolStatistics {
+
+    private static final AttributeKey<Destination> DESTINATION =
+            AttributeKey.valueOf(NettyConnectionPool.class, "destination");
+    private static final AttributeKey<ScheduledFuture<?>> IDLE_TIMEOUT =
+            AttributeKey.valueOf(NettyConnectionPool.class, "idleTimeout");
+
+    private final ConcurrentHashMap<String, Destination> destinations = new ConcurrentHashMap<>();
+    private final LongAdder createdConnections = new LongAdder();
+    private final LongAdder reusedConnections = new LongAdder();
+
+    private final int maxConnectionsPerDestination;
+    private final int idleTimeout;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Create new connection pool.
+     *
+     * @param maxConnectionsPerDestination maximal number of connections open to a single destination, a value lower
+     *                                     than or equal to zero means that the number of connections is not limited.
+     * @param idleTimeout                  time in milliseconds during which an idle connection is kept open, {@code 0}
+     *                                     means that released connections are closed unless there is a request waiting
+     *                                     for them.
+     */
+    NettyConnectionPool(final int maxConnectionsPerDestination, final int idleTimeout) {
+        this.maxConnectionsPerDestination = maxConnectionsPerDestination;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Acquire a connection to the given destination.
+     * <p>
+     * Cancelling the returned future before it is completed removes the request from the queue of pending requests.
+     * </p>
+     *
+     * @param destination destination key, connections are shared only among requests with the same key.
+     * @param connector   opens a new connection to the destination, invoked only if no idle connection is available.
+     * @return future completed with an exclusively acquired connection.
+     */
+    CompletableFuture<Channel> acquire(final String destination, final Supplier<ChannelFuture> connector) {
+        if (closed) {
+            final CompletableFuture<Channel> result = new CompletableFuture<>();
+            result.completeExceptionally(new IllegalStateException(LocalizationMessages.CONNECTOR_CLOSED()));
+            return result;
+        }
+        return destinations.computeIfAbsent(destination, key -> new Destination()).acquire(connector);
+    }
+
+    /**
+     * Return a connection to the pool once a response has been fully received over it and the connection can be reused.
+     *
+     * @param channel acquired connection.
+     */
+    void release(final Channel channel) {
+        final Destination destination = channel.attr(DESTINATION).get();
+        if (destination == null || closed || !channel.isActive()) {
+            channel.close();
+        } else {
+            destination.release(channel);
+        }
+    }
+
+    /**
+     * Close all idle connections and fail all pending requests.
+     */
+    void close() {
+        closed = true;
+        for (final Destination destination : destinations.values()) {
+            destination.close();
+        }
+    }
+
+    @Override
+    public int getOpenConnections() {
+        int count = 0;
+        for (final Destination destination : destinations.values()) {
+            synchronized (destination) {
+                count += destination.open;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getIdleConnections() {
+        int count = 0;
+        for (final Destination destination : destinations.values()) {
+            synchronized (destination) {
+                count += destination.idle.size();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getPendingRequests() {
+        int count = 0;
+        for (final Destination destination : destinations.values()) {
+            synchronized (destination) {
+                count += destination.pending.size();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getCreatedConnections() {
+        return createdConnections.sum();
+    }
+
+    @Override
+    public long getReusedConnections() {
+        return reusedConnections.sum();
+    }
+
+    private static void cancelIdleTimeout(final Channel channel) {
+        final ScheduledFuture<?> timeout = channel.attr(IDLE_TIMEOUT).getAndSet(null);
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+    }
+
+    /**
+     * A request waiting for a connection.
+     */
+    private static final class PendingRequest {
+
+        private final CompletableFuture<Channel> future;
+        private final Supplier<ChannelFuture> connector;
+
+        private PendingRequest(final CompletableFuture<Channel> future, final Supplier<ChannelFuture> connector) {
+            this.future = future;
+            this.connector = connector;
+        }
+    }
+
+    /**
+     * Connections to a single destination. All fields are guarded by the instance lock.
+     */
+    private final class Destination {
+
+        // most recently used connections first, so that the surplus connections time out
+        private final ArrayDeque<Channel> idle = new ArrayDeque<>();
+        private final ArrayDeque<PendingRequest> pending = new ArrayDeque<>();
+        private int open = 0;
+
+        private CompletableFuture<Channel> acquire(final Supplier<ChannelFuture> connector) {
+            final CompletableFuture<Channel> result = new CompletableFuture<>();
+
+            Channel channel = null;
+            synchronized (this) {
+                while (!idle.isEmpty()) {
+                    final Channel candidate = idle.pop();
+                    // inactive connections are evicted by their close listener
+                    if (candidate.isActive()) {
+                        channel = candidate;
+                        break;
+                    }
+                }
+                if (channel == null) {
+                    if (maxConnectionsPerDestination > 0 && open >= maxConnectionsPerDestination) {
+                        pending.add(new PendingRequest(result, connector));
+                        return result;
+                    }
+                    open++;
+                }
+            }
+
+            if (channel != null) {
+                cancelIdleTimeout(channel);
+                reusedConnections.increment();
+                result.complete(channel);
+            } else {
+                connect(connector, result);
+            }
+            return result;
+        }
+
+        private void connect(final Supplier<ChannelFuture> connector, final CompletableFuture<Channel> result) {
+            final ChannelFuture connectFuture;
+            try {
+                connectFuture = connector.get();
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+                connectionClosed(null);
+                return;
+            }
+
+            connectFuture.addListener(future -> {
+                if (future.isSuccess()) {
+                    final Channel channel = connectFuture.channel();
+                    channel.attr(DESTINATION).set(this);
+                    channel.closeFuture().addListener(closeFuture -> connectionClosed(channel));
+                    createdConnections.increment();
+                    if (!result.complete(channel)) {
+                        // the request has been cancelled in the meantime
+                        release(channel);
+                    }
+                } else {
+                    result.completeExceptionally(future.cause());
+                    connectionClosed(null);
+                }
+            });
+        }
+
+        private void release(final Channel channel) {
+            final PendingRequest next;
+            synchronized (this) {
+                next = nextPending();
+                if (next == null && idleTimeout != 0) {
+                    idle.push(channel);
+                    if (idleTimeout > 0) {
+                        channel.attr(IDLE_TIMEOUT).set(channel.eventLoop().schedule(
+                                () -> closeIdle(channel), idleTimeout, TimeUnit.MILLISECONDS));
+                    }
+                    return;
+                }
+            }
+
+            if (next == null) {
+                // connections are not kept alive
+                channel.close();
+                return;
+            }
+
+            reusedConnections.increment();
+            // hand over asynchronously, the connection is typically released from within its own pipeline
+            channel.eventLoop().execute(() -> {
+                if (!next.future.complete(channel)) {
+                    release(channel);
+                }
+            });
+        }
+
+        private void closeIdle(final Channel channel) {
+            final boolean wasIdle;
+            synchronized (this) {
+                wasIdle = idle.remove(channel);
+            }
+            if (wasIdle) {
+                channel.close();
+            }
+        }
+
+        /**
+         * Evict a closed connection (or a failed connection attempt if {@code channel} is {@code null}) and open a new
+         * connection for the first pending request, if any.
+         */
+        private void connectionClosed(final Channel channel) {
+            final PendingRequest next;
+            synchronized (this) {
+                if (channel != null) {
+                    idle.remove(channel);
+                }
+                open--;
+                next = closed ? null : nextPending();
+                if (next != null) {
+                    open++;
+                }
+            }
+
+            if (channel != null) {
+                cancelIdleTimeout(channel);
+            }
+            if (next != null) {
+                connect(next.connector, next.future);
+            }
+        }
+
+        private PendingRequest nextPending() {
+            PendingRequest next;
+            do {
+                next = pending.poll();
+            } while (next != null && next.future.isDone());
+            return next;
+        }
+
+        private void close() {
+            final Channel[] idleChannels;
+            final PendingRequest[] pendingRequests;
+            synchronized (this) {
+                idleChannels = idle.toArray(new Channel[idle.size()]);
+                idle.clear();
+                pendingRequests = pending.toArray(new PendingRequest[pending.size()]);
+                pending.clear();
+            }
+
+            for (final Channel channel : idleChannels) {
+                channel.close();
+            }
+            for (final PendingRequest request : pendingRequests) {
+                request.future.completeExceptionally(new IllegalStateException(LocalizationMessages.CONNECTOR_CLOSED()));
+            }
+        }
+    }
+}
@@ -52,6 +52,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.ws.rs.ProcessingException;
@@ -60,9 +61,12 @@ import javax.ws.rs.core.Configuration;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
@@ -81,7 +85,6 @@ import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.handler.stream.ChunkedWriteHandler;
-import io.netty.util.concurrent.GenericFutureListener;
 import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
@@ -100,6 +103,7 @@ class NettyConnector implements Connector {
     final ExecutorService executorService;
     final EventLoopGroup group;
     final Client client;
+    final NettyConnectionPool pool;
 
     NettyConnector(Client client) {
 
@@ -113,6 +117,13 @@ class NettyConnector implements Connector {
 
         this.group = new NioEventLoopGroup();
         this.client = client;
+
+        final Map<String, Object> properties = client.getConfiguration().getProperties();
+        this.pool = new NettyConnectionPool(
+                ClientProperties.getValue(properties, NettyConnectorProvider.MAX_CONNECTIONS_PER_DESTINATION,
+                                          NettyConnectorProvider.DEFAULT_MAX_CONNECTIONS_PER_DESTINATION),
+                ClientProperties.getValue(properties, NettyConnectorProvider.CONNECTION_IDLE_TIMEOUT,
+                                          NettyConnectorProvider.DEFAULT_CONNECTION_IDLE_TIMEOUT));
     }
 
     @Override
@@ -121,8 +132,9 @@ class NettyConnector implements Connector {
         final AtomicReference<ClientResponse> syncResponse = new AtomicReference<>(null);
         final AtomicReference<Throwable> syncException = new AtomicReference<>(null);
 
+        Future<?> resultFuture = null;
         try {
-            Future<?> resultFuture = apply(jerseyRequest, new AsyncConnectorCallback() {
+            resultFuture = apply(jerseyRequest, new AsyncConnectorCallback() {
                 @Override
                 public void response(ClientResponse response) {
                     syncResponse.set(response);
@@ -145,6 +157,10 @@ class NettyConnector implements Connector {
         } catch (ExecutionException ex) {
             Throwable e = ex.getCause() == null ? ex : ex.getCause();
             throw new ProcessingException(e.getMessage(), e);
+        } catch (TimeoutException ex) {
+            // the connection is closed, a late response must not be read by a subsequent request
+            resultFuture.cancel(true);
+            throw new ProcessingException(ex.getMessage(), ex);
         } catch (Exception ex) {
             throw new ProcessingException(ex.getMessage(), ex);
         }
@@ -163,147 +179,182 @@ class NettyConnector implements Connector {
         final CompletableFuture<Object> settableFuture = new CompletableFuture<>();
 
         final URI requestUri = jerseyRequest.getUri();
-        String host = requestUri.getHost();
-        int port = requestUri.getPort() != -1 ? requestUri.getPort() : "https".equals(requestUri.getScheme()) ? 443 : 80;
+        final String host = requestUri.getHost();
+        final int port = requestUri.getPort() != -1 ? requestUri.getPort() : "https".equals(requestUri.getScheme()) ? 443 : 80;
 
-        try {
-            Bootstrap b = new Bootstrap();
-            b.group(group)
-             .channel(NioSocketChannel.class)
-             .handler(new ChannelInitializer<SocketChannel>() {
-                 @Override
-                 protected void initChannel(SocketChannel ch) throws Exception {
-                     ChannelPipeline p = ch.pipeline();
-
-                     // Enable HTTPS if necessary.
-                     if ("https".equals(requestUri.getScheme())) {
-                         // making client authentication optional for now; it could be extracted to configurable property
-                         JdkSslContext jdkSslContext = new JdkSslContext(client.getSslContext(), true, ClientAuth.NONE);
-                         p.addLast(jdkSslContext.newHandler(ch.alloc()));
-                     }
-
-                     // http proxy
-                     Configuration config = jerseyRequest.getConfiguration();
-                     final Object proxyUri = config.getProperties().get(ClientProperties.PROXY_URI);
-                     if (proxyUri != null) {
-                         final URI u = getProxyUri(proxyUri);
-
-                         final String userName = ClientProperties.getValue(
-                                 config.getProperties(), ClientProperties.PROXY_USERNAME, String.class);
-                         final String password = ClientProperties.getValue(
-                                 config.getProperties(), ClientProperties.PROXY_PASSWORD, String.class);
-
-                         p.addLast(new HttpProxyHandler(new InetSocketAddress(u.getHost(),
-                                                                              u.getPort() == -1 ? 8080 : u.getPort()),
-                                                        userName, password));
-                     }
-
-                     p.addLast(new HttpClientCodec());
-                     p.addLast(new ChunkedWriteHandler());
-                     p.addLast(new HttpContentDecompressor());
-                     p.addLast(new JerseyClientHandler(NettyConnector.this, jerseyRequest, jerseyCallback, settableFuture));
-                 }
-             });
+        final Object proxyUri = jerseyRequest.getConfiguration().getProperties().get(ClientProperties.PROXY_URI);
+        final String destination = requestUri.getScheme() + "://" + host + ":" + port
+                + (proxyUri == null ? "" : " via " + proxyUri);
+
+        final CompletableFuture<Channel> channelFuture = pool.acquire(destination, () -> connect(jerseyRequest, host, port));
 
-            // connect timeout
-            Integer connectTimeout = ClientProperties.getValue(jerseyRequest.getConfiguration().getProperties(),
-                                                               ClientProperties.CONNECT_TIMEOUT, 0);
-            if (connectTimeout > 0) {
-                b.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+        // the connection cannot be reused if the request fails or is cancelled before the response is received
+        settableFuture.whenComplete((response, failure) -> {
+            if (failure != null && !channelFuture.cancel(false)) {
+                channelFuture.thenAccept(Channel::close);
             }
+        });
 
-            // Make the connection attempt.
-            final Channel ch = b.connect(host, port).sync().channel();
+        channelFuture.whenComplete((ch, failure) -> {
+            if (settableFuture.isDone()) {
+                if (ch != null) {
+                    pool.release(ch);
+                }
+            } else if (failure != null) {
+                executorService.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        jerseyCallback.failure(failure);
+                    }
+                });
+                settableFuture.completeExceptionally(failure);
+            } else {
+                send(ch, jerseyRequest, jerseyCallback, settableFuture);
+            }
+        });
 
-            // guard against prematurely closed channel
-            final GenericFutureListener<io.netty.util.concurrent.Future<? super Void>> closeListener =
-                    new GenericFutureListener<io.netty.util.concurrent.Future<? super Void>>() {
-                        @Override
-                        public void operationComplete(io.netty.util.concurrent.Future<? super Void> future) throws Exception {
-                            if (!settableFuture.isDone()) {
-                                settableFuture.completeExceptionally(new IOException("Channel closed."));
-                            }
-                        }
-                    };
+        return settableFuture;
+    }
 
-            ch.closeFuture().addListener(closeListener);
+    private ChannelFuture connect(final ClientRequest jerseyRequest, final String host, final int port) {
+        final URI requestUri = jerseyRequest.getUri();
 
-            HttpRequest nettyRequest;
+        Bootstrap b = new Bootstrap();
+        b.group(group)
+         .channel(NioSocketChannel.class)
+         .handler(new ChannelInitializer<SocketChannel>() {
+             @Override
+             protected void initChannel(SocketChannel ch) throws Exception {
+                 ChannelPipeline p = ch.pipeline();
+
+                 // Enable HTTPS if necessary.
+                 if ("https".equals(requestUri.getScheme())) {
+                     // making client authentication optional for now; it could be extracted to configurable property
+                     JdkSslContext jdkSslContext = new JdkSslContext(client.getSslContext(), true, ClientAuth.NONE);
+                     p.addLast(jdkSslContext.newHandler(ch.alloc()));
+                 }
 
-            if (jerseyRequest.hasEntity()) {
-                nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                 // http proxy
+                 Configuration config = jerseyRequest.getConfiguration();
+                 final Object proxyUri = config.getProperties().get(ClientProperties.PROXY_URI);
+                 if (proxyUri != null) {
+                     final URI u = getProxyUri(proxyUri);
+
+                     final String userName = ClientProperties.getValue(
+                             config.getProperties(), ClientProperties.PROXY_USERNAME, String.class);
+                     final String password = ClientProperties.getValue(
+                             config.getProperties(), ClientProperties.PROXY_PASSWORD, String.class);
+
+                     p.addLast(new HttpProxyHandler(new InetSocketAddress(u.getHost(),
+                                                                          u.getPort() == -1 ? 8080 : u.getPort()),
+                                                    userName, password));
+                 }
+
+                 p.addLast(new HttpClientCodec());
+                 p.addLast(new ChunkedWriteHandler());
+                 p.addLast(new HttpContentDecompressor());
+             }
+         });
+
+        // connect timeout
+        Integer connectTimeout = ClientProperties.getValue(jerseyRequest.getConfiguration().getProperties(),
+                                                           ClientProperties.CONNECT_TIMEOUT, 0);
+        if (connectTimeout > 0) {
+            b.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+        }
+
+        // Make the connection attempt.
+        return b.connect(host, port);
+    }
+
+    private void send(final Channel ch, final ClientRequest jerseyRequest, final AsyncConnectorCallback jerseyCallback,
+                      final CompletableFuture<Object> settableFuture) {
+
+        final URI requestUri = jerseyRequest.getUri();
+
+        final JerseyClientHandler handler = new JerseyClientHandler(this, jerseyRequest, jerseyCallback, settableFuture);
+        ch.pipeline().addLast(handler);
+        // guard against prematurely closed channel
+        handler.attach(ch);
+
+        HttpRequest nettyRequest;
+
+        if (jerseyRequest.hasEntity()) {
+            nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                                                  HttpMethod.valueOf(jerseyRequest.getMethod()),
+                                                  requestUri.getRawPath());
+        } else {
+            nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
                                                       HttpMethod.valueOf(jerseyRequest.getMethod()),
                                                       requestUri.getRawPath());
-            } else {
-                nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
-                                                          HttpMethod.valueOf(jerseyRequest.getMethod()),
-                                                          requestUri.getRawPath());
-            }
+        }
 
-            // headers
-            for (final Map.Entry<String, List<String>> e : jerseyRequest.getStringHeaders().entrySet()) {
-                nettyRequest.headers().add(e.getKey(), e.getValue());
-            }
+        // headers
+        for (final Map.Entry<String, List<String>> e : jerseyRequest.getStringHeaders().entrySet()) {
+            nettyRequest.headers().add(e.getKey(), e.getValue());
+        }
 
-            // host header - http 1.1
-            nettyRequest.headers().add(HttpHeaderNames.HOST, jerseyRequest.getUri().getHost());
+        // host header - http 1.1
+        nettyRequest.headers().add(HttpHeaderNames.HOST, jerseyRequest.getUri().getHost());
 
-            if (jerseyRequest.hasEntity()) {
-                if (jerseyRequest.getLengthLong() == -1) {
-                    HttpUtil.setTransferEncodingChunked(nettyRequest, true);
-                } else {
-                    nettyRequest.headers().add(HttpHeaderNames.CONTENT_LENGTH, jerseyRequest.getLengthLong());
-                }
+        if (jerseyRequest.hasEntity()) {
+            if (jerseyRequest.getLengthLong() == -1) {
+                HttpUtil.setTransferEncodingChunked(nettyRequest, true);
+            } else {
+                nettyRequest.headers().add(HttpHeaderNames.CONTENT_LENGTH, jerseyRequest.getLengthLong());
             }
+        }
 
-            if (jerseyRequest.hasEntity()) {
-                // Send the HTTP request.
-                ch.writeAndFlush(nettyRequest);
-
-                final JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ch);
-                jerseyRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
-                    @Override
-                    public OutputStream getOutputStream(int contentLength) throws IOException {
-                        return jerseyChunkedInput;
-                    }
-                });
+        if (jerseyRequest.hasEntity()) {
+            // Send the HTTP request.
+            ch.writeAndFlush(nettyRequest);
 
-                if (HttpUtil.isTransferEncodingChunked(nettyRequest)) {
-                    ch.write(new HttpChunkedInput(jerseyChunkedInput));
-                } else {
-                    ch.write(jerseyChunkedInput);
+            final JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ch);
+            jerseyRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+                @Override
+                public OutputStream getOutputStream(int contentLength) throws IOException {
+                    return jerseyChunkedInput;
                 }
+            });
 
-                executorService.execute(new Runnable() {
-                    @Override
-                    public void run() {
-                        // close listener is not needed any more.
-                        ch.closeFuture().removeListener(closeListener);
-
-                        try {
-                            jerseyRequest.writeEntity();
-                        } catch (IOException e) {
-                            jerseyCallback.failure(e);
-                            settableFuture.completeExceptionally(e);
-                        }
-                    }
-                });
-
-                ch.flush();
+            if (HttpUtil.isTransferEncodingChunked(nettyRequest)) {
+                ch.write(new HttpChunkedInput(jerseyChunkedInput), requestSentPromise(ch, handler));
             } else {
-                // close listener is not needed any more.
-                ch.closeFuture().removeListener(closeListener);
-
-                // Send the HTTP request.
-                ch.writeAndFlush(nettyRequest);
+                ch.write(jerseyChunkedInput, requestSentPromise(ch, handler));
             }
 
-        } catch (InterruptedException e) {
-            settableFuture.completeExceptionally(e);
-            return settableFuture;
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        jerseyRequest.writeEntity();
+                    } catch (IOException e) {
+                        jerseyCallback.failure(e);
+                        settableFuture.completeExceptionally(e);
+                        handler.abort();
+                    }
+                }
+            });
+
+            ch.flush();
+        } else {
+            // Send the HTTP request.
+            ch.writeAndFlush(nettyRequest, requestSentPromise(ch, handler));
         }
+    }
 
-        return settableFuture;
+    private static ChannelPromise requestSentPromise(final Channel ch, final JerseyClientHandler handler) {
+        // the listener has to be registered before the write, otherwise it might be notified after the response is received
+        return ch.newPromise().addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (future.isSuccess()) {
+                    handler.requestSent();
+                } else {
+                    handler.abort();
+                }
+            }
+        });
     }
 
     @Override
@@ -313,6 +364,7 @@ class NettyConnector implements Connector {
 
     @Override
     public void close() {
+        pool.close();
         group.shutdownGracefully();
         executorService.shutdown();
     }
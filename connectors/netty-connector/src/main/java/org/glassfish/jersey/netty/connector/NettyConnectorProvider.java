@@ -41,9 +41,11 @@
 package org.glassfish.jersey.netty.connector;
 
 import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configurable;
 import javax.ws.rs.core.Configuration;
 
 import org.glassfish.jersey.Beta;
+import org.glassfish.jersey.client.Initializable;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
 
@@ -57,9 +59,15 @@ import org.glassfish.jersey.client.spi.ConnectorProvider;
  * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_URI}</li>
  * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_USERNAME}</li>
  * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_PASSWORD}</li>
+ * <li>{@link #MAX_CONNECTIONS_PER_DESTINATION}</li>
+ * <li>{@link #CONNECTION_IDLE_TIMEOUT}</li>
  * </ul>
  * </p>
  * <p>
+ * Connections are kept alive and reused by subsequent requests to the same destination. Statistics of the connection
+ * pool can be obtained using {@link #getConnectionPoolStatistics(javax.ws.rs.core.Configurable)}.
+ * </p>
+ * <p>
  * If a {@link org.glassfish.jersey.client.ClientResponse} is obtained and an entity is not read from the response then
  * {@link org.glassfish.jersey.client.ClientResponse#close()} MUST be called after processing the response to release
  * connection-based resources.
@@ -75,8 +83,75 @@ import org.glassfish.jersey.client.spi.ConnectorProvider;
 @Beta
 public class NettyConnectorProvider implements ConnectorProvider {
 
+    /**
+     * A maximal number of open connections to each destination. A destination is determined by the following triple:
+     * <ul>
+     * <li>host</li>
+     * <li>port</li>
+     * <li>protocol (HTTP/HTTPS)</li>
+     * </ul>
+     * and by the proxy the connections are tunneled through, if any.
+     * <p/>
+     * When the limit is reached, further requests to the destination wait until a connection becomes available. The waiting
+     * requests are served in the order in which they were submitted. A value lower than or equal to zero means that the number
+     * of connections is not limited.
+     * <p/>
+     * The default value is {@value #DEFAULT_MAX_CONNECTIONS_PER_DESTINATION}
+     *
+     * @since 3.0
+     */
+    public static final String MAX_CONNECTIONS_PER_DESTINATION = "jersey.config.client.NettyConnectorProvider"
+            + ".maxConnectionsPerDestination";
+
+    /**
+     * An amount of time in milliseconds ({@link Integer} value) during which an idle connection will be kept open.
+     * <p/>
+     * A value of {@code 0} disables the keep-alive connection reuse, a negative value means that idle connections are not
+     * closed by the connector.
+     * <p/>
+     * The default value is {@value #DEFAULT_CONNECTION_IDLE_TIMEOUT}
+     *
+     * @since 3.0
+     */
+    public static final String CONNECTION_IDLE_TIMEOUT = "jersey.config.client.NettyConnectorProvider.connectionIdleTimeout";
+
+    static final int DEFAULT_MAX_CONNECTIONS_PER_DESTINATION = 20;
+    static final int DEFAULT_CONNECTION_IDLE_TIMEOUT = 60_000;
+
     @Override
     public Connector getConnector(Client client, Configuration runtimeConfig) {
         return new NettyConnector(client);
     }
+
+    /**
+     * Retrieve the statistics of the connection pool of a {@link org.glassfish.jersey.client.JerseyClient} or
+     * {@link org.glassfish.jersey.client.JerseyWebTarget} configured to use {@code NettyConnectorProvider}.
+     *
+     * @param component {@code JerseyClient} or {@code JerseyWebTarget} instance that is configured to use
+     *                  {@code NettyConnectorProvider}.
+     * @return live view of the connection pool statistics.
+     * @throws java.lang.IllegalArgumentException in case the {@code component} is neither {@code JerseyClient}
+     *                                            nor {@code JerseyWebTarget} instance or in case the component
+     *                                            is not configured to use a {@code NettyConnectorProvider}.
+     * @since 3.0
+     */
+    public static ConnectionPoolStatistics getConnectionPoolStatistics(final Configurable<?> component) {
+        if (!(component instanceof Initializable)) {
+            throw new IllegalArgumentException(
+                    LocalizationMessages.INVALID_CONFIGURABLE_COMPONENT_TYPE(component.getClass().getName()));
+        }
+
+        final Initializable<?> initializable = (Initializable<?>) component;
+        Connector connector = initializable.getConfiguration().getConnector();
+        if (connector == null) {
+            initializable.preInitialize();
+            connector = initializable.getConfiguration().getConnector();
+        }
+
+        if (connector instanceof NettyConnector) {
+            return ((NettyConnector) connector).pool;
+        } else {
+            throw new IllegalArgumentException(LocalizationMessages.EXPECTED_CONNECTOR_PROVIDER_NOT_USED());
+        }
+    }
 }
@@ -72,21 +72,22 @@ public class JerseyChunkedInput extends OutputStream implements ChunkedInput<Byt
 
     private final LinkedBlockingDeque<ByteBuffer> queue = new LinkedBlockingDeque<>(CAPACITY);
     private final Channel ctx;
+    private final ChannelFutureListener closeListener = new ChannelFutureListener() {
+        @Override
+        public void operationComplete(ChannelFuture future) throws Exception {
+            // forcibly closed connection.
+            open = false;
+            queue.clear();
+            JerseyChunkedInput.this.close();
+        }
+    };
 
     private volatile boolean open = true;
     private volatile long offset = 0;
 
     public JerseyChunkedInput(Channel ctx) {
         this.ctx = ctx;
-        ctx.closeFuture().addListener(new ChannelFutureListener() {
-            @Override
-            public void operationComplete(ChannelFuture future) throws Exception {
-                // forcibly closed connection.
-                open = false;
-                queue.clear();
-                JerseyChunkedInput.this.close();
-            }
-        });
+        ctx.closeFuture().addListener(closeListener);
     }
 
     @Override
@@ -158,6 +159,8 @@ public class JerseyChunkedInput extends OutputStream implements ChunkedInput<Byt
 
     @Override
     public void close() throws IOException {
+        // the channel may outlive the stream (e.g. a kept-alive client connection)
+        ctx.closeFuture().removeListener(closeListener);
 
         if (queue.size() == CAPACITY) {
             boolean offer = false;
@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.connector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the keep-alive connection pooling of the Netty connector.
+ */
+public class ConnectionPoolTest extends JerseyTest {
+
+    private static final int MAX_CONNECTIONS = 2;
+
+    @Path("pool")
+    public static class PoolResource {
+
+        @GET
+        public String get() {
+            return "GET";
+        }
+
+        @POST
+        public String post(String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("slow")
+        public String slow() throws InterruptedException {
+            Thread.sleep(100);
+            return "SLOW";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(PoolResource.class);
+    }
+
+    @Override
+    protected void configureClient(ClientConfig config) {
+        config.property(NettyConnectorProvider.MAX_CONNECTIONS_PER_DESTINATION, MAX_CONNECTIONS);
+        config.connectorProvider(new NettyConnectorProvider());
+    }
+
+    @Test
+    public void testConnectionReuse() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("GET", target("pool").request().get(String.class));
+            assertEquals("POST" + i, target("pool").request().post(Entity.text("POST" + i), String.class));
+        }
+
+        final ConnectionPoolStatistics statistics = NettyConnectorProvider.getConnectionPoolStatistics(client());
+        assertEquals(1, statistics.getCreatedConnections());
+        assertEquals(9, statistics.getReusedConnections());
+        assertEquals(1, statistics.getOpenConnections());
+        assertEquals(1, statistics.getIdleConnections());
+    }
+
+    @Test
+    public void testConnectionLimit() throws Exception {
+        final List<Future<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < 3 * MAX_CONNECTIONS; i++) {
+            responses.add(target("pool/slow").request().async().get());
+        }
+
+        final ConnectionPoolStatistics statistics = NettyConnectorProvider.getConnectionPoolStatistics(client());
+        assertTrue(statistics.getOpenConnections() <= MAX_CONNECTIONS);
+
+        for (final Future<Response> response : responses) {
+            assertEquals("SLOW", response.get(10, TimeUnit.SECONDS).readEntity(String.class));
+        }
+        assertEquals(MAX_CONNECTIONS, statistics.getCreatedConnections());
+        assertEquals(0, statistics.getPendingRequests());
+    }
+
+    @Test
+    public void testKeepAliveDisabled() {
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(NettyConnectorProvider.CONNECTION_IDLE_TIMEOUT, 0)
+                .connectorProvider(new NettyConnectorProvider()));
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertEquals("GET", client.target(getBaseUri()).path("pool").request().get(String.class));
+            }
+            assertEquals(3, NettyConnectorProvider.getConnectionPoolStatistics(client).getCreatedConnections());
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -294,8 +294,9 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
                     // http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6886436
                     exchange.sendResponseHeaders(context.getStatus(), -1);
                 } else {
-                    exchange.sendResponseHeaders(context.getStatus(),
-                            getResponseLength(contentLength));
+                    // the entity size may be known to the writer of the entity even if it has not been buffered
+                    exchange.sendResponseHeaders(context.getStatus(), getResponseLength(
+                            contentLength < 0 ? context.getWrappedMessageContext().getLengthLong() : contentLength));
                 }
             } catch (final IOException ioe) {
                 throw new ContainerException(LocalizationMessages.ERROR_RESPONSEWRITER_WRITING_HEADERS(), ioe);
@@ -0,0 +1,279 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.httpserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.ws.rs.HttpMethod;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.netty.httpserver.internal.LocalizationMessages;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ExtendedResourceContext;
+import org.glassfish.jersey.server.internal.ProcessingProviders;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.uri.PathPattern;
+
+/**
+ * Decides which requests are processed directly on the event loop and reports the requests that block it.
+ * <p>
+ * The decision is based on the paths of the resource methods in the application resource model. A request is processed
+ * on the event loop only if it matches a {@link NonBlocking non-blocking} resource method and does not match any other
+ * resource method or sub-resource locator, so that no blocking method can be selected for it by the request matching.
+ * Content negotiation is not taken into account: if any resource method with a matching path and HTTP method is blocking,
+ * the request is processed by a worker thread regardless of its media types.
+ * </p>
+ * <p>
+ * The decision is made before the request enters the Jersey pipeline, i.e. before pre-matching request filters are
+ * executed. As such filters may change the request URI or method, requests are not dispatched on the event loop based on
+ * the resource model if the application registers any pre-matching filter.
+ * </p>
+ */
+final class EventLoopDispatch {
+
+    private static final Logger LOGGER = Logger.getLogger(EventLoopDispatch.class.getName());
+
+    private final boolean all;
+    private final Map<String, List<Candidate>> candidates;
+    private final long blockingThresholdNanos;
+
+    private EventLoopDispatch(final boolean all, final Map<String, List<Candidate>> candidates, final int blockingThreshold) {
+        this.all = all;
+        this.candidates = candidates;
+        this.blockingThresholdNanos = TimeUnit.MILLISECONDS.toNanos(blockingThreshold);
+    }
+
+    /**
+     * Create the dispatch policy of an application.
+     *
+     * @param appHandler initialized application handler.
+     * @return event loop dispatch policy.
+     */
+    static EventLoopDispatch create(final ApplicationHandler appHandler) {
+        final Map<String, Object> properties = appHandler.getConfiguration().getProperties();
+        final boolean all = PropertiesHelper.isProperty(properties, NettyServerProperties.EVENT_LOOP_DISPATCH);
+        final int blockingThreshold = PropertiesHelper.getValue(properties, NettyServerProperties.EVENT_LOOP_BLOCKING_THRESHOLD,
+                NettyServerProperties.DEFAULT_EVENT_LOOP_BLOCKING_THRESHOLD, null);
+
+        final Map<String, List<Candidate>> candidates = new HashMap<>();
+        final List<Candidate> locators = new ArrayList<>();
+        boolean nonBlocking = false;
+        if (!all) {
+            final ExtendedResourceContext resourceContext =
+                    appHandler.getInstanceManager().getInstance(ExtendedResourceContext.class);
+            for (final Resource resource : resourceContext.getResourceModel().getRootResources()) {
+                nonBlocking |= collect(resource, "", candidates, locators);
+            }
+
+            if (nonBlocking
+                    && !appHandler.getInstanceManager().getInstance(ProcessingProviders.class).getPreMatchFilters().isEmpty()) {
+                // the matched resource method cannot be predicted
+                LOGGER.warning(LocalizationMessages.EVENT_LOOP_DISPATCH_PRE_MATCHING_FILTERS());
+                nonBlocking = false;
+            }
+        }
+
+        if (!all && !nonBlocking) {
+            // nothing to be dispatched on the event loop, skip the matching
+            return new EventLoopDispatch(false, Collections.<String, List<Candidate>>emptyMap(), blockingThreshold);
+        }
+
+        // sub-resource locators may lead to a blocking method for any HTTP method
+        for (final List<Candidate> methodCandidates : candidates.values()) {
+            methodCandidates.addAll(locators);
+        }
+        return new EventLoopDispatch(all, candidates, blockingThreshold);
+    }
+
+    private static boolean collect(final Resource resource, final String parentPath,
+                                   final Map<String, List<Candidate>> candidates, final List<Candidate> locators) {
+        final String path = resource.getPath() == null ? parentPath : join(parentPath, resource.getPath());
+        boolean nonBlocking = false;
+
+        for (final ResourceMethod method : resource.getResourceMethods()) {
+            final boolean methodNonBlocking = isAnnotated(method.getInvocable());
+            nonBlocking |= methodNonBlocking;
+
+            final Candidate candidate = new Candidate(
+                    new PathPattern(path, PathPattern.RightHandPath.capturingZeroSegments), methodNonBlocking);
+            addCandidate(candidates, method.getHttpMethod(), candidate);
+            if (HttpMethod.GET.equals(method.getHttpMethod())) {
+                // HEAD requests are served by GET methods unless there is an explicit HEAD method
+                addCandidate(candidates, HttpMethod.HEAD, candidate);
+            }
+        }
+
+        if (resource.getResourceLocator() != null) {
+            locators.add(new Candidate(new PathPattern(path, PathPattern.RightHandPath.capturingZeroOrMoreSegments), false));
+        }
+
+        for (final Resource child : resource.getChildResources()) {
+            nonBlocking |= collect(child, path, candidates, locators);
+        }
+        return nonBlocking;
+    }
+
+    private static boolean isAnnotated(final Invocable invocable) {
+        return invocable.getHandlingMethod().isAnnotationPresent(NonBlocking.class)
+                || invocable.getDefinitionMethod().isAnnotationPresent(NonBlocking.class)
+                || invocable.getHandler().getHandlerClass().isAnnotationPresent(NonBlocking.class);
+    }
+
+    private static void addCandidate(final Map<String, List<Candidate>> candidates, final String httpMethod,
+                                     final Candidate candidate) {
+        List<Candidate> methodCandidates = candidates.get(httpMethod);
+        if (methodCandidates == null) {
+            methodCandidates = new ArrayList<>();
+            candidates.put(httpMethod, methodCandidates);
+        }
+        methodCandidates.add(candidate);
+    }
+
+    private static String join(final String parentPath, final String path) {
+        final String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        final String parent = parentPath.endsWith("/") ? parentPath : parentPath + "/";
+        return parent + trimmed;
+    }
+
+    /**
+     * Check whether a request should be processed on the event loop.
+     *
+     * @param request request to be processed, its entity must have been already received.
+     * @return {@code true} if the request should be processed on the event loop, {@code false} if it should be
+     * processed by a worker thread.
+     */
+    boolean isNonBlocking(final ContainerRequest request) {
+        if (all) {
+            return true;
+        }
+
+        final List<Candidate> methodCandidates = candidates.get(request.getMethod());
+        if (methodCandidates == null) {
+            return false;
+        }
+
+        // match the same path as the routers do: encoded and without matrix parameters
+        final String path = stripMatrixParams("/" + request.getPath(false));
+        boolean nonBlocking = false;
+        for (final Candidate candidate : methodCandidates) {
+            if (candidate.pattern.match(path) != null) {
+                if (!candidate.nonBlocking) {
+                    return false;
+                }
+                nonBlocking = true;
+            }
+        }
+        return nonBlocking;
+    }
+
+    /**
+     * Strip the matrix parameters from a path the same way the server runtime does before the request is routed.
+     *
+     * @param path request path.
+     * @return path stripped of matrix parameters.
+     */
+    private static String stripMatrixParams(final String path) {
+        int e = path.indexOf(';');
+        if (e == -1) {
+            return path;
+        }
+
+        int s = 0;
+        final StringBuilder sb = new StringBuilder();
+        do {
+            // Append everything up to but not including the ';'
+            sb.append(path, s, e);
+
+            // Skip everything up to but not including the '/'
+            s = path.indexOf('/', e + 1);
+            if (s == -1) {
+                break;
+            }
+            e = path.indexOf(';', s);
+        } while (e != -1);
+
+        if (s != -1) {
+            // Append any remaining characters
+            sb.append(path, s, path.length());
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Process a request on the current (event loop) thread and report it if the processing takes too long.
+     *
+     * @param appHandler application handler.
+     * @param request    request to be processed.
+     */
+    void handle(final ApplicationHandler appHandler, final ContainerRequest request) {
+        final long start = System.nanoTime();
+        appHandler.handle(request);
+        final long elapsed = System.nanoTime() - start;
+
+        if (blockingThresholdNanos > 0 && elapsed > blockingThresholdNanos) {
+            LOGGER.warning(LocalizationMessages.EVENT_LOOP_BLOCKED(
+                    request.getMethod(), request.getRequestUri(), TimeUnit.NANOSECONDS.toMillis(elapsed)));
+        }
+    }
+
+    /**
+     * A resource method or sub-resource locator path with its blocking flag.
+     */
+    private static final class Candidate {
+
+        private final PathPattern pattern;
+        private final boolean nonBlocking;
+
+        private Candidate(final PathPattern pattern, final boolean nonBlocking) {
+            this.pattern = pattern;
+            this.nonBlocking = nonBlocking;
+        }
+    }
+}
@@ -49,21 +49,17 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingDeque;
 
 import javax.ws.rs.core.SecurityContext;
 
-import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http2.Http2DataFrame;
 import io.netty.handler.codec.http2.Http2HeadersFrame;
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.AttributeKey;
 import org.glassfish.jersey.internal.PropertiesDelegate;
-import org.glassfish.jersey.netty.connector.internal.NettyInputStream;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.internal.ContainerUtils;
 
@@ -77,8 +73,11 @@ import org.glassfish.jersey.server.internal.ContainerUtils;
 @ChannelHandler.Sharable
 class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
 
+    // the handler is shared by the stream channels, the entity of each stream is kept as an attribute of its channel
+    private static final AttributeKey<NettyEntityInputStream> ENTITY_STREAM =
+            AttributeKey.valueOf(JerseyHttp2ServerHandler.class, "entityStream");
+
     private final URI baseUri;
-    private final LinkedBlockingDeque<InputStream> isList = new LinkedBlockingDeque<>();
     private final NettyHttpContainer container;
 
     /**
@@ -112,10 +111,28 @@ class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
      * Process incoming data.
      */
     private void onDataRead(ChannelHandlerContext ctx, Http2DataFrame data) throws Exception {
-        isList.add(new ByteBufInputStream(data.content()));
-        if (data.isEndStream()) {
-            isList.add(NettyInputStream.END_OF_INPUT);
+        final NettyEntityInputStream entityStream = data.isEndStream()
+                ? ctx.channel().attr(ENTITY_STREAM).getAndSet(null)
+                : ctx.channel().attr(ENTITY_STREAM).get();
+
+        if (entityStream != null) {
+            // buffer ownership is passed to the entity stream
+            entityStream.offer(data.content());
+            if (data.isEndStream()) {
+                entityStream.complete();
+            }
+        } else {
+            data.release();
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        final NettyEntityInputStream entityStream = ctx.channel().attr(ENTITY_STREAM).getAndSet(null);
+        if (entityStream != null) {
+            entityStream.fail(new IOException("Connection was closed prematurely."));
         }
+        super.channelInactive(ctx);
     }
 
     /**
@@ -125,7 +142,7 @@ class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
 
         final ContainerRequest requestContext = createContainerRequest(ctx, headers);
 
-        requestContext.setWriter(new NettyHttp2ResponseWriter(ctx, headers, container));
+        requestContext.setWriter(new NettyHttp2ResponseWriter(ctx, headers, container, ctx.channel().attr(ENTITY_STREAM).get()));
 
         // must be like this, since there is a blocking read from Jersey
         container.getExecutorService().execute(new Runnable() {
@@ -180,14 +197,11 @@ class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
         // request entity handling.
         if (!http2Headers.isEndStream()) {
 
-            ctx.channel().closeFuture().addListener(new GenericFutureListener<Future<? super Void>>() {
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    isList.add(NettyInputStream.END_OF_INPUT_ERROR);
-                }
-            });
+            // stream flow control is left to the HTTP/2 codec
+            final NettyEntityInputStream entityStream = new NettyEntityInputStream(null);
+            ctx.channel().attr(ENTITY_STREAM).set(entityStream);
 
-            requestContext.setEntityStream(new NettyInputStream(isList));
+            requestContext.setEntityStream(entityStream);
         } else {
             requestContext.setEntityStream(new InputStream() {
                 @Override
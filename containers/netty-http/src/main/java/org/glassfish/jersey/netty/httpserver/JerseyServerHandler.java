@@ -47,12 +47,9 @@ import java.security.Principal;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingDeque;
 
 import javax.ws.rs.core.SecurityContext;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -63,10 +60,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.GenericFutureListener;
 import org.glassfish.jersey.internal.PropertiesDelegate;
-import org.glassfish.jersey.netty.connector.internal.NettyInputStream;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.internal.ContainerUtils;
 
@@ -78,10 +72,19 @@ import org.glassfish.jersey.server.internal.ContainerUtils;
  */
 class JerseyServerHandler extends ChannelInboundHandlerAdapter {
 
+    /**
+     * Maximal size of a request entity that is received completely before the request is dispatched to a worker
+     * thread, so that the worker does not have to wait for the entity content.
+     */
+    static final int MAX_DEFERRED_DISPATCH_ENTITY_SIZE = 16 * 1024;
+
     private final URI baseUri;
-    private final LinkedBlockingDeque<InputStream> isList = new LinkedBlockingDeque<>();
     private final NettyHttpContainer container;
 
+    // state of the request being received, accessed from the event loop only
+    private NettyEntityInputStream entityStream;
+    private Runnable deferredDispatch;
+
     /**
      * Constructor.
      *
@@ -100,38 +103,89 @@ class JerseyServerHandler extends ChannelInboundHandlerAdapter {
             final HttpRequest req = (HttpRequest) msg;
 
             if (HttpUtil.is100ContinueExpected(req)) {
-                ctx.write(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+                // flushed right away, the dispatch of the request may wait for the entity
+                ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
             }
 
-            isList.clear(); // clearing the content - possible leftover from previous request processing.
             final ContainerRequest requestContext = createContainerRequest(ctx, req);
 
-            requestContext.setWriter(new NettyResponseWriter(ctx, req, container));
+            requestContext.setWriter(new NettyResponseWriter(ctx, req, container, entityStream));
 
-            // must be like this, since there is a blocking read from Jersey
-            container.getExecutorService().execute(new Runnable() {
-                @Override
-                public void run() {
-                    container.getApplicationHandler().handle(requestContext);
-                }
-            });
+            final boolean entityDeferred = entityStream != null && !HttpUtil.isTransferEncodingChunked(req)
+                    && HttpUtil.getContentLength(req) <= MAX_DEFERRED_DISPATCH_ENTITY_SIZE;
+
+            // processing on the event loop requires the entity to be available by the time of the dispatch
+            final Runnable dispatch = dispatcher(requestContext, (entityStream == null || entityDeferred)
+                    && container.getEventLoopDispatch().isNonBlocking(requestContext));
+
+            if (entityDeferred) {
+                // small entity - dispatch once received
+                deferredDispatch = dispatch;
+            } else {
+                dispatch.run();
+            }
         }
 
         if (msg instanceof HttpContent) {
             HttpContent httpContent = (HttpContent) msg;
 
-            ByteBuf content = httpContent.content();
-
-            if (content.isReadable()) {
-                isList.add(new ByteBufInputStream(content));
+            if (entityStream != null) {
+                // buffer ownership is passed to the entity stream
+                entityStream.offer(httpContent.content());
+            } else {
+                httpContent.release();
             }
 
             if (msg instanceof LastHttpContent) {
-                isList.add(NettyInputStream.END_OF_INPUT);
+                if (entityStream != null) {
+                    entityStream.complete();
+                    entityStream = null;
+                }
+                if (deferredDispatch != null) {
+                    final Runnable dispatch = deferredDispatch;
+                    deferredDispatch = null;
+                    dispatch.run();
+                }
             }
         }
     }
 
+    private Runnable dispatcher(final ContainerRequest requestContext, final boolean onEventLoop) {
+        if (onEventLoop) {
+            final EventLoopDispatch eventLoopDispatch = container.getEventLoopDispatch();
+            return new Runnable() {
+                @Override
+                public void run() {
+                    eventLoopDispatch.handle(container.getApplicationHandler(), requestContext);
+                }
+            };
+        }
+
+        // must be like this, since there is a blocking read from Jersey
+        final Runnable handle = new Runnable() {
+            @Override
+            public void run() {
+                container.getApplicationHandler().handle(requestContext);
+            }
+        };
+        return new Runnable() {
+            @Override
+            public void run() {
+                container.getExecutorService().execute(handle);
+            }
+        };
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (entityStream != null) {
+            entityStream.fail(new IOException("Connection was closed prematurely."));
+            entityStream = null;
+        }
+        deferredDispatch = null;
+        super.channelInactive(ctx);
+    }
+
     /**
      * Create Jersey {@link ContainerRequest} based on Netty {@link HttpRequest}.
      *
@@ -175,15 +229,10 @@ class JerseyServerHandler extends ChannelInboundHandlerAdapter {
         if ((req.headers().contains(HttpHeaderNames.CONTENT_LENGTH) && HttpUtil.getContentLength(req) > 0)
                 || HttpUtil.isTransferEncodingChunked(req)) {
 
-            ctx.channel().closeFuture().addListener(new GenericFutureListener<Future<? super Void>>() {
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    isList.add(NettyInputStream.END_OF_INPUT_ERROR);
-                }
-            });
-
-            requestContext.setEntityStream(new NettyInputStream(isList));
+            entityStream = new NettyEntityInputStream(ctx.channel());
+            requestContext.setEntityStream(entityStream);
         } else {
+            entityStream = null;
             requestContext.setEntityStream(new InputStream() {
                 @Override
                 public int read() throws IOException {
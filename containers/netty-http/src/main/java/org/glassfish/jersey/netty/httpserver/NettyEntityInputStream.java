@@ -0,0 +1,246 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.httpserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+
+import org.glassfish.jersey.netty.httpserver.internal.LocalizationMessages;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * Request entity stream backed directly by the reference-counted content buffers received by Netty.
+ * <p>
+ * The buffers are not copied, they are queued as received and read through as a single composite stream. Each buffer
+ * is released as soon as it has been read or the stream is closed. If the reader falls behind, reading from the
+ * channel is suspended once {@value #HIGH_WATERMARK} bytes are queued and resumed when the queued content drops
+ * to {@value #LOW_WATERMARK} bytes.
+ * </p>
+ * <p>
+ * Content is offered by the channel event loop, the stream is read by a Jersey worker thread.
+ * </p>
+ */
+final class NettyEntityInputStream extends InputStream {
+
+    /**
+     * Amount of queued content at which reading from the channel is suspended.
+     */
+    static final int HIGH_WATERMARK = 64 * 1024;
+    /**
+     * Amount of queued content at which reading from the channel is resumed.
+     */
+    static final int LOW_WATERMARK = 16 * 1024;
+
+    private final Channel channel;
+    private final ArrayDeque<ByteBuf> buffers = new ArrayDeque<>();
+
+    private int queuedBytes = 0;
+    private boolean suspended = false;
+    private boolean complete = false;
+    private boolean closed = false;
+    private IOException failure = null;
+
+    /**
+     * Create new entity stream.
+     *
+     * @param channel channel the content is read from, reading from the channel is suspended while too much content
+     *                is queued. If {@code null}, the amount of queued content is not limited.
+     */
+    NettyEntityInputStream(final Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Queue received content. The stream takes over the ownership of the buffer.
+     *
+     * @param content received content.
+     */
+    synchronized void offer(final ByteBuf content) {
+        if (closed || complete || !content.isReadable()) {
+            content.release();
+            return;
+        }
+
+        buffers.add(content);
+        queuedBytes += content.readableBytes();
+        if (channel != null && !suspended && queuedBytes >= HIGH_WATERMARK) {
+            suspended = true;
+            channel.config().setAutoRead(false);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Mark the entity as completely received.
+     */
+    synchronized void complete() {
+        complete = true;
+        notifyAll();
+    }
+
+    /**
+     * Mark the entity as incomplete, the reader will fail once it reads all the content received so far.
+     *
+     * @param cause failure cause.
+     */
+    synchronized void fail(final IOException cause) {
+        if (!complete) {
+            failure = cause;
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        final ByteBuf buffer = awaitContent();
+        if (buffer == null) {
+            return -1;
+        }
+
+        final int b = buffer.readByte() & 0xFF;
+        consumed(buffer, 1);
+        return b;
+    }
+
+    @Override
+    public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+
+        ByteBuf buffer = awaitContent();
+        if (buffer == null) {
+            return -1;
+        }
+
+        // read through all the queued buffers, but do not wait for more content once something has been read
+        int read = 0;
+        while (buffer != null && read < len) {
+            final int n = Math.min(len - read, buffer.readableBytes());
+            buffer.readBytes(b, off + read, n);
+            read += n;
+            consumed(buffer, n);
+            buffer = buffers.peek();
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized long skip(final long n) throws IOException {
+        long skipped = 0;
+        ByteBuf buffer = n > 0 ? awaitContent() : null;
+        while (buffer != null && skipped < n) {
+            final int s = (int) Math.min(n - skipped, buffer.readableBytes());
+            buffer.skipBytes(s);
+            skipped += s;
+            consumed(buffer, s);
+            buffer = buffers.peek();
+        }
+        return skipped;
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        return queuedBytes;
+    }
+
+    /**
+     * Release all the queued content and discard any content received later on.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        ByteBuf buffer;
+        while ((buffer = buffers.poll()) != null) {
+            buffer.release();
+        }
+        queuedBytes = 0;
+        resume();
+        notifyAll();
+    }
+
+    private ByteBuf awaitContent() throws IOException {
+        while (buffers.isEmpty()) {
+            if (closed || complete) {
+                return null;
+            } else if (failure != null) {
+                throw new IOException(failure.getMessage(), failure);
+            } else if (channel != null && channel.eventLoop().inEventLoop()) {
+                // the content would never arrive, the event loop that reads it would be waiting here
+                throw new IOException(LocalizationMessages.EVENT_LOOP_ENTITY_NOT_RECEIVED());
+            }
+
+            try {
+                wait();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted.", e);
+            }
+        }
+        return buffers.peek();
+    }
+
+    private void consumed(final ByteBuf buffer, final int bytes) {
+        queuedBytes -= bytes;
+        if (!buffer.isReadable()) {
+            buffers.poll();
+            buffer.release();
+        }
+        if (queuedBytes <= LOW_WATERMARK) {
+            resume();
+        }
+    }
+
+    private void resume() {
+        if (suspended) {
+            suspended = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+}
@@ -73,14 +73,17 @@ class NettyHttp2ResponseWriter implements ContainerResponseWriter {
     private final ChannelHandlerContext ctx;
     private final Http2HeadersFrame headersFrame;
     private final NettyHttpContainer container;
+    private final NettyEntityInputStream entityStream;
 
     private volatile ScheduledFuture<?> suspendTimeoutFuture;
     private volatile Runnable suspendTimeoutHandler;
 
-    NettyHttp2ResponseWriter(ChannelHandlerContext ctx, Http2HeadersFrame headersFrame, NettyHttpContainer container) {
+    NettyHttp2ResponseWriter(ChannelHandlerContext ctx, Http2HeadersFrame headersFrame, NettyHttpContainer container,
+                             NettyEntityInputStream entityStream) {
         this.ctx = ctx;
         this.headersFrame = headersFrame;
         this.container = container;
+        this.entityStream = entityStream;
     }
 
     @Override
@@ -184,11 +187,13 @@ class NettyHttp2ResponseWriter implements ContainerResponseWriter {
 
     @Override
     public void commit() {
+        releaseRequestEntity();
         ctx.flush();
     }
 
     @Override
     public void failure(Throwable error) {
+        releaseRequestEntity();
         ctx.writeAndFlush(new DefaultHttp2Headers().status(HttpResponseStatus.INTERNAL_SERVER_ERROR.codeAsText()))
            .addListener(ChannelFutureListener.CLOSE);
     }
@@ -197,4 +202,10 @@ class NettyHttp2ResponseWriter implements ContainerResponseWriter {
     public boolean enableResponseBuffering() {
         return true;
     }
+
+    private void releaseRequestEntity() {
+        if (entityStream != null) {
+            entityStream.close();
+        }
+    }
 }
@@ -59,9 +59,11 @@ import org.glassfish.jersey.spi.ScheduledExecutorServiceProvider;
 class NettyHttpContainer implements Container {
 
     private volatile ApplicationHandler appHandler;
+    private volatile EventLoopDispatch eventLoopDispatch;
 
     public NettyHttpContainer(Application application) {
         this.appHandler = new ApplicationHandler(application);
+        this.eventLoopDispatch = EventLoopDispatch.create(appHandler);
         this.appHandler.onStartup(this);
     }
 
@@ -85,6 +87,7 @@ class NettyHttpContainer implements Container {
         appHandler.onShutdown(this);
 
         appHandler = new ApplicationHandler(configuration);
+        eventLoopDispatch = EventLoopDispatch.create(appHandler);
         appHandler.onReload(this);
         appHandler.onStartup(this);
     }
@@ -98,6 +101,15 @@ class NettyHttpContainer implements Container {
         return appHandler.getInstanceManager().getInstance(ExecutorServiceProvider.class).getExecutorService();
     }
 
+    /**
+     * Get the policy deciding which requests are processed directly on the event loop.
+     *
+     * @return event loop dispatch policy of the current application.
+     */
+    EventLoopDispatch getEventLoopDispatch() {
+        return eventLoopDispatch;
+    }
+
     /**
      * Get {@link ScheduledExecutorService}.
      *
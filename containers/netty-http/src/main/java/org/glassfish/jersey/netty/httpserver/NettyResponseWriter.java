@@ -40,7 +40,11 @@
 
 package org.glassfish.jersey.netty.httpserver;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
@@ -48,7 +52,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.glassfish.jersey.netty.connector.internal.JerseyChunkedInput;
+import org.glassfish.jersey.message.internal.HttpDateFormat;
 import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
@@ -56,9 +60,10 @@ import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpResponse;
-import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
@@ -66,6 +71,7 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 
 /**
  * Netty implementation of {@link ContainerResponseWriter}.
@@ -86,16 +92,27 @@ class NettyResponseWriter implements ContainerResponseWriter {
     private final ChannelHandlerContext ctx;
     private final HttpRequest req;
     private final NettyHttpContainer container;
+    private final NettyEntityInputStream entityStream;
 
     private volatile ScheduledFuture<?> suspendTimeoutFuture;
     private volatile Runnable suspendTimeoutHandler;
 
     private boolean responseWritten = false;
 
-    NettyResponseWriter(ChannelHandlerContext ctx, HttpRequest req, NettyHttpContainer container) {
+    /**
+     * Create new response writer.
+     *
+     * @param ctx          channel handler context.
+     * @param req          request to be responded.
+     * @param container    Netty container.
+     * @param entityStream request entity stream to be released once the response is completed, may be {@code null}.
+     */
+    NettyResponseWriter(ChannelHandlerContext ctx, HttpRequest req, NettyHttpContainer container,
+                        NettyEntityInputStream entityStream) {
         this.ctx = ctx;
         this.req = req;
         this.container = container;
+        this.entityStream = entityStream;
     }
 
     @Override
@@ -127,8 +144,15 @@ class NettyResponseWriter implements ContainerResponseWriter {
             response.headers().add(e.getKey(), e.getValue());
         }
 
+        if (!response.headers().contains(HttpHeaderNames.DATE)) {
+            response.headers().set(HttpHeaderNames.DATE, HttpDateFormat.getCurrentDate());
+        }
+
         if (contentLength == -1) {
-            HttpUtil.setTransferEncodingChunked(response, true);
+            // the entity size may be known to the writer of the entity even if it has not been buffered
+            if (!response.headers().contains(HttpHeaderNames.CONTENT_LENGTH)) {
+                HttpUtil.setTransferEncodingChunked(response, true);
+            }
         } else {
             response.headers().set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
         }
@@ -141,14 +165,12 @@ class NettyResponseWriter implements ContainerResponseWriter {
 
         if (req.method() != HttpMethod.HEAD && (contentLength > 0 || contentLength == -1)) {
 
-            JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ctx.channel());
-
-            if (HttpUtil.isTransferEncodingChunked(response)) {
-                ctx.write(new HttpChunkedInput(jerseyChunkedInput)).addListener(FLUSH_FUTURE);
-            } else {
-                ctx.write(new HttpChunkedInput(jerseyChunkedInput)).addListener(FLUSH_FUTURE);
+            if (ctx.executor().inEventLoop()) {
+                // processed on the event loop, the chunked input would be read only after the processing is finished
+                return new EventLoopOutputStream(ctx);
             }
-            return jerseyChunkedInput;
+
+            return new ResponseOutputStream(ctx);
 
         } else {
             ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
@@ -195,11 +217,13 @@ class NettyResponseWriter implements ContainerResponseWriter {
 
     @Override
     public void commit() {
+        releaseRequestEntity();
         ctx.flush();
     }
 
     @Override
     public void failure(Throwable error) {
+        releaseRequestEntity();
         ctx.writeAndFlush(new DefaultFullHttpResponse(req.protocolVersion(), HttpResponseStatus.INTERNAL_SERVER_ERROR))
            .addListener(ChannelFutureListener.CLOSE);
     }
@@ -208,4 +232,34 @@ class NettyResponseWriter implements ContainerResponseWriter {
     public boolean enableResponseBuffering() {
         return true;
     }
+
+    /**
+     * Create a file region to be written to the channel.
+     *
+     * @param ctx      channel handler context.
+     * @param file     file to be written.
+     * @param position position in the file of the first byte to be written.
+     * @param count    number of bytes to be written.
+     * @return file region owning an open channel of the file or {@code null} if file regions cannot be written
+     * to the channel.
+     * @throws IOException if the file cannot be opened.
+     */
+    static FileRegion createFileRegion(final ChannelHandlerContext ctx, final Path file, final long position, final long count)
+            throws IOException {
+        if (ctx.pipeline().get(SslHandler.class) != null) {
+            // file regions are transferred to the socket directly, bypassing the encryption
+            return null;
+        }
+        return new DefaultFileRegion(FileChannel.open(file, StandardOpenOption.READ), position, count);
+    }
+
+    /**
+     * Release the unread request entity content and resume reading from the channel if it has been suspended,
+     * so that the next request on the connection can be received.
+     */
+    private void releaseRequestEntity() {
+        if (entityStream != null) {
+            entityStream.close();
+        }
+    }
 }
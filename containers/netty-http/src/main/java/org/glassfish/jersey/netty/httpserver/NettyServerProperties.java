@@ -0,0 +1,84 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.httpserver;
+
+import org.glassfish.jersey.internal.util.PropertiesClass;
+
+/**
+ * Jersey Netty container configuration properties.
+ *
+ * @since 3.0
+ */
+@PropertiesClass
+public final class NettyServerProperties {
+
+    /**
+     * If set to {@code true}, all requests are processed directly on the Netty I/O thread (event loop) that received them,
+     * as if all the resource methods were annotated with {@link NonBlocking &#64;NonBlocking}. Requests with an entity
+     * that has not been completely received by the time the request is dispatched are still processed by worker threads.
+     * <p></p>
+     * If not set, only the requests matched by {@link NonBlocking non-blocking} resource methods are processed on the event
+     * loop.
+     * <p></p>
+     * The default value is {@code false}.
+     * <p></p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String EVENT_LOOP_DISPATCH = "jersey.config.netty.eventLoopDispatch";
+
+    /**
+     * Time in milliseconds ({@link Integer} value) the processing of a request on the event loop may take before it is
+     * reported as blocking the event loop. Requests that exceed the threshold are logged as warnings. Reads of a request
+     * entity that would have to wait for content on the event loop fail regardless of the threshold.
+     * <p></p>
+     * A value lower than or equal to zero disables the reporting.
+     * <p></p>
+     * The default value is {@value #DEFAULT_EVENT_LOOP_BLOCKING_THRESHOLD}.
+     * <p></p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String EVENT_LOOP_BLOCKING_THRESHOLD = "jersey.config.netty.eventLoopDispatch.blockingThreshold";
+
+    static final int DEFAULT_EVENT_LOOP_BLOCKING_THRESHOLD = 100;
+
+    private NettyServerProperties() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.httpserver;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a resource method, or all resource methods of a resource class, as non-blocking.
+ * <p>
+ * Requests matched by a non-blocking resource method are processed by the Netty container directly on the I/O thread
+ * (event loop) that received them instead of being handed over to a worker thread. The method, as well as all the
+ * providers (filters, interceptors, entity providers) involved in the request processing, must therefore never block.
+ * In particular, it must not perform blocking I/O or wait for other threads.
+ * </p>
+ * <p>
+ * A request is processed on the event loop only if it cannot be matched by any resource method or sub-resource locator
+ * that is not non-blocking, and only if its entity (if any) has been completely received. All the other requests are
+ * processed by worker threads.
+ * </p>
+ * <p>
+ * The request is matched against the paths and HTTP methods of the resource methods when it is received, i.e. before
+ * any pre-matching {@link javax.ws.rs.container.ContainerRequestFilter request filter} could change its URI or method.
+ * The annotation is therefore ignored (all requests are processed by worker threads) if the application registers
+ * a pre-matching request filter, unless {@link NettyServerProperties#EVENT_LOOP_DISPATCH} is enabled.
+ * </p>
+ *
+ * @see NettyServerProperties#EVENT_LOOP_DISPATCH
+ * @see NettyServerProperties#EVENT_LOOP_BLOCKING_THRESHOLD
+ * @since 3.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface NonBlocking {
+}
@@ -0,0 +1,158 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.netty.httpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+import org.glassfish.jersey.netty.connector.internal.JerseyChunkedInput;
+import org.glassfish.jersey.spi.FileRegionOutput;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.FileRegion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * Response entity stream used by requests processed outside of the event loop.
+ * <p>
+ * The written content is passed to the event loop through a {@link JerseyChunkedInput chunked input}. File regions
+ * are written to the channel as {@link FileRegion file regions}, i.e. they are transferred to the socket without
+ * being copied to the user space, unless the channel is encrypted. Each file region ends the current chunked input,
+ * the content written after the region is passed in a new one.
+ * </p>
+ */
+final class ResponseOutputStream extends OutputStream implements FileRegionOutput {
+
+    private final ChannelHandlerContext ctx;
+    private final ChannelFutureListener writeFailure = future -> {
+        if (!future.isSuccess()) {
+            failure = future.cause();
+        }
+    };
+
+    private JerseyChunkedInput chunkedInput;
+    private boolean closed = false;
+    private volatile Throwable failure;
+
+    /**
+     * Create new response entity stream.
+     *
+     * @param ctx channel handler context.
+     */
+    ResponseOutputStream(final ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        checkClosed();
+        chunkedInput().write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        checkClosed();
+        chunkedInput().write(b, off, len);
+    }
+
+    @Override
+    public boolean writeFileRegion(final Path file, final long position, final long count) throws IOException {
+        checkClosed();
+        final FileRegion region = NettyResponseWriter.createFileRegion(ctx, file, position, count);
+        if (region == null) {
+            return false;
+        }
+
+        endChunkedInput();
+        // The region owns the file channel and the writes are ordered by the channel, hence there is no need to wait
+        // for the transfer to complete; a failure is reported by the next operation on the stream.
+        ctx.writeAndFlush(region).addListener(writeFailure);
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkFailure();
+        if (chunkedInput != null) {
+            chunkedInput.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            endChunkedInput();
+            ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            checkFailure();
+        }
+    }
+
+    private JerseyChunkedInput chunkedInput() {
+        if (chunkedInput == null) {
+            chunkedInput = new JerseyChunkedInput(ctx.channel());
+            ctx.write(chunkedInput).addListener(NettyResponseWriter.FLUSH_FUTURE);
+        }
+        return chunkedInput;
+    }
+
+    private void endChunkedInput() throws IOException {
+        if (chunkedInput != null) {
+            chunkedInput.close();
+            chunkedInput = null;
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Stream already closed.");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        final Throwable cause = failure;
+        if (cause != null) {
+            throw new IOException(cause);
+        }
+    }
+}
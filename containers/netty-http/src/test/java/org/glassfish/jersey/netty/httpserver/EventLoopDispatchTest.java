@@ -0,0 +1,268 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.netty.httpserver;
+
+import java.io.IOException;
+import java.net.URI;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.UriBuilder;
+
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.FastThreadLocalThread;
+
+/**
+ * Tests for processing of {@link NonBlocking non-blocking} resource methods on the Netty event loop.
+ */
+public class EventLoopDispatchTest {
+
+    private static final URI BASE_URI = UriBuilder.fromUri("http://localhost/").port(9998).build();
+
+    private static final String EVENT_LOOP = "event-loop";
+    private static final String WORKER = "worker";
+
+    private Channel server;
+    private Client client;
+
+    private static String thread() {
+        // Netty I/O threads are created by Netty's default thread factory.
+        return Thread.currentThread() instanceof FastThreadLocalThread ? EVENT_LOOP : WORKER;
+    }
+
+    @Path("methods")
+    public static class MethodResource {
+
+        @GET
+        @NonBlocking
+        @Path("non-blocking")
+        public String nonBlocking() {
+            return thread();
+        }
+
+        @POST
+        @NonBlocking
+        @Path("non-blocking")
+        public String nonBlockingPost(final String entity) {
+            return thread() + ":" + entity.length();
+        }
+
+        @GET
+        @Path("blocking")
+        public String blocking() {
+            return thread();
+        }
+
+    }
+
+    @Path("ambiguous")
+    public static class AmbiguousResource {
+
+        @GET
+        @NonBlocking
+        @Path("fixed")
+        public String fixed() {
+            return thread();
+        }
+
+        @GET
+        @Path("{any}")
+        public String any(@PathParam("any") final String any) {
+            return thread();
+        }
+    }
+
+    @Path("encoded")
+    public static class EncodedResource {
+
+        @GET
+        @NonBlocking
+        @Path("a/b")
+        public String nonBlocking() {
+            return thread();
+        }
+
+        @GET
+        @Path("{id}")
+        public String blocking(@PathParam("id") final String id) {
+            return thread() + ":" + id;
+        }
+    }
+
+    @NonBlocking
+    @Path("class")
+    public static class NonBlockingResource {
+
+        @GET
+        public String get() {
+            return thread();
+        }
+
+        @Path("locator")
+        public NonBlockingSubResource locator() {
+            return new NonBlockingSubResource();
+        }
+    }
+
+    @NonBlocking
+    public static class NonBlockingSubResource {
+
+        @GET
+        public String get() {
+            return thread();
+        }
+    }
+
+    @PreMatching
+    public static class PreMatchingFilter implements ContainerRequestFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) throws IOException {
+            if (requestContext.getUriInfo().getPath().equals("class/rewritten")) {
+                requestContext.setRequestUri(UriBuilder.fromUri(requestContext.getUriInfo().getRequestUri())
+                        .replacePath("/methods/blocking").build());
+            }
+        }
+    }
+
+    @Before
+    public void setUp() {
+        client = ClientBuilder.newClient();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        client.close();
+        if (server != null) {
+            server.close().sync();
+        }
+    }
+
+    private void startServer(final ResourceConfig config) {
+        server = NettyHttpContainerProvider.createServer(BASE_URI, config, false);
+    }
+
+    private String get(final String path) {
+        return client.target(BASE_URI).path(path).request().get(String.class);
+    }
+
+    @Test
+    public void testNonBlockingMethod() {
+        startServer(new ResourceConfig(MethodResource.class, AmbiguousResource.class));
+
+        assertEquals(EVENT_LOOP, get("methods/non-blocking"));
+        assertEquals(WORKER, get("methods/blocking"));
+        // A blocking resource method matches the path too.
+        assertEquals(WORKER, get("ambiguous/fixed"));
+        assertEquals(WORKER, get("ambiguous/other"));
+    }
+
+    @Test
+    public void testEncodedPath() {
+        startServer(new ResourceConfig(EncodedResource.class));
+
+        assertEquals(EVENT_LOOP, get("encoded/a/b"));
+        assertEquals(EVENT_LOOP, get("encoded/a;x=1/b"));
+        // The encoded slash is a part of the path parameter, the request is routed to the blocking method.
+        assertEquals(WORKER + ":a/b", get("encoded/a%2Fb"));
+    }
+
+    @Test
+    public void testNonBlockingClass() {
+        startServer(new ResourceConfig(NonBlockingResource.class, MethodResource.class));
+
+        assertEquals(EVENT_LOOP, get("class"));
+        assertEquals(WORKER, get("methods/blocking"));
+    }
+
+    @Test
+    public void testSubResourceLocator() {
+        startServer(new ResourceConfig(NonBlockingResource.class));
+
+        // The resource returned by a locator is not known in advance.
+        assertEquals(WORKER, get("class/locator"));
+    }
+
+    @Test
+    public void testEntity() {
+        startServer(new ResourceConfig(NonBlockingResource.class, MethodResource.class)
+                .property(NettyServerProperties.EVENT_LOOP_DISPATCH, true));
+
+        assertEquals(EVENT_LOOP + ":5", client.target(BASE_URI).path("methods/non-blocking").request()
+                .post(Entity.text("hello"), String.class));
+        // Entities larger than the deferred dispatch limit are not received before the dispatch.
+        final String large = new String(new char[JerseyServerHandler.MAX_DEFERRED_DISPATCH_ENTITY_SIZE + 1]);
+        assertEquals(WORKER + ":" + large.length(), client.target(BASE_URI).path("methods/non-blocking").request()
+                .post(Entity.text(large), String.class));
+    }
+
+    @Test
+    public void testEventLoopDispatchProperty() {
+        startServer(new ResourceConfig(MethodResource.class)
+                .property(NettyServerProperties.EVENT_LOOP_DISPATCH, true));
+
+        assertEquals(EVENT_LOOP, get("methods/blocking"));
+    }
+
+    @Test
+    public void testPreMatchingFilter() {
+        startServer(new ResourceConfig(NonBlockingResource.class, MethodResource.class, PreMatchingFilter.class));
+
+        // The filter routes the request to a blocking method.
+        assertEquals(WORKER, get("class/rewritten"));
+        assertEquals(WORKER, get("class"));
+    }
+}
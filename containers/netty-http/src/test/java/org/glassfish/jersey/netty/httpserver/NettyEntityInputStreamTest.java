@@ -0,0 +1,108 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.netty.httpserver;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Tests for {@link NettyEntityInputStream}.
+ */
+public class NettyEntityInputStreamTest {
+
+    @Test
+    public void testReadReceivedEntityOnEventLoop() throws IOException {
+        // The embedded channel runs its event loop on the current thread.
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final NettyEntityInputStream stream = new NettyEntityInputStream(channel);
+        stream.offer(Unpooled.wrappedBuffer(new byte[] {1, 2}));
+        stream.complete();
+
+        assertEquals(1, stream.read());
+        assertEquals(2, stream.read());
+        assertEquals(-1, stream.read());
+    }
+
+    @Test
+    public void testReadIncompleteEntityOnEventLoopFailsFast() throws IOException {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final NettyEntityInputStream stream = new NettyEntityInputStream(channel);
+        stream.offer(Unpooled.wrappedBuffer(new byte[] {1}));
+
+        // The content received so far can be read.
+        assertEquals(1, stream.read());
+        try {
+            stream.read();
+            throw new AssertionError("Blocking read on the event loop did not fail.");
+        } catch (final IOException expected) {
+            // Waiting for the rest of the entity would block the event loop that receives it.
+            assertTrue(channel.isOpen());
+        }
+    }
+
+    @Test
+    public void testReadFromWorkerWaitsForContent() throws Exception {
+        // A stream without a channel is never read on an event loop (the embedded event loop claims every thread).
+        final NettyEntityInputStream stream = new NettyEntityInputStream(null);
+        final int[] read = new int[1];
+
+        final Thread reader = new Thread(() -> {
+            try {
+                read[0] = stream.read();
+            } catch (final IOException e) {
+                read[0] = -2;
+            }
+        });
+        reader.start();
+        stream.offer(Unpooled.wrappedBuffer(new byte[] {7}));
+        reader.join(10000);
+
+        assertFalse(reader.isAlive());
+        assertEquals(7, read[0]);
+    }
+}
@@ -83,6 +83,7 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
     private MediaType mediaType;
 
     private final InputStream inputStream;
+    private final BufferedEntityStream entityStream;
     private final Annotation[] annotations;
     private final MultivaluedMap<String, String> headers;
     private final MessageBodyWorkers messageBodyWorkers;
@@ -125,6 +126,14 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
 
         @Override
         public byte[] readChunk(final InputStream in) throws IOException {
+            if (in instanceof BufferedEntityStream) {
+                final BufferedEntityStream entityStream = (BufferedEntityStream) in;
+                return nextChunk(entityStream)
+                        ? Arrays.copyOfRange(entityStream.buffer, entityStream.chunkStart,
+                                             entityStream.chunkStart + entityStream.chunkLength)
+                        : null;
+            }
+
             final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
             byte[] delimiterBuffer = new byte[getDelimiterBufferSize()];
 
@@ -177,6 +186,84 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
             return (buffer.size() > 0) ? buffer.toByteArray() : null;
         }
 
+        /**
+         * Read the next chunk and return a stream view of the chunk data in the buffer of the entity stream.
+         *
+         * @param in buffered entity stream.
+         * @return stream of the next chunk data or {@code null} if no more chunks are available.
+         * @throws IOException in case reading from the entity stream fails.
+         */
+        InputStream readChunkStream(final BufferedEntityStream in) throws IOException {
+            if (!nextChunk(in)) {
+                return null;
+            }
+            // the chunk data may be consumed lazily, prevent the buffer from being overwritten
+            in.shared = true;
+            return new ByteArrayInputStream(in.buffer, in.chunkStart, in.chunkLength);
+        }
+
+        /**
+         * Find the next non-empty chunk in the buffered entity stream. The buffer is scanned in blocks, the entity
+         * stream is read only when the buffered data do not contain a delimiter.
+         *
+         * @param in buffered entity stream.
+         * @return {@code true} if a chunk has been found, {@code false} if no more chunks are available.
+         * @throws IOException in case reading from the entity stream fails.
+         */
+        private boolean nextChunk(final BufferedEntityStream in) throws IOException {
+            // number of bytes following the stream position already known not to start a delimiter
+            int scanned = 0;
+            while (true) {
+                final int start = in.position;
+                final int match = in.buffer == null ? -1 : find(in.buffer, start + scanned, in.limit, in.eof);
+
+                if (match >= 0) {
+                    in.position = match + getDelimiterLength(in.buffer, match, in.limit);
+                    scanned = 0;
+                    if (match == start) {
+                        // skip an empty chunk
+                        continue;
+                    }
+                    in.chunkStart = start;
+                    in.chunkLength = match - start;
+                    return true;
+                }
+
+                if (in.eof) {
+                    // the data after the last delimiter, including an incomplete delimiter, form the last chunk
+                    in.position = in.limit;
+                    in.chunkStart = start;
+                    in.chunkLength = in.limit - start;
+                    return in.chunkLength > 0;
+                }
+
+                scanned = Math.max(0, in.limit - start - (getDelimiterBufferSize() - 1));
+                in.fill();
+            }
+        }
+
+        /**
+         * Find the first occurrence of a delimiter in the buffer.
+         *
+         * @param buffer buffer to be searched.
+         * @param from   index of the first byte to be searched.
+         * @param to     index after the last byte to be searched.
+         * @param eof    {@code true} if no more data will follow the searched data.
+         * @return index of the first delimiter occurrence or {@code -1} if a delimiter has not been found or if more
+         * data are needed to decide which delimiter occurs first.
+         */
+        abstract int find(byte[] buffer, int from, int to, boolean eof);
+
+        /**
+         * Get the length of the delimiter found at the given index of the buffer.
+         *
+         * @param buffer buffer containing the delimiter.
+         * @param index  index of the delimiter returned by {@link #find(byte[], int, int, boolean)}.
+         * @param to     index after the last valid byte in the buffer.
+         * @return length of the delimiter.
+         */
+        abstract int getDelimiterLength(byte[] buffer, int index, int to);
+
         /**
          * Selects a delimiter which corresponds to delimiter buffer. Method automatically appends {@code b} param on the
          * {@code pos} position of {@code delimiterBuffer} array and then starts the selection process with a newly created array.
@@ -256,9 +343,39 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
     private static class FixedBoundaryParser extends AbstractBoundaryParser {
 
         private final byte[] delimiter;
+        // Boyer-Moore-Horspool bad character shifts
+        private final int[] shifts = new int[256];
 
         public FixedBoundaryParser(final byte[] boundary) {
             delimiter = Arrays.copyOf(boundary, boundary.length);
+
+            final int last = delimiter.length - 1;
+            Arrays.fill(shifts, delimiter.length);
+            for (int i = 0; i < last; i++) {
+                shifts[delimiter[i] & 0xFF] = last - i;
+            }
+        }
+
+        @Override
+        int find(byte[] buffer, int from, int to, boolean eof) {
+            final int last = delimiter.length - 1;
+            int i = from;
+            while (i + last < to) {
+                int j = last;
+                while (buffer[i + j] == delimiter[j]) {
+                    if (j == 0) {
+                        return i;
+                    }
+                    j--;
+                }
+                i += shifts[buffer[i + last] & 0xFF];
+            }
+            return -1;
+        }
+
+        @Override
+        int getDelimiterLength(byte[] buffer, int index, int to) {
+            return delimiter.length;
         }
 
         @Override
@@ -282,6 +399,8 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
         private final List<byte[]> delimiters = new ArrayList<byte[]>();
 
         private final int longestDelimiterLength;
+        // bytes that start any of the delimiters
+        private final boolean[] delimiterStarts = new boolean[256];
 
         public FixedMultiBoundaryParser(String... boundaries) {
             for (String boundary: boundaries) {
@@ -298,6 +417,55 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
 
             byte[] longestDelimiter = delimiters.get(delimiters.size() - 1);
             this.longestDelimiterLength = longestDelimiter.length;
+
+            for (byte[] delimiter : delimiters) {
+                if (delimiter.length > 0) {
+                    delimiterStarts[delimiter[0] & 0xFF] = true;
+                }
+            }
+        }
+
+        @Override
+        int find(byte[] buffer, int from, int to, boolean eof) {
+            for (int i = from; i < to; i++) {
+                if (!delimiterStarts[buffer[i] & 0xFF]) {
+                    continue;
+                }
+
+                // delimiters are sorted by length, the shortest delimiter matching at the position wins
+                for (byte[] delimiter : delimiters) {
+                    final int available = Math.min(delimiter.length, to - i);
+                    int matched = 0;
+                    while (matched < available && buffer[i + matched] == delimiter[matched]) {
+                        matched++;
+                    }
+
+                    if (matched == delimiter.length) {
+                        return i;
+                    } else if (matched == available && !eof) {
+                        // the delimiter may continue in the data not read yet
+                        return -1;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        int getDelimiterLength(byte[] buffer, int index, int to) {
+            outer:
+            for (byte[] delimiter : delimiters) {
+                if (index + delimiter.length > to) {
+                    continue;
+                }
+                for (int i = 0; i < delimiter.length; i++) {
+                    if (buffer[index + i] != delimiter[i]) {
+                        continue outer;
+                    }
+                }
+                return delimiter.length;
+            }
+            throw new IllegalStateException("No delimiter found at " + index);
         }
 
         @Override
@@ -334,6 +502,94 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
         }
     }
 
+    /**
+     * Response entity stream that reads the entity in blocks.
+     * <p>
+     * The built-in boundary parsers scan the buffered data directly, other chunk parsers read the stream
+     * the usual way. Once a view of the buffered chunk data is handed out, the buffer content is never overwritten;
+     * a new buffer is allocated instead of compacting the old one.
+     * </p>
+     */
+    static final class BufferedEntityStream extends InputStream {
+
+        private static final int INITIAL_BUFFER_SIZE = 8192;
+
+        private final InputStream in;
+
+        private byte[] buffer;
+        private int position;
+        private int limit;
+        private boolean shared;
+        private boolean eof;
+
+        private int chunkStart;
+        private int chunkLength;
+
+        BufferedEntityStream(final InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Read more data into the buffer, keeping the buffered data following the current position.
+         *
+         * @throws IOException in case reading from the entity stream fails.
+         */
+        private void fill() throws IOException {
+            if (buffer == null) {
+                buffer = new byte[INITIAL_BUFFER_SIZE];
+            } else if (limit == buffer.length) {
+                final int remaining = limit - position;
+                final byte[] target;
+                if (remaining > buffer.length / 2) {
+                    target = new byte[buffer.length * 2];
+                } else {
+                    target = shared ? new byte[buffer.length] : buffer;
+                }
+                System.arraycopy(buffer, position, target, 0, remaining);
+                buffer = target;
+                shared = false;
+                position = 0;
+                limit = remaining;
+            }
+
+            final int read = in.read(buffer, limit, buffer.length - limit);
+            if (read == -1) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position < limit) {
+                return buffer[position++] & 0xFF;
+            }
+            return in.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (position < limit) {
+                final int count = Math.min(len, limit - position);
+                System.arraycopy(buffer, position, b, off, count);
+                position += count;
+                return count;
+            }
+            return eof ? -1 : in.read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (limit - position) + (eof ? 0 : in.available());
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
     /**
      * Package-private constructor used by the {@link ChunkedInputReader}.
      *
@@ -356,6 +612,7 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
         super(chunkType);
 
         this.inputStream = inputStream;
+        this.entityStream = new BufferedEntityStream(inputStream);
         this.annotations = annotations;
         this.mediaType = mediaType;
         this.headers = headers;
@@ -491,11 +748,17 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
         }
 
         try {
-            final byte[] chunk = parser.readChunk(inputStream);
-            if (chunk == null) {
+            final InputStream chunkStream;
+            if (parser instanceof AbstractBoundaryParser) {
+                chunkStream = ((AbstractBoundaryParser) parser).readChunkStream(entityStream);
+            } else {
+                final byte[] chunk = parser.readChunk(entityStream);
+                chunkStream = chunk == null ? null : new ByteArrayInputStream(chunk);
+            }
+
+            if (chunkStream == null) {
                 close();
             } else {
-                final ByteArrayInputStream chunkStream = new ByteArrayInputStream(chunk);
                 // TODO: add interceptors: interceptors are used in ChunkedOutput, so the stream should
                 // be intercepted in the ChunkedInput too. Interceptors cannot be easily added to the readFrom
                 // method as they should wrap the stream before it is processed by ChunkParser. Also please check todo
@@ -42,8 +42,12 @@ package org.glassfish.jersey.client;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -172,4 +176,68 @@ public class FixedBoundaryParserTest {
         assertEquals("edf", new String(bytes));
     }
 
+    @Test
+    public void testBufferedEntityStream() throws IOException {
+        final ChunkParser parser = ChunkedInput.createParser(DELIMITER_4);
+
+        String input = DELIMITER_4 + "abc" + DELIMITER_4 + DELIMITER_4 + "ed12f" + DELIMITER_4 + "ghi123";
+        InputStream stream = new ChunkedInput.BufferedEntityStream(new TrickleInputStream(input.getBytes(), new Random(1)));
+
+        assertEquals("abc", new String(parser.readChunk(stream)));
+        assertEquals("ed12f", new String(parser.readChunk(stream)));
+        assertEquals("ghi123", new String(parser.readChunk(stream)));
+        assertNull(parser.readChunk(stream));
+    }
+
+    @Test
+    public void testBufferedEntityStreamMatchesUnbufferedParsing() throws IOException {
+        final Random random = new Random(42);
+        final byte[] alphabet = "12345*b#".getBytes();
+
+        for (final String delimiter : new String[] {DELIMITER_1, DELIMITER_4, "**b**", "\r\n"}) {
+            final ChunkParser parser = ChunkedInput.createParser(delimiter);
+            for (int i = 0; i < 200; i++) {
+                final byte[] input = new byte[random.nextInt(20_000)];
+                for (int j = 0; j < input.length; j++) {
+                    input[j] = alphabet[random.nextInt(alphabet.length)];
+                }
+
+                final List<byte[]> expected = readChunks(parser, new ByteArrayInputStream(input));
+                final List<byte[]> actual = readChunks(parser,
+                        new ChunkedInput.BufferedEntityStream(new TrickleInputStream(input, random)));
+
+                assertEquals(expected.size(), actual.size());
+                for (int j = 0; j < expected.size(); j++) {
+                    assertArrayEquals(expected.get(j), actual.get(j));
+                }
+            }
+        }
+    }
+
+    static List<byte[]> readChunks(final ChunkParser parser, final InputStream stream) throws IOException {
+        final List<byte[]> chunks = new ArrayList<>();
+        byte[] chunk;
+        while ((chunk = parser.readChunk(stream)) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Input stream returning the data in randomly sized blocks.
+     */
+    static class TrickleInputStream extends ByteArrayInputStream {
+
+        private final Random random;
+
+        TrickleInputStream(final byte[] data, final Random random) {
+            super(data);
+            this.random = random;
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) {
+            return super.read(b, off, Math.min(len, 1 + random.nextInt(10_000)));
+        }
+    }
 }
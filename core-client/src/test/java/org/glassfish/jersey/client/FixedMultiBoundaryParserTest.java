@@ -42,6 +42,7 @@ package org.glassfish.jersey.client;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Random;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
@@ -225,4 +226,20 @@ public class FixedMultiBoundaryParserTest {
         assertEquals("ghi", new String(bytes));
     }
 
+    @Test
+    public void testMultiFixedBoundaryParserBufferedEntityStream() throws IOException {
+        final ChunkParser parser = ChunkedInput.createMultiParser("\n\n", "\r\n\r\n");
+
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append("data: ").append(i).append(i % 2 == 0 ? "\r\n\r\n" : "\n\n");
+        }
+        InputStream stream = new ChunkedInput.BufferedEntityStream(
+                new FixedBoundaryParserTest.TrickleInputStream(input.toString().getBytes(), new Random(7)));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("data: " + i, new String(parser.readChunk(stream)));
+        }
+        assertNull(parser.readChunk(stream));
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
+
+/**
+ * Emits log messages built by the logging filters on a background thread.
+ * <p>
+ * Messages are handed over through a bounded queue. If the queue is full the message is dropped rather than blocking the
+ * request processing thread; the number of dropped messages is reported by the emitter thread once the queue drains. The
+ * emitter thread is started on demand and terminates after being idle for a while, so no explicit shutdown is needed.
+ */
+final class AsyncLogEmitter {
+
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+            .setNameFormat("jersey-logging-emitter-%d")
+            .setDaemon(true)
+            .build();
+
+    private final BlockingQueue<Message> queue;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Create a new emitter.
+     *
+     * @param capacity maximum number of messages waiting to be emitted.
+     */
+    AsyncLogEmitter(final int capacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /**
+     * Schedule a message to be logged. The message builder must not be modified afterwards.
+     *
+     * @param logger  logger to log the message to.
+     * @param level   level of the message.
+     * @param message message to be logged.
+     * @return {@code true} if the message has been scheduled, {@code false} if it has been dropped.
+     */
+    boolean emit(final Logger logger, final Level level, final CharSequence message) {
+        if (!queue.offer(new Message(logger, level, message))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        if (running.compareAndSet(false, true)) {
+            THREAD_FACTORY.newThread(this::drain).start();
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of messages dropped so far because the queue was full.
+     *
+     * @return number of dropped messages.
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        long reported = 0;
+        try {
+            while (true) {
+                final Message message = queue.poll(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (message == null) {
+                    running.set(false);
+                    // A message might have been queued without starting a new emitter thread.
+                    if (queue.isEmpty() || !running.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                final long droppedNow = dropped.get();
+                if (droppedNow != reported) {
+                    message.logger.log(Level.WARNING, LocalizationMessages.LOGGING_MESSAGES_DROPPED(droppedNow - reported));
+                    reported = droppedNow;
+                }
+                message.logger.log(message.level, message.text.toString());
+            }
+        } catch (final InterruptedException e) {
+            running.set(false);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Message {
+
+        private final Logger logger;
+        private final Level level;
+        private final CharSequence text;
+
+        private Message(final Logger logger, final Level level, final CharSequence text) {
+            this.logger = logger;
+            this.level = level;
+            this.text = text;
+        }
+    }
+}
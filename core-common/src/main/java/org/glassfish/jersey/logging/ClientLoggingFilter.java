@@ -90,13 +90,40 @@ final class ClientLoggingFilter extends LoggingInterceptor implements ClientRequ
         super(logger, level, verbosity, maxEntitySize);
     }
 
+    /**
+     * Create a logging filter with custom logger, custom settings of entity logging, asynchronous emission of log messages
+     * and sampling of logged messages.
+     *
+     * @param logger              the logger to log messages to.
+     * @param level               level at which the messages will be logged.
+     * @param verbosity           verbosity of the logged messages. See {@link Verbosity}.
+     * @param maxEntitySize       maximum number of entity bytes to be logged (and buffered) - if the entity is larger,
+     *                            logging filter will print (and buffer in memory) only the specified number of bytes
+     *                            and print "...more..." string at the end. Negative values are interpreted as zero.
+     * @param asyncQueueSize      maximum number of messages waiting to be logged by a background thread, zero or negative
+     *                            values mean that messages are logged synchronously.
+     * @param sampleRate          only every {@code sampleRate}-th request/response exchange is logged.
+     * @param slowThresholdMillis if not negative, only exchanges which take longer than the threshold or end with a server
+     *                            error are logged.
+     */
+    public ClientLoggingFilter(final Logger logger, final Level level, final Verbosity verbosity, final int maxEntitySize,
+                               final int asyncQueueSize, final int sampleRate, final long slowThresholdMillis) {
+        super(logger, level, verbosity, maxEntitySize, asyncQueueSize, sampleRate, slowThresholdMillis);
+    }
+
     @Override
     public void filter(final ClientRequestContext context) throws IOException {
         if (!logger.isLoggable(level)) {
             return;
         }
         final long id = _id.incrementAndGet();
+        if (!isSampled(id)) {
+            return;
+        }
         context.setProperty(LOGGING_ID_PROPERTY, id);
+        if (slowThresholdNanos >= 0) {
+            context.setProperty(LOGGING_START_PROPERTY, System.nanoTime());
+        }
 
         final StringBuilder b = new StringBuilder();
 
@@ -104,12 +131,12 @@ final class ClientLoggingFilter extends LoggingInterceptor implements ClientRequ
         printPrefixedHeaders(b, id, REQUEST_PREFIX, context.getStringHeaders());
 
         if (context.hasEntity() && printEntity(verbosity, context.getMediaType())) {
-            final OutputStream stream = new LoggingStream(b, context.getEntityStream());
+            final OutputStream stream = new LoggingStream(b, context.getEntityStream(), true);
             context.setEntityStream(stream);
             context.setProperty(ENTITY_LOGGER_PROPERTY, stream);
             // not calling log(b) here - it will be called by the interceptor
         } else {
-            log(b);
+            logRequest(b, context::setProperty);
         }
     }
 
@@ -120,6 +147,9 @@ final class ClientLoggingFilter extends LoggingInterceptor implements ClientRequ
             return;
         }
         final Object requestId = requestContext.getProperty(LOGGING_ID_PROPERTY);
+        if ((requestId == null && sampleRate > 1) || !logExchange(requestContext::getProperty, responseContext.getStatus())) {
+            return;
+        }
         final long id = requestId != null ? (Long) requestId : _id.incrementAndGet();
 
         final StringBuilder b = new StringBuilder();
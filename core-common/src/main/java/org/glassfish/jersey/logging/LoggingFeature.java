@@ -63,6 +63,9 @@ import org.glassfish.jersey.CommonProperties;
  * <li>{@link #LOGGING_FEATURE_LOGGER_LEVEL}</li>
  * <li>{@link #LOGGING_FEATURE_VERBOSITY}</li>
  * <li>{@link #LOGGING_FEATURE_MAX_ENTITY_SIZE}</li>
+ * <li>{@link #LOGGING_FEATURE_ASYNC_QUEUE_SIZE}</li>
+ * <li>{@link #LOGGING_FEATURE_SAMPLE_RATE}</li>
+ * <li>{@link #LOGGING_FEATURE_SLOW_THRESHOLD}</li>
  * </ul>
  * <p>
  * If any of the configuration value is not set, following default values are applied:
@@ -71,6 +74,9 @@ import org.glassfish.jersey.CommonProperties;
  * <li>logger level: {@link Level#FINE}</li>
  * <li>verbosity: {@link Verbosity#PAYLOAD_TEXT}</li>
  * <li>maximum entity size: {@value #DEFAULT_MAX_ENTITY_SIZE}</li>
+ * <li>asynchronous queue size: {@value #DEFAULT_ASYNC_QUEUE_SIZE} (messages are logged synchronously)</li>
+ * <li>sample rate: {@value #DEFAULT_SAMPLE_RATE} (every request/response exchange is logged)</li>
+ * <li>slow exchange threshold: {@value #DEFAULT_SLOW_THRESHOLD} (exchanges are logged regardless of their outcome)</li>
  * </ul>
  * <p>
  * Server configurable properties:
@@ -79,6 +85,9 @@ import org.glassfish.jersey.CommonProperties;
  * <li>{@link #LOGGING_FEATURE_LOGGER_LEVEL_SERVER}</li>
  * <li>{@link #LOGGING_FEATURE_VERBOSITY_SERVER}</li>
  * <li>{@link #LOGGING_FEATURE_MAX_ENTITY_SIZE_SERVER}</li>
+ * <li>{@link #LOGGING_FEATURE_ASYNC_QUEUE_SIZE_SERVER}</li>
+ * <li>{@link #LOGGING_FEATURE_SAMPLE_RATE_SERVER}</li>
+ * <li>{@link #LOGGING_FEATURE_SLOW_THRESHOLD_SERVER}</li>
  * </ul>
  * Client configurable properties:
  * <ul>
@@ -86,6 +95,18 @@ import org.glassfish.jersey.CommonProperties;
  * <li>{@link #LOGGING_FEATURE_LOGGER_LEVEL_CLIENT}</li>
  * <li>{@link #LOGGING_FEATURE_VERBOSITY_CLIENT}</li>
  * <li>{@link #LOGGING_FEATURE_MAX_ENTITY_SIZE_CLIENT}</li>
+ * <li>{@link #LOGGING_FEATURE_ASYNC_QUEUE_SIZE_CLIENT}</li>
+ * <li>{@link #LOGGING_FEATURE_SAMPLE_RATE_CLIENT}</li>
+ * <li>{@link #LOGGING_FEATURE_SLOW_THRESHOLD_CLIENT}</li>
+ * </ul>
+ * <p>
+ * Logging an entity in production is made cheaper by the following settings:
+ * <ul>
+ * <li>With a positive asynchronous queue size the messages are logged by a background thread, so the request processing
+ * threads do not wait for the log handlers. If the queue is full, messages are dropped instead of blocking the request.</li>
+ * <li>With a sample rate of {@code N} only every {@code N}-th request/response exchange is logged.</li>
+ * <li>With a non-negative slow exchange threshold (in milliseconds) a request/response exchange is logged only if it took
+ * longer than the threshold or ended with a server error ({@code 5xx}) response.</li>
  * </ul>
  *
  * @author Ondrej Kosatka (ondrej.kosatka at oracle.com)
@@ -109,11 +130,32 @@ public class LoggingFeature implements Feature {
      * Default verbosity for entity logging. See {@link Verbosity}.
      */
     public static final Verbosity DEFAULT_VERBOSITY = Verbosity.PAYLOAD_TEXT;
+    /**
+     * Default size of the queue of messages to be logged asynchronously. Messages are logged synchronously by default.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_ASYNC_QUEUE_SIZE = 0;
+    /**
+     * Default sample rate - every request/response exchange is logged.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 1;
+    /**
+     * Default slow exchange threshold - request/response exchanges are logged regardless of their duration and outcome.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_SLOW_THRESHOLD = -1;
 
     private static final String LOGGER_NAME_POSTFIX = ".logger.name";
     private static final String LOGGER_LEVEL_POSTFIX = ".logger.level";
     private static final String VERBOSITY_POSTFIX = ".verbosity";
     private static final String MAX_ENTITY_POSTFIX = ".entity.maxSize";
+    private static final String ASYNC_QUEUE_SIZE_POSTFIX = ".async.queueSize";
+    private static final String SAMPLE_RATE_POSTFIX = ".sampleRate";
+    private static final String SLOW_THRESHOLD_POSTFIX = ".slowThreshold";
     private static final String LOGGING_FEATURE_COMMON_PREFIX = "jersey.config.logging";
     /**
      * Common logger name property.
@@ -131,6 +173,26 @@ public class LoggingFeature implements Feature {
      * Common property for configuring a maximum number of bytes of entity to be logged.
      */
     public static final String LOGGING_FEATURE_MAX_ENTITY_SIZE = LOGGING_FEATURE_COMMON_PREFIX + MAX_ENTITY_POSTFIX;
+    /**
+     * Common property for configuring a maximum number of messages waiting to be logged by a background thread. Zero or
+     * a negative value means that messages are logged synchronously.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_ASYNC_QUEUE_SIZE = LOGGING_FEATURE_COMMON_PREFIX + ASYNC_QUEUE_SIZE_POSTFIX;
+    /**
+     * Common property for configuring a sample rate {@code N} - only every {@code N}-th request/response exchange is logged.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_SAMPLE_RATE = LOGGING_FEATURE_COMMON_PREFIX + SAMPLE_RATE_POSTFIX;
+    /**
+     * Common property for configuring a threshold (in milliseconds) - if set, only request/response exchanges taking longer
+     * than the threshold or ending with a server error are logged.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_SLOW_THRESHOLD = LOGGING_FEATURE_COMMON_PREFIX + SLOW_THRESHOLD_POSTFIX;
 
     private static final String LOGGING_FEATURE_SERVER_PREFIX = "jersey.config.server.logging";
     /**
@@ -149,6 +211,26 @@ public class LoggingFeature implements Feature {
      * Server property for configuring a maximum number of bytes of entity to be logged.
      */
     public static final String LOGGING_FEATURE_MAX_ENTITY_SIZE_SERVER = LOGGING_FEATURE_SERVER_PREFIX + MAX_ENTITY_POSTFIX;
+    /**
+     * Server property for configuring a maximum number of messages waiting to be logged by a background thread. Zero or
+     * a negative value means that messages are logged synchronously.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_ASYNC_QUEUE_SIZE_SERVER = LOGGING_FEATURE_SERVER_PREFIX + ASYNC_QUEUE_SIZE_POSTFIX;
+    /**
+     * Server property for configuring a sample rate {@code N} - only every {@code N}-th request/response exchange is logged.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_SAMPLE_RATE_SERVER = LOGGING_FEATURE_SERVER_PREFIX + SAMPLE_RATE_POSTFIX;
+    /**
+     * Server property for configuring a threshold (in milliseconds) - if set, only request/response exchanges taking longer
+     * than the threshold or ending with a server error are logged.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_SLOW_THRESHOLD_SERVER = LOGGING_FEATURE_SERVER_PREFIX + SLOW_THRESHOLD_POSTFIX;
 
     private static final String LOGGING_FEATURE_CLIENT_PREFIX = "jersey.config.client.logging";
     /**
@@ -167,6 +249,26 @@ public class LoggingFeature implements Feature {
      * Client property for configuring a maximum number of bytes of entity to be logged.
      */
     public static final String LOGGING_FEATURE_MAX_ENTITY_SIZE_CLIENT = LOGGING_FEATURE_CLIENT_PREFIX + MAX_ENTITY_POSTFIX;
+    /**
+     * Client property for configuring a maximum number of messages waiting to be logged by a background thread. Zero or
+     * a negative value means that messages are logged synchronously.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_ASYNC_QUEUE_SIZE_CLIENT = LOGGING_FEATURE_CLIENT_PREFIX + ASYNC_QUEUE_SIZE_POSTFIX;
+    /**
+     * Client property for configuring a sample rate {@code N} - only every {@code N}-th request/response exchange is logged.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_SAMPLE_RATE_CLIENT = LOGGING_FEATURE_CLIENT_PREFIX + SAMPLE_RATE_POSTFIX;
+    /**
+     * Client property for configuring a threshold (in milliseconds) - if set, only request/response exchanges taking longer
+     * than the threshold or ending with a server error are logged.
+     *
+     * @since 3.0
+     */
+    public static final String LOGGING_FEATURE_SLOW_THRESHOLD_CLIENT = LOGGING_FEATURE_CLIENT_PREFIX + SLOW_THRESHOLD_POSTFIX;
 
     private final Logger filterLogger;
     private final Verbosity verbosity;
@@ -280,21 +382,42 @@ public class LoggingFeature implements Feature {
                         DEFAULT_MAX_ENTITY_SIZE
                 ));
 
+        int filterAsyncQueueSize = getValue(properties, runtimeType, LOGGING_FEATURE_ASYNC_QUEUE_SIZE_SERVER,
+                LOGGING_FEATURE_ASYNC_QUEUE_SIZE_CLIENT, LOGGING_FEATURE_ASYNC_QUEUE_SIZE, DEFAULT_ASYNC_QUEUE_SIZE);
+        int filterSampleRate = getValue(properties, runtimeType, LOGGING_FEATURE_SAMPLE_RATE_SERVER,
+                LOGGING_FEATURE_SAMPLE_RATE_CLIENT, LOGGING_FEATURE_SAMPLE_RATE, DEFAULT_SAMPLE_RATE);
+        int filterSlowThreshold = getValue(properties, runtimeType, LOGGING_FEATURE_SLOW_THRESHOLD_SERVER,
+                LOGGING_FEATURE_SLOW_THRESHOLD_CLIENT, LOGGING_FEATURE_SLOW_THRESHOLD, DEFAULT_SLOW_THRESHOLD);
+
         Level loggerLevel = Level.parse(filterLevel);
 
         if (runtimeType == RuntimeType.SERVER) {
             return new ServerLoggingFilter(filterLogger != null ? filterLogger : Logger.getLogger(filterLoggerName),
                     level != null ? level : loggerLevel,
                     verbosity != null ? verbosity : filterVerbosity,
-                    maxEntitySize != null ? maxEntitySize : filterMaxEntitySize);
+                    maxEntitySize != null ? maxEntitySize : filterMaxEntitySize,
+                    filterAsyncQueueSize,
+                    filterSampleRate,
+                    filterSlowThreshold);
         } else {
             return new ClientLoggingFilter(filterLogger != null ? filterLogger : Logger.getLogger(filterLoggerName),
                     level != null ? level : loggerLevel,
                     verbosity != null ? verbosity : filterVerbosity,
-                    maxEntitySize != null ? maxEntitySize : filterMaxEntitySize);
+                    maxEntitySize != null ? maxEntitySize : filterMaxEntitySize,
+                    filterAsyncQueueSize,
+                    filterSampleRate,
+                    filterSlowThreshold);
         }
     }
 
+    private static <T> T getValue(Map<String, ?> properties, RuntimeType runtimeType, String serverName, String clientName,
+                                  String commonName, T defaultValue) {
+        return CommonProperties.getValue(
+                properties,
+                runtimeType == RuntimeType.SERVER ? serverName : clientName,
+                CommonProperties.getValue(properties, commonName, defaultValue));
+    }
+
     /**
      * {@code Verbosity} determines how detailed message will be logged.
      * <p>
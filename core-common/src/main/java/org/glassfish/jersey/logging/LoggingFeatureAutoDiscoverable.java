@@ -48,6 +48,9 @@ import javax.annotation.Priority;
 
 import org.glassfish.jersey.internal.spi.AutoDiscoverable;
 
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_ASYNC_QUEUE_SIZE;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_ASYNC_QUEUE_SIZE_CLIENT;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_ASYNC_QUEUE_SIZE_SERVER;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_LOGGER_LEVEL;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_LOGGER_LEVEL_CLIENT;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_LOGGER_LEVEL_SERVER;
@@ -57,6 +60,12 @@ import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_LOGGER
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_MAX_ENTITY_SIZE;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_MAX_ENTITY_SIZE_CLIENT;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_MAX_ENTITY_SIZE_SERVER;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_SAMPLE_RATE;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_SAMPLE_RATE_CLIENT;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_SAMPLE_RATE_SERVER;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_SLOW_THRESHOLD;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_SLOW_THRESHOLD_CLIENT;
+import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_SLOW_THRESHOLD_SERVER;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_VERBOSITY;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_VERBOSITY_CLIENT;
 import static org.glassfish.jersey.logging.LoggingFeature.LOGGING_FEATURE_VERBOSITY_SERVER;
@@ -94,20 +103,29 @@ public final class LoggingFeatureAutoDiscoverable implements AutoDiscoverable {
         return properties.containsKey(LOGGING_FEATURE_LOGGER_NAME)
                 || properties.containsKey(LOGGING_FEATURE_LOGGER_LEVEL)
                 || properties.containsKey(LOGGING_FEATURE_VERBOSITY)
-                || properties.containsKey(LOGGING_FEATURE_MAX_ENTITY_SIZE);
+                || properties.containsKey(LOGGING_FEATURE_MAX_ENTITY_SIZE)
+                || properties.containsKey(LOGGING_FEATURE_ASYNC_QUEUE_SIZE)
+                || properties.containsKey(LOGGING_FEATURE_SAMPLE_RATE)
+                || properties.containsKey(LOGGING_FEATURE_SLOW_THRESHOLD);
     }
 
     private boolean clientConfigured(Map properties) {
         return properties.containsKey(LOGGING_FEATURE_LOGGER_NAME_CLIENT)
                 || properties.containsKey(LOGGING_FEATURE_LOGGER_LEVEL_CLIENT)
                 || properties.containsKey(LOGGING_FEATURE_VERBOSITY_CLIENT)
-                || properties.containsKey(LOGGING_FEATURE_MAX_ENTITY_SIZE_CLIENT);
+                || properties.containsKey(LOGGING_FEATURE_MAX_ENTITY_SIZE_CLIENT)
+                || properties.containsKey(LOGGING_FEATURE_ASYNC_QUEUE_SIZE_CLIENT)
+                || properties.containsKey(LOGGING_FEATURE_SAMPLE_RATE_CLIENT)
+                || properties.containsKey(LOGGING_FEATURE_SLOW_THRESHOLD_CLIENT);
     }
 
     private boolean serverConfigured(Map properties) {
         return properties.containsKey(LOGGING_FEATURE_LOGGER_NAME_SERVER)
                 || properties.containsKey(LOGGING_FEATURE_LOGGER_LEVEL_SERVER)
                 || properties.containsKey(LOGGING_FEATURE_VERBOSITY_SERVER)
-                || properties.containsKey(LOGGING_FEATURE_MAX_ENTITY_SIZE_SERVER);
+                || properties.containsKey(LOGGING_FEATURE_MAX_ENTITY_SIZE_SERVER)
+                || properties.containsKey(LOGGING_FEATURE_ASYNC_QUEUE_SIZE_SERVER)
+                || properties.containsKey(LOGGING_FEATURE_SAMPLE_RATE_SERVER)
+                || properties.containsKey(LOGGING_FEATURE_SLOW_THRESHOLD_SERVER);
     }
 }
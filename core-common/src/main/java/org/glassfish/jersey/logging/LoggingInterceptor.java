@@ -40,7 +40,6 @@
 package org.glassfish.jersey.logging;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -53,7 +52,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,6 +67,8 @@ import javax.ws.rs.ext.WriterInterceptorContext;
 
 import org.glassfish.jersey.logging.LoggingFeature.Verbosity;
 import org.glassfish.jersey.message.MessageUtils;
+import org.glassfish.jersey.message.internal.BufferPools;
+import org.glassfish.jersey.spi.BufferPool;
 
 /**
  * An interceptor that logs an entity if configured so and provides a common logic for {@link ClientLoggingFilter}
@@ -90,6 +94,14 @@ abstract class LoggingInterceptor implements WriterInterceptor {
      * Logging record id property
      */
     static final String LOGGING_ID_PROPERTY = LoggingFeature.class.getName() + ".id";
+    /**
+     * Logging start time property
+     */
+    static final String LOGGING_START_PROPERTY = LoggingFeature.class.getName() + ".start";
+    /**
+     * Deferred request log record property
+     */
+    static final String LOGGING_REQUEST_PROPERTY = LoggingFeature.class.getName() + ".request";
     private static final String NOTIFICATION_PREFIX = "* ";
     private static final MediaType TEXT_MEDIA_TYPE = new MediaType("text", "*");
 
@@ -118,6 +130,9 @@ abstract class LoggingInterceptor implements WriterInterceptor {
     final AtomicLong _id = new AtomicLong(0);
     final Verbosity verbosity;
     final int maxEntitySize;
+    final int sampleRate;
+    final long slowThresholdNanos;
+    private final AsyncLogEmitter emitter;
 
     /**
      * Creates a logging filter with custom logger and entity logging turned on, but potentially limiting the size
@@ -131,10 +146,34 @@ abstract class LoggingInterceptor implements WriterInterceptor {
      *                      and print "...more..." string at the end. Negative values are interpreted as zero.
      */
     LoggingInterceptor(final Logger logger, final Level level, final Verbosity verbosity, final int maxEntitySize) {
+        this(logger, level, verbosity, maxEntitySize, 0, 1, -1);
+    }
+
+    /**
+     * Creates a logging filter with custom logger, entity logging settings, asynchronous emission of log messages and
+     * sampling of logged messages.
+     *
+     * @param logger              the logger to log messages to.
+     * @param level               level at which the messages will be logged.
+     * @param verbosity           verbosity of the logged messages. See {@link Verbosity}.
+     * @param maxEntitySize       maximum number of entity bytes to be logged (and buffered) - if the entity is larger,
+     *                            logging filter will print (and buffer in memory) only the specified number of bytes
+     *                            and print "...more..." string at the end. Negative values are interpreted as zero.
+     * @param asyncQueueSize      maximum number of messages waiting to be logged by a background thread, zero or negative
+     *                            values mean that messages are logged synchronously.
+     * @param sampleRate          only every {@code sampleRate}-th request/response exchange is logged.
+     * @param slowThresholdMillis if not negative, only exchanges which take longer than the threshold or end with a server
+     *                            error are logged.
+     */
+    LoggingInterceptor(final Logger logger, final Level level, final Verbosity verbosity, final int maxEntitySize,
+                       final int asyncQueueSize, final int sampleRate, final long slowThresholdMillis) {
         this.logger = logger;
         this.level = level;
         this.verbosity = verbosity;
         this.maxEntitySize = Math.max(0, maxEntitySize);
+        this.emitter = asyncQueueSize > 0 ? new AsyncLogEmitter(asyncQueueSize) : null;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.slowThresholdNanos = slowThresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
     }
 
     /**
@@ -144,8 +183,64 @@ abstract class LoggingInterceptor implements WriterInterceptor {
      */
     void log(final StringBuilder b) {
         if (logger != null && logger.isLoggable(level)) {
-            logger.log(level, b.toString());
+            if (emitter != null) {
+                emitter.emit(logger, level, b);
+            } else {
+                logger.log(level, b.toString());
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the request/response exchange with the given id is sampled for logging.
+     *
+     * @param id logging id of the exchange.
+     * @return {@code true} if the exchange is to be logged.
+     */
+    boolean isSampled(final long id) {
+        return sampleRate == 1 || id % sampleRate == 0;
+    }
+
+    /**
+     * Logs a request message or, if logging depends on the outcome of the exchange, stores the message to be logged
+     * {@link #logExchange(Function, int) later}.
+     *
+     * @param b          request message.
+     * @param properties setter of the request properties.
+     */
+    void logRequest(final StringBuilder b, final BiConsumer<String, Object> properties) {
+        if (slowThresholdNanos < 0) {
+            log(b);
+        } else {
+            properties.accept(LOGGING_REQUEST_PROPERTY, b);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the response of an exchange is to be logged. If logging depends on the outcome of the
+     * exchange, the exchange is logged only if it took longer than the configured threshold or ended with a server error;
+     * the request message stored by {@link #logRequest(StringBuilder, BiConsumer)} is logged in such a case.
+     *
+     * @param properties getter of the request properties.
+     * @param status     response status.
+     * @return {@code true} if the response is to be logged.
+     */
+    boolean logExchange(final Function<String, Object> properties, final int status) {
+        if (slowThresholdNanos < 0) {
+            return true;
+        }
+
+        final Object start = properties.apply(LOGGING_START_PROPERTY);
+        final boolean slow = start == null || System.nanoTime() - (Long) start > slowThresholdNanos;
+        if (!slow && status < 500) {
+            return false;
         }
+
+        final Object request = properties.apply(LOGGING_REQUEST_PROPERTY);
+        if (request != null) {
+            log((StringBuilder) request);
+        }
+        return true;
     }
 
     private StringBuilder prefixId(final StringBuilder b, final long id) {
@@ -207,11 +302,22 @@ abstract class LoggingInterceptor implements WriterInterceptor {
             stream = new BufferedInputStream(stream);
         }
         stream.mark(maxEntitySize + 1);
-        final byte[] entity = new byte[maxEntitySize + 1];
-        final int entitySize = stream.read(entity);
-        b.append(new String(entity, 0, Math.min(entitySize, maxEntitySize), charset));
-        if (entitySize > maxEntitySize) {
-            b.append("...more...");
+
+        final BufferPool pool = BufferPools.get();
+        final byte[] entity = pool.acquire(maxEntitySize + 1);
+        try {
+            int entitySize = 0;
+            int read;
+            while (entitySize <= maxEntitySize
+                    && (read = stream.read(entity, entitySize, maxEntitySize + 1 - entitySize)) != -1) {
+                entitySize += read;
+            }
+            b.append(new String(entity, 0, Math.min(entitySize, maxEntitySize), charset));
+            if (entitySize > maxEntitySize) {
+                b.append("...more...");
+            }
+        } finally {
+            pool.release(entity);
         }
         b.append('\n');
         stream.reset();
@@ -225,7 +331,12 @@ abstract class LoggingInterceptor implements WriterInterceptor {
         writerInterceptorContext.proceed();
         if (logger.isLoggable(level) && printEntity(verbosity, writerInterceptorContext.getMediaType())) {
             if (stream != null) {
-                log(stream.getStringBuilder(MessageUtils.getCharset(writerInterceptorContext.getMediaType())));
+                final StringBuilder b = stream.getStringBuilder(MessageUtils.getCharset(writerInterceptorContext.getMediaType()));
+                if (stream.request) {
+                    logRequest(b, writerInterceptorContext::setProperty);
+                } else {
+                    log(b);
+                }
             }
         }
     }
@@ -262,30 +373,39 @@ abstract class LoggingInterceptor implements WriterInterceptor {
 
     /**
      * Helper class used to log an entity to the output stream up to the specified maximum number of bytes.
+     * <p>
+     * The logged bytes are captured in a buffer obtained from the {@link BufferPools#get() buffer pool}.
      */
     class LoggingStream extends FilterOutputStream {
 
         private final StringBuilder b;
-        private final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        private final boolean request;
+
+        private byte[] captured;
+        private int size;
 
         /**
          * Creates {@code LoggingStream} with the entity and the underlying output stream as parameters.
          *
-         * @param b     contains the entity to log.
-         * @param inner the underlying output stream.
+         * @param b       contains the entity to log.
+         * @param inner   the underlying output stream.
+         * @param request {@code true} if the entity is a request entity.
          */
-        LoggingStream(final StringBuilder b, final OutputStream inner) {
+        LoggingStream(final StringBuilder b, final OutputStream inner, final boolean request) {
             super(inner);
 
             this.b = b;
+            this.request = request;
         }
 
         StringBuilder getStringBuilder(final Charset charset) {
             // write entity to the builder
-            final byte[] entity = baos.toByteArray();
-
-            b.append(new String(entity, 0, Math.min(entity.length, maxEntitySize), charset));
-            if (entity.length > maxEntitySize) {
+            if (captured != null) {
+                b.append(new String(captured, 0, Math.min(size, maxEntitySize), charset));
+                BufferPools.get().release(captured);
+                captured = null;
+            }
+            if (size > maxEntitySize) {
                 b.append("...more...");
             }
             b.append('\n');
@@ -295,11 +415,28 @@ abstract class LoggingInterceptor implements WriterInterceptor {
 
         @Override
         public void write(final int i) throws IOException {
-            if (baos.size() <= maxEntitySize) {
-                baos.write(i);
+            if (size <= maxEntitySize) {
+                capture()[size++] = (byte) i;
             }
             out.write(i);
         }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) throws IOException {
+            if (size <= maxEntitySize && len > 0) {
+                final int n = Math.min(len, maxEntitySize + 1 - size);
+                System.arraycopy(bytes, off, capture(), size, n);
+                size += n;
+            }
+            out.write(bytes, off, len);
+        }
+
+        private byte[] capture() {
+            if (captured == null) {
+                captured = BufferPools.get().acquire(maxEntitySize + 1);
+            }
+            return captured;
+        }
     }
 
 }
@@ -90,13 +90,40 @@ final class ServerLoggingFilter extends LoggingInterceptor implements ContainerR
         super(logger, level, verbosity, maxEntitySize);
     }
 
+    /**
+     * Create a logging filter with custom logger, custom settings of entity logging, asynchronous emission of log messages
+     * and sampling of logged messages.
+     *
+     * @param logger              the logger to log messages to.
+     * @param level               level at which the messages will be logged.
+     * @param verbosity           verbosity of the logged messages. See {@link Verbosity}.
+     * @param maxEntitySize       maximum number of entity bytes to be logged (and buffered) - if the entity is larger,
+     *                            logging filter will print (and buffer in memory) only the specified number of bytes
+     *                            and print "...more..." string at the end. Negative values are interpreted as zero.
+     * @param asyncQueueSize      maximum number of messages waiting to be logged by a background thread, zero or negative
+     *                            values mean that messages are logged synchronously.
+     * @param sampleRate          only every {@code sampleRate}-th request/response exchange is logged.
+     * @param slowThresholdMillis if not negative, only exchanges which take longer than the threshold or end with a server
+     *                            error are logged.
+     */
+    public ServerLoggingFilter(final Logger logger, final Level level, final Verbosity verbosity, final int maxEntitySize,
+                               final int asyncQueueSize, final int sampleRate, final long slowThresholdMillis) {
+        super(logger, level, verbosity, maxEntitySize, asyncQueueSize, sampleRate, slowThresholdMillis);
+    }
+
     @Override
     public void filter(final ContainerRequestContext context) throws IOException {
         if (!logger.isLoggable(level)) {
             return;
         }
         final long id = _id.incrementAndGet();
+        if (!isSampled(id)) {
+            return;
+        }
         context.setProperty(LOGGING_ID_PROPERTY, id);
+        if (slowThresholdNanos >= 0) {
+            context.setProperty(LOGGING_START_PROPERTY, System.nanoTime());
+        }
 
         final StringBuilder b = new StringBuilder();
 
@@ -108,7 +135,7 @@ final class ServerLoggingFilter extends LoggingInterceptor implements ContainerR
                     logInboundEntity(b, context.getEntityStream(), MessageUtils.getCharset(context.getMediaType())));
         }
 
-        log(b);
+        logRequest(b, context::setProperty);
     }
 
     @Override
@@ -118,6 +145,9 @@ final class ServerLoggingFilter extends LoggingInterceptor implements ContainerR
             return;
         }
         final Object requestId = requestContext.getProperty(LOGGING_ID_PROPERTY);
+        if ((requestId == null && sampleRate > 1) || !logExchange(requestContext::getProperty, responseContext.getStatus())) {
+            return;
+        }
         final long id = requestId != null ? (Long) requestId : _id.incrementAndGet();
 
         final StringBuilder b = new StringBuilder();
@@ -126,7 +156,7 @@ final class ServerLoggingFilter extends LoggingInterceptor implements ContainerR
         printPrefixedHeaders(b, id, RESPONSE_PREFIX, responseContext.getStringHeaders());
 
         if (responseContext.hasEntity() && printEntity(verbosity, responseContext.getMediaType())) {
-            final OutputStream stream = new LoggingStream(b, responseContext.getEntityStream());
+            final OutputStream stream = new LoggingStream(b, responseContext.getEntityStream(), false);
             responseContext.setEntityStream(stream);
             requestContext.setProperty(ENTITY_LOGGER_PROPERTY, stream);
             // not calling log(b) here - it will be called by the interceptor
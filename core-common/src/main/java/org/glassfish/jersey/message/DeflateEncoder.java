@@ -44,10 +44,6 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
@@ -61,7 +57,8 @@ import org.glassfish.jersey.spi.ContentEncoder;
  * Deflate encoding support. Interceptor that encodes the output or decodes the input if
  * {@link javax.ws.rs.core.HttpHeaders#CONTENT_ENCODING Content-Encoding header} value equals to {@code deflate}.
  * The default behavior of this interceptor can be tweaked using {@link MessageProperties#DEFLATE_WITHOUT_ZLIB}
- * property.
+ * property, the compression using {@link MessageProperties#COMPRESSION_LEVEL} and
+ * {@link MessageProperties#COMPRESSION_STRATEGY} properties.
  *
  * @author Martin Matula
  */
@@ -70,6 +67,8 @@ public class DeflateEncoder extends ContentEncoder {
 
     // TODO This provider should be registered and configured via a feature.
     private final Configuration config;
+    private final int level;
+    private final int strategy;
 
     /**
      * Initialize DeflateEncoder.
@@ -80,6 +79,8 @@ public class DeflateEncoder extends ContentEncoder {
     public DeflateEncoder(final Configuration config) {
         super("deflate");
         this.config = config;
+        this.level = ZlibStreams.getLevel(config);
+        this.strategy = ZlibStreams.getStrategy(config);
     }
 
     @Override
@@ -98,10 +99,10 @@ public class DeflateEncoder extends ContentEncoder {
         // that should never be the case if no zlib wrapper
         if ((firstByte & 15) == 8) {
             // ok, zlib wrapped stream
-            return new InflaterInputStream(markSupportingStream);
+            return ZlibStreams.inflate(markSupportingStream, false);
         } else {
             // no zlib wrapper
-            return new InflaterInputStream(markSupportingStream, new Inflater(true));
+            return ZlibStreams.inflate(markSupportingStream, true);
         }
     }
 
@@ -121,8 +122,6 @@ public class DeflateEncoder extends ContentEncoder {
             deflateWithoutZLib = false;
         }
 
-        return deflateWithoutZLib
-                ? new DeflaterOutputStream(entityStream, new Deflater(Deflater.DEFAULT_COMPRESSION, true))
-                : new DeflaterOutputStream(entityStream);
+        return ZlibStreams.deflate(entityStream, level, strategy, deflateWithoutZLib);
     }
 }
@@ -43,39 +43,59 @@ package org.glassfish.jersey.message;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
 
+import javax.inject.Inject;
+
 import org.glassfish.jersey.spi.ContentEncoder;
 
 /**
  * GZIP encoding support. Interceptor that encodes the output or decodes the input if
  * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} value equals to {@code gzip} or {@code x-gzip}.
+ * The compression can be tweaked using {@link MessageProperties#COMPRESSION_LEVEL} and
+ * {@link MessageProperties#COMPRESSION_STRATEGY} properties.
  *
  * @author Martin Matula
  */
 @Priority(Priorities.ENTITY_CODER)
 public class GZipEncoder extends ContentEncoder {
+
+    private final int level;
+    private final int strategy;
+
     /**
      * Initialize GZipEncoder.
      */
     public GZipEncoder() {
+        this(null);
+    }
+
+    /**
+     * Initialize GZipEncoder.
+     *
+     * @param config Jersey configuration properties.
+     * @since 3.0
+     */
+    @Inject
+    public GZipEncoder(final Configuration config) {
         super("gzip", "x-gzip");
+        this.level = ZlibStreams.getLevel(config);
+        this.strategy = ZlibStreams.getStrategy(config);
     }
 
     @Override
     public InputStream decode(String contentEncoding, InputStream encodedStream)
             throws IOException {
-        return new GZIPInputStream(encodedStream);
+        return ZlibStreams.gunzip(encodedStream);
     }
 
     @Override
     public OutputStream encode(String contentEncoding, OutputStream entityStream)
             throws IOException {
-        return new GZIPOutputStream(entityStream);
+        return ZlibStreams.gzip(entityStream, level, strategy);
     }
 }
@@ -113,6 +113,33 @@ public final class MessageProperties {
      */
     public static final String DEFLATE_WITHOUT_ZLIB = "jersey.config.deflate.nozlib";
 
+    /**
+     * Compression level used by the {@link GZipEncoder gzip} and {@link DeflateEncoder deflate} encoding interceptors.
+     * The value is expected to be an integer between {@code 0} (no compression) and {@code 9} (best compression),
+     * or {@code -1} for the zlib default level, otherwise it will be ignored.
+     * <p />
+     * The default value is {@code -1} ({@link java.util.zip.Deflater#DEFAULT_COMPRESSION}).
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 3.0
+     */
+    public static final String COMPRESSION_LEVEL = "jersey.config.compression.level";
+
+    /**
+     * Compression strategy used by the {@link GZipEncoder gzip} and {@link DeflateEncoder deflate} encoding interceptors.
+     * The value is expected to be one of {@link java.util.zip.Deflater#DEFAULT_STRATEGY} ({@code 0}),
+     * {@link java.util.zip.Deflater#FILTERED} ({@code 1}) or {@link java.util.zip.Deflater#HUFFMAN_ONLY} ({@code 2}),
+     * otherwise it will be ignored.
+     * <p />
+     * The default value is {@code 0} ({@link java.util.zip.Deflater#DEFAULT_STRATEGY}).
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 3.0
+     */
+    public static final String COMPRESSION_STRATEGY = "jersey.config.compression.strategy";
+
     /**
      * If set to {@code true}, {@link javax.ws.rs.ext.MessageBodyReader MessageBodyReaders} and
      * {@link javax.ws.rs.ext.MessageBodyWriter MessageBodyWriters} will be ordered by rules from JAX-RS 1.x, where custom
@@ -0,0 +1,527 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.message;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.CommonProperties;
+
+/**
+ * Deflate and gzip streams backed by pooled {@link Deflater deflaters} and {@link Inflater inflaters}.
+ * <p>
+ * The JDK {@link java.util.zip.GZIPOutputStream} and {@link java.util.zip.GZIPInputStream} always allocate new native
+ * zlib state, which is released only once the stream is closed or finalized. Streams created by this class borrow
+ * the deflater (inflater) from a bounded pool instead and return it to the pool once they are closed.
+ * </p>
+ *
+ * @see MessageProperties#COMPRESSION_LEVEL
+ * @see MessageProperties#COMPRESSION_STRATEGY
+ */
+final class ZlibStreams {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_TRAILER_SIZE = 8;
+    // header flags
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private static final Pool<Deflater> ZLIB_DEFLATERS = new Pool<>();
+    private static final Pool<Deflater> RAW_DEFLATERS = new Pool<>();
+    private static final Pool<Inflater> ZLIB_INFLATERS = new Pool<>();
+    private static final Pool<Inflater> RAW_INFLATERS = new Pool<>();
+
+    /**
+     * Prevents instantiation.
+     */
+    private ZlibStreams() {
+    }
+
+    /**
+     * Get the compression level configured by the {@link MessageProperties#COMPRESSION_LEVEL} property.
+     *
+     * @param config configuration, may be {@code null}.
+     * @return configured compression level or {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    static int getLevel(final Configuration config) {
+        final int level = getInt(config, MessageProperties.COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION);
+        return (level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION)
+                ? level : Deflater.DEFAULT_COMPRESSION;
+    }
+
+    /**
+     * Get the compression strategy configured by the {@link MessageProperties#COMPRESSION_STRATEGY} property.
+     *
+     * @param config configuration, may be {@code null}.
+     * @return configured compression strategy or {@link Deflater#DEFAULT_STRATEGY}.
+     */
+    static int getStrategy(final Configuration config) {
+        final int strategy = getInt(config, MessageProperties.COMPRESSION_STRATEGY, Deflater.DEFAULT_STRATEGY);
+        return (strategy == Deflater.FILTERED || strategy == Deflater.HUFFMAN_ONLY) ? strategy : Deflater.DEFAULT_STRATEGY;
+    }
+
+    private static int getInt(final Configuration config, final String property, final int defaultValue) {
+        if (config == null) {
+            return defaultValue;
+        }
+        final Integer value = CommonProperties.getValue(config.getProperties(), property, defaultValue);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Create a stream compressing the data written into it using the deflate algorithm.
+     *
+     * @param out      output stream the compressed data should be written to.
+     * @param level    compression level.
+     * @param strategy compression strategy.
+     * @param nowrap   if {@code true}, the zlib header and checksum are omitted.
+     * @return compressing output stream.
+     */
+    static OutputStream deflate(final OutputStream out, final int level, final int strategy, final boolean nowrap) {
+        return new PooledDeflaterOutputStream(out, nowrap ? RAW_DEFLATERS : ZLIB_DEFLATERS,
+                acquireDeflater(level, strategy, nowrap));
+    }
+
+    /**
+     * Create a stream compressing the data written into it in the gzip format.
+     *
+     * @param out      output stream the compressed data should be written to.
+     * @param level    compression level.
+     * @param strategy compression strategy.
+     * @return compressing output stream.
+     * @throws IOException in case writing the gzip header fails.
+     */
+    static OutputStream gzip(final OutputStream out, final int level, final int strategy) throws IOException {
+        return new GZipOutputStream(out, acquireDeflater(level, strategy, true));
+    }
+
+    /**
+     * Create a stream decompressing the data read from the underlying deflate-compressed stream.
+     *
+     * @param in     compressed input stream.
+     * @param nowrap if {@code true}, the compressed stream is expected not to contain the zlib header and checksum.
+     * @return decompressing input stream.
+     */
+    static InputStream inflate(final InputStream in, final boolean nowrap) {
+        final Pool<Inflater> pool = nowrap ? RAW_INFLATERS : ZLIB_INFLATERS;
+        final Inflater inflater = pool.poll();
+        return new PooledInflaterInputStream(in, pool, inflater != null ? inflater : new Inflater(nowrap));
+    }
+
+    /**
+     * Create a stream decompressing the data read from the underlying gzip-compressed stream.
+     *
+     * @param in compressed input stream.
+     * @return decompressing input stream.
+     * @throws IOException in case the gzip header cannot be read or is not valid.
+     */
+    static InputStream gunzip(final InputStream in) throws IOException {
+        final Inflater inflater = RAW_INFLATERS.poll();
+        return new GZipInputStream(in, inflater != null ? inflater : new Inflater(true));
+    }
+
+    private static Deflater acquireDeflater(final int level, final int strategy, final boolean nowrap) {
+        final Deflater deflater = (nowrap ? RAW_DEFLATERS : ZLIB_DEFLATERS).poll();
+        if (deflater == null) {
+            final Deflater created = new Deflater(level, nowrap);
+            created.setStrategy(strategy);
+            return created;
+        }
+        // takes effect with the first deflate call
+        deflater.setLevel(level);
+        deflater.setStrategy(strategy);
+        return deflater;
+    }
+
+    /**
+     * Bounded pool of idle deflaters or inflaters.
+     */
+    private static final class Pool<T> {
+
+        private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private T poll() {
+            final T instance = idle.poll();
+            if (instance != null) {
+                size.decrementAndGet();
+            }
+            return instance;
+        }
+
+        private boolean offer(final T instance) {
+            if (size.incrementAndGet() > MAX_POOLED) {
+                size.decrementAndGet();
+                return false;
+            }
+            idle.offer(instance);
+            return true;
+        }
+    }
+
+    private static void release(final Pool<Deflater> pool, final Deflater deflater, final boolean reusable) {
+        if (reusable) {
+            deflater.reset();
+            if (pool.offer(deflater)) {
+                return;
+            }
+        }
+        deflater.end();
+    }
+
+    private static void release(final Pool<Inflater> pool, final Inflater inflater, final boolean reusable) {
+        if (reusable) {
+            inflater.reset();
+            if (pool.offer(inflater)) {
+                return;
+            }
+        }
+        inflater.end();
+    }
+
+    /**
+     * Deflater output stream returning its deflater to the pool when closed.
+     */
+    private static class PooledDeflaterOutputStream extends DeflaterOutputStream {
+
+        private final Pool<Deflater> pool;
+        private boolean released;
+
+        PooledDeflaterOutputStream(final OutputStream out, final Pool<Deflater> pool, final Deflater deflater) {
+            // flushing the stream flushes the data compressed so far, so that streamed entities reach the peer
+            super(out, deflater, BUFFER_SIZE, true);
+            this.pool = pool;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            ensureOpen();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            ensureOpen();
+            super.finish();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            super.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (released) {
+                return;
+            }
+            boolean closed = false;
+            try {
+                super.close();
+                closed = true;
+            } finally {
+                released = true;
+                // the deflater of a stream that failed to close may still be in use
+                release(pool, def, closed);
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (released) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+
+    /**
+     * Gzip output stream using a pooled deflater.
+     */
+    private static final class GZipOutputStream extends PooledDeflaterOutputStream {
+
+        private final CRC32 crc = new CRC32();
+
+        GZipOutputStream(final OutputStream out, final Deflater deflater) throws IOException {
+            super(out, RAW_DEFLATERS, deflater);
+            // header: magic, deflate method, no flags, no modification time, no extra flags, unknown OS
+            out.write(new byte[] {(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0});
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!def.finished()) {
+                super.finish();
+                final byte[] trailer = new byte[GZIP_TRAILER_SIZE];
+                writeInt((int) crc.getValue(), trailer, 0);
+                writeInt(def.getTotalIn(), trailer, 4);
+                out.write(trailer);
+            }
+        }
+
+        private static void writeInt(final int value, final byte[] buf, final int offset) {
+            buf[offset] = (byte) value;
+            buf[offset + 1] = (byte) (value >> 8);
+            buf[offset + 2] = (byte) (value >> 16);
+            buf[offset + 3] = (byte) (value >> 24);
+        }
+    }
+
+    /**
+     * Inflater input stream returning its inflater to the pool when closed.
+     */
+    private static class PooledInflaterInputStream extends InflaterInputStream {
+
+        private final Pool<Inflater> pool;
+        boolean released;
+
+        PooledInflaterInputStream(final InputStream in, final Pool<Inflater> pool, final Inflater inflater) {
+            super(in, inflater, BUFFER_SIZE);
+            this.pool = pool;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (released) {
+                return;
+            }
+            boolean closed = false;
+            try {
+                super.close();
+                closed = true;
+            } finally {
+                released = true;
+                // a stream that failed to close may still be read from, so its inflater must not be reused
+                release(pool, inf, closed);
+            }
+        }
+    }
+
+    /**
+     * Gzip input stream using a pooled inflater. Concatenated gzip members are decoded one after another, data following
+     * the last member that does not start with the gzip magic number is ignored.
+     */
+    private static final class GZipInputStream extends PooledInflaterInputStream {
+
+        // CRC of the header of the current member while it is being read, CRC of the decompressed data afterwards
+        private final CRC32 crc = new CRC32();
+        // bytes of the input buffer that have been read from the underlying stream, but not consumed by the inflater
+        private int unread;
+        private int unreadEnd;
+        private boolean eos;
+
+        GZipInputStream(final InputStream in, final Inflater inflater) throws IOException {
+            super(in, RAW_INFLATERS, inflater);
+            try {
+                if (!readMagic()) {
+                    throw new ZipException("Not a gzip stream.");
+                }
+                readHeader();
+            } catch (final IOException | RuntimeException e) {
+                // leave the underlying stream open, as GZIPInputStream does
+                released = true;
+                release(RAW_INFLATERS, inflater, true);
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int length) throws IOException {
+            while (!eos) {
+                final int n = super.read(b, off, length);
+                if (n != -1) {
+                    crc.update(b, off, n);
+                    return n;
+                }
+
+                // end of the compressed data of the current member
+                unread = len - inf.getRemaining();
+                unreadEnd = len;
+                readTrailer();
+                eos = !nextMember();
+            }
+            return -1;
+        }
+
+        /**
+         * Read the first two bytes of a member header.
+         *
+         * @return {@code true} if the bytes are the gzip magic number.
+         */
+        private boolean readMagic() throws IOException {
+            crc.reset();
+            return (readHeaderByte() | (readHeaderByte() << 8)) == GZIP_MAGIC;
+        }
+
+        /**
+         * Read the rest of a member header, following the magic number.
+         */
+        private void readHeader() throws IOException {
+            if (readHeaderByte() != Deflater.DEFLATED) {
+                throw new ZipException("Unsupported gzip compression method.");
+            }
+            final int flags = readHeaderByte();
+            // modification time (4 bytes), extra flags, operating system
+            for (int i = 0; i < 6; i++) {
+                readHeaderByte();
+            }
+            if ((flags & FEXTRA) != 0) {
+                int extraLength = readHeaderByte() | (readHeaderByte() << 8);
+                while (extraLength-- > 0) {
+                    readHeaderByte();
+                }
+            }
+            if ((flags & FNAME) != 0) {
+                // zero-terminated file name
+                while (readHeaderByte() != 0) {
+                    // skip
+                }
+            }
+            if ((flags & FCOMMENT) != 0) {
+                // zero-terminated comment
+                while (readHeaderByte() != 0) {
+                    // skip
+                }
+            }
+            if ((flags & FHCRC) != 0) {
+                // the lower 16 bits of the CRC of the header bytes read so far
+                final int expected = (int) crc.getValue() & 0xffff;
+                if ((readByte() | (readByte() << 8)) != expected) {
+                    throw new ZipException("Gzip header checksum mismatch.");
+                }
+            }
+            crc.reset();
+        }
+
+        /**
+         * Read a member trailer and verify the CRC and the size of the decompressed data.
+         */
+        private void readTrailer() throws IOException {
+            final long expectedCrc = readUInt32();
+            final long expectedSize = readUInt32();
+            // the size is stored modulo 2^32
+            if (expectedCrc != crc.getValue() || expectedSize != (inf.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Gzip trailer checksum or size mismatch.");
+            }
+        }
+
+        /**
+         * Prepare the inflater for the next member, if any.
+         *
+         * @return {@code false} if there is no next member.
+         */
+        private boolean nextMember() throws IOException {
+            if (unread == unreadEnd) {
+                final int b = in.read();
+                if (b == -1) {
+                    return false;
+                }
+                // the inflater is done with the buffer
+                buf[0] = (byte) b;
+                unread = 0;
+                unreadEnd = 1;
+            }
+
+            try {
+                if (!readMagic()) {
+                    return false;
+                }
+            } catch (final EOFException trailingByte) {
+                return false;
+            }
+            readHeader();
+
+            inf.reset();
+            if (unread < unreadEnd) {
+                inf.setInput(buf, unread, unreadEnd - unread);
+                unread = unreadEnd;
+            }
+            return true;
+        }
+
+        private long readUInt32() throws IOException {
+            return (readByte() | (readByte() << 8) | (readByte() << 16) | ((long) readByte() << 24));
+        }
+
+        private int readHeaderByte() throws IOException {
+            final int b = readByte();
+            crc.update(b);
+            return b;
+        }
+
+        /**
+         * Read a byte that has not been consumed by the inflater.
+         */
+        private int readByte() throws IOException {
+            if (unread < unreadEnd) {
+                return buf[unread++] & 0xff;
+            }
+            final int b = in.read();
+            if (b == -1) {
+                throw new EOFException("Unexpected end of gzip stream.");
+            }
+            return b;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.ServiceConfigurationError;
+import org.glassfish.jersey.internal.ServiceFinder;
+import org.glassfish.jersey.spi.BufferPool;
+
+/**
+ * Provides access to the JVM-wide {@link BufferPool buffer pool} used by Jersey message processing.
+ */
+public final class BufferPools {
+
+    private static final Logger LOGGER = Logger.getLogger(BufferPools.class.getName());
+
+    private static final BufferPool POOL = createPool();
+
+    private static BufferPool createPool() {
+        try {
+            final Iterator<BufferPool> iterator = ServiceFinder.find(BufferPool.class).iterator();
+            if (iterator.hasNext()) {
+                return iterator.next();
+            }
+        } catch (final ServiceConfigurationError e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.BUFFER_POOL_LOAD_FAILED(), e);
+        }
+        return new StripedBufferPool();
+    }
+
+    /**
+     * Get the buffer pool.
+     *
+     * @return buffer pool.
+     */
+    public static BufferPool get() {
+        return POOL;
+    }
+
+    /**
+     * Return a buffer whose content has just been written to an output stream to the pool.
+     * <p>
+     * The buffer is released only if the stream is known to copy the written bytes before the write returns. Other
+     * streams, e.g. container streams that wrap the array and send it asynchronously, may still hold a reference to
+     * the buffer, so it is not returned to the pool and is left to the garbage collector instead.
+     * </p>
+     *
+     * @param buffer buffer acquired from the pool that has been written to the output stream.
+     * @param out    output stream the buffer has been written to.
+     */
+    static void releaseWritten(final byte[] buffer, final OutputStream out) {
+        if (copiesWrittenBytes(out)) {
+            POOL.release(buffer);
+        }
+    }
+
+    private static boolean copiesWrittenBytes(final OutputStream out) {
+        // exact classes only, a subclass may override write and keep the array
+        final Class<?> type = out.getClass();
+        return type == ByteArrayOutputStream.class || type == FileOutputStream.class || type == NullOutputStream.class;
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private BufferPools() {
+    }
+}
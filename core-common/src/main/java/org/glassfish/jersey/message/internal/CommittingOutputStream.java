@@ -40,15 +40,17 @@
 
 package org.glassfish.jersey.message.internal;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.guava.Preconditions;
+import org.glassfish.jersey.spi.BufferPool;
+import org.glassfish.jersey.spi.FileRegionOutput;
 
 /**
  * A committing output stream with optional serialized entity buffering functionality
@@ -74,12 +76,17 @@ import org.glassfish.jersey.internal.guava.Preconditions;
  * method enables buffering with the default size
  * <tt>{@value CommittingOutputStream#DEFAULT_BUFFER_SIZE}</tt> bytes specified in {@link #DEFAULT_BUFFER_SIZE}.
  * </p>
+ * <p>
+ * The internal buffer is obtained from the {@link BufferPools#get() buffer pool} when the first byte is buffered.
+ * Once the buffered bytes are written to the adapted output stream, the buffer is returned to the pool only if
+ * the adapted stream is known to copy the written bytes, as other streams may keep a reference to the array.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
  * @author Miroslav Fuksa
  */
-final class CommittingOutputStream extends OutputStream {
+final class CommittingOutputStream extends OutputStream implements FileRegionOutput {
 
     private static final Logger LOGGER = Logger.getLogger(CommittingOutputStream.class.getName());
     /**
@@ -104,9 +111,17 @@ final class CommittingOutputStream extends OutputStream {
      */
     private int bufferSize = 0;
     /**
-     * Entity buffer.
+     * Initial capacity of the entity buffer.
+     */
+    private int initialCapacity = 0;
+    /**
+     * Entity buffer, {@code null} until the first byte is buffered.
      */
-    private ByteArrayOutputStream buffer;
+    private byte[] buffer;
+    /**
+     * Number of bytes in the entity buffer.
+     */
+    private int count;
     /**
      * When {@code true}, the data are written directly to output stream and not to the buffer.
      */
@@ -157,15 +172,29 @@ final class CommittingOutputStream extends OutputStream {
      *                   {@link org.glassfish.jersey.message.internal.OutboundMessageContext.StreamProvider#getOutputStream(int) callback}.
      */
     void enableBuffering(int bufferSize) {
-        Preconditions.checkState(!isCommitted && (this.buffer == null || this.buffer.size() == 0),
-                                 COMMITTING_STREAM_BUFFERING_ILLEGAL_STATE);
+        enableBuffering(bufferSize, bufferSize);
+    }
+
+    /**
+     * Enable buffering of the serialized entity with an initial buffer capacity lower than the buffer size.
+     * <p>
+     * The buffer grows as needed up to the buffer size, i.e. the initial capacity affects only the memory
+     * footprint of the buffering, not the entity size up to which the entity is buffered.
+     * </p>
+     *
+     * @param bufferSize      size of the buffer. When the value is less or equal to zero the buffering will be disabled.
+     * @param initialCapacity initial capacity of the buffer.
+     */
+    void enableBuffering(int bufferSize, int initialCapacity) {
+        Preconditions.checkState(!isCommitted && count == 0, COMMITTING_STREAM_BUFFERING_ILLEGAL_STATE);
+        releaseBuffer();
         this.bufferSize = bufferSize;
         if (bufferSize <= 0) {
             this.directWrite = true;
-            this.buffer = null;
+            this.initialCapacity = 0;
         } else {
             directWrite = false;
-            buffer = new ByteArrayOutputStream(bufferSize);
+            this.initialCapacity = Math.max(1, Math.min(initialCapacity, bufferSize));
         }
     }
 
@@ -208,11 +237,11 @@ final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b);
         } else {
-            if (b.length + buffer.size() > bufferSize) {
+            if (b.length + count > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b);
             } else {
-                buffer.write(b);
+                bufferWrite(b, 0, b.length);
             }
         }
     }
@@ -223,11 +252,11 @@ final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b, off, len);
         } else {
-            if (len + buffer.size() > bufferSize) {
+            if (len + count > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b, off, len);
             } else {
-                buffer.write(b, off, len);
+                bufferWrite(b, off, len);
             }
         }
     }
@@ -238,15 +267,38 @@ final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b);
         } else {
-            if (buffer.size() + 1 > bufferSize) {
+            if (count + 1 > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b);
             } else {
-                buffer.write(b);
+                ensureCapacity(count + 1);
+                buffer[count++] = (byte) b;
             }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A region that still fits into the entity buffer is not written directly so that the entity size can still be
+     * measured. Otherwise the stream is committed and the region is passed to the adapted output stream if it is able
+     * to write file regions.
+     * </p>
+     */
+    @Override
+    public boolean writeFileRegion(Path file, long position, long count) throws IOException {
+        if (!directWrite && count + this.count <= bufferSize) {
+            return false;
+        }
+        if (directWrite) {
+            commitStream();
+        } else {
+            flushBuffer(false);
+        }
+        return adaptedOutput instanceof FileRegionOutput
+                && ((FileRegionOutput) adaptedOutput).writeFileRegion(file, position, count);
+    }
+
     /**
      * Commit the output stream.
      *
@@ -292,16 +344,53 @@ final class CommittingOutputStream extends OutputStream {
         if (!directWrite) {
             int currentSize;
             if (endOfStream) {
-                currentSize = buffer == null ? 0 : buffer.size();
+                currentSize = count;
             } else {
                 currentSize = -1;
             }
 
             commitStream(currentSize);
             if (buffer != null) {
-                buffer.writeTo(adaptedOutput);
+                final byte[] written = buffer;
+                buffer = null;
+                try {
+                    adaptedOutput.write(written, 0, count);
+                } finally {
+                    count = 0;
+                    BufferPools.releaseWritten(written, adaptedOutput);
+                }
             }
         }
     }
 
+    private void bufferWrite(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        final BufferPool pool = BufferPools.get();
+        if (buffer == null) {
+            buffer = pool.acquire(Math.max(minCapacity, initialCapacity));
+        } else if (minCapacity > buffer.length) {
+            final byte[] grown = pool.acquire(Math.min(bufferSize, Math.max(minCapacity, buffer.length << 1)));
+            System.arraycopy(buffer, 0, grown, 0, count);
+            pool.release(buffer);
+            buffer = grown;
+        }
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) {
+            final byte[] released = buffer;
+            buffer = null;
+            count = 0;
+            BufferPools.get().release(released);
+        }
+    }
+
 }
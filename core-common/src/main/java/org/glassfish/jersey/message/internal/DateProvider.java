@@ -66,7 +66,7 @@ public class DateProvider implements HeaderDelegateProvider<Date> {
     @Override
     public String toString(final Date header) {
         throwIllegalArgumentExceptionIfNull(header, LocalizationMessages.DATE_IS_NULL());
-        return HttpDateFormat.getPreferredDateFormat().format(header);
+        return HttpDateFormat.formatDate(header);
     }
 
     @Override
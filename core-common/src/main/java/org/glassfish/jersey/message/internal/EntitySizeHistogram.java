@@ -0,0 +1,112 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lightweight histogram of recent serialized entity sizes used to estimate the size of the next entity.
+ * <p>
+ * Sizes are counted in power-of-two buckets. The counts are halved periodically, so that the estimate follows
+ * the recent entity sizes. The histogram is thread-safe; concurrent updates may be slightly imprecise which does not
+ * matter for the purpose of the estimate.
+ * </p>
+ */
+public final class EntitySizeHistogram {
+
+    private static final int BUCKETS = 32;
+    private static final int MIN_SAMPLES = 16;
+    private static final int DECAY_INTERVAL = 1024;
+    private static final int PERCENTILE = 90;
+
+    private final AtomicIntegerArray buckets = new AtomicIntegerArray(BUCKETS);
+    private final AtomicInteger samples = new AtomicInteger();
+
+    /**
+     * Record the size of a serialized entity.
+     *
+     * @param size entity size in bytes or a negative value if the size is not known (e.g. the entity did not fit
+     *             into the entity buffer).
+     */
+    public void record(final int size) {
+        buckets.incrementAndGet(bucket(size));
+        if (samples.incrementAndGet() % DECAY_INTERVAL == 0) {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.updateAndGet(i, count -> count >> 1);
+            }
+        }
+    }
+
+    /**
+     * Estimate the size of the next entity.
+     *
+     * @return power of two that is larger than or equal to the {@value #PERCENTILE}th percentile of the recorded entity
+     * sizes, {@link Integer#MAX_VALUE} if the percentile falls into the unknown sizes or {@code -1} if there are not enough
+     * samples recorded to make the estimate.
+     */
+    public int estimate() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total < MIN_SAMPLES) {
+            return -1;
+        }
+
+        final long threshold = (total * PERCENTILE + 99) / 100;
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= threshold) {
+                return 1 << i;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static int bucket(final int size) {
+        if (size < 0) {
+            return BUCKETS - 1;
+        }
+        // ceil(log2(size)), i.e. the bucket i contains sizes in the range (2^(i-1), 2^i]
+        return size <= 1 ? 0 : Math.min(BUCKETS - 2, 32 - Integer.numberOfLeadingZeros(size - 1));
+    }
+}
@@ -112,6 +112,12 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
                         final MediaType mediaType,
                         final MultivaluedMap<String, Object> httpHeaders,
                         final OutputStream entityStream) throws IOException {
+        if (t.isFile()) {
+            // regular files are handed over to the entity stream which may be able to write them without copying
+            ReaderWriter.writeTo(t.toPath(), 0, t.length(), entityStream);
+            return;
+        }
+
         final InputStream stream = new BufferedInputStream(new FileInputStream(t), ReaderWriter.BUFFER_SIZE);
 
         try {
@@ -40,16 +40,30 @@
 package org.glassfish.jersey.message.internal;
 
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
 /**
  * Helper class for HTTP specified date formats.
+ * <p>
+ * Dates are parsed and formatted by hand-written code working on immutable {@code java.time} types, so no
+ * {@link SimpleDateFormat} instances need to be created per date. Dates the hand-written parser does not understand
+ * (e.g. dates using time zone names not defined by RFC 822) are parsed by immutable {@link DateTimeFormatter date time
+ * formatters}. All three date formats allowed by the HTTP specification (RFC 1123, RFC 1036 and ANSI C
+ * {@code asctime()}) are accepted when parsing, dates are always formatted according to RFC 1123.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
@@ -62,68 +76,152 @@ public final class HttpDateFormat {
      * The date format pattern for RFC 1123.
      */
     private static final String RFC1123_DATE_FORMAT_PATTERN = "EEE, dd MMM yyyy HH:mm:ss zzz";
-    /**
-     * The date format pattern for RFC 1036.
-     */
-    private static final String RFC1036_DATE_FORMAT_PATTERN = "EEEE, dd-MMM-yy HH:mm:ss zzz";
-    /**
-     * The date format pattern for ANSI C asctime().
-     */
-    private static final String ANSI_C_ASCTIME_DATE_FORMAT_PATTERN = "EEE MMM d HH:mm:ss yyyy";
 
     private static final TimeZone GMT_TIME_ZONE = TimeZone.getTimeZone("GMT");
 
-    private static final ThreadLocal<List<SimpleDateFormat>> dateFormats = new ThreadLocal<List<SimpleDateFormat>>() {
+    private static final ThreadLocal<SimpleDateFormat> preferredDateFormat = new ThreadLocal<SimpleDateFormat>() {
 
         @Override
-        protected synchronized List<SimpleDateFormat> initialValue() {
-            return createDateFormats();
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat(RFC1123_DATE_FORMAT_PATTERN, Locale.US);
         }
     };
 
-    private static List<SimpleDateFormat> createDateFormats() {
-        final SimpleDateFormat[] formats = new SimpleDateFormat[]{
-            new SimpleDateFormat(RFC1123_DATE_FORMAT_PATTERN, Locale.US),
-            new SimpleDateFormat(RFC1036_DATE_FORMAT_PATTERN, Locale.US),
-            new SimpleDateFormat(ANSI_C_ASCTIME_DATE_FORMAT_PATTERN, Locale.US)
-        };
-        formats[0].setTimeZone(GMT_TIME_ZONE);
-        formats[1].setTimeZone(GMT_TIME_ZONE);
-        formats[2].setTimeZone(GMT_TIME_ZONE);
-
-        return Collections.unmodifiableList(Arrays.asList(formats));
-    }
+    /**
+     * The date time formatters for RFC 1123, RFC 1036 and ANSI C asctime() used to parse the dates
+     * not understood by the hand-written parser. Dates without a time zone are in GMT.
+     */
+    private static final DateTimeFormatter[] DATE_TIME_FORMATTERS = {
+            new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient()
+                    .appendPattern("EEE, d MMM uuuu HH:mm:ss zzz")
+                    .toFormatter(Locale.US).withZone(ZoneOffset.UTC),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient()
+                    .appendPattern("EEEE, d-MMM-")
+                    // two digit years are resolved the same way as by SimpleDateFormat
+                    .appendValueReduced(ChronoField.YEAR, 2, 2, LocalDate.now(ZoneOffset.UTC).minusYears(80))
+                    .appendPattern(" HH:mm:ss zzz")
+                    .toFormatter(Locale.US).withZone(ZoneOffset.UTC),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient()
+                    .appendPattern("EEE MMM[ ] d HH:mm:ss uuuu")
+                    .toFormatter(Locale.US).withZone(ZoneOffset.UTC)
+    };
+
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTH_NAMES = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
 
     /**
-     * Return an unmodifiable list of HTTP specified date formats to use for
-     * parsing or formatting {@link Date}.
-     * <p>
-     * The list of date formats are scoped to the current thread and may be
-     * used without requiring to synchronize access to the instances when
-     * parsing or formatting.
-     *
-     * @return the list of data formats.
+     * Parse failure marker, an impossible value of the {@code int} parser state.
      */
-    private static List<SimpleDateFormat> getDateFormats() {
-        return dateFormats.get();
-    }
+    private static final int FAILED = Integer.MIN_VALUE;
+
+    /**
+     * The last formatted second, used to serve the current {@code Date} header without formatting.
+     */
+    private static volatile FormattedSecond currentSecond = new FormattedSecond(Long.MIN_VALUE, null);
 
     /**
      * Get the preferred HTTP specified date format (RFC 1123).
      * <p>
-     * The date format is scoped to the current thread and may be
-     * used without requiring to synchronize access to the instance when
-     * parsing or formatting.
+     * The date format is scoped to the current thread and may be used without requiring to synchronize access
+     * to the instance when parsing or formatting. Prefer {@link #formatDate(Date)} and {@link #readDate(String)},
+     * which do not use any date format instances.
+     * </p>
      *
      * @return the preferred of data format.
      */
     public static SimpleDateFormat getPreferredDateFormat() {
-        // returns clone because calling SDF.parse(...) can change time zone
-        return (SimpleDateFormat) dateFormats.get().get(0).clone();
+        final SimpleDateFormat format = preferredDateFormat.get();
+        // parse can change time zone -> set it back to GMT
+        format.setTimeZone(GMT_TIME_ZONE);
+        return format;
+    }
+
+    /**
+     * Format a date according to the preferred HTTP date format (RFC 1123).
+     *
+     * @param date the date to be formatted.
+     * @return formatted date.
+     */
+    public static String formatDate(final Date date) {
+        return formatDate(date.getTime());
+    }
+
+    /**
+     * Format a date given in milliseconds since the epoch according to the preferred HTTP date format (RFC 1123).
+     *
+     * @param millis milliseconds since the epoch.
+     * @return formatted date.
+     */
+    public static String formatDate(final long millis) {
+        final long second = Math.floorDiv(millis, 1000L);
+
+        final FormattedSecond cached = currentSecond;
+        if (cached.second == second) {
+            return cached.value;
+        }
+        return format(second);
+    }
+
+    /**
+     * Get the current date formatted according to the preferred HTTP date format (RFC 1123).
+     * <p>
+     * The date is formatted at most once per second, the formatted value is cached and shared by all threads.
+     * The method is intended to be used for the {@code Date} header of the outgoing messages by containers that do
+     * not generate the header themselves (e.g. Netty). Grizzly, Jetty and the JDK HTTP server add their own
+     * {@code Date} header.
+     * </p>
+     *
+     * @return formatted current date.
+     */
+    public static String getCurrentDate() {
+        final long second = Math.floorDiv(System.currentTimeMillis(), 1000L);
+
+        final FormattedSecond cached = currentSecond;
+        if (cached.second == second) {
+            return cached.value;
+        }
+
+        final String value = format(second);
+        if (second > cached.second) {
+            currentSecond = new FormattedSecond(second, value);
+        }
+        return value;
+    }
+
+    private static String format(final long epochSecond) {
+        final LocalDateTime dateTime = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+
+        final StringBuilder sb = new StringBuilder(29);
+        sb.append(DAY_NAMES[dateTime.getDayOfWeek().ordinal()]).append(", ");
+        appendTwoDigits(sb, dateTime.getDayOfMonth());
+        sb.append(' ').append(MONTH_NAMES[dateTime.getMonthValue() - 1]).append(' ');
+
+        final int year = dateTime.getYear();
+        if (year >= 0 && year < 1000) {
+            sb.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+        }
+        sb.append(year).append(' ');
+
+        appendTwoDigits(sb, dateTime.getHour());
+        sb.append(':');
+        appendTwoDigits(sb, dateTime.getMinute());
+        sb.append(':');
+        appendTwoDigits(sb, dateTime.getSecond());
+        return sb.append(" GMT").toString();
+    }
+
+    private static void appendTwoDigits(final StringBuilder sb, final int value) {
+        sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
     }
 
     /**
      * Read a date.
+     * <p>
+     * The date is accepted in any of the HTTP specified date formats (RFC 1123, RFC 1036 or ANSI C
+     * {@code asctime()}). Any characters following the parsed date are ignored. Dates using time zone names
+     * not defined by RFC 822 are resolved using the time zone names known to {@link DateTimeFormatter}.
+     * </p>
      *
      * @param date the date as a string.
      *
@@ -131,18 +229,301 @@ public final class HttpDateFormat {
      * @throws java.text.ParseException in case the date string cannot be parsed.
      */
     public static Date readDate(final String date) throws ParseException {
-        ParseException pe = null;
-        for (final SimpleDateFormat f : HttpDateFormat.getDateFormats()) {
+        final Parser parser = new Parser(date);
+        final long millis = parser.parse();
+        if (parser.failed()) {
+            return readDateLenient(date);
+        }
+        return new Date(millis);
+    }
+
+    /**
+     * Slow path of {@link #readDate(String)}, parses the date using the date time formatters.
+     */
+    private static Date readDateLenient(final String date) throws ParseException {
+        int errorOffset = 0;
+        for (final DateTimeFormatter formatter : DATE_TIME_FORMATTERS) {
+            // check the format without resolving the date to avoid exceptions for the formats that do not match
+            final ParsePosition position = new ParsePosition(0);
+            if (formatter.parseUnresolved(date, position) == null) {
+                errorOffset = Math.max(errorOffset, position.getErrorIndex());
+                continue;
+            }
+
             try {
-                Date result = f.parse(date);
-                // parse can change time zone -> set it back to GMT
-                f.setTimeZone(GMT_TIME_ZONE);
-                return result;
-            } catch (final ParseException e) {
-                pe = (pe == null) ? e : pe;
+                final TemporalAccessor parsed = formatter.parse(date, new ParsePosition(0));
+                return Date.from(Instant.from(parsed));
+            } catch (final DateTimeException e) {
+                final ParseException pe = new ParseException(e.getMessage(), position.getIndex());
+                pe.initCause(e);
+                throw pe;
             }
         }
 
-        throw pe;
+        throw new ParseException("Unparseable date: \"" + date + "\"", errorOffset);
+    }
+
+    /**
+     * Single use parser of the HTTP dates. Parse errors are reported by setting the error offset instead
+     * of throwing exceptions.
+     */
+    private static final class Parser {
+
+        private final String value;
+        private int position;
+        private int errorOffset = -1;
+
+        private Parser(final String value) {
+            this.value = value;
+        }
+
+        private boolean failed() {
+            return errorOffset >= 0;
+        }
+
+        private long parse() {
+            skipWhitespace();
+            // day of week, not validated against the date
+            if (skipLetters() == 0) {
+                return fail();
+            }
+
+            final int day;
+            final int month;
+            final int year;
+            final int hour;
+            final int minute;
+            final int second;
+            final int offsetSeconds;
+
+            if (skip(',')) {
+                // RFC 1123: "Sun, 06 Nov 1994 08:49:37 GMT" or RFC 1036: "Sunday, 06-Nov-94 08:49:37 GMT"
+                skipWhitespace();
+                day = readNumber(1, 2);
+                if (skip('-')) {
+                    month = readMonth();
+                    final int yearStart = position;
+                    year = skip('-') ? readNumber(2, 4) : FAILED;
+                    final int resolvedYear = position - yearStart == 3 ? resolveTwoDigitYear(year) : year;
+                    if (!skipWhitespace()) {
+                        return fail();
+                    }
+                    hour = readNumber(1, 2);
+                    minute = skip(':') ? readNumber(1, 2) : FAILED;
+                    second = skip(':') ? readNumber(1, 2) : FAILED;
+                    offsetSeconds = skipWhitespace() ? readZone() : FAILED;
+                    return toMillis(resolvedYear, month, day, hour, minute, second, offsetSeconds);
+                }
+                month = skipWhitespace() ? readMonth() : FAILED;
+                year = skipWhitespace() ? readNumber(1, 9) : FAILED;
+                hour = skipWhitespace() ? readNumber(1, 2) : FAILED;
+                minute = skip(':') ? readNumber(1, 2) : FAILED;
+                second = skip(':') ? readNumber(1, 2) : FAILED;
+                offsetSeconds = skipWhitespace() ? readZone() : FAILED;
+            } else {
+                // ANSI C asctime(): "Sun Nov  6 08:49:37 1994"
+                month = skipWhitespace() ? readMonth() : FAILED;
+                day = skipWhitespace() ? readNumber(1, 2) : FAILED;
+                hour = skipWhitespace() ? readNumber(1, 2) : FAILED;
+                minute = skip(':') ? readNumber(1, 2) : FAILED;
+                second = skip(':') ? readNumber(1, 2) : FAILED;
+                year = skipWhitespace() ? readNumber(1, 9) : FAILED;
+                offsetSeconds = 0;
+            }
+            return toMillis(year, month, day, hour, minute, second, offsetSeconds);
+        }
+
+        private long toMillis(final int year, final int month, final int day,
+                              final int hour, final int minute, final int second, final int offsetSeconds) {
+            if (failed() || year == FAILED || month == FAILED || day == FAILED || hour == FAILED || minute == FAILED
+                    || second == FAILED || offsetSeconds == FAILED
+                    || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 60) {
+                return fail();
+            }
+
+            // days overflowing the month are rolled over to the next month the same way a lenient date format does
+            final long epochDay = LocalDate.of(year, month, 1).toEpochDay() + day - 1;
+            final long epochSecond = epochDay * 86400L + hour * 3600L + minute * 60L + second - offsetSeconds;
+            try {
+                // the year may have up to 9 digits, the milliseconds of such dates do not fit into a long
+                return Math.multiplyExact(epochSecond, 1000L);
+            } catch (final ArithmeticException overflow) {
+                return fail();
+            }
+        }
+
+        private int readZone() {
+            final int start = position;
+            final int sign = peekSign();
+            if (sign != 0) {
+                // RFC 822 numeric zone: "+0100"
+                position++;
+                return readNumericOffset(sign);
+            }
+
+            final int length = skipLetters();
+            if (length == 0) {
+                return fail();
+            }
+
+            final int offset = namedZoneOffset(start, length);
+            if (offset == FAILED) {
+                position = start;
+                return fail();
+            }
+
+            final int offsetSign = peekSign();
+            if (offset == 0 && offsetSign != 0) {
+                // "GMT+01:00"
+                position++;
+                return readNumericOffset(offsetSign);
+            }
+            return offset;
+        }
+
+        private int readNumericOffset(final int sign) {
+            final int start = position;
+            final int hours = readNumber(1, 2);
+            final int minutes;
+            if (skip(':')) {
+                minutes = readNumber(2, 2);
+            } else if (hours != FAILED && position - start == 2 && position < value.length()
+                    && Character.isDigit(value.charAt(position))) {
+                minutes = readNumber(2, 2);
+            } else {
+                minutes = 0;
+            }
+
+            if (hours == FAILED || minutes == FAILED || hours > 23 || minutes > 59) {
+                return fail();
+            }
+            return sign * (hours * 3600 + minutes * 60);
+        }
+
+        private int namedZoneOffset(final int start, final int length) {
+            switch (value.substring(start, start + length).toUpperCase(Locale.ROOT)) {
+                case "GMT":
+                case "UTC":
+                case "UT":
+                case "Z":
+                    return 0;
+                case "EDT":
+                    return -4 * 3600;
+                case "EST":
+                case "CDT":
+                    return -5 * 3600;
+                case "CST":
+                case "MDT":
+                    return -6 * 3600;
+                case "MST":
+                case "PDT":
+                    return -7 * 3600;
+                case "PST":
+                    return -8 * 3600;
+                default:
+                    return FAILED;
+            }
+        }
+
+        private int peekSign() {
+            if (position < value.length()) {
+                final char c = value.charAt(position);
+                if (c == '+') {
+                    return 1;
+                } else if (c == '-') {
+                    return -1;
+                }
+            }
+            return 0;
+        }
+
+        private int readMonth() {
+            final int start = position;
+            if (skipLetters() != 3) {
+                position = start;
+                return fail();
+            }
+
+            for (int i = 0; i < MONTH_NAMES.length; i++) {
+                if (value.regionMatches(true, start, MONTH_NAMES[i], 0, 3)) {
+                    return i + 1;
+                }
+            }
+            position = start;
+            return fail();
+        }
+
+        private int readNumber(final int minDigits, final int maxDigits) {
+            final int start = position;
+            int result = 0;
+            while (position < value.length() && position - start < maxDigits) {
+                final char c = value.charAt(position);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                result = result * 10 + (c - '0');
+                position++;
+            }
+            return position - start < minDigits ? fail() : result;
+        }
+
+        private int skipLetters() {
+            final int start = position;
+            while (position < value.length() && Character.isLetter(value.charAt(position))) {
+                position++;
+            }
+            return position - start;
+        }
+
+        private boolean skipWhitespace() {
+            final int start = position;
+            while (position < value.length() && value.charAt(position) == ' ') {
+                position++;
+            }
+            return position > start;
+        }
+
+        private boolean skip(final char c) {
+            if (position < value.length() && value.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private int fail() {
+            if (errorOffset < 0) {
+                errorOffset = position;
+            }
+            return FAILED;
+        }
+    }
+
+    /**
+     * Resolve a two digit year to the century that puts it within 80 years before and 20 years after the current
+     * year, the same way {@link SimpleDateFormat} resolves abbreviated years.
+     *
+     * @param year two digit year.
+     * @return full year.
+     */
+    private static int resolveTwoDigitYear(final int year) {
+        if (year == FAILED) {
+            return FAILED;
+        }
+        final int currentYear = LocalDate.now(ZoneOffset.UTC).getYear();
+        final int defaultCenturyStart = currentYear - 80;
+        final int resolved = (defaultCenturyStart / 100) * 100 + year;
+        return resolved < defaultCenturyStart ? resolved + 100 : resolved;
+    }
+
+    private static final class FormattedSecond {
+
+        private final long second;
+        private final String value;
+
+        private FormattedSecond(final long second, final String value) {
+            this.second = second;
+            this.value = value;
+        }
     }
 }
@@ -98,7 +98,7 @@ public class NewCookieProvider implements HeaderDelegateProvider<NewCookie> {
         }
         if (cookie.getExpiry() != null) {
             b.append(";Expires=");
-            b.append(HttpDateFormat.getPreferredDateFormat().format(cookie.getExpiry()));
+            b.append(HttpDateFormat.formatDate(cookie.getExpiry()));
         }
 
         return b.toString();
@@ -799,6 +799,29 @@ public class OutboundMessageContext {
         }
     }
 
+    /**
+     * Enable a buffering of serialized entity with an initial buffer capacity derived from the expected entity size.
+     * The buffer size is configured the same way as in {@link #enableBuffering(javax.ws.rs.core.Configuration)}, the
+     * expected entity size only limits the memory allocated for the buffer upfront.
+     * <p/>
+     * This method must be called before first bytes are written to the {@link #getEntityStream() entity stream}.
+     *
+     * @param configuration      runtime configuration.
+     * @param expectedEntitySize expected size of the serialized entity, a value lower than or equal to zero if the size
+     *                           is not known.
+     * @since 3.0
+     */
+    public void enableBuffering(Configuration configuration, int expectedEntitySize) {
+        final Integer configuredSize = CommonProperties.getValue(configuration.getProperties(),
+                configuration.getRuntimeType(), CommonProperties.OUTBOUND_CONTENT_LENGTH_BUFFER, Integer.class);
+        final int bufferSize = configuredSize != null ? configuredSize : CommittingOutputStream.DEFAULT_BUFFER_SIZE;
+        if (expectedEntitySize > 0) {
+            committingOutputStream.enableBuffering(bufferSize, expectedEntitySize);
+        } else {
+            committingOutputStream.enableBuffering(bufferSize);
+        }
+    }
+
     /**
      * Set a stream provider callback.
      * <p/>
@@ -47,7 +47,11 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.AccessController;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -58,6 +62,8 @@ import javax.ws.rs.core.MediaType;
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.message.MessageProperties;
+import org.glassfish.jersey.spi.BufferPool;
+import org.glassfish.jersey.spi.FileRegionOutput;
 
 /**
  * A utility class for reading and writing using byte and character streams.
@@ -65,7 +71,9 @@ import org.glassfish.jersey.message.MessageProperties;
  * If a byte or character array is utilized then the size of the array
  * is by default the value of {@value org.glassfish.jersey.message.MessageProperties#IO_DEFAULT_BUFFER_SIZE}.
  * This value can be set using the system property
- * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_SIZE}.
+ * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_SIZE}. Byte arrays are obtained from
+ * the {@link BufferPools#get() buffer pool}; they are returned to the pool only if the output stream they are written to
+ * is known to copy the written bytes.
  *
  * @author Paul Sandoz
  */
@@ -111,9 +119,61 @@ public final class ReaderWriter {
      */
     public static void writeTo(InputStream in, OutputStream out) throws IOException {
         int read;
-        final byte[] data = new byte[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1) {
-            out.write(data, 0, read);
+        final BufferPool pool = BufferPools.get();
+        final byte[] data = pool.acquire(BUFFER_SIZE);
+        try {
+            while ((read = in.read(data, 0, BUFFER_SIZE)) != -1) {
+                out.write(data, 0, read);
+            }
+        } finally {
+            BufferPools.releaseWritten(data, out);
+        }
+    }
+
+    /**
+     * Write a region of a file to an output stream.
+     * <p>
+     * If the output stream is a {@link FileRegionOutput}, the region is handed over to the stream so that it can be
+     * written without copying the file content through a heap buffer. Otherwise, or if the stream declines to write
+     * the region directly, the file content is copied into the stream.
+     * </p>
+     *
+     * @param file     the file to read from.
+     * @param position position in the file of the first byte to be written.
+     * @param count    number of bytes to be written.
+     * @param out      the output stream to write to.
+     * @throws IOException if there is an error reading or writing bytes, or if the file ends before the whole region
+     *                     has been written.
+     */
+    public static void writeTo(Path file, long position, long count, OutputStream out) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        if (out instanceof FileRegionOutput && ((FileRegionOutput) out).writeFileRegion(file, position, count)) {
+            return;
+        }
+
+        final BufferPool pool = BufferPools.get();
+        final byte[] data = pool.acquire(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(data, 0, BUFFER_SIZE);
+            long remaining = count;
+            long current = position;
+            while (remaining > 0) {
+                buffer.clear();
+                if (remaining < BUFFER_SIZE) {
+                    buffer.limit((int) remaining);
+                }
+                final int read = channel.read(buffer, current);
+                if (read == -1) {
+                    throw new IOException(LocalizationMessages.FILE_REGION_TRUNCATED(file, position, count));
+                }
+                out.write(data, 0, read);
+                current += read;
+                remaining -= read;
+            }
+        } finally {
+            BufferPools.releaseWritten(data, out);
         }
     }
 
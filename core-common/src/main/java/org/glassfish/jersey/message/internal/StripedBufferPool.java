@@ -0,0 +1,142 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.glassfish.jersey.spi.BufferPool;
+
+/**
+ * Default lock-free {@link BufferPool buffer pool}.
+ * <p>
+ * Buffers are pooled in power-of-two size classes from {@value #MIN_POOLED_SIZE} bytes up to {@value #MAX_POOLED_SIZE}
+ * bytes, larger requests are served by plain allocations. Each size class is striped into a few slots per CPU core,
+ * a thread only looks at the slots of the stripe it is mapped to, so that concurrent threads rarely contend for the same
+ * slot. When all slots of a stripe are taken, released buffers are left to the garbage collector.
+ * </p>
+ */
+final class StripedBufferPool implements BufferPool {
+
+    /**
+     * Smallest pooled buffer size.
+     */
+    static final int MIN_POOLED_SIZE = 1 << 9;
+    /**
+     * Largest pooled buffer size.
+     */
+    static final int MAX_POOLED_SIZE = 1 << 16;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_SIZE);
+    private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_POOLED_SIZE) - MIN_SHIFT + 1;
+    private static final int SLOTS_PER_STRIPE = 2;
+    private static final int MAX_STRIPES = 16;
+
+    private final int stripeMask;
+    private final AtomicReferenceArray<byte[]>[] slots;
+
+    /**
+     * Create a new pool striped by the number of available processors.
+     */
+    StripedBufferPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a new pool.
+     *
+     * @param concurrency expected number of concurrently running threads.
+     */
+    @SuppressWarnings("unchecked")
+    StripedBufferPool(final int concurrency) {
+        final int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, concurrency - 1) << 1));
+        this.stripeMask = stripes - 1;
+        this.slots = new AtomicReferenceArray[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            slots[i] = new AtomicReferenceArray<>(stripes * SLOTS_PER_STRIPE);
+        }
+    }
+
+    @Override
+    public byte[] acquire(final int minimumSize) {
+        if (minimumSize > MAX_POOLED_SIZE) {
+            return new byte[minimumSize];
+        }
+
+        final int sizeClass = sizeClass(minimumSize);
+        final AtomicReferenceArray<byte[]> classSlots = slots[sizeClass];
+        final int base = stripe();
+        for (int i = base; i < base + SLOTS_PER_STRIPE; i++) {
+            final byte[] buffer = classSlots.get(i);
+            if (buffer != null && classSlots.compareAndSet(i, buffer, null)) {
+                return buffer;
+            }
+        }
+        return new byte[1 << (sizeClass + MIN_SHIFT)];
+    }
+
+    @Override
+    public void release(final byte[] buffer) {
+        final int length = buffer.length;
+        if (length < MIN_POOLED_SIZE || length > MAX_POOLED_SIZE || Integer.bitCount(length) != 1) {
+            // not a buffer of a pooled size class
+            return;
+        }
+
+        final AtomicReferenceArray<byte[]> classSlots = slots[sizeClass(length)];
+        final int base = stripe();
+        for (int i = base; i < base + SLOTS_PER_STRIPE; i++) {
+            if (classSlots.get(i) == null && classSlots.compareAndSet(i, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    private int stripe() {
+        return ((int) Thread.currentThread().getId() & stripeMask) * SLOTS_PER_STRIPE;
+    }
+
+    private static int sizeClass(final int size) {
+        if (size <= MIN_POOLED_SIZE) {
+            return 0;
+        }
+        // ceil(log2(size)) - MIN_SHIFT
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+}
@@ -45,6 +45,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
@@ -64,6 +65,7 @@ import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.PropertiesDelegate;
 import org.glassfish.jersey.internal.inject.InstanceManagerSupplier;
 import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.spi.FileRegionOutput;
 import org.glassfish.jersey.spi.inject.InstanceManager;
 
 /**
@@ -260,6 +262,8 @@ final class WriterInterceptorExecutor extends InterceptorExecutor<WriterIntercep
                 throws WebApplicationException, IOException {
             final TracingLogger tracingLogger = getTracingLogger();
             final long timestamp = tracingLogger.timestamp(MsgTraceEvent.MBW_WRITE_TO);
+            final Object timer = getProperty(MessageBodyWriterTimer.PROPERTY_NAME);
+            final long start = timer != null ? System.nanoTime() : 0;
             final UnCloseableOutputStream entityStream = new UnCloseableOutputStream(context.getOutputStream(), writer);
 
             try {
@@ -267,6 +271,9 @@ final class WriterInterceptorExecutor extends InterceptorExecutor<WriterIntercep
                         context.getMediaType(), context.getHeaders(), entityStream);
             } finally {
                 tracingLogger.logDuration(MsgTraceEvent.MBW_WRITE_TO, timestamp, writer);
+                if (timer instanceof MessageBodyWriterTimer) {
+                    ((MessageBodyWriterTimer) timer).onWriteTo(System.nanoTime() - start);
+                }
             }
         }
     }
@@ -275,7 +282,7 @@ final class WriterInterceptorExecutor extends InterceptorExecutor<WriterIntercep
      * {@link javax.ws.rs.ext.MessageBodyWriter}s should not close the given {@link java.io.OutputStream stream}. This output
      * stream makes sure that the stream is not closed even if MBW tries to do it.
      */
-    private static class UnCloseableOutputStream extends OutputStream {
+    private static class UnCloseableOutputStream extends OutputStream implements FileRegionOutput {
 
         private final OutputStream original;
         private final MessageBodyWriter writer;
@@ -300,6 +307,12 @@ final class WriterInterceptorExecutor extends InterceptorExecutor<WriterIntercep
             original.write(b, off, len);
         }
 
+        @Override
+        public boolean writeFileRegion(final Path file, final long position, final long count) throws IOException {
+            return original instanceof FileRegionOutput
+                    && ((FileRegionOutput) original).writeFileRegion(file, position, count);
+        }
+
         @Override
         public void flush() throws IOException {
             original.flush();
@@ -0,0 +1,76 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.spi;
+
+/**
+ * Pool of byte array buffers used by Jersey when reading and writing entities, e.g. for the serialized entity buffering
+ * that allows Jersey to compute the {@code Content-Length} of a message or when copying streams.
+ * <p>
+ * A custom pool implementation can be registered using the {@link java.util.ServiceLoader service loader} mechanism,
+ * i.e. by listing the fully qualified name of the implementation class in a
+ * {@code META-INF/services/org.glassfish.jersey.spi.BufferPool} resource. The first implementation found is used for
+ * the whole JVM. If no custom implementation is registered, Jersey uses a default lock-free pool that keeps a small
+ * number of buffers per CPU core.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe. A buffer is never used by Jersey once it has been {@link #release(byte[]) released}
+ * and Jersey never releases the same buffer twice; it may however not release an acquired buffer at all (e.g. when the
+ * processing fails), in which case the buffer is simply garbage collected.
+ * </p>
+ *
+ * @since 3.0
+ */
+public interface BufferPool {
+
+    /**
+     * Get a buffer of at least the requested size.
+     *
+     * @param minimumSize minimum length of the returned buffer.
+     * @return buffer of at least the requested length. The content of the buffer is undefined.
+     */
+    public byte[] acquire(int minimumSize);
+
+    /**
+     * Return a buffer previously obtained from {@link #acquire(int)} to the pool.
+     *
+     * @param buffer buffer that is no longer used by the caller.
+     */
+    public void release(byte[] buffer);
+}
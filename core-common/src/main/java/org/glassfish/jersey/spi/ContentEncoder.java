@@ -69,6 +69,22 @@ import javax.annotation.Priority;
 @Priority(Priorities.ENTITY_CODER)
 @Contract
 public abstract class ContentEncoder implements ReaderInterceptor, WriterInterceptor {
+
+    /**
+     * Name of the message property that can hold the minimal size (in bytes) of an entity to be encoded.
+     * <p>
+     * If the property is set to a positive {@link Integer}, the entity is buffered until it reaches the given size.
+     * An entity that turns out to be smaller is written without encoding and the {@code Content-Encoding} header
+     * is removed from the message. While the entity is being buffered, flushing the entity stream has no effect, so
+     * the property should not be set for entities that are flushed as they are produced (e.g. chunked or streaming
+     * entities). The property should be set only if the {@code identity} encoding is acceptable for the message, e.g. the
+     * server side {@code EncodingFilter} sets it according to the configured compression threshold.
+     * </p>
+     *
+     * @since 3.0
+     */
+    public static final String MIN_ENCODED_SIZE_PROPERTY = "jersey.config.contentEncoding.minSize";
+
     private final Set<String> supportedEncodings;
 
     /**
@@ -132,8 +148,107 @@ public abstract class ContentEncoder implements ReaderInterceptor, WriterInterce
 
         String contentEncoding = (String) context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
         if (contentEncoding != null && getSupportedEncodings().contains(contentEncoding)) {
-            context.setOutputStream(encode(contentEncoding, context.getOutputStream()));
+            final Object minSize = context.getProperty(MIN_ENCODED_SIZE_PROPERTY);
+            if (minSize instanceof Integer && (Integer) minSize > 0) {
+                context.setOutputStream(
+                        new DeferredEncodingOutputStream(context, contentEncoding, context.getOutputStream(), (Integer) minSize));
+            } else {
+                context.setOutputStream(encode(contentEncoding, context.getOutputStream()));
+            }
         }
         context.proceed();
     }
+
+    /**
+     * Output stream buffering the beginning of the entity to decide whether the entity is large enough to be encoded.
+     */
+    private final class DeferredEncodingOutputStream extends OutputStream {
+
+        private final WriterInterceptorContext context;
+        private final String contentEncoding;
+        private final OutputStream entityStream;
+        private final int minSize;
+
+        private byte[] buffer;
+        private int count;
+        // stream encoding the entity, null until it is known that the entity is large enough
+        private OutputStream encoded;
+        private boolean closed;
+
+        private DeferredEncodingOutputStream(final WriterInterceptorContext context,
+                                             final String contentEncoding,
+                                             final OutputStream entityStream,
+                                             final int minSize) {
+            this.context = context;
+            this.contentEncoding = contentEncoding;
+            this.entityStream = entityStream;
+            this.minSize = minSize;
+            this.buffer = new byte[Math.min(minSize, 512)];
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (encoded == null) {
+                if (count + 1 < minSize) {
+                    ensureCapacity(count + 1);
+                    buffer[count++] = (byte) b;
+                    return;
+                }
+                startEncoding();
+            }
+            encoded.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (encoded == null) {
+                if (count + len < minSize) {
+                    ensureCapacity(count + len);
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+                    return;
+                }
+                startEncoding();
+            }
+            encoded.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // same as the committing output stream, do not flush until the buffering is over
+            if (encoded != null) {
+                encoded.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (encoded != null) {
+                encoded.close();
+            } else {
+                // too small to be encoded, nothing has been written to the entity stream yet
+                context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+                entityStream.write(buffer, 0, count);
+                entityStream.close();
+            }
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(minSize, Math.max(capacity, buffer.length << 1)));
+            }
+        }
+
+        private void startEncoding() throws IOException {
+            encoded = encode(contentEncoding, entityStream);
+            if (count > 0) {
+                encoded.write(buffer, 0, count);
+            }
+            buffer = null;
+        }
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.spi;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Capability of an entity {@link java.io.OutputStream output stream} to write a region of a file without copying
+ * its content through a heap buffer, e.g. using {@link java.nio.channels.FileChannel#transferTo(long, long,
+ * java.nio.channels.WritableByteChannel) FileChannel.transferTo}.
+ * <p>
+ * The interface is implemented by the entity output streams that wrap the underlying connection, such as the streams
+ * returned by the HTTP containers. Message body writers of file-backed entities (e.g. {@link java.io.File} or
+ * {@link Path}) check whether the entity stream they are given implements this interface and fall back to copying
+ * the file content into the stream when it does not, or when the {@link #writeFileRegion(Path, long, long)} call
+ * returns {@code false}.
+ * </p>
+ * <p>
+ * Streams that transform the written bytes (e.g. compressing streams installed by a
+ * {@link javax.ws.rs.ext.WriterInterceptor writer interceptor}) must not implement this interface.
+ * </p>
+ *
+ * @since 3.0
+ */
+public interface FileRegionOutput {
+
+    /**
+     * Write {@code count} bytes of the file starting at the {@code position} to the stream.
+     * <p>
+     * The region is written after any bytes previously written to the stream and before any bytes written to the
+     * stream later on. The method blocks until the region has been written or handed over to the underlying
+     * connection in a way that does not depend on the caller keeping the file open.
+     * </p>
+     *
+     * @param file     file to be written.
+     * @param position position in the file of the first byte to be written.
+     * @param count    number of bytes to be written.
+     * @return {@code true} if the region has been written, {@code false} if the stream is not able to write file regions
+     * directly at the moment (e.g. because the connection is encrypted), in which case nothing has been written and the
+     * caller is expected to copy the region into the stream.
+     * @throws IOException in case the region could not be written.
+     */
+    public boolean writeFileRegion(Path file, long position, long count) throws IOException;
+}
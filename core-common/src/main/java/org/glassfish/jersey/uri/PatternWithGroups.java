@@ -73,6 +73,11 @@ public class PatternWithGroups {
      * The array of group indexes to capturing groups.
      */
     private final int[] groupIndexes;
+    /**
+     * {@code true} if the group indexes map one-to-one to the capturing groups of {@link #regexPattern}, in which case
+     * the matcher is returned as the match result as is.
+     */
+    private final boolean directGroups;
 
     /**
      * Construct an empty pattern.
@@ -81,6 +86,7 @@ public class PatternWithGroups {
         this.regex = "";
         this.regexPattern = null;
         this.groupIndexes = EMPTY_INT_ARRAY;
+        this.directGroups = true;
     }
 
     /**
@@ -137,6 +143,22 @@ public class PatternWithGroups {
         this.regex = regexPattern.toString();
         this.regexPattern = regexPattern;
         this.groupIndexes = groupIndexes.clone();
+        this.directGroups = isDirect(regexPattern, groupIndexes);
+    }
+
+    private static boolean isDirect(final Pattern regexPattern, final int[] groupIndexes) {
+        if (groupIndexes.length == 0) {
+            return true;
+        }
+        if (groupIndexes.length != regexPattern.matcher("").groupCount()) {
+            return false;
+        }
+        for (int i = 0; i < groupIndexes.length; i++) {
+            if (groupIndexes[i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -210,12 +232,18 @@ public class PatternWithGroups {
 
     private static final EmptyStringMatchResult EMPTY_STRING_MATCH_RESULT = new EmptyStringMatchResult();
 
-    private final class GroupIndexMatchResult implements MatchResult {
+    /**
+     * Match result that maps the capturing groups of a {@link Matcher} to the top-level capturing groups
+     * associated with the template variables using the (shared) group index array of the pattern.
+     */
+    private static final class GroupIndexMatchResult implements MatchResult {
 
         private final MatchResult result;
+        private final int[] groupIndexes;
 
-        GroupIndexMatchResult(final MatchResult r) {
+        GroupIndexMatchResult(final MatchResult r, final int[] groupIndexes) {
             this.result = r;
+            this.groupIndexes = groupIndexes;
         }
 
         @Override
@@ -290,7 +318,7 @@ public class PatternWithGroups {
             return EMPTY_STRING_MATCH_RESULT;
         }
 
-        return (groupIndexes.length > 0) ? new GroupIndexMatchResult(m) : m;
+        return directGroups ? m : new GroupIndexMatchResult(m, groupIndexes);
     }
 
     /**
@@ -0,0 +1,152 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.logging;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AsyncLogEmitter}.
+ */
+public class AsyncLogEmitterTest {
+
+    private static class RecordingHandler extends Handler {
+
+        final List<LogRecord> records = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(final LogRecord record) {
+            records.add(record);
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        void await(final int count) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (records.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, records.size());
+        }
+    }
+
+    private static Logger logger(final Handler handler) {
+        final Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+        logger.addHandler(handler);
+        return logger;
+    }
+
+    @Test
+    public void testMessagesLoggedInOrderOffThread() throws Exception {
+        final RecordingHandler handler = new RecordingHandler();
+        final Logger logger = logger(handler);
+        final AsyncLogEmitter emitter = new AsyncLogEmitter(16);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(emitter.emit(logger, Level.INFO, new StringBuilder("message ").append(i)));
+        }
+
+        handler.await(10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("message " + i, handler.records.get(i).getMessage());
+            assertEquals(Level.INFO, handler.records.get(i).getLevel());
+            assertNotEquals(Thread.currentThread().getName(), handler.threads.get(i));
+        }
+        assertEquals(0, emitter.getDropped());
+    }
+
+    @Test
+    public void testMessagesDroppedWhenQueueIsFull() throws Exception {
+        final CountDownLatch publishing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingHandler handler = new RecordingHandler() {
+            @Override
+            public void publish(final LogRecord record) {
+                publishing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        final Logger logger = logger(handler);
+        final AsyncLogEmitter emitter = new AsyncLogEmitter(1);
+
+        assertTrue(emitter.emit(logger, Level.INFO, "first"));
+        // Wait until the emitter thread blocks in the handler.
+        assertTrue(publishing.await(10, TimeUnit.SECONDS));
+
+        assertTrue(emitter.emit(logger, Level.INFO, "second"));
+        assertFalse(emitter.emit(logger, Level.INFO, "third"));
+        assertEquals(1, emitter.getDropped());
+
+        release.countDown();
+
+        // first, dropped messages warning, second
+        handler.await(3);
+        assertEquals("first", handler.records.get(0).getMessage());
+        assertEquals(Level.WARNING, handler.records.get(1).getLevel());
+        assertEquals("second", handler.records.get(2).getMessage());
+    }
+}
@@ -39,6 +39,10 @@
  */
 package org.glassfish.jersey.logging;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import javax.ws.rs.core.MediaType;
 
 import org.junit.Test;
@@ -124,4 +128,42 @@ public class LoggingInterceptorTest {
         assertFalse(LoggingInterceptor.printEntity(HEADERS_ONLY, APPLICATION_OCTET_STREAM_TYPE));
     }
 
+    //
+    // sampling
+    //
+
+    @Test
+    public void testSampleRate() {
+        final ServerLoggingFilter filter = new ServerLoggingFilter(null, null, HEADERS_ONLY, 0, 0, 3, -1);
+
+        assertFalse(filter.isSampled(1));
+        assertFalse(filter.isSampled(2));
+        assertTrue(filter.isSampled(3));
+        assertTrue(filter.isSampled(6));
+    }
+
+    @Test
+    public void testSlowThreshold() {
+        final ServerLoggingFilter filter = new ServerLoggingFilter(null, null, HEADERS_ONLY, 0, 0, 1, 60000);
+        final Map<String, Object> properties = new HashMap<>();
+
+        filter.logRequest(new StringBuilder("request"), properties::put);
+        assertTrue(properties.containsKey(LoggingInterceptor.LOGGING_REQUEST_PROPERTY));
+
+        properties.put(LoggingInterceptor.LOGGING_START_PROPERTY, System.nanoTime());
+        assertFalse(filter.logExchange(properties::get, 200));
+        assertTrue(filter.logExchange(properties::get, 500));
+
+        properties.put(LoggingInterceptor.LOGGING_START_PROPERTY, System.nanoTime() - TimeUnit.MINUTES.toNanos(2));
+        assertTrue(filter.logExchange(properties::get, 200));
+    }
+
+    @Test
+    public void testNoSlowThreshold() {
+        final ServerLoggingFilter filter = new ServerLoggingFilter(null, null, HEADERS_ONLY, 0, 0, 1, -1);
+        final Map<String, Object> properties = new HashMap<>();
+
+        assertTrue(filter.logExchange(properties::get, 200));
+    }
+
 }
@@ -40,6 +40,8 @@
 
 package org.glassfish.jersey.message;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -60,6 +62,8 @@ import javax.ws.rs.core.Feature;
 import javax.inject.Provider;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Martin Matula
@@ -224,4 +228,42 @@ public class DeflateEncodingTest extends AbstractEncodingTest {
             }
         });
     }
+
+    @Test
+    public void testCompressionLevel() throws IOException {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("Hello world ").append(i % 10).append('!');
+        }
+        final byte[] entity = text.toString().getBytes();
+
+        final DummyConfiguration stored = new DummyConfiguration(false);
+        stored.properties.put(MessageProperties.COMPRESSION_LEVEL, Deflater.NO_COMPRESSION);
+        final DummyConfiguration best = new DummyConfiguration(false);
+        best.properties.put(MessageProperties.COMPRESSION_LEVEL, "9");
+        best.properties.put(MessageProperties.COMPRESSION_STRATEGY, Deflater.FILTERED);
+
+        final ByteArrayOutputStream storedBytes = new ByteArrayOutputStream();
+        OutputStream encoded = new DeflateEncoder(stored).encode("deflate", storedBytes);
+        encoded.write(entity);
+        encoded.close();
+
+        final ByteArrayOutputStream bestBytes = new ByteArrayOutputStream();
+        encoded = new DeflateEncoder(best).encode("deflate", bestBytes);
+        encoded.write(entity);
+        encoded.close();
+
+        assertTrue(storedBytes.size() > entity.length);
+        assertTrue(bestBytes.size() < entity.length / 10);
+
+        for (final ByteArrayOutputStream bytes : new ByteArrayOutputStream[] {storedBytes, bestBytes}) {
+            final InputStream decoded = new InflaterInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            final ByteArrayOutputStream result = new ByteArrayOutputStream();
+            int b;
+            while ((b = decoded.read()) != -1) {
+                result.write(b);
+            }
+            assertArrayEquals(entity, result.toByteArray());
+        }
+    }
 }
@@ -40,13 +40,25 @@
 
 package org.glassfish.jersey.message;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * @author Martin Matula
@@ -96,4 +108,208 @@ public class GZipEncodingTest extends AbstractEncodingTest {
             }
         });
     }
+
+    @Test
+    public void testEncodeLargeEntityRepeatedly() throws IOException {
+        final byte[] entity = new byte[300000];
+        final Random random = new Random(42);
+        for (int i = 0; i < entity.length; i++) {
+            // compressible, but not trivially
+            entity[i] = (byte) ('a' + random.nextInt(8));
+        }
+
+        // the deflater returned to the pool by the previous stream is reused by the next one
+        for (int i = 0; i < 3; i++) {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final OutputStream encoded = new GZipEncoder().encode("gzip", baos);
+            encoded.write(entity, 0, 1000);
+            encoded.write(entity[1000]);
+            encoded.write(entity, 1001, entity.length - 1001);
+            encoded.close();
+
+            assertArrayEquals(entity, readFully(new GZIPInputStream(new ByteArrayInputStream(baos.toByteArray()))));
+            assertArrayEquals(entity, readFully(new GZipEncoder().decode("gzip", new ByteArrayInputStream(baos.toByteArray()))));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterClose() throws IOException {
+        final OutputStream encoded = new GZipEncoder().encode("gzip", new ByteArrayOutputStream());
+        encoded.close();
+        encoded.write(new byte[10]);
+    }
+
+    @Test
+    public void testDecodeConcatenatedMembers() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        for (final String member : new String[] {"Hello ", "world", "!"}) {
+            final GZIPOutputStream gzip = new GZIPOutputStream(baos);
+            gzip.write(member.getBytes(StandardCharsets.US_ASCII));
+            gzip.finish();
+        }
+
+        final InputStream decoded = new GZipEncoder().decode("gzip", new ByteArrayInputStream(baos.toByteArray()));
+        assertEquals("Hello world!", new String(readFully(decoded), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testDecodeHeaderWithOptionalFields() throws IOException {
+        final byte[] entity = "Hello world!".getBytes(StandardCharsets.US_ASCII);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        // magic, deflate, FEXTRA | FNAME | FCOMMENT, mtime, xfl, os
+        baos.write(new byte[] {(byte) 0x1f, (byte) 0x8b, 8, 4 | 8 | 16, 1, 2, 3, 4, 0, 3});
+        baos.write(new byte[] {3, 0, 'x', 'y', 'z'});
+        baos.write("name.txt\0comment\0".getBytes(StandardCharsets.US_ASCII));
+        final DeflaterOutputStream deflated = new DeflaterOutputStream(baos, new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+        deflated.write(entity);
+        deflated.finish();
+        final CRC32 crc = new CRC32();
+        crc.update(entity);
+        writeInt(baos, (int) crc.getValue());
+        writeInt(baos, entity.length);
+
+        final InputStream decoded = new GZipEncoder().decode("gzip", new ByteArrayInputStream(baos.toByteArray()));
+        assertArrayEquals(entity, readFully(decoded));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecodeCorruptTrailer() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(baos);
+        gzip.write("Hello world!".getBytes(StandardCharsets.US_ASCII));
+        gzip.close();
+        final byte[] bytes = baos.toByteArray();
+        bytes[bytes.length - 5]++;
+
+        readFully(new GZipEncoder().decode("gzip", new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void testDecodeHeaderChecksum() throws IOException {
+        final byte[] header = {(byte) 0x1f, (byte) 0x8b, 8, 2, 0, 0, 0, 0, 0, 3};
+        final CRC32 headerCrc = new CRC32();
+        headerCrc.update(header);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(header);
+        baos.write((int) headerCrc.getValue());
+        baos.write((int) headerCrc.getValue() >> 8);
+        final DeflaterOutputStream deflated = new DeflaterOutputStream(baos, new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+        deflated.write("Hello".getBytes(StandardCharsets.US_ASCII));
+        deflated.finish();
+        final CRC32 crc = new CRC32();
+        crc.update("Hello".getBytes(StandardCharsets.US_ASCII));
+        writeInt(baos, (int) crc.getValue());
+        writeInt(baos, 5);
+        final byte[] bytes = baos.toByteArray();
+
+        assertEquals("Hello", new String(readFully(new GZipEncoder().decode("gzip", new ByteArrayInputStream(bytes))),
+                StandardCharsets.US_ASCII));
+
+        bytes[10]++;
+        try {
+            new GZipEncoder().decode("gzip", new ByteArrayInputStream(bytes));
+            fail("Corrupt header checksum not detected.");
+        } catch (final IOException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDecodeTrailingData() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(baos);
+        gzip.write("Hello world!".getBytes(StandardCharsets.US_ASCII));
+        gzip.close();
+
+        // data following the last member is ignored unless it starts with the gzip magic number
+        for (final byte[] trailing : new byte[][] {{0}, {0, 0, 0}, {(byte) 0x1f, 0, 0}}) {
+            final ByteArrayOutputStream message = new ByteArrayOutputStream();
+            message.write(baos.toByteArray());
+            message.write(trailing);
+
+            final InputStream decoded = new GZipEncoder().decode("gzip", new ByteArrayInputStream(message.toByteArray()));
+            assertEquals("Hello world!", new String(readFully(decoded), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecodeTruncated() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(baos);
+        gzip.write("Hello world!".getBytes(StandardCharsets.US_ASCII));
+        gzip.close();
+        final byte[] bytes = baos.toByteArray();
+
+        readFully(new GZipEncoder().decode("gzip", new ByteArrayInputStream(bytes, 0, bytes.length - 3)));
+    }
+
+    @Test
+    public void testDecodeMembersSplitAcrossReads() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            final GZIPOutputStream gzip = new GZIPOutputStream(baos);
+            final String member = "member " + i + ";";
+            gzip.write(member.getBytes(StandardCharsets.US_ASCII));
+            gzip.finish();
+            expected.append(member);
+        }
+
+        // the underlying stream returns one byte at a time, so the member boundaries fall between the reads
+        final InputStream trickle = new ByteArrayInputStream(baos.toByteArray()) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        final InputStream decoded = new GZipEncoder().decode("gzip", trickle);
+        assertEquals(expected.toString(), new String(readFully(decoded), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testFlushWritesCompressedData() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final OutputStream encoded = new GZipEncoder().encode("gzip", baos);
+        encoded.write("Hello".getBytes(StandardCharsets.US_ASCII));
+        encoded.flush();
+
+        // everything written so far can be decompressed before the stream is finished
+        final byte[] flushed = baos.toByteArray();
+        final Inflater inflater = new Inflater(true);
+        inflater.setInput(flushed, 10, flushed.length - 10);
+        final byte[] result = new byte[16];
+        try {
+            assertEquals(5, inflater.inflate(result));
+        } catch (final DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+        assertEquals("Hello", new String(result, 0, 5, StandardCharsets.US_ASCII));
+
+        encoded.write(" world!".getBytes(StandardCharsets.US_ASCII));
+        encoded.close();
+        assertEquals("Hello world!",
+                new String(readFully(new GZIPInputStream(new ByteArrayInputStream(baos.toByteArray()))),
+                        StandardCharsets.US_ASCII));
+    }
+
+    private static void writeInt(final OutputStream out, final int value) throws IOException {
+        out.write(value);
+        out.write(value >> 8);
+        out.write(value >> 16);
+        out.write(value >> 24);
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        in.close();
+        return result.toByteArray();
+    }
 }
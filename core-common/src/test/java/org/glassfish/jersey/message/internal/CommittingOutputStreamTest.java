@@ -40,10 +40,16 @@
 
 package org.glassfish.jersey.message.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.RuntimeType;
@@ -52,6 +58,7 @@ import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.model.internal.CommonConfig;
 import org.glassfish.jersey.model.internal.ComponentBag;
+import org.glassfish.jersey.spi.FileRegionOutput;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
@@ -199,6 +206,92 @@ public class CommittingOutputStreamTest {
         cos.close();
     }
 
+    @Test
+    public void testBufferGrowsFromInitialCapacity() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(1000);
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        final int[] committedLength = {Integer.MIN_VALUE};
+        cos.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+            @Override
+            public OutputStream getOutputStream(int contentLength) throws IOException {
+                committedLength[0] = contentLength;
+                return baos;
+            }
+        });
+        cos.enableBuffering(5000, 16);
+
+        final byte[] expected = new byte[3000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+        cos.write(expected, 0, 1000);
+        cos.write(expected[1000]);
+        cos.write(expected, 1001, 1999);
+        assertFalse(cos.isCommitted());
+
+        cos.close();
+        assertEquals(3000, committedLength[0]);
+        check(baos, expected);
+    }
+
+    /**
+     * Output stream that keeps a reference to the written arrays instead of copying them, e.g. as a container
+     * stream that sends the data asynchronously would do.
+     */
+    private static class RetainingOutputStream extends OutputStream {
+
+        private final List<byte[]> arrays = new ArrayList<>();
+        private final List<byte[]> expected = new ArrayList<>();
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            arrays.add(b);
+            expected.add(Arrays.copyOf(b, b.length));
+        }
+
+        void checkUnchanged() {
+            for (int i = 0; i < arrays.size(); i++) {
+                assertTrue("Written array has been reused.", Arrays.equals(expected.get(i), arrays.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testBufferNotReusedWhileRetainedByOutput() throws IOException {
+        final RetainingOutputStream retaining = new RetainingOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> retaining);
+        cos.enableBuffering(100);
+        cos.write(new byte[]{1, 2, 3});
+        cos.close();
+
+        writeBuffered(new byte[]{4, 5, 6});
+        retaining.checkUnchanged();
+    }
+
+    @Test
+    public void testTransferBufferNotReusedWhileRetainedByOutput() throws IOException {
+        final RetainingOutputStream retaining = new RetainingOutputStream();
+        ReaderWriter.writeTo(new ByteArrayInputStream(new byte[]{1, 2, 3}), retaining);
+
+        ReaderWriter.writeTo(new ByteArrayInputStream(new byte[]{4, 5, 6}), new ByteArrayOutputStream());
+        writeBuffered(new byte[]{7, 8, 9});
+        retaining.checkUnchanged();
+    }
+
+    private static void writeBuffered(final byte[] bytes) throws IOException {
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> new ByteArrayOutputStream());
+        cos.enableBuffering(100);
+        cos.write(bytes);
+        cos.close();
+    }
+
     @Test
     public void testNotBufferedOS() throws IOException {
         final Passed passed = new Passed();
@@ -224,6 +317,105 @@ public class CommittingOutputStreamTest {
         cos.close();
     }
 
+    @Test
+    public void testFileRegionFitsIntoBuffer() throws IOException {
+        final Path file = createFile(10, 11, 12, 13);
+        try {
+            final Passed passed = new Passed();
+            final RegionOutputStream out = new RegionOutputStream();
+            final CommittingOutputStream cos = new CommittingOutputStream();
+            setupBufferedStreamProvider(passed, out, cos, 2);
+
+            ReaderWriter.writeTo(file, 1, 2, cos);
+            checkNotYetCommitted(passed, out, cos);
+
+            cos.close();
+            check(out, new byte[]{11, 12});
+            assertTrue(out.regions.isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFileRegionWrittenToRegionOutput() throws IOException {
+        final Path file = createFile(10, 11, 12, 13);
+        try {
+            final Passed passed = new Passed();
+            final RegionOutputStream out = new RegionOutputStream();
+            final CommittingOutputStream cos = new CommittingOutputStream();
+            setupBufferedStreamProvider(passed, out, cos, -1);
+
+            cos.write((byte) 1);
+            ReaderWriter.writeTo(file, 0, 4, cos);
+            checkCommitted(passed, cos);
+            // the buffered bytes precede the region
+            check(out, new byte[]{1});
+            assertEquals(Arrays.asList(file + ":0:4"), out.regions);
+
+            cos.write((byte) 2);
+            cos.close();
+            check(out, new byte[]{1, 2});
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFileRegionCopiedIfNotSupported() throws IOException {
+        final Path file = createFile(10, 11, 12, 13);
+        try {
+            final Passed passed = new Passed();
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream(1000);
+            final CommittingOutputStream cos = new CommittingOutputStream();
+            setupStreamProvider(passed, baos, cos);
+
+            cos.write((byte) 1);
+            ReaderWriter.writeTo(file, 1, 3, cos);
+            cos.close();
+            check(baos, new byte[]{1, 11, 12, 13});
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testTruncatedFileRegion() throws IOException {
+        final Path file = createFile(10, 11);
+        try {
+            final CommittingOutputStream cos = new CommittingOutputStream();
+            setupStreamProvider(new Passed(), new ByteArrayOutputStream(), cos);
+
+            ReaderWriter.writeTo(file, 1, 3, cos);
+            fail("IOException expected, the file is shorter than the region.");
+        } catch (IOException e) {
+            // expected
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static Path createFile(int... content) throws IOException {
+        final byte[] bytes = new byte[content.length];
+        for (int i = 0; i < content.length; i++) {
+            bytes[i] = (byte) content[i];
+        }
+        final Path file = Files.createTempFile("region", ".bin");
+        Files.write(file, bytes);
+        return file;
+    }
+
+    private static class RegionOutputStream extends ByteArrayOutputStream implements FileRegionOutput {
+
+        private final List<String> regions = new ArrayList<>();
+
+        @Override
+        public boolean writeFileRegion(Path file, long position, long count) {
+            regions.add(file + ":" + position + ":" + count);
+            return true;
+        }
+    }
+
     private void check(ByteArrayOutputStream baos, byte... bytes) {
         assertEquals(bytes == null ? 0 : bytes.length, baos.size());
 
@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test the {@link EntitySizeHistogram}.
+ */
+public class EntitySizeHistogramTest {
+
+    @Test
+    public void testNoEstimateWithoutEnoughSamples() {
+        final EntitySizeHistogram histogram = new EntitySizeHistogram();
+        assertEquals(-1, histogram.estimate());
+
+        for (int i = 0; i < 10; i++) {
+            histogram.record(100);
+        }
+        assertEquals(-1, histogram.estimate());
+    }
+
+    @Test
+    public void testEstimateIsPowerOfTwoAtPercentile() {
+        final EntitySizeHistogram histogram = new EntitySizeHistogram();
+        for (int i = 0; i < 95; i++) {
+            histogram.record(1000);
+        }
+        for (int i = 0; i < 5; i++) {
+            histogram.record(100000);
+        }
+        assertEquals(1024, histogram.estimate());
+
+        for (int i = 0; i < 100; i++) {
+            histogram.record(100000);
+        }
+        assertEquals(131072, histogram.estimate());
+    }
+
+    @Test
+    public void testUnknownSizes() {
+        final EntitySizeHistogram histogram = new EntitySizeHistogram();
+        for (int i = 0; i < 20; i++) {
+            histogram.record(-1);
+        }
+        assertEquals(Integer.MAX_VALUE, histogram.estimate());
+    }
+
+    @Test
+    public void testOldSamplesDecay() {
+        final EntitySizeHistogram histogram = new EntitySizeHistogram();
+        for (int i = 0; i < 1024; i++) {
+            histogram.record(64);
+        }
+        for (int i = 0; i < 4096; i++) {
+            histogram.record(4096);
+        }
+        assertEquals(4096, histogram.estimate());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link HttpDateFormat} unit tests.
+ */
+public class HttpDateFormatTest {
+
+    private static final long DATE = 784111777000L; // Sun, 06 Nov 1994 08:49:37 GMT
+
+    @Test
+    public void testReadRfc1123() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 08:49:37 GMT").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 6 Nov 1994 08:49:37 GMT").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("sun, 06 nov 1994 08:49:37 utc").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 09:49:37 +0100").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 09:49:37 GMT+01:00").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 00:49:37 PST").getTime());
+    }
+
+    @Test
+    public void testReadRfc1036() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sunday, 06-Nov-94 08:49:37 GMT").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sunday, 06-Nov-1994 08:49:37 GMT").getTime());
+    }
+
+    @Test
+    public void testReadAsctime() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sun Nov  6 08:49:37 1994").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun Nov 06 08:49:37 1994").getTime());
+    }
+
+    @Test
+    public void testReadOtherTimeZone() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 09:49:37 CET").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sunday, 06-Nov-94 09:49:37 CET").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 03:49:37 America/New_York").getTime());
+    }
+
+    @Test
+    public void testPreferredDateFormatReused() throws ParseException {
+        final SimpleDateFormat format = HttpDateFormat.getPreferredDateFormat();
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", format.format(new Date(DATE)));
+
+        // parsing a date in another time zone changes the time zone of the format
+        format.parse("Sun, 06 Nov 1994 09:49:37 CET");
+        assertSame(format, HttpDateFormat.getPreferredDateFormat());
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", format.format(new Date(DATE)));
+    }
+
+    @Test
+    public void testReadInvalid() {
+        for (final String date : new String[] {"", "Sun", "Sun, 06 Nov 1994", "Sun, 06 Foo 1994 08:49:37 GMT",
+                "Sun, 06 Nov 1994 08:49 GMT", "Sun Nov  6 08:49:37", "1994-11-06T08:49:37Z",
+                // the time in milliseconds overflows
+                "Sun, 06 Nov 999999999 08:49:37 GMT", "Sun Nov  6 08:49:37 999999999"}) {
+            try {
+                HttpDateFormat.readDate(date);
+                fail("Date '" + date + "' should not be parsed.");
+            } catch (final ParseException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testFormatAndReadMatchDateFormat() throws ParseException {
+        final SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            final Date date = new Date((random.nextLong() >>> 21) / 1000 * 1000);
+            final String formatted = HttpDateFormat.formatDate(date);
+
+            assertEquals(format.format(date), formatted);
+            assertEquals(date, HttpDateFormat.readDate(formatted));
+        }
+    }
+
+    @Test
+    public void testCurrentDate() throws ParseException {
+        final long before = System.currentTimeMillis() / 1000 * 1000;
+        final String current = HttpDateFormat.getCurrentDate();
+        final long after = System.currentTimeMillis();
+
+        final long parsed = HttpDateFormat.readDate(current).getTime();
+        if (parsed < before || parsed > after) {
+            fail("Current date " + current + " is out of the expected range.");
+        }
+
+        final String first = HttpDateFormat.getCurrentDate();
+        final String second = HttpDateFormat.getCurrentDate();
+        if (first.equals(second)) {
+            // formatted once per second
+            assertSame(first, second);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the {@link StripedBufferPool}.
+ */
+public class StripedBufferPoolTest {
+
+    @Test
+    public void testAcquireRoundsUpToSizeClass() {
+        final StripedBufferPool pool = new StripedBufferPool(1);
+
+        assertEquals(StripedBufferPool.MIN_POOLED_SIZE, pool.acquire(1).length);
+        assertEquals(StripedBufferPool.MIN_POOLED_SIZE, pool.acquire(StripedBufferPool.MIN_POOLED_SIZE).length);
+        assertEquals(1024, pool.acquire(StripedBufferPool.MIN_POOLED_SIZE + 1).length);
+        assertEquals(8192, pool.acquire(8192).length);
+        assertEquals(StripedBufferPool.MAX_POOLED_SIZE + 1, pool.acquire(StripedBufferPool.MAX_POOLED_SIZE + 1).length);
+    }
+
+    @Test
+    public void testReleasedBufferIsReused() {
+        final StripedBufferPool pool = new StripedBufferPool(1);
+
+        final byte[] buffer = pool.acquire(4000);
+        pool.release(buffer);
+
+        assertSame(buffer, pool.acquire(3000));
+        assertNotSame(buffer, pool.acquire(3000));
+    }
+
+    @Test
+    public void testForeignSizesAreNotPooled() {
+        final StripedBufferPool pool = new StripedBufferPool(1);
+
+        final byte[] odd = new byte[1000];
+        pool.release(odd);
+        assertNotSame(odd, pool.acquire(1000));
+
+        final byte[] large = new byte[StripedBufferPool.MAX_POOLED_SIZE * 2];
+        pool.release(large);
+        assertNotSame(large, pool.acquire(StripedBufferPool.MAX_POOLED_SIZE * 2));
+    }
+
+    @Test
+    public void testPoolIsBounded() {
+        final StripedBufferPool pool = new StripedBufferPool(1);
+
+        final byte[][] buffers = new byte[10][];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new byte[1024];
+            pool.release(buffers[i]);
+        }
+
+        int reused = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            final byte[] acquired = pool.acquire(1024);
+            for (final byte[] buffer : buffers) {
+                if (buffer == acquired) {
+                    reused++;
+                }
+            }
+        }
+        assertTrue("Only a bounded number of buffers should be retained.", reused > 0 && reused < buffers.length);
+    }
+}
@@ -141,4 +141,26 @@ public class PathPatternTest {
                 value
         );
     }
+
+    @Test
+    public void testMatchResultGroupOffsets() throws Exception {
+        final PathPattern path = new PathPattern("{a: (\\d)(\\d*)}-{b}");
+        final String input = "/123-b/c";
+
+        final MatchResult m = path.match(input);
+        assertEquals(3, m.groupCount());
+        assertEquals(input, m.group());
+        assertEquals("123", m.group(1));
+        assertEquals(1, m.start(1));
+        assertEquals(4, m.end(1));
+        assertEquals("b", m.group(2));
+        assertEquals(5, m.start(2));
+        assertEquals(6, m.end(2));
+        assertEquals("/c", m.group(3));
+
+        final MatchResult closed = new PathPattern("{a}", PathPattern.RightHandPath.capturingZeroSegments).match("/a");
+        assertEquals(2, closed.groupCount());
+        assertNull(closed.group(2));
+        assertEquals(-1, closed.start(2));
+    }
 }
@@ -41,9 +41,17 @@
 package org.glassfish.jersey.server;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,6 +59,19 @@ import org.glassfish.jersey.server.internal.LocalizationMessages;
 
 /**
  * Used for broadcasting response chunks to multiple {@link ChunkedOutput} instances.
+ * <p>
+ * A broadcast chunk is serialized only once for all the registered chunked outputs that share the same chunk type,
+ * media type and chunk delimiter; the resulting bytes are then written to each of them.
+ * </p>
+ * <p>
+ * By default, the chunk is written to the registered chunked outputs one by one in the thread calling
+ * {@link #broadcast(Object)}, so a single slow client delays all the others. A broadcaster created with an
+ * {@link #Broadcaster(Executor, int) executor} instead queues the chunk for each of the chunked outputs and writes
+ * the queues in parallel using the executor. Chunks are still written to each chunked output in the order in which
+ * they were broadcast. A chunked output whose queue exceeds the configured limit is considered a slow consumer:
+ * it is removed from the broadcaster, listeners are notified via {@link #onException(ChunkedOutput, Exception)} and
+ * the chunked output is closed.
+ * </p>
  *
  * @param <T> broadcast type.
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -64,6 +85,14 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
     private final ConcurrentLinkedQueue<ChunkedOutput<T>> chunkedOutputs =
             new ConcurrentLinkedQueue<ChunkedOutput<T>>();
 
+    // marker closing the chunked output once the chunks queued before it are written
+    private static final Object CLOSE = new Object();
+
+    private final Executor executor;
+    private final int maxQueuedChunks;
+    // per chunked output queues, used only if the broadcaster writes using an executor
+    private final ConcurrentHashMap<ChunkedOutput<T>, Subscriber> subscribers;
+
     /**
      * Creates a new instance.
      * If this constructor is called by a subclass, it assumes the the reason for the subclass to exist is to implement
@@ -88,6 +117,56 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
         if (subclass != getClass()) {
             listeners.add(this);
         }
+        this.executor = null;
+        this.maxQueuedChunks = 0;
+        this.subscribers = null;
+    }
+
+    /**
+     * Creates a new instance writing broadcast chunks to the registered {@link ChunkedOutput chunked outputs} in parallel
+     * using the supplied executor.
+     * <p>
+     * Chunks not yet written to a particular chunked output are queued; once more than {@code maxQueuedChunks} chunks are
+     * queued for a chunked output, the chunked output is evicted from this broadcaster and closed.
+     * </p>
+     * <p>
+     * If this constructor is called by a subclass, the newly created instance is added as the listener the same way as
+     * in {@link #Broadcaster()}. To avoid this, subclasses may call {@link #Broadcaster(Class, Executor, int)} passing
+     * their class as an argument.
+     * </p>
+     *
+     * @param executor        executor used to write the chunks to the registered chunked outputs. Must not be {@code null}.
+     * @param maxQueuedChunks maximal number of chunks queued for a single chunked output. Must be positive.
+     * @since 3.0
+     */
+    public Broadcaster(final Executor executor, final int maxQueuedChunks) {
+        this(Broadcaster.class, executor, maxQueuedChunks);
+    }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link BroadcasterListener listeners} when creating a broadcaster writing the chunks using an executor.
+     *
+     * @param subclass        subclass of Broadcaster that should not be registered as a listener - if creating a direct
+     *                        instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param executor        executor used to write the chunks to the registered chunked outputs. Must not be {@code null}.
+     * @param maxQueuedChunks maximal number of chunks queued for a single chunked output. Must be positive.
+     * @see #Broadcaster(Executor, int)
+     * @since 3.0
+     */
+    protected Broadcaster(final Class<? extends Broadcaster> subclass, final Executor executor, final int maxQueuedChunks) {
+        if (executor == null) {
+            throw new NullPointerException(LocalizationMessages.PARAM_NULL("executor"));
+        }
+        if (maxQueuedChunks <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.BROADCASTER_MAX_QUEUED_CHUNKS_INVALID(maxQueuedChunks));
+        }
+        if (subclass != getClass()) {
+            listeners.add(this);
+        }
+        this.executor = executor;
+        this.maxQueuedChunks = maxQueuedChunks;
+        this.subscribers = new ConcurrentHashMap<>();
     }
 
     /**
@@ -97,6 +176,9 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @return {@code true} if the instance was successfully registered, {@code false} otherwise.
      */
     public <OUT extends ChunkedOutput<T>> boolean add(final OUT chunkedOutput) {
+        if (subscribers != null && subscribers.putIfAbsent(chunkedOutput, new Subscriber(chunkedOutput)) != null) {
+            return false;
+        }
         return chunkedOutputs.offer(chunkedOutput);
     }
 
@@ -109,6 +191,9 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @return {@code true} if the instance was unregistered, {@code false} otherwise.
      */
     public <OUT extends ChunkedOutput<T>> boolean remove(final OUT chunkedOutput) {
+        if (subscribers != null) {
+            subscribers.remove(chunkedOutput);
+        }
         return chunkedOutputs.remove(chunkedOutput);
     }
 
@@ -148,18 +233,39 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @param chunk chunk to be sent.
      */
     public void broadcast(final T chunk) {
+        // chunk serialized per serialization key (or the chunk itself, if it cannot be shared)
+        final Map<Object, Object> serialized = new HashMap<>(4);
+
+        if (subscribers != null) {
+            for (final Subscriber subscriber : subscribers.values()) {
+                subscriber.offer(serialize(subscriber.output, chunk, serialized));
+            }
+            return;
+        }
+
         forEachOutput(new Task<ChunkedOutput<T>>() {
             @Override
             public void run(final ChunkedOutput<T> cr) throws IOException {
-                cr.write(chunk);
+                write(cr, serialize(cr, chunk, serialized));
             }
         });
     }
 
     /**
      * Close all registered {@link ChunkedOutput} instances.
+     * <p>
+     * If this broadcaster writes using an executor, the chunked outputs are closed once all the chunks broadcast before
+     * have been written to them.
+     * </p>
      */
     public void closeAll() {
+        if (subscribers != null) {
+            for (final Subscriber subscriber : subscribers.values()) {
+                subscriber.offer(CLOSE);
+            }
+            return;
+        }
+
         forEachOutput(new Task<ChunkedOutput<T>>() {
             @Override
             public void run(final ChunkedOutput<T> cr) throws IOException {
@@ -213,6 +319,142 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
         }
     }
 
+    private Object serialize(final ChunkedOutput<T> chunkedOutput, final T chunk, final Map<Object, Object> serialized) {
+        if (chunk == null) {
+            return null;
+        }
+        final Object key = chunkedOutput.getSerializationKey(chunk);
+        if (key == null) {
+            return chunk;
+        }
+        Object result = serialized.get(key);
+        if (result == null) {
+            try {
+                result = chunkedOutput.serialize(chunk);
+            } catch (final Exception e) {
+                // let each chunked output fail (and report the failure) when writing the chunk itself
+                result = null;
+            }
+            if (result == null) {
+                result = chunk;
+            }
+            serialized.put(key, result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(final ChunkedOutput<T> chunkedOutput, final Object chunk) throws IOException {
+        if (chunk instanceof ChunkedOutput.SerializedChunk) {
+            chunkedOutput.writeSerialized((ChunkedOutput.SerializedChunk) chunk);
+        } else {
+            chunkedOutput.write((T) chunk);
+        }
+    }
+
+    private boolean unregister(final Subscriber subscriber) {
+        if (subscribers.remove(subscriber.output, subscriber)) {
+            chunkedOutputs.remove(subscriber.output);
+            return true;
+        }
+        return false;
+    }
+
+    private void evict(final Subscriber subscriber) {
+        if (!unregister(subscriber)) {
+            return;
+        }
+        subscriber.queue.clear();
+        fireOnException(subscriber.output,
+                new IOException(LocalizationMessages.BROADCASTER_SLOW_CONSUMER(maxQueuedChunks)));
+
+        final Runnable close = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    subscriber.output.close();
+                } catch (final Exception e) {
+                    fireOnException(subscriber.output, e);
+                }
+                fireOnClose(subscriber.output);
+            }
+        };
+        try {
+            executor.execute(close);
+        } catch (final RejectedExecutionException e) {
+            close.run();
+        }
+    }
+
+    /**
+     * Queue of chunks waiting to be written to a single chunked output.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final ChunkedOutput<T> output;
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(final ChunkedOutput<T> output) {
+            this.output = output;
+        }
+
+        private void offer(final Object chunk) {
+            if (chunk == null) {
+                return;
+            }
+            if (chunk != CLOSE && queued.incrementAndGet() > maxQueuedChunks) {
+                evict(this);
+                return;
+            }
+            queue.add(chunk);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (final RejectedExecutionException e) {
+                    scheduled.set(false);
+                    fireOnException(output, e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Object chunk;
+                while (!output.isClosed() && (chunk = queue.poll()) != null) {
+                    try {
+                        if (chunk == CLOSE) {
+                            output.close();
+                        } else {
+                            queued.decrementAndGet();
+                            write(output, chunk);
+                        }
+                    } catch (final Exception e) {
+                        fireOnException(output, e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+
+            if (output.isClosed()) {
+                queue.clear();
+                if (unregister(this)) {
+                    fireOnClose(output);
+                }
+            } else if (!queue.isEmpty()) {
+                // a chunk may have been queued after the queue was seen empty but before the flag was cleared
+                schedule();
+            }
+        }
+    }
+
     private void forEachListener(final Task<BroadcasterListener<T>> t) {
         for (BroadcasterListener<T> listener : listeners) {
             try {
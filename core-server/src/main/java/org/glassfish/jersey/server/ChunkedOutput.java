@@ -39,17 +39,22 @@
  */
 package org.glassfish.jersey.server;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Objects;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Callable;
 import java.util.concurrent.LinkedBlockingDeque;
 
 import javax.ws.rs.container.ConnectionCallback;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.WriterInterceptor;
 
 import org.glassfish.jersey.internal.util.collection.Value;
@@ -71,7 +76,7 @@ import org.glassfish.jersey.server.internal.process.MappableException;
 public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
     private static final byte[] ZERO_LENGTH_DELIMITER = new byte[0];
 
-    private final BlockingDeque<T> queue = new LinkedBlockingDeque<>();
+    private final BlockingDeque<Object> queue = new LinkedBlockingDeque<>();
     private final byte[] chunkDelimiter;
 
     private volatile boolean closed = false;
@@ -180,6 +185,89 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         flushQueue();
     }
 
+    /**
+     * Write a chunk that has already been serialized by {@link #serialize(Object)}.
+     *
+     * @param chunk serialized chunk to be written.
+     * @throws IOException if this response is closed or when encountered any problem during writing a chunk.
+     */
+    void writeSerialized(final SerializedChunk chunk) throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+        }
+
+        queue.add(chunk);
+        flushQueue();
+    }
+
+    /**
+     * Get a key identifying how chunks are serialized by this chunked output.
+     * <p>
+     * Chunked outputs that return equal keys produce identical bytes for the same chunk instance, which lets
+     * a {@link Broadcaster} serialize a chunk once and share the result among them.
+     * </p>
+     *
+     * @param chunk chunk to be serialized.
+     * @return serialization key or {@code null} if this chunked output is not connected to a response yet.
+     */
+    Object getSerializationKey(final T chunk) {
+        final ContainerResponse response = responseContext;
+        if (closed || requestScopeInstance == null || requestContext == null || response == null) {
+            return null;
+        }
+        return new SerializationKey(chunk.getClass(), getType(), response.getMediaType(), response.getEntityAnnotations(),
+                chunkDelimiter);
+    }
+
+    /**
+     * Serialize a chunk, followed by the chunk delimiter, the same way it would be written to the response
+     * by {@link #write(Object)}.
+     *
+     * @param chunk chunk to be serialized.
+     * @return serialized chunk or {@code null} if this chunked output is not connected to a response yet or if
+     * the chunk cannot be serialized independently of the response stream.
+     * @throws Exception when encountered any problem during serializing a chunk.
+     */
+    SerializedChunk serialize(final T chunk) throws Exception {
+        if (closed || requestScopeInstance == null || requestContext == null || responseContext == null) {
+            return null;
+        }
+
+        return requestScope.runInScope(requestScopeInstance, new Callable<SerializedChunk>() {
+            @Override
+            public SerializedChunk call() throws IOException {
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                final OutputStream writtenStream = writeChunk(chunk, buffer);
+                writtenStream.flush();
+                // a writer replacing the stream keeps state across chunks; such chunks cannot be shared
+                return writtenStream == buffer ? new SerializedChunk(buffer.toByteArray()) : null;
+            }
+        });
+    }
+
+    private OutputStream writeChunk(final Object chunk, final OutputStream stream) throws IOException {
+        final OutputStream writtenStream = requestContext.getWorkers().writeTo(
+                chunk,
+                chunk.getClass(),
+                getType(),
+                responseContext.getEntityAnnotations(),
+                responseContext.getMediaType(),
+                responseContext.getHeaders(),
+                requestContext.getPropertiesDelegate(),
+                stream,
+                // The output stream stored in the response context for this chunked output
+                // is already intercepted as a whole (if there are any interceptors);
+                // no need to intercept the individual chunks.
+                Collections.<WriterInterceptor>emptyList());
+
+        //noinspection ArrayEquality
+        if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
+            // if the chunked output is configured with a custom delimiter, use it
+            writtenStream.write(chunkDelimiter);
+        }
+        return writtenStream;
+    }
+
     private void flushQueue() throws IOException {
         if (requestScopeInstance == null || requestContext == null || responseContext == null) {
             return;
@@ -191,7 +279,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                 @Override
                 public Void call() throws IOException {
                     boolean shouldClose;
-                    T t;
+                    Object t;
 
                     synchronized (ChunkedOutput.this) {
                         if (flushing) {
@@ -216,24 +304,13 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                     while (t != null) {
                         try {
                             final OutputStream origStream = responseContext.getEntityStream();
-                            final OutputStream writtenStream = requestContext.getWorkers().writeTo(
-                                    t,
-                                    t.getClass(),
-                                    getType(),
-                                    responseContext.getEntityAnnotations(),
-                                    responseContext.getMediaType(),
-                                    responseContext.getHeaders(),
-                                    requestContext.getPropertiesDelegate(),
-                                    origStream,
-                                    // The output stream stored in the response context for this chunked output
-                                    // is already intercepted as a whole (if there are any interceptors);
-                                    // no need to intercept the individual chunks.
-                                    Collections.<WriterInterceptor>emptyList());
-
-                            //noinspection ArrayEquality
-                            if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
-                                // if the chunked output is configured with a custom delimiter, use it
-                                writtenStream.write(chunkDelimiter);
+                            final OutputStream writtenStream;
+                            if (t instanceof SerializedChunk) {
+                                // already serialized (including the delimiter), e.g. shared by a broadcaster
+                                writtenStream = origStream;
+                                writtenStream.write(((SerializedChunk) t).bytes);
+                            } else {
+                                writtenStream = writeChunk(t, origStream);
                             }
 
                             // flush the chunk (some writers do it, but some don't)
@@ -371,4 +448,65 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         this.asyncContext = asyncContext;
         flushQueue();
     }
+
+    /**
+     * Chunk serialized together with its delimiter.
+     */
+    static final class SerializedChunk {
+
+        private final byte[] bytes;
+
+        private SerializedChunk(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Everything that, apart from the chunk itself, determines the bytes a chunk is serialized into.
+     */
+    private static final class SerializationKey {
+
+        private final Class<?> chunkClass;
+        private final Type chunkType;
+        private final MediaType mediaType;
+        private final Annotation[] annotations;
+        private final byte[] delimiter;
+        private final int hashCode;
+
+        private SerializationKey(final Class<?> chunkClass,
+                                 final Type chunkType,
+                                 final MediaType mediaType,
+                                 final Annotation[] annotations,
+                                 final byte[] delimiter) {
+            this.chunkClass = chunkClass;
+            this.chunkType = chunkType;
+            this.mediaType = mediaType;
+            this.annotations = annotations;
+            this.delimiter = delimiter;
+            this.hashCode = Objects.hash(chunkClass, chunkType, mediaType, Arrays.hashCode(annotations),
+                    Arrays.hashCode(delimiter));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SerializationKey)) {
+                return false;
+            }
+            final SerializationKey other = (SerializationKey) o;
+            return hashCode == other.hashCode
+                    && chunkClass == other.chunkClass
+                    && Objects.equals(chunkType, other.chunkType)
+                    && Objects.equals(mediaType, other.mediaType)
+                    && Arrays.equals(annotations, other.annotations)
+                    && Arrays.equals(delimiter, other.delimiter);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -53,10 +53,12 @@ import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.internal.AbstractChainableStage;
 import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.monitoring.StageTimer;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.MappableException;
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 
 /**
  * Container filtering stage responsible for execution of request and response filters
@@ -123,6 +125,10 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         final TracingLogger.Event summaryEvent =
                 (postMatching ? ServerTraceEvent.REQUEST_FILTER_SUMMARY : ServerTraceEvent.PRE_MATCH_SUMMARY);
         final long timestamp = tracingLogger.timestamp(summaryEvent);
+        final StageTimer stageTimer = StageTimer.getInstance(request);
+        final StageTimings.Stage stage =
+                (postMatching ? StageTimings.Stage.REQUEST_FILTERS : StageTimings.Stage.PRE_MATCHING_FILTERS);
+        stageTimer.begin(stage);
         int processedCount = 0;
         try {
             final TracingLogger.Event filterEvent = (postMatching ? ServerTraceEvent.REQUEST_FILTER : ServerTraceEvent.PRE_MATCH);
@@ -151,6 +157,7 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
                 }
             }
         } finally {
+            stageTimer.end(stage);
             if (postMatching) {
                 context.triggerEvent(RequestEvent.Type.REQUEST_FILTERED);
             }
@@ -188,6 +195,8 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
             processingContext.triggerEvent(RequestEvent.Type.RESP_FILTERS_START);
 
             final long timestamp = tracingLogger.timestamp(ServerTraceEvent.RESPONSE_FILTER_SUMMARY);
+            final StageTimer stageTimer = StageTimer.getInstance(request);
+            stageTimer.begin(StageTimings.Stage.RESPONSE_FILTERS);
             int processedCount = 0;
             try {
                 for (ContainerResponseFilter filter : sortedResponseFilters) {
@@ -202,6 +211,7 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
                     }
                 }
             } finally {
+                stageTimer.end(StageTimings.Stage.RESPONSE_FILTERS);
                 processingContext.triggerEvent(RequestEvent.Type.RESP_FILTERS_FINISHED);
                 tracingLogger.logDuration(ServerTraceEvent.RESPONSE_FILTER_SUMMARY, timestamp, processedCount);
             }
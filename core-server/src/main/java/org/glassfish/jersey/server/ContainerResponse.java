@@ -385,6 +385,19 @@ public class ContainerResponse implements ContainerResponseContext {
         messageContext.enableBuffering(configuration);
     }
 
+    /**
+     * Enable a buffering of serialized entity with an initial buffer capacity derived from the expected entity size.
+     *
+     * @param configuration      runtime configuration.
+     * @param expectedEntitySize expected size of the serialized entity, a value lower than or equal to zero if the size
+     *                           is not known.
+     * @see OutboundMessageContext#enableBuffering(javax.ws.rs.core.Configuration, int)
+     * @since 3.0
+     */
+    public void enableBuffering(final Configuration configuration, final int expectedEntitySize) {
+        messageContext.enableBuffering(configuration, expectedEntitySize);
+    }
+
     /**
      * Commit the {@link #getEntityStream() entity stream} unless already committed.
      *
@@ -64,6 +64,7 @@ import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.inject.ParameterInjectionBinder;
 import org.glassfish.jersey.server.internal.monitoring.MonitoringContainerListener;
 import org.glassfish.jersey.server.internal.process.ServerProcessingBinder;
+import org.glassfish.jersey.server.internal.routing.MethodSelectionCacheCounter;
 import org.glassfish.jersey.server.model.internal.ResourceModelBinder;
 import org.glassfish.jersey.server.spi.ContainerProvider;
 import org.glassfish.jersey.spi.inject.AbstractBinder;
@@ -108,7 +109,8 @@ class ServerBinder extends AbstractBinder {
                 new JerseyResourceContext.Binder(),
                 new ServiceFinderBinder<>(AutoDiscoverable.class, applicationProperties, RuntimeType.SERVER),
                 new MappableExceptionWrapperInterceptor.Binder(),
-                new MonitoringContainerListener.Binder());
+                new MonitoringContainerListener.Binder(),
+                new MethodSelectionCacheCounter.Binder());
 
         //ChunkedResponseWriter
         bind(ChunkedResponseWriter.class).to(MessageBodyWriter.class).in(Singleton.class);
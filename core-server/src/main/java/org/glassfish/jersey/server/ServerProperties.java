@@ -544,6 +544,52 @@ public final class ServerProperties {
     public static final String MONITORING_STATISTICS_REFRESH_INTERVAL =
             "jersey.config.server.monitoring.statistics.refresh.interval";
 
+    /**
+     * If {@code true} then the {@link org.glassfish.jersey.server.monitoring.TimeWindowStatistics time window statistics}
+     * are calculated from fixed-size log-linear histograms rotated per time window instead of from sliding windows
+     * that retain every single measurement.
+     * <p/>
+     * Histograms keep the cost of recording a measurement constant and lock-free and make the
+     * {@link org.glassfish.jersey.server.monitoring.TimeWindowStatistics#getMedianDuration() median},
+     * {@link org.glassfish.jersey.server.monitoring.TimeWindowStatistics#get99thPercentileDuration() 99th} and
+     * {@link org.glassfish.jersey.server.monitoring.TimeWindowStatistics#get999thPercentileDuration() 99.9th}
+     * percentile durations available for every time window. Percentiles are reported with a relative error of at most
+     * {@code 1/32} while minimum, maximum, average and request count remain exact. The sliding time windows are
+     * rotated in quarters of their size.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     *
+     * @see #MONITORING_STATISTICS_ENABLED
+     * @since 3.0
+     */
+    public static final String MONITORING_STATISTICS_HISTOGRAMS_ENABLED =
+            "jersey.config.server.monitoring.statistics.histograms.enabled";
+
+    /**
+     * {@link String} property that defines the path of a resource which exposes the monitoring statistics
+     * in the <a href="https://openmetrics.io">OpenMetrics</a> text format (e.g. {@code "metrics"}). If the path is
+     * defined the calculation of monitoring statistics is automatically enabled (the same result as setting the property
+     * {@link #MONITORING_STATISTICS_ENABLED} to {@code true}).
+     * <p/>
+     * The resource responds to {@code GET} requests with cumulative request duration histograms of the application and
+     * of each resource method, response status code counts, exception mapping counts and the count of monitoring events
+     * dropped under load. The exposition is written directly from live counters maintained next to the monitoring
+     * statistics, so serving a scrape does not create any snapshot of the statistics.
+     * <p/>
+     * There is no default value; the resource is not exposed unless the property is defined.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     *
+     * @see #MONITORING_STATISTICS_ENABLED
+     * @since 3.0
+     */
+    public static final String MONITORING_STATISTICS_OPENMETRICS_PATH =
+            "jersey.config.server.monitoring.statistics.openmetrics.path";
+
     /**
      * {@link String} property that defines the application name.
      *
@@ -614,6 +660,29 @@ public final class ServerProperties {
      */
     public static final String TRACING_THRESHOLD = "jersey.config.server.tracing.threshold";
 
+    /**
+     * If {@code true} then every response carries a {@code Server-Timing} header with durations (in milliseconds) of the
+     * request processing stages that finished before the response headers were written: pre-matching filters, routing,
+     * request filters, parameter injection, resource method invocation and response filters, plus the total time spent
+     * in Jersey so far. Serialization of the response entity happens after the headers are written, its duration is
+     * available through {@link org.glassfish.jersey.server.monitoring.RequestEvent#getStageTimings() request events}
+     * and {@link org.glassfish.jersey.server.monitoring.ResourceMethodStatistics#getAverageStageTimings() monitoring
+     * statistics}.
+     * <p>
+     * The header discloses details about the server processing to clients and therefore should be enabled only when needed.
+     * </p>
+     * <p>
+     * Type of the property value is {@code boolean}. The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see org.glassfish.jersey.server.monitoring.StageTimings
+     * @since 3.0
+     */
+    public static final String SERVER_TIMING_ENABLED = "jersey.config.server.timing.enabled";
+
     /**
      * Whenever response status is {@code 4xx} or {@code 5xx} it is possible to choose between {@code sendError} or
      * {@code setStatus} on container specific {@code Response} implementation. E.g. on servlet container Jersey
@@ -747,6 +816,113 @@ public final class ServerProperties {
     public static final String LOCATION_HEADER_RELATIVE_URI_RESOLUTION_DISABLED =
             "jersey.config.server.headers.location.relative.resolution.disabled";
 
+    /**
+     * If {@code true} then Jersey will compile the path patterns of each routing level into a trie of literal path
+     * segments instead of trying every path pattern of the level one by one.
+     * <p>
+     * The compiled path matching selects the same route as the default linear path matching (the JAX-RS matching
+     * precedence is preserved), it only narrows down the set of path patterns that need to be evaluated for a request
+     * path. The option is useful for applications with a large number of root resources and sub-resources.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 3.0
+     */
+    public static final String ROUTING_PATH_MATCHING_COMPILED = "jersey.config.server.routing.pathMatching.compiled";
+
+    /**
+     * An integer value that defines the size of the per-resource cache of resource method selection results.
+     * <p>
+     * The cache is keyed by the request method, the {@code Content-Type} and the {@code Accept} request headers and
+     * remembers the selected resource method together with the negotiated response media type, so that the content
+     * negotiation does not have to be repeated for requests with the same headers. A value lower than or equal to zero
+     * disables the cache.
+     * </p>
+     * <p>
+     * The default value is {@value #METHOD_SELECTION_DEFAULT_CACHE_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #METHOD_SELECTION_DEFAULT_CACHE_SIZE
+     * @since 3.0
+     */
+    public static final String METHOD_SELECTION_CACHE_SIZE = "jersey.config.server.routing.methodSelection.cache.size";
+
+    /**
+     * The default resource method selection cache size ({@value}).
+     *
+     * @see #METHOD_SELECTION_CACHE_SIZE
+     * @since 3.0
+     */
+    public static final int METHOD_SELECTION_DEFAULT_CACHE_SIZE = 64;
+
+    /**
+     * If {@code true} then Jersey will invoke Java resource methods through {@link java.lang.invoke.MethodHandle method
+     * handles} that are linked when the resource model is built, instead of invoking them reflectively on every request.
+     * <p>
+     * The method handles are used only for resource methods that would otherwise be invoked by the default reflective
+     * invocation handler, i.e. custom {@code ResourceMethodInvocationHandlerProvider} implementations (such as EJB
+     * integration) take precedence. Exceptions thrown by the resource methods are processed the same way in both modes.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 3.0
+     */
+    public static final String RESOURCE_METHOD_HANDLE_DISPATCH = "jersey.config.server.resource.dispatch.methodHandles";
+
+    /**
+     * If {@code true} then the initial capacity of the buffer used to compute the {@code Content-Length} of responses
+     * ({@link #OUTBOUND_CONTENT_LENGTH_BUFFER}) is derived from the sizes of the recent responses of each resource method.
+     * <p>
+     * The size of the buffer, i.e. the maximum entity size for which the {@code Content-Length} is computed, is not
+     * affected by this property; the adaptive sizing reduces the memory allocated for responses that are typically much
+     * smaller than the configured buffer.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 3.0
+     */
+    public static final String OUTBOUND_CONTENT_LENGTH_BUFFER_ADAPTIVE = "jersey.config.server.contentLength.buffer.adaptive";
+
+    /**
+     * Minimal size of a response entity (in bytes) to be compressed by the content encoders negotiated by
+     * the {@link org.glassfish.jersey.server.filter.EncodingFilter}.
+     * <p>
+     * If the size of the entity is known up front (the {@code Content-Length} header is set or the entity is a byte
+     * array, a {@code String} or a {@code File}) and it is smaller than the configured value, no content encoding
+     * is negotiated. Otherwise, the encoder buffers the first bytes of the entity and sends the entity without
+     * encoding if it turns out to be smaller than the configured value. The threshold is applied only if the
+     * {@code identity} encoding is acceptable to the client. The value must be a non-negative integer, {@code 0}
+     * disables the threshold.
+     * </p>
+     * <p>
+     * The default value is {@code 0}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 3.0
+     */
+    public static final String COMPRESSION_THRESHOLD = "jersey.config.server.compression.threshold";
+
     private ServerProperties() {
         // prevents instantiation
     }
@@ -86,6 +86,7 @@ import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.internal.util.collection.Refs;
 import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.message.internal.EntitySizeHistogram;
 import org.glassfish.jersey.message.internal.HeaderValueException;
 import org.glassfish.jersey.message.internal.MessageBodyProviderNotFoundException;
 import org.glassfish.jersey.message.internal.OutboundJaxrsResponse;
@@ -97,9 +98,12 @@ import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.monitoring.CompositeApplicationEventListener;
 import org.glassfish.jersey.server.internal.monitoring.EmptyRequestEventBuilder;
+import org.glassfish.jersey.server.internal.monitoring.MonitoringEventListener;
 import org.glassfish.jersey.server.internal.monitoring.RequestEventBuilder;
 import org.glassfish.jersey.server.internal.monitoring.RequestEventImpl;
+import org.glassfish.jersey.server.internal.monitoring.StageTimer;
 import org.glassfish.jersey.server.internal.process.AsyncContext;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.MappableException;
@@ -108,6 +112,7 @@ import org.glassfish.jersey.server.internal.routing.UriRoutingContext;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.server.spi.ExternalRequestContext;
 import org.glassfish.jersey.server.spi.ExternalRequestScope;
@@ -146,6 +151,8 @@ public class ServerRuntime {
     private final TracingLogger.Level tracingThreshold;
 
     private final boolean processResponseErrors;
+    private final boolean stageTimingsEnabled;
+    private final boolean serverTimingEnabled;
 
     /** Do not resolve relative URIs in the {@code Location} header */
     private final boolean disableLocationHeaderRelativeUriResolution;
@@ -264,6 +271,15 @@ public class ServerRuntime {
         this.processResponseErrors = PropertiesHelper.isProperty(
                 configuration.getProperty(ServerProperties.PROCESSING_RESPONSE_ERRORS_ENABLED));
 
+        this.serverTimingEnabled = PropertiesHelper.isProperty(
+                configuration.getProperty(ServerProperties.SERVER_TIMING_ENABLED));
+        // stage timings are reported in the Server-Timing header and collected into the monitoring statistics,
+        // other event listeners alone do not justify a timer per request
+        this.stageTimingsEnabled = serverTimingEnabled
+                || (applicationEventListener instanceof CompositeApplicationEventListener
+                        && ((CompositeApplicationEventListener) applicationEventListener)
+                                .hasListener(MonitoringEventListener.class));
+
         this.disableLocationHeaderRelativeUriResolution = ServerProperties.getValue(configuration.getProperties(),
                 ServerProperties.LOCATION_HEADER_RELATIVE_URI_RESOLUTION_DISABLED,
                 Boolean.FALSE, Boolean.class);
@@ -281,6 +297,9 @@ public class ServerRuntime {
     public void process(final ContainerRequest request) {
         TracingUtils.initTracingSupport(tracingConfig, tracingThreshold, request);
         TracingUtils.logStart(request);
+        if (stageTimingsEnabled) {
+            new StageTimer().register(request);
+        }
 
         final UriRoutingContext routingContext = request.getUriRoutingContext();
 
@@ -679,6 +698,11 @@ public class ServerRuntime {
             throw originalThrowable;
         }
 
+        private EntitySizeHistogram getResponseSizeHistogram() {
+            final Endpoint endpoint = processingContext.routingContext().getEndpoint();
+            return endpoint != null ? endpoint.getResponseSizeHistogram() : null;
+        }
+
         private ContainerResponse writeResponse(final ContainerResponse response) {
             final ContainerRequest request = processingContext.request();
             final ContainerResponseWriter writer = request.getResponseWriter();
@@ -688,6 +712,11 @@ public class ServerRuntime {
                         runtime.rfc7231LocationHeaderRelativeUriResolution);
             }
 
+            final StageTimer stageTimer = StageTimer.getInstance(request);
+            if (runtime.serverTimingEnabled) {
+                response.getHeaders().add(StageTimer.SERVER_TIMING_HEADER, stageTimer.getServerTiming());
+            }
+
             if (!response.hasEntity()) {
                 tracingLogger.log(ServerTraceEvent.FINISHED, response.getStatusInfo());
                 tracingLogger.flush(response.getHeaders());
@@ -701,11 +730,17 @@ public class ServerRuntime {
             boolean skipFinally = false;
 
             final boolean isHead = request.getMethod().equals(HttpMethod.HEAD);
+            final boolean buffered = (writer.enableResponseBuffering() || isHead) && !response.isChunked();
+            // sizes are only sampled for buffered responses, their length is known once the buffer is flushed
+            final EntitySizeHistogram responseSizeHistogram = buffered ? getResponseSizeHistogram() : null;
 
             try {
                 response.setStreamProvider(new OutboundMessageContext.StreamProvider() {
                     @Override
                     public OutputStream getOutputStream(final int contentLength) throws IOException {
+                        if (responseSizeHistogram != null) {
+                            responseSizeHistogram.record(contentLength);
+                        }
                         if (!runtime.disableLocationHeaderRelativeUriResolution) {
                             ServerRuntime.ensureAbsolute(response.getLocation(), response.getHeaders(),
                                     response.getRequestContext(), runtime.rfc7231LocationHeaderRelativeUriResolution);
@@ -715,10 +750,15 @@ public class ServerRuntime {
                     }
                 });
 
-                if ((writer.enableResponseBuffering() || isHead) && !response.isChunked()) {
-                    response.enableBuffering(runtime.configuration);
+                if (buffered) {
+                    if (responseSizeHistogram != null) {
+                        response.enableBuffering(runtime.configuration, responseSizeHistogram.estimate());
+                    } else {
+                        response.enableBuffering(runtime.configuration);
+                    }
                 }
 
+                stageTimer.begin(StageTimings.Stage.WRITER_INTERCEPTORS);
                 try {
                     response.setEntityStream(request.getWorkers().writeTo(
                             entity,
@@ -735,6 +775,8 @@ public class ServerRuntime {
                         connectionCallbackRunner.onDisconnect(processingContext.asyncContext());
                     }
                     throw mpe;
+                } finally {
+                    stageTimer.end(StageTimings.Stage.WRITER_INTERCEPTORS);
                 }
                 tracingLogger.log(ServerTraceEvent.FINISHED, response.getStatusInfo());
                 tracingLogger.flush(response.getHeaders());
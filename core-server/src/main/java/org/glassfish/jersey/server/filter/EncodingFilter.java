@@ -40,6 +40,7 @@
 
 package org.glassfish.jersey.server.filter;
 
+import java.io.File;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -55,13 +56,17 @@ import javax.ws.rs.Priorities;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.StreamingOutput;
 
 import javax.annotation.Priority;
 import javax.inject.Inject;
 
 import org.glassfish.jersey.message.internal.HttpHeaderReader;
+import org.glassfish.jersey.server.ChunkedOutput;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.spi.ContentEncoder;
 import org.glassfish.jersey.spi.inject.InstanceManager;
 
@@ -75,6 +80,12 @@ import org.glassfish.jersey.spi.inject.InstanceManager;
  * <p>
  *     The filter also ensures Accept-Encoding is added to the Vary header, for proper interaction with web caches.
  * </p>
+ * <p>
+ *     Entities smaller than the {@link ServerProperties#COMPRESSION_THRESHOLD configured threshold} are not encoded
+ *     unless the client explicitly forbids the identity encoding. {@link ChunkedOutput Chunked} and
+ *     {@link StreamingOutput streaming} entities of unknown size are always encoded, so that they are not held back
+ *     until the threshold is reached.
+ * </p>
  *
  * @author Martin Matula
  */
@@ -85,8 +96,11 @@ public final class EncodingFilter implements ContainerResponseFilter {
 
     @Inject
     private InstanceManager instanceManager;
+    @Inject
+    private Configuration config;
     // sorted set to keep the order same for different invocations of the app
     private volatile SortedSet<String> supportedEncodings = null;
+    private volatile Integer compressionThreshold = null;
 
     /**
      * Enables this filter along with the provided {@link org.glassfish.jersey.spi.ContentEncoder encoders}
@@ -192,10 +206,71 @@ public final class EncodingFilter implements ContainerResponseFilter {
 
         // finally set the header - but no need to set for identity encoding
         if (!IDENTITY_ENCODING.equals(contentEncoding)) {
+            final int threshold = getCompressionThreshold();
+            if (threshold > 0 && isIdentityAcceptable(encodings)) {
+                final long size = getEntitySize(response);
+                if (size >= 0 && size < threshold) {
+                    // not worth encoding
+                    return;
+                }
+                if (size < 0 && !isStreamed(response.getEntity())) {
+                    // let the encoder decide once the size is known
+                    request.setProperty(ContentEncoder.MIN_ENCODED_SIZE_PROPERTY, threshold);
+                }
+            }
             response.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, contentEncoding);
         }
     }
 
+    private static boolean isIdentityAcceptable(final List<ContentEncoding> encodings) {
+        ContentEncoding any = null;
+        for (ContentEncoding encoding : encodings) {
+            // skip the implicit identity encoding added at the end
+            if (encoding.q >= 0 && IDENTITY_ENCODING.equals(encoding.name)) {
+                return encoding.q > 0;
+            }
+            if (any == null && "*".equals(encoding.name)) {
+                any = encoding;
+            }
+        }
+        return any == null || any.q > 0;
+    }
+
+    /**
+     * Check whether the entity is written progressively and flushed as it is produced. Flushing the entity stream has
+     * no effect while the encoder buffers the entity to find out its size, hence such entities are always encoded.
+     */
+    private static boolean isStreamed(final Object entity) {
+        return entity instanceof ChunkedOutput || entity instanceof StreamingOutput;
+    }
+
+    private static long getEntitySize(final ContainerResponseContext response) {
+        final int length = response.getLength();
+        if (length >= 0) {
+            return length;
+        }
+        final Object entity = response.getEntity();
+        if (entity instanceof byte[]) {
+            return ((byte[]) entity).length;
+        } else if (entity instanceof String) {
+            // the number of characters approximates the encoded size
+            return ((String) entity).length();
+        } else if (entity instanceof File) {
+            return ((File) entity).length();
+        }
+        return -1;
+    }
+
+    private int getCompressionThreshold() {
+        // no need for synchronization - in case of a race condition, the property may be read twice
+        if (compressionThreshold == null) {
+            final Integer threshold = ServerProperties.getValue(config.getProperties(),
+                    ServerProperties.COMPRESSION_THRESHOLD, 0, Integer.class);
+            compressionThreshold = (threshold == null || threshold < 0) ? 0 : threshold;
+        }
+        return compressionThreshold;
+    }
+
     // representation of a single Content-Encoding header value
     private static class ContentEncoding implements Comparable<ContentEncoding> {
         public final String name;
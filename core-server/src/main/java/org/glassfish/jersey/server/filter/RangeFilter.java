@@ -0,0 +1,368 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.message.internal.HttpHeaderReader;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * Container filter that supports byte range requests of file entities.
+ * <p>
+ * The filter applies to successful responses to {@code GET} requests with a {@link File} or a {@link Path} entity
+ * that refers to a regular file and is not {@link HttpHeaders#CONTENT_ENCODING content-encoded}. Such responses
+ * are marked with the {@code Accept-Ranges: bytes} header and get the {@code Content-Length} header set to the file
+ * size. If the request contains a {@code Range} header (and a matching {@code If-Range} precondition, if any),
+ * the filter changes the response to
+ * </p>
+ * <ul>
+ *     <li>a {@link Response.Status#PARTIAL_CONTENT 206 (Partial Content)} response with a {@code Content-Range}
+ *     header if a single range has been requested,</li>
+ *     <li>a {@code 206 (Partial Content)} response with a {@code multipart/byteranges} entity if several ranges
+ *     have been requested (overlapping and adjacent ranges are coalesced),</li>
+ *     <li>a {@link Response.Status#REQUESTED_RANGE_NOT_SATISFIABLE 416 (Range Not Satisfiable)} response if none
+ *     of the requested ranges overlaps the file.</li>
+ * </ul>
+ * <p>
+ * Syntactically invalid {@code Range} headers, ranges in units other than {@code bytes} and {@code Range} headers with
+ * more than {@value #MAX_RANGES} ranges are ignored and the whole file is sent. The file regions are written using
+ * {@link ReaderWriter#writeTo(Path, long, long, OutputStream)}, so that containers supporting
+ * {@link org.glassfish.jersey.spi.FileRegionOutput} send them without copying.
+ * </p>
+ * <p>
+ * The filter runs after the {@link EncodingFilter} (response filters are executed in descending priority order),
+ * so that responses the encoding filter decides to encode are left intact.
+ * </p>
+ */
+@Priority(Priorities.HEADER_DECORATOR - 1)
+public final class RangeFilter implements ContainerResponseFilter {
+
+    /**
+     * Maximum number of ranges in a {@code Range} header. Headers with more ranges are ignored (the whole file is sent),
+     * so that a request cannot make the server produce a response consisting of a large number of small parts.
+     */
+    static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final String IF_RANGE = "If-Range";
+    private static final String RANGE = "Range";
+    private static final String CRLF = "\r\n";
+
+    @Override
+    public void filter(final ContainerRequestContext request, final ContainerResponseContext response) throws IOException {
+        if (response.getStatus() != Response.Status.OK.getStatusCode()
+                || !HttpMethod.GET.equals(request.getMethod())
+                || response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+
+        final Path file = getFile(response.getEntity());
+        if (file == null) {
+            return;
+        }
+        final long length = Files.size(file);
+
+        response.getHeaders().putSingle(ACCEPT_RANGES, BYTES_UNIT);
+
+        final String rangeHeader = request.getHeaderString(RANGE);
+        final List<ByteRange> ranges = rangeHeader == null || !isIfRangeSatisfied(request, response)
+                ? null : parseRanges(rangeHeader, length);
+
+        if (ranges == null) {
+            response.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, length);
+        } else if (ranges.isEmpty()) {
+            response.setStatusInfo(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.getHeaders().putSingle(CONTENT_RANGE, BYTES_UNIT + " */" + length);
+            response.setEntity(null);
+        } else if (ranges.size() == 1) {
+            final ByteRange range = ranges.get(0);
+            response.setStatusInfo(Response.Status.PARTIAL_CONTENT);
+            response.getHeaders().putSingle(CONTENT_RANGE, range.toContentRange(length));
+            response.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, range.count());
+            response.setEntity(new FileRegions(file, ranges, null, null),
+                    response.getEntityAnnotations(), response.getMediaType());
+        } else {
+            setMultipartEntity(response, file, length, ranges);
+        }
+    }
+
+    private static void setMultipartEntity(final ContainerResponseContext response,
+                                           final Path file,
+                                           final long length,
+                                           final List<ByteRange> ranges) {
+        final String boundary = UUID.randomUUID().toString().replace("-", "");
+        final MediaType mediaType = response.getMediaType();
+
+        final byte[][] partHeaders = new byte[ranges.size()][];
+        long contentLength = 0;
+        for (int i = 0; i < partHeaders.length; i++) {
+            final StringBuilder part = new StringBuilder(CRLF).append("--").append(boundary).append(CRLF);
+            if (mediaType != null) {
+                part.append(HttpHeaders.CONTENT_TYPE).append(": ").append(mediaType).append(CRLF);
+            }
+            part.append(CONTENT_RANGE).append(": ").append(ranges.get(i).toContentRange(length)).append(CRLF).append(CRLF);
+
+            partHeaders[i] = part.toString().getBytes(StandardCharsets.ISO_8859_1);
+            contentLength += partHeaders[i].length + ranges.get(i).count();
+        }
+        final byte[] trailer = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.ISO_8859_1);
+        contentLength += trailer.length;
+
+        response.setStatusInfo(Response.Status.PARTIAL_CONTENT);
+        response.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, contentLength);
+        response.setEntity(new FileRegions(file, ranges, partHeaders, trailer), response.getEntityAnnotations(),
+                new MediaType("multipart", "byteranges", Collections.singletonMap("boundary", boundary)));
+    }
+
+    private static Path getFile(final Object entity) {
+        final Path file;
+        if (entity instanceof File) {
+            file = ((File) entity).toPath();
+        } else if (entity instanceof Path) {
+            file = (Path) entity;
+        } else {
+            return null;
+        }
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Evaluate the {@code If-Range} precondition. An entity tag matches only the strong entity tag of the response,
+     * a date matches only the exact last modification date of the response.
+     */
+    private static boolean isIfRangeSatisfied(final ContainerRequestContext request,
+                                              final ContainerResponseContext response) {
+        final String ifRange = request.getHeaderString(IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+
+        final String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            final EntityTag entityTag = response.getEntityTag();
+            try {
+                return entityTag != null && !entityTag.isWeak() && entityTag.equals(EntityTag.valueOf(value));
+            } catch (final IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        final Date lastModified = response.getLastModified();
+        try {
+            // HTTP dates have a resolution of seconds
+            return lastModified != null && lastModified.getTime() / 1000 == HttpHeaderReader.readDate(value).getTime() / 1000;
+        } catch (final ParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parse the {@code Range} header value.
+     *
+     * @param header {@code Range} header value.
+     * @param length length of the file.
+     * @return sorted and coalesced satisfiable ranges, empty list if none of the ranges is satisfiable or {@code null}
+     * if the header is not a valid byte ranges specifier or if it contains more than {@value #MAX_RANGES} ranges.
+     */
+    static List<ByteRange> parseRanges(final String header, final long length) {
+        final int eq = header.indexOf('=');
+        if (eq < 0 || !BYTES_UNIT.equals(header.substring(0, eq).trim().toLowerCase(Locale.ROOT))) {
+            return null;
+        }
+
+        final List<ByteRange> ranges = new ArrayList<>();
+        int specified = 0;
+        for (final String spec : header.substring(eq + 1).split(",")) {
+            final String trimmed = spec.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (++specified > MAX_RANGES) {
+                return null;
+            }
+
+            final int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            final long first = parsePosition(trimmed.substring(0, dash).trim());
+            final long last = parsePosition(trimmed.substring(dash + 1).trim());
+
+            if (first == -1) {
+                // suffix range: the last N bytes
+                if (last < 0) {
+                    return null;
+                }
+                if (last > 0 && length > 0) {
+                    ranges.add(new ByteRange(Math.max(0, length - last), length - 1));
+                }
+            } else if (first < -1 || last < -1 || (last != -1 && last < first)) {
+                return null;
+            } else if (first < length) {
+                ranges.add(new ByteRange(first, last == -1 ? length - 1 : Math.min(last, length - 1)));
+            }
+        }
+        if (specified == 0) {
+            return null;
+        }
+
+        ranges.sort(Comparator.comparingLong(range -> range.first));
+        final List<ByteRange> coalesced = new ArrayList<>(ranges.size());
+        for (final ByteRange range : ranges) {
+            final ByteRange previous = coalesced.isEmpty() ? null : coalesced.get(coalesced.size() - 1);
+            if (previous != null && range.first <= previous.last + 1) {
+                coalesced.set(coalesced.size() - 1, new ByteRange(previous.first, Math.max(previous.last, range.last)));
+            } else {
+                coalesced.add(range);
+            }
+        }
+        return coalesced;
+    }
+
+    /**
+     * Parse a byte position.
+     *
+     * @return the position, {@code -1} for an empty string or {@code -2} for an invalid position.
+     */
+    private static long parsePosition(final String value) {
+        if (value.isEmpty()) {
+            return -1;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return -2;
+            }
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException e) {
+            // larger than any file
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Inclusive range of byte positions.
+     */
+    static final class ByteRange {
+
+        final long first;
+        final long last;
+
+        ByteRange(final long first, final long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        long count() {
+            return last - first + 1;
+        }
+
+        String toContentRange(final long length) {
+            return BYTES_UNIT + " " + first + "-" + last + "/" + length;
+        }
+
+        @Override
+        public String toString() {
+            return first + "-" + last;
+        }
+    }
+
+    /**
+     * Streaming entity writing the file regions, optionally preceded by multipart headers.
+     */
+    private static final class FileRegions implements StreamingOutput {
+
+        private final Path file;
+        private final List<ByteRange> ranges;
+        private final byte[][] partHeaders;
+        private final byte[] trailer;
+
+        private FileRegions(final Path file, final List<ByteRange> ranges, final byte[][] partHeaders, final byte[] trailer) {
+            this.file = file;
+            this.ranges = ranges;
+            this.partHeaders = partHeaders;
+            this.trailer = trailer;
+        }
+
+        @Override
+        public void write(final OutputStream output) throws IOException {
+            for (int i = 0; i < ranges.size(); i++) {
+                if (partHeaders != null) {
+                    output.write(partHeaders[i]);
+                }
+                final ByteRange range = ranges.get(i);
+                ReaderWriter.writeTo(file, range.first, range.count(), output);
+            }
+            if (trailer != null) {
+                output.write(trailer);
+            }
+        }
+    }
+}
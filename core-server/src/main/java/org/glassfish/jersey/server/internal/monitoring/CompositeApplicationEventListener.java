@@ -87,4 +87,19 @@ public class CompositeApplicationEventListener implements ApplicationEventListen
         return requestEventListeners.isEmpty() ? null
                 : new CompositeRequestEventListener(requestEventListeners);
     }
+
+    /**
+     * Check whether any of the aggregated listeners is an instance of the given class.
+     *
+     * @param listenerClass class of the application event listener.
+     * @return {@code true} if an instance of the class is aggregated by this listener, {@code false} otherwise.
+     */
+    public boolean hasListener(final Class<? extends ApplicationEventListener> listenerClass) {
+        for (final ApplicationEventListener applicationEventListener : applicationEventListeners) {
+            if (listenerClass.isInstance(applicationEventListener)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
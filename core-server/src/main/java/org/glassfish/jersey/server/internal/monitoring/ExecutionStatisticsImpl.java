@@ -40,6 +40,7 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -64,6 +65,11 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
      */
     static final ExecutionStatistics EMPTY = new Builder().build();
 
+    /**
+     * Number of segments the sliding time windows backed by histograms are divided into.
+     */
+    private static final int HISTOGRAM_SEGMENTS = 4;
+
     /**
      * Builder of execution statistics.
      * <p/>
@@ -78,33 +84,63 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
         /**
          * Create a new builder.
          */
-        @SuppressWarnings("MagicNumber")
         public Builder() {
-            final long nowMillis = System.currentTimeMillis();
-            final AggregatingTrimmer trimmer = new AggregatingTrimmer(nowMillis, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
-            final TimeWindowStatisticsImpl.Builder<Long> oneSecondIntervalWindowBuilder =
-                    new TimeWindowStatisticsImpl.Builder<>(
-                            new SlidingWindowTimeReservoir(1, TimeUnit.SECONDS, nowMillis, TimeUnit.MILLISECONDS, trimmer));
-            final TimeWindowStatisticsImpl.Builder<Long> infiniteIntervalWindowBuilder =
-                    new TimeWindowStatisticsImpl.Builder<>(new UniformTimeReservoir(nowMillis, TimeUnit.MILLISECONDS));
-
-            this.updatableIntervalStatistics = Arrays
-                    .asList(infiniteIntervalWindowBuilder, oneSecondIntervalWindowBuilder);
+            this(false);
+        }
 
+        /**
+         * Create a new builder.
+         *
+         * @param histograms if {@code true} the time window statistics are calculated from histograms
+         *                   (see {@link HistogramTimeReservoir}), otherwise from sliding windows.
+         */
+        @SuppressWarnings("MagicNumber")
+        Builder(final boolean histograms) {
+            final long nowMillis = System.currentTimeMillis();
             // create unmodifiable map to ensure that an iteration in the build() won't have multi-threading issues
             final HashMap<Long, TimeWindowStatisticsImpl.Builder> tmpIntervalStatistics = new HashMap<>(6);
-            // Add approximate infinite time window builder
-            tmpIntervalStatistics.put(0L, infiniteIntervalWindowBuilder);
-            // Add precise 1 second time window builder
-            tmpIntervalStatistics.put(TimeUnit.SECONDS.toMillis(1), oneSecondIntervalWindowBuilder);
-            // Add aggregated 15 seconds time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.SECONDS, trimmer);
-            // Add aggregated 1 minute time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.MINUTES, trimmer);
-            // Add aggregated 15 minutes time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.MINUTES, trimmer);
-            // Add aggregated 1 hour time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.HOURS, trimmer);
+
+            if (histograms) {
+                // every histogram based time window is updated on its own
+                final Collection<TimeWindowStatisticsImpl.Builder<Long>> tmpUpdatable = new ArrayList<>(6);
+                // Add infinite time window builder
+                final TimeWindowStatisticsImpl.Builder<Long> infiniteIntervalWindowBuilder =
+                        new TimeWindowStatisticsImpl.Builder<>(new HistogramTimeReservoir(nowMillis, TimeUnit.MILLISECONDS));
+                tmpIntervalStatistics.put(0L, infiniteIntervalWindowBuilder);
+                tmpUpdatable.add(infiniteIntervalWindowBuilder);
+                // Add 1 second, 15 seconds, 1 minute, 15 minutes and 1 hour time window builders
+                addHistogramInterval(tmpIntervalStatistics, tmpUpdatable, nowMillis, 1, TimeUnit.SECONDS);
+                addHistogramInterval(tmpIntervalStatistics, tmpUpdatable, nowMillis, 15, TimeUnit.SECONDS);
+                addHistogramInterval(tmpIntervalStatistics, tmpUpdatable, nowMillis, 1, TimeUnit.MINUTES);
+                addHistogramInterval(tmpIntervalStatistics, tmpUpdatable, nowMillis, 15, TimeUnit.MINUTES);
+                addHistogramInterval(tmpIntervalStatistics, tmpUpdatable, nowMillis, 1, TimeUnit.HOURS);
+
+                this.updatableIntervalStatistics = tmpUpdatable;
+            } else {
+                final AggregatingTrimmer trimmer =
+                        new AggregatingTrimmer(nowMillis, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
+                final TimeWindowStatisticsImpl.Builder<Long> oneSecondIntervalWindowBuilder =
+                        new TimeWindowStatisticsImpl.Builder<>(
+                                new SlidingWindowTimeReservoir(1, TimeUnit.SECONDS, nowMillis, TimeUnit.MILLISECONDS, trimmer));
+                final TimeWindowStatisticsImpl.Builder<Long> infiniteIntervalWindowBuilder =
+                        new TimeWindowStatisticsImpl.Builder<>(new UniformTimeReservoir(nowMillis, TimeUnit.MILLISECONDS));
+
+                this.updatableIntervalStatistics = Arrays
+                        .asList(infiniteIntervalWindowBuilder, oneSecondIntervalWindowBuilder);
+
+                // Add approximate infinite time window builder
+                tmpIntervalStatistics.put(0L, infiniteIntervalWindowBuilder);
+                // Add precise 1 second time window builder
+                tmpIntervalStatistics.put(TimeUnit.SECONDS.toMillis(1), oneSecondIntervalWindowBuilder);
+                // Add aggregated 15 seconds time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.SECONDS, trimmer);
+                // Add aggregated 1 minute time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.MINUTES, trimmer);
+                // Add aggregated 15 minutes time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.MINUTES, trimmer);
+                // Add aggregated 1 hour time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.HOURS, trimmer);
+            }
 
             this.intervalStatistics = Collections.unmodifiableMap(tmpIntervalStatistics);
         }
@@ -121,6 +157,20 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
                             TimeUnit.MILLISECONDS, notifier)));
         }
 
+        private static void addHistogramInterval(
+                final Map<Long, TimeWindowStatisticsImpl.Builder> intervalStatisticsMap,
+                final Collection<TimeWindowStatisticsImpl.Builder<Long>> updatableIntervalStatistics,
+                final long nowMillis,
+                final long interval,
+                final TimeUnit timeUnit) {
+            final long intervalInMillis = timeUnit.toMillis(interval);
+            final TimeWindowStatisticsImpl.Builder<Long> builder = new TimeWindowStatisticsImpl.Builder<>(
+                    new HistogramTimeReservoir(intervalInMillis, TimeUnit.MILLISECONDS, HISTOGRAM_SEGMENTS, nowMillis,
+                            TimeUnit.MILLISECONDS));
+            intervalStatisticsMap.put(intervalInMillis, builder);
+            updatableIntervalStatistics.add(builder);
+        }
+
         /**
          * Add execution of a target.
          *
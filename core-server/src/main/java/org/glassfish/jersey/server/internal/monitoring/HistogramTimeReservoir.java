@@ -0,0 +1,281 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time reservoir that records {@code long} values into fixed-size log-linear histograms instead of retaining every single
+ * measurement.
+ * <p/>
+ * The time window of the reservoir is divided into a fixed number of segments. Each segment covers an equal part of the
+ * window and owns one histogram. Segments are rotated as the time moves on so that the snapshot of the reservoir is computed
+ * from the histograms of the segments that belong to the current time window only. A reservoir with an infinite time
+ * window has a single segment that is never rotated.
+ * <p/>
+ * Values lower than {@code 64} are recorded exactly; greater values are recorded into buckets whose width is at most
+ * {@code 1/32} of the recorded value. The minimum, maximum, mean and count of the recorded values are tracked exactly.
+ * Values greater than {@code Integer.MAX_VALUE} are recorded into the last bucket.
+ * <p/>
+ * Updating the reservoir is lock-free and does not allocate except for the rotation of segments. The bucket counters of a
+ * segment are striped across a few arrays selected by the updating thread to reduce contention.
+ *
+ * @see HistogramTimeSnapshot
+ */
+class HistogramTimeReservoir implements TimeReservoir<Long> {
+
+    /**
+     * Number of bits of the value that are kept by a bucket; the relative error of a bucket is therefore {@code 2^-5}.
+     */
+    static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_VALUE_BITS = 31;
+
+    /**
+     * Number of buckets of a histogram.
+     */
+    static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+
+    private static final int STRIPES = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), 4));
+
+    private final long startTime;
+    private final long window;
+    private final long segmentSize;
+    private final AtomicReferenceArray<Segment> segments;
+
+    /**
+     * Creates a new histogram time reservoir with infinite time window.
+     *
+     * @param startTime     The start time from which this reservoir calculates measurements.
+     * @param startTimeUnit The start time unit.
+     */
+    HistogramTimeReservoir(final long startTime, final TimeUnit startTimeUnit) {
+        this(0, TimeUnit.NANOSECONDS, 1, startTime, startTimeUnit);
+    }
+
+    /**
+     * Creates a new histogram time reservoir with specified time window divided into given number of segments.
+     *
+     * @param window        The time window of this reservoir, {@code 0} denotes an infinite window.
+     * @param windowUnit    The unit of {@code window}.
+     * @param segments      The number of segments the window is divided into.
+     * @param startTime     The start time from which this reservoir calculates measurements.
+     * @param startTimeUnit The start time unit.
+     */
+    HistogramTimeReservoir(final long window,
+                           final TimeUnit windowUnit,
+                           final int segments,
+                           final long startTime,
+                           final TimeUnit startTimeUnit) {
+        if (window < 0 || segments < 1) {
+            throw new IllegalArgumentException("Invalid window (" + window + ") or number of segments (" + segments + ").");
+        }
+        this.startTime = startTimeUnit.toNanos(startTime);
+        this.window = windowUnit.toNanos(window);
+        if (this.window == 0) {
+            this.segmentSize = Long.MAX_VALUE;
+            this.segments = new AtomicReferenceArray<>(1);
+        } else {
+            this.segmentSize = Math.max(1, this.window / segments);
+            this.segments = new AtomicReferenceArray<>(segments);
+        }
+    }
+
+    @Override
+    public int size(final long time, final TimeUnit timeUnit) {
+        final long index = segmentIndex(timeUnit.toNanos(time));
+        long size = 0;
+        for (int i = 0; i < segments.length(); i++) {
+            final Segment segment = segments.get(i);
+            if (segment != null && isInWindow(segment, index)) {
+                size += segment.count.sum();
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(final Long value, final long time, final TimeUnit timeUnit) {
+        final long index = segmentIndex(timeUnit.toNanos(time));
+        final int position = (int) (index % segments.length());
+
+        Segment segment = segments.get(position);
+        while (segment == null || segment.index < index) {
+            final Segment rotated = new Segment(index);
+            if (segments.compareAndSet(position, segment, rotated)) {
+                segment = rotated;
+            } else {
+                segment = segments.get(position);
+            }
+        }
+
+        if (segment.index == index) {
+            segment.record(value);
+        }
+        // otherwise the value is too old to fit into the current window and is dropped
+    }
+
+    @Override
+    public UniformTimeSnapshot getSnapshot(final long time, final TimeUnit timeUnit) {
+        final long nanos = timeUnit.toNanos(time);
+        final long index = segmentIndex(nanos);
+
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < segments.length(); i++) {
+            final Segment segment = segments.get(i);
+            if (segment != null && isInWindow(segment, index)) {
+                count += segment.merge(counts);
+                sum += segment.sum.sum();
+                min = Math.min(min, segment.min.get());
+                max = Math.max(max, segment.max.get());
+            }
+        }
+
+        // the measured interval starts either at the beginning of the oldest segment in the window or at the start time
+        long interval = nanos - startTime;
+        if (window > 0) {
+            interval = Math.min(interval, nanos - (index - segments.length() + 1) * segmentSize);
+        }
+
+        return new HistogramTimeSnapshot(counts, count, count == 0 ? 0 : min, count == 0 ? 0 : max,
+                count == 0 ? 0 : (double) sum / count, Math.max(1, interval), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long interval(final TimeUnit timeUnit) {
+        return timeUnit.convert(window, TimeUnit.NANOSECONDS);
+    }
+
+    private long segmentIndex(final long nanos) {
+        return window == 0 ? 0 : nanos / segmentSize;
+    }
+
+    private boolean isInWindow(final Segment segment, final long index) {
+        return segment.index <= index && segment.index > index - segments.length();
+    }
+
+    /**
+     * Get the index of the histogram bucket the given value is recorded into.
+     *
+     * @param value the value.
+     * @return the bucket index.
+     */
+    static int bucketIndex(final long value) {
+        final long v = Math.min(Math.max(value, 0), Integer.MAX_VALUE);
+        if (v < 2 * SUB_BUCKET_COUNT) {
+            return (int) v;
+        }
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(v)) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (v >>> shift);
+    }
+
+    /**
+     * Get the greatest value that is recorded into the histogram bucket with the given index.
+     *
+     * @param index the bucket index.
+     * @return the greatest value of the bucket.
+     */
+    static long highestValue(final int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index >> SUB_BUCKET_BITS) - 1;
+        final long mantissa = index - (shift << SUB_BUCKET_BITS);
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * Histogram of values recorded in one segment of the time window.
+     */
+    private static final class Segment {
+
+        private final long index;
+        private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        private Segment(final long index) {
+            this.index = index;
+        }
+
+        private void record(final long value) {
+            final int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            AtomicLongArray buckets = stripes.get(stripe);
+            if (buckets == null) {
+                stripes.compareAndSet(stripe, null, new AtomicLongArray(BUCKET_COUNT));
+                buckets = stripes.get(stripe);
+            }
+
+            buckets.incrementAndGet(bucketIndex(value));
+            sum.add(value);
+            min.accumulate(value);
+            max.accumulate(value);
+            count.increment();
+        }
+
+        private long merge(final long[] counts) {
+            long merged = 0;
+            for (int i = 0; i < stripes.length(); i++) {
+                final AtomicLongArray buckets = stripes.get(i);
+                if (buckets != null) {
+                    for (int j = 0; j < BUCKET_COUNT; j++) {
+                        final long bucket = buckets.get(j);
+                        counts[j] += bucket;
+                        merged += bucket;
+                    }
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import org.glassfish.jersey.server.internal.routing.MethodSelectionCacheCounter;
+import org.glassfish.jersey.server.monitoring.MethodSelectionStatistics;
+
+/**
+ * Immutable method selection cache statistics.
+ */
+final class MethodSelectionStatisticsImpl implements MethodSelectionStatistics {
+
+    /**
+     * Statistics of an application without method selection cache counter.
+     */
+    static final MethodSelectionStatisticsImpl EMPTY = new MethodSelectionStatisticsImpl(0, 0);
+
+    private final long hitCount;
+    private final long missCount;
+
+    /**
+     * Create a snapshot of the current state of the method selection cache counter.
+     *
+     * @param counter method selection cache counter.
+     * @return immutable method selection statistics.
+     */
+    static MethodSelectionStatisticsImpl snapshot(final MethodSelectionCacheCounter counter) {
+        return new MethodSelectionStatisticsImpl(counter.getHitCount(), counter.getMissCount());
+    }
+
+    private MethodSelectionStatisticsImpl(final long hitCount, final long missCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        return missCount;
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        final long total = hitCount + missCount;
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
@@ -68,8 +68,10 @@ public final class MonitoringAutodiscoverable implements ForcedAutoDiscoverable
                     ServerProperties.MONITORING_STATISTICS_ENABLED, Boolean.FALSE);
             final Boolean mbeansEnabled = ServerProperties.getValue(context.getConfiguration().getProperties(),
                     ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, Boolean.FALSE);
+            final String openMetricsPath = ServerProperties.getValue(context.getConfiguration().getProperties(),
+                    ServerProperties.MONITORING_STATISTICS_OPENMETRICS_PATH, String.class);
 
-            if (monitoringEnabled || statisticsEnabled || mbeansEnabled) {
+            if (monitoringEnabled || statisticsEnabled || mbeansEnabled || openMetricsPath != null) {
                 context.register(MonitoringFeature.class);
             }
         }
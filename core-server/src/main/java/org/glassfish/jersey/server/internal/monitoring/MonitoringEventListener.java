@@ -40,13 +40,11 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import javax.ws.rs.ProcessingException;
 
@@ -61,7 +59,6 @@ import org.glassfish.jersey.server.monitoring.DestroyListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.glassfish.jersey.spi.inject.InstanceManager;
-import org.glassfish.jersey.uri.UriTemplate;
 
 /**
  * {@link ApplicationEventListener application event listener} that listens to {@link ApplicationEvent application}
@@ -84,112 +81,15 @@ public final class MonitoringEventListener implements ApplicationEventListener {
 
     private static final Logger LOGGER = Logger.getLogger(MonitoringEventListener.class.getName());
     private static final int EVENT_QUEUE_SIZE = 500_000;
+    private static final int EVENT_BUFFER_SIZE = 1 << 17;
 
     @Inject
     private InstanceManager instanceManager;
 
-    private final Queue<RequestStats> requestQueuedItems = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
-    private final Queue<Integer> responseStatuses = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
+    private final MonitoringEventRingBuffer requestEvents = new MonitoringEventRingBuffer(EVENT_BUFFER_SIZE);
     private final Queue<RequestEvent> exceptionMapperEvents = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
     private volatile MonitoringStatisticsProcessor monitoringStatisticsProcessor;
 
-    /**
-     * Time statistics.
-     */
-    static class TimeStats {
-
-        private final long duration;
-        private final long startTime;
-
-        private TimeStats(final long startTime, final long requestDuration) {
-            this.duration = requestDuration;
-            this.startTime = startTime;
-        }
-
-        /**
-         * Get duration.
-         *
-         * @return Duration in milliseconds.
-         */
-        long getDuration() {
-            return duration;
-        }
-
-        /**
-         * Get start time.
-         *
-         * @return Start time (Unix timestamp format).
-         */
-        long getStartTime() {
-            return startTime;
-        }
-    }
-
-    /**
-     * Method statistics.
-     */
-    static class MethodStats extends TimeStats {
-
-        private final ResourceMethod method;
-
-        private MethodStats(final ResourceMethod method, final long startTime, final long requestDuration) {
-            super(startTime, requestDuration);
-            this.method = method;
-        }
-
-        /**
-         * Get the resource method executed.
-         *
-         * @return resource method.
-         */
-        ResourceMethod getMethod() {
-            return method;
-        }
-    }
-
-    /**
-     * Request statistics.
-     */
-    static class RequestStats {
-
-        private final TimeStats requestStats;
-        private final MethodStats methodStats; // might be null if a method was not executed during a request
-        private final String requestUri;
-
-        private RequestStats(final TimeStats requestStats, final MethodStats methodStats, final String requestUri) {
-            this.requestStats = requestStats;
-            this.methodStats = methodStats;
-            this.requestUri = requestUri;
-        }
-
-        /**
-         * Get request statistics.
-         *
-         * @return request statistics.
-         */
-        TimeStats getRequestStats() {
-            return requestStats;
-        }
-
-        /**
-         * Get method statistics.
-         *
-         * @return method statistics.
-         */
-        MethodStats getMethodStats() {
-            return methodStats;
-        }
-
-        /**
-         * Get the request uri.
-         *
-         * @return request uri.
-         */
-        String getRequestUri() {
-            return requestUri;
-        }
-    }
-
     @Override
     public ReqEventListener onRequest(final RequestEvent requestEvent) {
         switch (requestEvent.getType()) {
@@ -243,7 +143,8 @@ public final class MonitoringEventListener implements ApplicationEventListener {
 
         private final long requestTimeStart;
         private volatile long methodTimeStart;
-        private volatile MethodStats methodStats;
+        private volatile long methodDuration;
+        private volatile ResourceMethod method;
 
         public ReqEventListener() {
             this.requestTimeStart = System.currentTimeMillis();
@@ -258,8 +159,8 @@ public final class MonitoringEventListener implements ApplicationEventListener {
                     this.methodTimeStart = now;
                     break;
                 case RESOURCE_METHOD_FINISHED:
-                    final ResourceMethod method = event.getUriInfo().getMatchedResourceMethod();
-                    methodStats = new MethodStats(method, methodTimeStart, now - methodTimeStart);
+                    methodDuration = now - methodTimeStart;
+                    method = event.getUriInfo().getMatchedResourceMethod();
                     break;
                 case EXCEPTION_MAPPING_FINISHED:
                     if (!exceptionMapperEvents.offer(event)) {
@@ -267,33 +168,12 @@ public final class MonitoringEventListener implements ApplicationEventListener {
                     }
                     break;
                 case FINISHED:
-                    if (event.isResponseWritten()) {
-                        if (!responseStatuses.offer(event.getContainerResponse().getStatus())) {
-                            LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_RESPONSE());
-                        }
-                    }
-                    final StringBuilder sb = new StringBuilder();
-                    final List<UriTemplate> orderedTemplates =
-                            event.getUriInfo().getMatchedTemplates()
-                                 .stream()
-                                 .collect(Collectors.collectingAndThen(Collectors.toList(), uriTemplates -> {
-                                     Collections.reverse(uriTemplates);
-                                     return uriTemplates;
-                                 }));
-
-                    for (final UriTemplate uriTemplate : orderedTemplates) {
-                        sb.append(uriTemplate.getTemplate());
-                        if (!uriTemplate.endsWithSlash()) {
-                            sb.append("/");
-                        }
-                        sb.setLength(sb.length() - 1);
-                    }
-
-                    if (!requestQueuedItems.offer(new RequestStats(new TimeStats(requestTimeStart, now - requestTimeStart),
-                            methodStats, sb.toString()))) {
-                        LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_REQUEST());
-                    }
-
+                    // dropped events are counted by the buffer and reported by the statistics processor
+                    requestEvents.offer(requestTimeStart, now - requestTimeStart,
+                            method, methodTimeStart, methodDuration,
+                            event.getUriInfo().getMatchedTemplates(),
+                            event.isResponseWritten() ? event.getContainerResponse().getStatus() : -1,
+                            event.getStageTimings());
             }
         }
     }
@@ -308,20 +188,11 @@ public final class MonitoringEventListener implements ApplicationEventListener {
     }
 
     /**
-     * Get the request event queue.
-     *
-     * @return Request event queue.
-     */
-    Queue<RequestStats> getRequestQueuedItems() {
-        return requestQueuedItems;
-    }
-
-    /**
-     * Get the queue with response status codes.
+     * Get the buffer of finished request events.
      *
-     * @return response status queue.
+     * @return Request event buffer.
      */
-    Queue<Integer> getResponseStatuses() {
-        return responseStatuses;
+    MonitoringEventRingBuffer getRequestEvents() {
+        return requestEvents;
     }
 }
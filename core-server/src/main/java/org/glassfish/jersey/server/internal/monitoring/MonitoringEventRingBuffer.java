@@ -0,0 +1,286 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.StageTimings;
+import org.glassfish.jersey.uri.UriTemplate;
+
+/**
+ * Preallocated, bounded, multi-producer single-consumer ring buffer of finished request monitoring events.
+ * <p/>
+ * An event is stored in primitive arrays (times and durations, response status) plus references to objects that already
+ * exist during request processing (resource method, matched templates, stage timings), so publishing an event does not
+ * allocate. The buffer is divided into stripes; a producer publishes into the stripe selected by its thread which spreads
+ * the contention of concurrent producers across the cores. A producer whose stripe is full tries the other stripes, so
+ * that the whole capacity is available even to a single busy thread; events are dropped (and counted) only if all the
+ * stripes are full.
+ * <p/>
+ * Events are drained in batches by a single consumer.
+ */
+final class MonitoringEventRingBuffer {
+
+    /**
+     * Consumer of the events drained from the buffer.
+     */
+    interface EventConsumer {
+
+        /**
+         * Consume a finished request event.
+         *
+         * @param requestStartTime  Time when the request processing started (Unix timestamp format).
+         * @param requestDuration   Duration of the request processing in milliseconds.
+         * @param method            Executed resource method or {@code null} if no resource method was executed.
+         * @param methodStartTime   Time when the resource method execution started (Unix timestamp format).
+         * @param methodDuration    Duration of the resource method execution in milliseconds.
+         * @param matchedTemplates  Templates matched during the request processing (see
+         *                          {@link org.glassfish.jersey.server.ExtendedUriInfo#getMatchedTemplates()}).
+         * @param status            Response status or {@code -1} if no response has been written.
+         * @param stageTimings      Durations of the request processing stages.
+         */
+        void accept(long requestStartTime, long requestDuration,
+                    ResourceMethod method, long methodStartTime, long methodDuration,
+                    List<UriTemplate> matchedTemplates, int status, StageTimings stageTimings);
+    }
+
+    private static final int MAX_STRIPES = 8;
+
+    private final Stripe[] stripes;
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Create a new ring buffer.
+     *
+     * @param capacity maximum number of events the buffer can hold, rounded up to the nearest power of two. Every stripe
+     *                 of the buffer holds at least two events.
+     */
+    MonitoringEventRingBuffer(final int capacity) {
+        final int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+        // the sequence of a published slot must differ from the sequence of a released one, hence at least two slots
+        final int stripeCapacity = Math.max(2, ceilingPowerOfTwo(capacity) / stripeCount);
+
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Publish a finished request event. May be called by multiple threads concurrently.
+     *
+     * @param requestStartTime  Time when the request processing started (Unix timestamp format).
+     * @param requestDuration   Duration of the request processing in milliseconds.
+     * @param method            Executed resource method or {@code null} if no resource method was executed.
+     * @param methodStartTime   Time when the resource method execution started (Unix timestamp format).
+     * @param methodDuration    Duration of the resource method execution in milliseconds.
+     * @param matchedTemplates  Templates matched during the request processing.
+     * @param status            Response status or {@code -1} if no response has been written.
+     * @param stageTimings      Durations of the request processing stages.
+     * @return {@code true} if the event has been published, {@code false} if it has been dropped because the buffer is full.
+     */
+    boolean offer(final long requestStartTime, final long requestDuration,
+                  final ResourceMethod method, final long methodStartTime, final long methodDuration,
+                  final List<UriTemplate> matchedTemplates, final int status, final StageTimings stageTimings) {
+        final int first = (int) Thread.currentThread().getId();
+        for (int i = 0; i < stripes.length; i++) {
+            final Stripe stripe = stripes[(first + i) & (stripes.length - 1)];
+            if (stripe.offer(requestStartTime, requestDuration, method, methodStartTime, methodDuration, matchedTemplates,
+                    status, stageTimings)) {
+                return true;
+            }
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Drain the events published so far to the given consumer. Must not be called by multiple threads concurrently.
+     * <p/>
+     * At most the capacity of the buffer is drained by a single call so that the consumer is not kept busy forever by
+     * producers that publish events faster than they can be consumed.
+     *
+     * @param consumer consumer of the events.
+     * @return number of drained events.
+     */
+    int drain(final EventConsumer consumer) {
+        int drained = 0;
+        for (final Stripe stripe : stripes) {
+            drained += stripe.drain(consumer);
+        }
+        return drained;
+    }
+
+    /**
+     * Get the number of events the buffer can hold.
+     *
+     * @return capacity of the buffer.
+     */
+    int getCapacity() {
+        return stripes.length * (stripes[0].mask + 1);
+    }
+
+    /**
+     * Get the total number of events that were dropped because the buffer was full.
+     *
+     * @return number of dropped events.
+     */
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    private static int ceilingPowerOfTwo(final int value) {
+        final int highest = Integer.highestOneBit(Math.max(1, value));
+        return highest == value ? value : highest << 1;
+    }
+
+    /**
+     * Bounded ring of events. A slot is free for the producer claiming the position {@code p} when its sequence equals
+     * {@code p}, it is readable by the consumer once its sequence is {@code p + 1}.
+     */
+    private static final class Stripe {
+
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLongArray sequences;
+
+        private final long[] requestStartTimes;
+        private final long[] requestDurations;
+        private final long[] methodStartTimes;
+        private final long[] methodDurations;
+        private final int[] statuses;
+        private final ResourceMethod[] methods;
+        private final Object[] matchedTemplates;
+        private final StageTimings[] stageTimings;
+
+        // accessed by the consumer only
+        private long head;
+
+        private Stripe(final int capacity) {
+            this.mask = capacity - 1;
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+
+            this.requestStartTimes = new long[capacity];
+            this.requestDurations = new long[capacity];
+            this.methodStartTimes = new long[capacity];
+            this.methodDurations = new long[capacity];
+            this.statuses = new int[capacity];
+            this.methods = new ResourceMethod[capacity];
+            this.matchedTemplates = new Object[capacity];
+            this.stageTimings = new StageTimings[capacity];
+        }
+
+        private boolean offer(final long requestStartTime, final long requestDuration,
+                              final ResourceMethod method, final long methodStartTime, final long methodDuration,
+                              final List<UriTemplate> templates, final int status, final StageTimings timings) {
+            long position = tail.get();
+            int index;
+            while (true) {
+                index = (int) position & mask;
+                final long sequence = sequences.get(index);
+                if (sequence == position) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        break;
+                    }
+                    position = tail.get();
+                } else if (sequence < position) {
+                    // the slot has not been consumed yet - the ring is full
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+
+            requestStartTimes[index] = requestStartTime;
+            requestDurations[index] = requestDuration;
+            methodStartTimes[index] = methodStartTime;
+            methodDurations[index] = methodDuration;
+            statuses[index] = status;
+            methods[index] = method;
+            matchedTemplates[index] = templates;
+            stageTimings[index] = timings;
+
+            // publish the slot - the ordered write makes the slot content visible to the consumer
+            sequences.lazySet(index, position + 1);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int drain(final EventConsumer consumer) {
+            final int capacity = mask + 1;
+            int drained = 0;
+            while (drained < capacity) {
+                final int index = (int) head & mask;
+                if (sequences.get(index) != head + 1) {
+                    break;
+                }
+
+                final long requestStartTime = requestStartTimes[index];
+                final long requestDuration = requestDurations[index];
+                final long methodStartTime = methodStartTimes[index];
+                final long methodDuration = methodDurations[index];
+                final int status = statuses[index];
+                final ResourceMethod method = methods[index];
+                final List<UriTemplate> templates = (List<UriTemplate>) matchedTemplates[index];
+                final StageTimings timings = stageTimings[index];
+                methods[index] = null;
+                matchedTemplates[index] = null;
+                stageTimings[index] = null;
+
+                // release the slot for the producers of the next round before the event is consumed
+                sequences.lazySet(index, head + capacity);
+                head++;
+
+                consumer.accept(requestStartTime, requestDuration, method, methodStartTime, methodDuration, templates, status,
+                        timings);
+                drained++;
+            }
+            return drained;
+        }
+    }
+}
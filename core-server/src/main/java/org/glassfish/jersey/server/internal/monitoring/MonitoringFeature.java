@@ -72,7 +72,10 @@ import org.glassfish.hk2.api.PerLookup;
  * configured by setting {@code true} to {@link #setmBeansEnabled(boolean)} in order to enable exposure
  * of monitoring MBeans. The same can be achieved by configuration of a property
  * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_MBEANS_ENABLED} which
- * overrides the setting defined by the {@link #setmBeansEnabled(boolean)} method.
+ * overrides the setting defined by the {@link #setmBeansEnabled(boolean)} method. In the same way,
+ * {@link #setOpenMetricsPath(String)} or the property
+ * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_OPENMETRICS_PATH} exposes the statistics
+ * as an OpenMetrics text resource.
  * <p/>
  * <p>
  * The MonitoringStatistics can be controlled also by definition of a property
@@ -92,6 +95,7 @@ public final class MonitoringFeature implements Feature {
     private boolean monitoringEnabled = true;
     private boolean statisticsEnabled = true; // monitoring statistics are enabled only if monitoring is enabled
     private boolean mBeansEnabled; // monitoring mbeans are enabled only if monitoring statistics is enabled
+    private String openMetricsPath; // OpenMetrics resource is exposed only if monitoring statistics is enabled
 
     @Override
     public boolean configure(FeatureContext context) {
@@ -101,6 +105,8 @@ public final class MonitoringFeature implements Feature {
                 ServerProperties.MONITORING_STATISTICS_ENABLED, null, Boolean.class);
         final Boolean mbeansEnabledProperty = ServerProperties.getValue(context.getConfiguration().getProperties(),
                 ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, null, Boolean.class);
+        final String openMetricsPathProperty = ServerProperties.getValue(context.getConfiguration().getProperties(),
+                ServerProperties.MONITORING_STATISTICS_OPENMETRICS_PATH, String.class);
 
         if (monitoringEnabledProperty != null) {
             monitoringEnabled = monitoringEnabledProperty;
@@ -118,6 +124,14 @@ public final class MonitoringFeature implements Feature {
             mBeansEnabled = mbeansEnabledProperty;
         }
 
+        if (openMetricsPathProperty != null) {
+            openMetricsPath = openMetricsPathProperty;
+        }
+        if (openMetricsPath != null) {
+            monitoringEnabled = true;
+            statisticsEnabled = true;
+        }
+
         if (statisticsEnabledProperty != null && !statisticsEnabledProperty) {
             if (mbeansEnabledProperty != null && mBeansEnabled) {
                 LOGGER.log(Level.WARNING,
@@ -165,6 +179,17 @@ public final class MonitoringFeature implements Feature {
             context.register(new MBeanExposer());
         }
 
+        if (openMetricsPath != null) {
+            final OpenMetricsRegistry registry = new OpenMetricsRegistry();
+            context.register(new AbstractBinder() {
+                @Override
+                protected void configure() {
+                    bind(registry).to(OpenMetricsRegistry.class);
+                }
+            });
+            context.register(new OpenMetricsModelProcessor(openMetricsPath, registry));
+        }
+
         return monitoringEnabled;
     }
 
@@ -179,6 +204,18 @@ public final class MonitoringFeature implements Feature {
         this.mBeansEnabled = mBeansEnabled;
     }
 
+    /**
+     * Set the path of a resource exposing monitoring statistics in the OpenMetrics text format. The resource is not exposed
+     * if the path is {@code null} (default). The set value can be overwritten by the definition of the property
+     * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_OPENMETRICS_PATH}.
+     *
+     * @param openMetricsPath path of the OpenMetrics resource or {@code null} if the resource should not be exposed.
+     * @since 3.0
+     */
+    public void setOpenMetricsPath(String openMetricsPath) {
+        this.openMetricsPath = openMetricsPath;
+    }
+
     private static class ApplicationInfoInjectionFactory extends ReferencingFactory<ApplicationInfo> {
 
         /**
@@ -47,14 +47,17 @@ import java.util.TreeMap;
 import java.util.function.Function;
 
 import org.glassfish.jersey.internal.util.collection.Views;
+import org.glassfish.jersey.server.internal.routing.MethodSelectionCacheCounter;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.ExceptionMapperStatistics;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.MethodSelectionStatistics;
 import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceStatistics;
 import org.glassfish.jersey.server.monitoring.ResponseStatistics;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 
 /**
  * Monitoring statistics implementation.
@@ -94,28 +97,64 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         private final ResponseStatisticsImpl.Builder responseStatisticsBuilder;
         private final ExceptionMapperStatisticsImpl.Builder exceptionMapperStatisticsBuilder;
 
-        private final ResourceMethodStatisticsImpl.Factory methodFactory = new ResourceMethodStatisticsImpl.Factory();
+        private final ResourceMethodStatisticsImpl.Factory methodFactory;
         private final SortedMap<String, ResourceStatisticsImpl.Builder> uriStatistics = new TreeMap<>();
         private final SortedMap<Class<?>, ResourceStatisticsImpl.Builder> resourceClassStatistics
                 = new TreeMap<>((o1, o2) -> o1.getName().compareTo(o2.getName()));
 
         private ExecutionStatisticsImpl.Builder executionStatisticsBuilder;
+        private MethodSelectionCacheCounter methodSelectionCacheCounter;
+        private long droppedEventCount;
 
         /**
          * Create a new builder.
          */
         Builder() {
+            this(false);
+        }
+
+        /**
+         * Create a new builder.
+         *
+         * @param histograms if {@code true} the execution statistics are calculated from histograms.
+         */
+        Builder(final boolean histograms) {
+            this.methodFactory = new ResourceMethodStatisticsImpl.Factory(histograms);
             this.responseStatisticsBuilder = new ResponseStatisticsImpl.Builder();
             this.exceptionMapperStatisticsBuilder = new ExceptionMapperStatisticsImpl.Builder();
         }
 
+        /**
+         * Create a new builder, initialize it from resource model and let it read method selection cache
+         * statistics from the given counter.
+         *
+         * @param resourceModel               resource model.
+         * @param methodSelectionCacheCounter method selection cache counter.
+         * @param histograms                  if {@code true} the execution statistics are calculated from histograms.
+         */
+        Builder(final ResourceModel resourceModel, final MethodSelectionCacheCounter methodSelectionCacheCounter,
+                final boolean histograms) {
+            this(resourceModel, histograms);
+            this.methodSelectionCacheCounter = methodSelectionCacheCounter;
+        }
+
         /**
          * Create a new builder and initialize it from resource model.
          *
          * @param resourceModel resource model.
          */
         Builder(final ResourceModel resourceModel) {
-            this();
+            this(resourceModel, false);
+        }
+
+        /**
+         * Create a new builder and initialize it from resource model.
+         *
+         * @param resourceModel resource model.
+         * @param histograms    if {@code true} the execution statistics are calculated from histograms.
+         */
+        Builder(final ResourceModel resourceModel, final boolean histograms) {
+            this(histograms);
 
             for (final Resource resource : resourceModel.getRootResources()) {
                 processResource(resource, "");
@@ -168,7 +207,7 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
          */
         void addRequestExecution(final long startTime, final long duration) {
             if (executionStatisticsBuilder == null) {
-                executionStatisticsBuilder = new ExecutionStatisticsImpl.Builder();
+                executionStatisticsBuilder = methodFactory.createExecutionStatisticsBuilder();
             }
             executionStatisticsBuilder.addExecution(startTime, duration);
         }
@@ -187,6 +226,25 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         void addExecution(final String uri, final ResourceMethod resourceMethod,
                           final long methodTime, final long methodDuration,
                           final long requestTime, final long requestDuration) {
+            addExecution(uri, resourceMethod, methodTime, methodDuration, requestTime, requestDuration, null);
+        }
+
+        /**
+         * Add execution of a resource method including the durations of the request processing stages.
+         *
+         * @param uri             String uri which was executed.
+         * @param resourceMethod  Resource method.
+         * @param methodTime      Time spent on execution of resource method itself (Unix timestamp format).
+         * @param methodDuration  Time of execution of the resource method.
+         * @param requestTime     Time of whole request processing (from receiving the request until writing the response). (Unix
+         *                        timestamp format)
+         * @param requestDuration Time when the request matching to the executed resource method has been received by Jersey.
+         * @param stageTimings    Durations of the request processing stages or {@code null} if not available.
+         */
+        void addExecution(final String uri, final ResourceMethod resourceMethod,
+                          final long methodTime, final long methodDuration,
+                          final long requestTime, final long requestDuration,
+                          final StageTimings stageTimings) {
             // Uri resource stats.
             ResourceStatisticsImpl.Builder uriStatsBuilder = uriStatistics.get(uri);
             if (uriStatsBuilder == null) {
@@ -200,8 +258,11 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             classStatsBuilder.addExecution(resourceMethod, methodTime, methodDuration, requestTime, requestDuration);
 
             // Resource method stats.
-            methodFactory.getOrCreate(resourceMethod)
-                    .addResourceMethodExecution(methodTime, methodDuration, requestTime, requestDuration);
+            final ResourceMethodStatisticsImpl.Builder methodStatsBuilder = methodFactory.getOrCreate(resourceMethod);
+            methodStatsBuilder.addResourceMethodExecution(methodTime, methodDuration, requestTime, requestDuration);
+            if (stageTimings != null) {
+                methodStatsBuilder.addStageTimings(stageTimings);
+            }
         }
 
         /**
@@ -213,6 +274,15 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             responseStatisticsBuilder.addResponseCode(responseCode);
         }
 
+        /**
+         * Set the total number of request events that were dropped before they could be processed.
+         *
+         * @param droppedEventCount number of dropped request events.
+         */
+        void setDroppedEventCount(final long droppedEventCount) {
+            this.droppedEventCount = droppedEventCount;
+        }
+
         /**
          * Build a new instance of monitoring statistics.
          *
@@ -227,16 +297,23 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             final ExecutionStatistics requestStats = executionStatisticsBuilder == null
                     ? ExecutionStatisticsImpl.EMPTY : executionStatisticsBuilder.build();
 
+            final MethodSelectionStatistics methodSelectionStats = methodSelectionCacheCounter == null
+                    ? MethodSelectionStatisticsImpl.EMPTY : MethodSelectionStatisticsImpl.snapshot(methodSelectionCacheCounter);
+
             return new MonitoringStatisticsImpl(
                     uriStats, classStats, requestStats,
                     responseStatisticsBuilder.build(),
-                    exceptionMapperStatisticsBuilder.build());
+                    exceptionMapperStatisticsBuilder.build(),
+                    methodSelectionStats,
+                    droppedEventCount);
         }
     }
 
     private final ExecutionStatistics requestStatistics;
     private final ResponseStatistics responseStatistics;
     private final ExceptionMapperStatistics exceptionMapperStatistics;
+    private final MethodSelectionStatistics methodSelectionStatistics;
+    private final long droppedEventCount;
     private final Map<String, ResourceStatistics> uriStatistics;
     private final Map<Class<?>, ResourceStatistics> resourceClassStatistics;
 
@@ -244,12 +321,16 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
                                      final Map<Class<?>, ResourceStatistics> resourceClassStatistics,
                                      final ExecutionStatistics requestStatistics,
                                      final ResponseStatistics responseStatistics,
-                                     final ExceptionMapperStatistics exceptionMapperStatistics) {
+                                     final ExceptionMapperStatistics exceptionMapperStatistics,
+                                     final MethodSelectionStatistics methodSelectionStatistics,
+                                     final long droppedEventCount) {
         this.uriStatistics = uriStatistics;
         this.resourceClassStatistics = resourceClassStatistics;
         this.requestStatistics = requestStatistics;
         this.responseStatistics = responseStatistics;
         this.exceptionMapperStatistics = exceptionMapperStatistics;
+        this.methodSelectionStatistics = methodSelectionStatistics;
+        this.droppedEventCount = droppedEventCount;
     }
 
     @Override
@@ -287,6 +368,16 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         return exceptionMapperStatistics;
     }
 
+    @Override
+    public MethodSelectionStatistics getMethodSelectionStatistics() {
+        return methodSelectionStatistics;
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return droppedEventCount;
+    }
+
     @Override
     public MonitoringStatistics snapshot() {
         // snapshot is not needed, this object is loosely immutable (see javadoc of Maps getters)
@@ -44,6 +44,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -58,11 +60,14 @@ import org.glassfish.jersey.server.BackgroundSchedulerLiteral;
 import org.glassfish.jersey.server.ExtendedResourceContext;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.routing.MethodSelectionCacheCounter;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 import org.glassfish.jersey.spi.inject.InstanceManager;
+import org.glassfish.jersey.uri.UriTemplate;
 
 /**
  * Process events of application and request processing into
@@ -84,8 +89,12 @@ final class MonitoringStatisticsProcessor {
     private final MonitoringStatisticsImpl.Builder statisticsBuilder;
     private final List<MonitoringStatisticsListener> statisticsCallbackList;
     private final ScheduledExecutorService scheduler;
+    private final OpenMetricsRegistry openMetrics;
 
     private final int interval;
+    private final MonitoringEventRingBuffer.EventConsumer requestEventConsumer = this::processRequestEvent;
+
+    private long reportedDroppedEvents;
 
     /**
      * Creates a new instance of processor.
@@ -95,11 +104,18 @@ final class MonitoringStatisticsProcessor {
     MonitoringStatisticsProcessor(final InstanceManager instanceManager, final MonitoringEventListener monitoringEventListener) {
         this.monitoringEventListener = monitoringEventListener;
         final ResourceModel resourceModel = instanceManager.getInstance(ExtendedResourceContext.class).getResourceModel();
-        this.statisticsBuilder = new MonitoringStatisticsImpl.Builder(resourceModel);
+        final Map<String, Object> properties = instanceManager.getInstance(Configuration.class).getProperties();
+        final boolean histograms = PropertiesHelper.getValue(properties,
+                                                             ServerProperties.MONITORING_STATISTICS_HISTOGRAMS_ENABLED,
+                                                             Boolean.FALSE, Collections.<String, String>emptyMap());
+        this.statisticsBuilder = new MonitoringStatisticsImpl.Builder(resourceModel,
+                instanceManager.getInstance(MethodSelectionCacheCounter.class), histograms);
         this.statisticsCallbackList = instanceManager.getAllInstances(MonitoringStatisticsListener.class);
         this.scheduler =
                 instanceManager.getInstance(ScheduledExecutorService.class, BackgroundSchedulerLiteral.INSTANCE);
-        this.interval = PropertiesHelper.getValue(instanceManager.getInstance(Configuration.class).getProperties(),
+        final List<OpenMetricsRegistry> openMetricsRegistries = instanceManager.getAllInstances(OpenMetricsRegistry.class);
+        this.openMetrics = openMetricsRegistries.isEmpty() ? null : openMetricsRegistries.get(0);
+        this.interval = PropertiesHelper.getValue(properties,
                                                   ServerProperties.MONITORING_STATISTICS_REFRESH_INTERVAL, DEFAULT_INTERVAL,
                                                   Collections.<String, String>emptyMap());
     }
@@ -114,7 +130,6 @@ final class MonitoringStatisticsProcessor {
             public void run() {
                 try {
                     processRequestItems();
-                    processResponseCodeEvents();
                     processExceptionMapperEvents();
                 } catch (final Throwable t) {
                     LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_MONITORING_STATISTICS_GENERATION(), t);
@@ -150,47 +165,67 @@ final class MonitoringStatisticsProcessor {
             final RequestEvent event = eventQueue.remove();
             final ExceptionMapperStatisticsImpl.Builder mapperStats = statisticsBuilder.getExceptionMapperStatisticsBuilder();
 
-            if (event.getExceptionMapper() != null) {
-                mapperStats.addExceptionMapperExecution(event.getExceptionMapper().getClass(), 1);
+            final Class<?> mapperClass = event.getExceptionMapper() == null ? null : event.getExceptionMapper().getClass();
+            if (mapperClass != null) {
+                mapperStats.addExceptionMapperExecution(mapperClass, 1);
             }
 
             mapperStats.addMapping(event.isResponseSuccessfullyMapped(), 1);
+
+            if (openMetrics != null) {
+                openMetrics.addExceptionMapping(mapperClass, event.isResponseSuccessfullyMapped());
+            }
         }
     }
 
     private void processRequestItems() {
-        final Queue<MonitoringEventListener.RequestStats> requestQueuedItems = monitoringEventListener.getRequestQueuedItems();
-        final FloodingLogger floodingLogger = new FloodingLogger(requestQueuedItems);
-
-        while (!requestQueuedItems.isEmpty()) {
-            floodingLogger.conditionallyLogFlooding();
-
-            final MonitoringEventListener.RequestStats event = requestQueuedItems.remove();
+        final MonitoringEventRingBuffer requestEvents = monitoringEventListener.getRequestEvents();
+        requestEvents.drain(requestEventConsumer);
 
-            final MonitoringEventListener.TimeStats requestStats = event.getRequestStats();
-            statisticsBuilder.addRequestExecution(requestStats.getStartTime(), requestStats.getDuration());
-
-            final MonitoringEventListener.MethodStats methodStat = event.getMethodStats();
-            if (methodStat != null) {
-                final ResourceMethod method = methodStat.getMethod();
-                statisticsBuilder.addExecution(event.getRequestUri(), method,
-                        methodStat.getStartTime(), methodStat.getDuration(),
-                        requestStats.getStartTime(), requestStats.getDuration());
-            }
+        final long dropped = requestEvents.getDropped();
+        if (dropped > reportedDroppedEvents) {
+            LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_REQUEST(dropped - reportedDroppedEvents));
+            reportedDroppedEvents = dropped;
+        }
+        statisticsBuilder.setDroppedEventCount(dropped);
+        if (openMetrics != null) {
+            openMetrics.setDroppedEvents(dropped);
         }
     }
 
-    private void processResponseCodeEvents() {
-        final Queue<Integer> responseEvents = monitoringEventListener.getResponseStatuses();
-        final FloodingLogger floodingLogger = new FloodingLogger(responseEvents);
+    private void processRequestEvent(final long requestStartTime, final long requestDuration,
+                                     final ResourceMethod method, final long methodStartTime, final long methodDuration,
+                                     final List<UriTemplate> matchedTemplates, final int status,
+                                     final StageTimings stageTimings) {
+        statisticsBuilder.addRequestExecution(requestStartTime, requestDuration);
 
-        while (!responseEvents.isEmpty()) {
-            floodingLogger.conditionallyLogFlooding();
+        if (method != null) {
+            statisticsBuilder.addExecution(getRequestUri(matchedTemplates), method,
+                    methodStartTime, methodDuration,
+                    requestStartTime, requestDuration, stageTimings);
+        }
+
+        if (status >= 0) {
+            statisticsBuilder.addResponseCode(status);
+        }
 
-            final Integer code = responseEvents.remove();
-            statisticsBuilder.addResponseCode(code);
+        if (openMetrics != null) {
+            openMetrics.addRequest(requestDuration, method, methodDuration, status, stageTimings);
         }
+    }
 
+    private static String getRequestUri(final List<UriTemplate> matchedTemplates) {
+        final StringBuilder sb = new StringBuilder();
+        // matched templates are ordered from the most recently matched one
+        final ListIterator<UriTemplate> iterator = matchedTemplates.listIterator(matchedTemplates.size());
+        while (iterator.hasPrevious()) {
+            final UriTemplate uriTemplate = iterator.previous();
+            sb.append(uriTemplate.getTemplate());
+            if (uriTemplate.endsWithSlash()) {
+                sb.setLength(sb.length() - 1);
+            }
+        }
+        return sb.toString();
     }
 
     /**
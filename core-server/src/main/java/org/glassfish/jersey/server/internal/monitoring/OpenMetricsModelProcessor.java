@@ -0,0 +1,125 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+/**
+ * {@link ModelProcessor Model processor} which enhances the resource model by a resource exposing
+ * {@link OpenMetricsRegistry monitoring aggregates} in the OpenMetrics text format.
+ * <p/>
+ * The processor is registered by {@link MonitoringFeature} if the path of the resource is configured.
+ *
+ * @see org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_OPENMETRICS_PATH
+ */
+@Priority(10000)
+final class OpenMetricsModelProcessor implements ModelProcessor {
+
+    private static final MediaType CONTENT_TYPE = MediaType.valueOf(OpenMetricsRegistry.CONTENT_TYPE);
+
+    private final String path;
+    private final OpenMetricsRegistry registry;
+
+    /**
+     * Create new model processor.
+     *
+     * @param path     path of the resource exposing the aggregates.
+     * @param registry aggregates to expose.
+     */
+    OpenMetricsModelProcessor(final String path, final OpenMetricsRegistry registry) {
+        this.path = path;
+        this.registry = registry;
+    }
+
+    @Override
+    public ResourceModel processResourceModel(final ResourceModel resourceModel, final Configuration configuration) {
+        final Resource.Builder resourceBuilder = Resource.builder(path);
+        resourceBuilder.addMethod(HttpMethod.GET)
+                .produces(CONTENT_TYPE)
+                .handledBy(new OpenMetricsInflector(registry));
+
+        return new ResourceModel.Builder(resourceModel, false).addResource(resourceBuilder.build()).build();
+    }
+
+    @Override
+    public ResourceModel processSubResource(final ResourceModel subResourceModel, final Configuration configuration) {
+        return subResourceModel;
+    }
+
+    /**
+     * GET resource method handler that streams the OpenMetrics exposition.
+     */
+    private static final class OpenMetricsInflector implements Inflector<ContainerRequestContext, Response> {
+
+        private final StreamingOutput exposition;
+
+        private OpenMetricsInflector(final OpenMetricsRegistry registry) {
+            this.exposition = output -> {
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                registry.writeTo(writer);
+                writer.flush();
+            };
+        }
+
+        @Override
+        public Response apply(final ContainerRequestContext requestContext) {
+            return Response.ok(exposition, CONTENT_TYPE).header(HttpHeaders.CACHE_CONTROL, "no-cache").build();
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.StageTimings;
+
+/**
+ * Live cumulative aggregates of monitoring events exposed in the
+ * <a href="https://openmetrics.io">OpenMetrics</a> text format.
+ * <p/>
+ * The aggregates are updated only from the jersey-background-task-scheduler by
+ * {@link MonitoringStatisticsProcessor} from the same events the
+ * {@link org.glassfish.jersey.server.monitoring.MonitoringStatistics monitoring statistics} are calculated from.
+ * All the aggregates are plain atomic counters and fixed-size histograms, so they can be {@link #writeTo(Writer) written}
+ * concurrently with their updates without building any snapshot of the statistics. Rendering of the aggregates
+ * does not allocate per sample: label sets are escaped once when the resource method is first seen and numbers are
+ * formatted directly into the writer.
+ * <p/>
+ * Following metric families are exposed:
+ * <ul>
+ * <li>{@code jersey_request_duration_seconds} - histogram of durations of all requests processed by the application,</li>
+ * <li>{@code jersey_resource_method_duration_seconds} - histogram of durations of resource method executions labelled by
+ * the resource class, java method, HTTP method and path of the resource method,</li>
+ * <li>{@code jersey_resource_method_stage_seconds_total} - total time spent in the individual request processing
+ * stages of requests matched to the resource method, labelled as the resource method durations and by the stage,</li>
+ * <li>{@code jersey_responses_total} - count of responses labelled by the response status code,</li>
+ * <li>{@code jersey_exception_mapper_executions_total} - count of executions labelled by the exception mapper class,</li>
+ * <li>{@code jersey_exception_mappings_total} - count of exception mappings labelled by their result,</li>
+ * <li>{@code jersey_monitoring_dropped_events_total} - count of monitoring events dropped because the event buffer was
+ * full.</li>
+ * </ul>
+ */
+final class OpenMetricsRegistry {
+
+    /**
+     * Media type of the OpenMetrics text exposition format.
+     */
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /**
+     * Upper bounds (inclusive, in milliseconds) of the histogram buckets. The bounds follow the defaults
+     * used by the Prometheus client libraries.
+     */
+    private static final long[] BUCKET_BOUNDS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    private static final String[] BUCKET_LABELS = new String[BUCKET_BOUNDS.length + 1];
+    private static final int MAX_STATUS = 600;
+    private static final StageTimings.Stage[] STAGES = StageTimings.Stage.values();
+    private static final String[] STAGE_LABELS = new String[STAGES.length];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            final StringBuilder sb = new StringBuilder("le=\"");
+            appendSeconds(sb, BUCKET_BOUNDS[i]);
+            BUCKET_LABELS[i] = sb.append('"').toString();
+        }
+        BUCKET_LABELS[BUCKET_BOUNDS.length] = "le=\"+Inf\"";
+        for (int i = 0; i < STAGES.length; i++) {
+            STAGE_LABELS[i] = ",stage=\"" + STAGES[i].name().toLowerCase(Locale.ROOT) + '"';
+        }
+    }
+
+    private final Histogram requests = new Histogram("");
+    private final ConcurrentMap<String, Histogram> methods = new ConcurrentHashMap<>();
+    private final AtomicLongArray responses = new AtomicLongArray(MAX_STATUS);
+    private final ConcurrentMap<Class<?>, Counter> mapperExecutions = new ConcurrentHashMap<>();
+    private final AtomicLong successfulMappings = new AtomicLong();
+    private final AtomicLong unsuccessfulMappings = new AtomicLong();
+    private volatile long droppedEvents;
+
+    // accessed only from the jersey-background-task-scheduler
+    private final Map<ResourceMethod, Histogram> resolvedMethods = new WeakHashMap<>();
+
+    /**
+     * Add a finished request.
+     *
+     * @param requestDuration duration of the request processing in milliseconds.
+     * @param method          executed resource method or {@code null} if no resource method was executed.
+     * @param methodDuration  duration of the resource method execution in milliseconds.
+     * @param status          response status or a negative number if no response was written.
+     * @param stageTimings    durations of the request processing stages or {@code null} if not known.
+     */
+    void addRequest(final long requestDuration, final ResourceMethod method, final long methodDuration, final int status,
+                    final StageTimings stageTimings) {
+        requests.add(requestDuration);
+
+        if (method != null) {
+            Histogram histogram = resolvedMethods.get(method);
+            if (histogram == null) {
+                // resource methods of sub-resources might be created repeatedly, share their aggregates
+                histogram = methods.computeIfAbsent(MonitoringUtils.getMethodUniqueId(method),
+                        id -> new Histogram(methodLabels(method)));
+                resolvedMethods.put(method, histogram);
+            }
+            histogram.add(methodDuration);
+            if (stageTimings != null) {
+                histogram.addStages(stageTimings);
+            }
+        }
+
+        if (status >= 0 && status < MAX_STATUS) {
+            responses.incrementAndGet(status);
+        }
+    }
+
+    /**
+     * Add an exception mapping.
+     *
+     * @param mapperClass class of the exception mapper that was executed or {@code null} if no mapper was executed.
+     * @param success     {@code true} if the exception was successfully mapped to a response.
+     */
+    void addExceptionMapping(final Class<?> mapperClass, final boolean success) {
+        if (mapperClass != null) {
+            mapperExecutions.computeIfAbsent(mapperClass,
+                    clazz -> new Counter("mapper=\"" + escape(clazz.getName()) + '"')).value.incrementAndGet();
+        }
+        (success ? successfulMappings : unsuccessfulMappings).incrementAndGet();
+    }
+
+    /**
+     * Set the total count of monitoring events dropped so far.
+     *
+     * @param droppedEvents count of dropped events.
+     */
+    void setDroppedEvents(final long droppedEvents) {
+        this.droppedEvents = droppedEvents;
+    }
+
+    /**
+     * Write current values of all the aggregates in the OpenMetrics text format.
+     *
+     * @param writer writer to write the exposition to. The writer is not flushed nor closed.
+     * @throws IOException if writing fails.
+     */
+    void writeTo(final Writer writer) throws IOException {
+        final Output out = new Output(writer);
+
+        out.histogramHeader("jersey_request_duration_seconds", "Duration of requests processed by the application.");
+        requests.writeTo(out, "jersey_request_duration_seconds");
+
+        out.histogramHeader("jersey_resource_method_duration_seconds", "Duration of resource method executions.");
+        for (final Histogram histogram : methods.values()) {
+            histogram.writeTo(out, "jersey_resource_method_duration_seconds");
+        }
+
+        out.counterHeader("jersey_resource_method_stage_seconds", "Time spent in request processing stages.");
+        for (final Histogram histogram : methods.values()) {
+            histogram.writeStagesTo(out, "jersey_resource_method_stage_seconds_total");
+        }
+
+        out.counterHeader("jersey_responses", "Responses by status code.");
+        for (int status = 0; status < MAX_STATUS; status++) {
+            final long count = responses.get(status);
+            if (count > 0) {
+                out.text("jersey_responses_total{code=\"").number(status).text("\"} ").number(count).newLine();
+            }
+        }
+
+        out.counterHeader("jersey_exception_mapper_executions", "Executions of exception mappers.");
+        for (final Counter counter : mapperExecutions.values()) {
+            out.text("jersey_exception_mapper_executions_total{").text(counter.labels).text("} ")
+                    .number(counter.value.get()).newLine();
+        }
+
+        out.counterHeader("jersey_exception_mappings", "Exception mappings by result.");
+        out.text("jersey_exception_mappings_total{result=\"successful\"} ").number(successfulMappings.get()).newLine();
+        out.text("jersey_exception_mappings_total{result=\"unsuccessful\"} ").number(unsuccessfulMappings.get()).newLine();
+
+        out.counterHeader("jersey_monitoring_dropped_events", "Monitoring events dropped because the event buffer was full.");
+        out.text("jersey_monitoring_dropped_events_total ").number(droppedEvents).newLine();
+
+        out.text("# EOF").newLine();
+    }
+
+    private static String methodLabels(final ResourceMethod method) {
+        final Invocable invocable = method.getInvocable();
+        return "class=\"" + escape(invocable.getHandler().getHandlerClass().getName())
+                + "\",method=\"" + escape(invocable.getDefinitionMethod().getName())
+                + "\",http_method=\"" + escape(method.getHttpMethod())
+                + "\",path=\"" + escape(path(method.getParent())) + '"';
+    }
+
+    private static String path(final Resource resource) {
+        if (resource == null) {
+            return "";
+        }
+        final String parentPath = path(resource.getParent());
+        final String path = resource.getPath();
+        if (path == null || path.isEmpty() || "/".equals(path)) {
+            return parentPath.isEmpty() ? "/" : parentPath;
+        }
+        final String prefix = parentPath.endsWith("/") ? parentPath.substring(0, parentPath.length() - 1) : parentPath;
+        return path.startsWith("/") ? prefix + path : prefix + '/' + path;
+    }
+
+    /**
+     * Escape a label value as defined by the OpenMetrics text format.
+     *
+     * @param value label value.
+     * @return escaped label value.
+     */
+    static String escape(final String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\' || c == '"' || c == '\n') {
+                if (sb == null) {
+                    sb = new StringBuilder(value.length() + 8).append(value, 0, i);
+                }
+                sb.append('\\').append(c == '\n' ? 'n' : c);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? value : sb.toString();
+    }
+
+    private static void appendSeconds(final StringBuilder sb, final long millis) {
+        sb.append(millis / 1000).append('.');
+        final long fraction = millis % 1000;
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    /**
+     * Cumulative histogram of durations with fixed buckets.
+     */
+    private static final class Histogram {
+
+        private final String labels;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+        private final AtomicLong sum = new AtomicLong();
+        // nanoseconds spent in the individual stages, allocated lazily for resource method histograms only
+        private volatile AtomicLongArray stages;
+
+        private Histogram(final String labels) {
+            this.labels = labels;
+        }
+
+        private void add(final long duration) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && duration > BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            sum.addAndGet(Math.max(duration, 0));
+        }
+
+        private void addStages(final StageTimings stageTimings) {
+            AtomicLongArray stages = this.stages;
+            if (stages == null) {
+                stages = this.stages = new AtomicLongArray(STAGES.length);
+            }
+            for (int i = 0; i < STAGES.length; i++) {
+                final long duration = stageTimings.getDuration(STAGES[i]);
+                if (duration > 0) {
+                    stages.addAndGet(i, duration);
+                }
+            }
+        }
+
+        private void writeStagesTo(final Output out, final String name) throws IOException {
+            final AtomicLongArray stages = this.stages;
+            if (stages == null) {
+                return;
+            }
+            for (int i = 0; i < STAGES.length; i++) {
+                out.text(name).text("{").text(labels).text(STAGE_LABELS[i]).text("} ").nanoSeconds(stages.get(i)).newLine();
+            }
+        }
+
+        private void writeTo(final Output out, final String name) throws IOException {
+            // the count is derived from the buckets so that it always matches the +Inf bucket
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_LABELS.length; i++) {
+                cumulative += buckets.get(i);
+                out.text(name).text("_bucket{");
+                if (!labels.isEmpty()) {
+                    out.text(labels).text(",");
+                }
+                out.text(BUCKET_LABELS[i]).text("} ").number(cumulative).newLine();
+            }
+            out.text(name).text("_count").labels(labels).number(cumulative).newLine();
+            out.text(name).text("_sum").labels(labels).seconds(sum.get()).newLine();
+        }
+    }
+
+    /**
+     * Counter with an escaped label set.
+     */
+    private static final class Counter {
+
+        private final String labels;
+        private final AtomicLong value = new AtomicLong();
+
+        private Counter(final String labels) {
+            this.labels = labels;
+        }
+    }
+
+    /**
+     * Writes text and numbers to the underlying writer without allocating intermediate strings.
+     */
+    private static final class Output {
+
+        private final Writer writer;
+        private final char[] digits = new char[20];
+
+        private Output(final Writer writer) {
+            this.writer = writer;
+        }
+
+        private Output text(final String text) throws IOException {
+            writer.write(text);
+            return this;
+        }
+
+        private Output labels(final String labels) throws IOException {
+            if (labels.isEmpty()) {
+                writer.write(' ');
+            } else {
+                writer.write('{');
+                writer.write(labels);
+                writer.write("} ");
+            }
+            return this;
+        }
+
+        private Output number(final long value) throws IOException {
+            // all exposed values are non-negative
+            long remaining = value;
+            int position = digits.length;
+            do {
+                digits[--position] = (char) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining > 0);
+            writer.write(digits, position, digits.length - position);
+            return this;
+        }
+
+        private Output seconds(final long millis) throws IOException {
+            number(millis / 1000);
+            final long fraction = millis % 1000;
+            writer.write('.');
+            writer.write((char) ('0' + fraction / 100));
+            writer.write((char) ('0' + fraction / 10 % 10));
+            writer.write((char) ('0' + fraction % 10));
+            return this;
+        }
+
+        private Output nanoSeconds(final long nanos) throws IOException {
+            number(nanos / 1000000000L);
+            writer.write('.');
+            long fraction = nanos % 1000000000L;
+            for (int i = 8; i >= 0; i--) {
+                digits[i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            writer.write(digits, 0, 9);
+            return this;
+        }
+
+        private Output newLine() throws IOException {
+            writer.write('\n');
+            return this;
+        }
+
+        private void histogramHeader(final String name, final String help) throws IOException {
+            text("# TYPE ").text(name).text(" histogram\n");
+            text("# UNIT ").text(name).text(" seconds\n");
+            text("# HELP ").text(name).text(" ").text(help).newLine();
+        }
+
+        private void counterHeader(final String name, final String help) throws IOException {
+            text("# TYPE ").text(name).text(" counter\n");
+            text("# HELP ").text(name).text(" ").text(help).newLine();
+        }
+    }
+}
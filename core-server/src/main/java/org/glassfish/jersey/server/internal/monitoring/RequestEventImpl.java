@@ -48,6 +48,7 @@ import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ExtendedUriInfo;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 
 /**
  * {@link RequestEvent Request event} implementation. Instances are immutable.
@@ -239,4 +240,9 @@ public class RequestEventImpl implements RequestEvent {
     public boolean isResponseWritten() {
         return responseWritten;
     }
+
+    @Override
+    public StageTimings getStageTimings() {
+        return StageTimer.getInstance(containerRequest);
+    }
 }
@@ -42,11 +42,13 @@ package org.glassfish.jersey.server.internal.monitoring;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 
 /**
  * Immutable resource method statistics.
@@ -64,15 +66,42 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
     static class Factory {
 
         private final ConcurrentMap<String, Builder> stringToMethodsBuilders = new ConcurrentHashMap<>();
+        private final boolean histograms;
+
+        /**
+         * Create a new factory of resource method statistics backed by sliding windows.
+         */
+        Factory() {
+            this(false);
+        }
+
+        /**
+         * Create a new factory.
+         *
+         * @param histograms if {@code true} the execution statistics are calculated from histograms.
+         */
+        Factory(final boolean histograms) {
+            this.histograms = histograms;
+        }
 
         ResourceMethodStatisticsImpl.Builder getOrCreate(final ResourceMethod resourceMethod) {
             final String methodUniqueId = MonitoringUtils.getMethodUniqueId(resourceMethod);
 
             if (!stringToMethodsBuilders.containsKey(methodUniqueId)) {
-                stringToMethodsBuilders.putIfAbsent(methodUniqueId, new ResourceMethodStatisticsImpl.Builder(resourceMethod));
+                stringToMethodsBuilders.putIfAbsent(methodUniqueId,
+                        new ResourceMethodStatisticsImpl.Builder(resourceMethod, histograms));
             }
             return stringToMethodsBuilders.get(methodUniqueId);
         }
+
+        /**
+         * Create a new builder of execution statistics of the kind produced by this factory.
+         *
+         * @return new execution statistics builder.
+         */
+        ExecutionStatisticsImpl.Builder createExecutionStatisticsBuilder() {
+            return new ExecutionStatisticsImpl.Builder(histograms);
+        }
     }
 
     /**
@@ -83,11 +112,14 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
     static class Builder {
 
         private final ResourceMethod resourceMethod;
+        private final boolean histograms;
 
         private final AtomicReference<ExecutionStatisticsImpl.Builder> resourceMethodExecutionStatisticsBuilder = new
                 AtomicReference<>();
         private final AtomicReference<ExecutionStatisticsImpl.Builder> requestExecutionStatisticsBuilder = new
                 AtomicReference<>();
+        private final AtomicLongArray stageDurations = new AtomicLongArray(STAGES.length);
+        private final AtomicLongArray stageCounts = new AtomicLongArray(STAGES.length);
 
         private volatile ResourceMethodStatisticsImpl cached;
 
@@ -97,7 +129,18 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
          * @param resourceMethod Resource method for which statistics are evaluated.
          */
         Builder(final ResourceMethod resourceMethod) {
+            this(resourceMethod, false);
+        }
+
+        /**
+         * Create a new builder instance.
+         *
+         * @param resourceMethod Resource method for which statistics are evaluated.
+         * @param histograms     if {@code true} the execution statistics are calculated from histograms.
+         */
+        Builder(final ResourceMethod resourceMethod, final boolean histograms) {
             this.resourceMethod = resourceMethod;
+            this.histograms = histograms;
         }
 
         /**
@@ -117,7 +160,7 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
                     ? ExecutionStatisticsImpl.EMPTY : requestExecutionStatisticsBuilder.get().build();
 
             final ResourceMethodStatisticsImpl stats = new ResourceMethodStatisticsImpl(resourceMethod, methodStats,
-                    requestStats);
+                    requestStats, new AverageStageTimings(stageDurations, stageCounts));
 
             if (MonitoringUtils.isCacheable(methodStats)) {
                 // overwrite the cache regardless of whether it's null or not
@@ -141,25 +184,67 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
             cached = null;
 
             if (resourceMethodExecutionStatisticsBuilder.get() == null) {
-                resourceMethodExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                resourceMethodExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder(histograms));
             }
             resourceMethodExecutionStatisticsBuilder.get().addExecution(methodStartTime, methodDuration);
 
             if (requestExecutionStatisticsBuilder.get() == null) {
-                requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder(histograms));
             }
             requestExecutionStatisticsBuilder.get().addExecution(requestStartTime, requestDuration);
         }
+
+        /**
+         * Add stage timings of a request processed by the resource method to the statistics.
+         *
+         * @param stageTimings Durations of the request processing stages.
+         */
+        void addStageTimings(final StageTimings stageTimings) {
+            cached = null;
+
+            for (final StageTimings.Stage stage : STAGES) {
+                final long duration = stageTimings.getDuration(stage);
+                if (duration >= 0) {
+                    stageDurations.addAndGet(stage.ordinal(), duration);
+                    stageCounts.incrementAndGet(stage.ordinal());
+                }
+            }
+        }
     }
 
+    /**
+     * Immutable stage timings averaged over all executions of a resource method.
+     */
+    private static final class AverageStageTimings implements StageTimings {
+
+        private final long[] durations = new long[STAGES.length];
+
+        private AverageStageTimings(final AtomicLongArray totals, final AtomicLongArray counts) {
+            for (int i = 0; i < durations.length; i++) {
+                final long count = counts.get(i);
+                durations[i] = count == 0 ? -1 : totals.get(i) / count;
+            }
+        }
+
+        @Override
+        public long getDuration(final Stage stage) {
+            return durations[stage.ordinal()];
+        }
+    }
+
+    private static final StageTimings.Stage[] STAGES = StageTimings.Stage.values();
+
     private final ExecutionStatistics resourceMethodExecutionStatistics;
     private final ExecutionStatistics requestExecutionStatistics;
     private final ResourceMethod resourceMethod;
+    private final StageTimings averageStageTimings;
 
     private ResourceMethodStatisticsImpl(final ResourceMethod resourceMethod,
                                          final ExecutionStatistics resourceMethodExecutionStatistics,
-                                         final ExecutionStatistics requestExecutionStatistics) {
+                                         final ExecutionStatistics requestExecutionStatistics,
+                                         final StageTimings averageStageTimings) {
         this.resourceMethod = resourceMethod;
+        this.averageStageTimings = averageStageTimings;
 
         this.resourceMethodExecutionStatistics = resourceMethodExecutionStatistics;
         this.requestExecutionStatistics = requestExecutionStatistics;
@@ -179,6 +264,11 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
         return resourceMethod;
     }
 
+    @Override
+    public StageTimings getAverageStageTimings() {
+        return averageStageTimings;
+    }
+
     @Override
     public ResourceMethodStatistics snapshot() {
         // this object is immutable (not considering ResourceMethod which is not a monitoring object)
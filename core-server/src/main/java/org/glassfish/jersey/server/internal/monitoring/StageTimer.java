@@ -0,0 +1,190 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.Arrays;
+
+import org.glassfish.jersey.internal.PropertiesDelegate;
+import org.glassfish.jersey.message.internal.MessageBodyWriterTimer;
+import org.glassfish.jersey.server.monitoring.StageTimings;
+
+/**
+ * Records {@link StageTimings durations of request processing stages} of a single request.
+ * <p/>
+ * The timer is stored as a request property (see {@link #getInstance(PropertiesDelegate)}) by the server runtime when stage
+ * timings are enabled, otherwise a no-op instance is used. Stages are executed sequentially (possibly by different threads
+ * in case of asynchronous processing), therefore the timer is not synchronized. A stage is measured between
+ * {@link #begin(Stage)} and {@link #end(Stage)}; the time spent by the message body writer is reported by the writer
+ * interceptor chain and excluded from the {@link Stage#WRITER_INTERCEPTORS writer interceptors} stage.
+ */
+public final class StageTimer implements StageTimings, MessageBodyWriterTimer {
+
+    /**
+     * Name of the {@code Server-Timing} response header.
+     */
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final String[] SERVER_TIMING_NAMES = {
+            "prematch", "routing", "filters", "params", "invoke", "respfilters", "interceptors", "serialization"};
+
+    private static final StageTimer EMPTY = new StageTimer(false);
+
+    private final boolean enabled;
+    private final long created;
+    private final long[] durations = new long[STAGES.length];
+    private final long[] starts = new long[STAGES.length];
+
+    /**
+     * Create a new enabled timer.
+     */
+    public StageTimer() {
+        this(true);
+    }
+
+    private StageTimer(final boolean enabled) {
+        this.enabled = enabled;
+        this.created = enabled ? System.nanoTime() : 0;
+        Arrays.fill(durations, -1);
+    }
+
+    /**
+     * Get the timer of a request.
+     *
+     * @param propertiesDelegate request properties.
+     * @return timer stored in the request properties or a no-op timer if stage timings are not enabled.
+     */
+    public static StageTimer getInstance(final PropertiesDelegate propertiesDelegate) {
+        final Object timer = propertiesDelegate == null ? null : propertiesDelegate.getProperty(PROPERTY_NAME);
+        return timer instanceof StageTimer ? (StageTimer) timer : EMPTY;
+    }
+
+    /**
+     * Store the timer in the request properties.
+     *
+     * @param propertiesDelegate request properties.
+     */
+    public void register(final PropertiesDelegate propertiesDelegate) {
+        propertiesDelegate.setProperty(PROPERTY_NAME, this);
+    }
+
+    /**
+     * Mark the start of a stage.
+     *
+     * @param stage started stage.
+     */
+    public void begin(final Stage stage) {
+        if (enabled) {
+            starts[stage.ordinal()] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark the end of a stage and add its duration to the stage timings. The call is ignored if the stage has not been
+     * {@link #begin(Stage) started}.
+     *
+     * @param stage finished stage.
+     */
+    public void end(final Stage stage) {
+        if (enabled) {
+            final int index = stage.ordinal();
+            final long start = starts[index];
+            if (start != 0) {
+                starts[index] = 0;
+                add(index, System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public void onWriteTo(final long duration) {
+        if (enabled) {
+            add(Stage.SERIALIZATION.ordinal(), duration);
+            // exclude the serialization from the running writer interceptors stage
+            final int interceptors = Stage.WRITER_INTERCEPTORS.ordinal();
+            if (starts[interceptors] != 0) {
+                starts[interceptors] += duration;
+            }
+        }
+    }
+
+    private void add(final int index, final long duration) {
+        durations[index] = Math.max(durations[index], 0) + Math.max(duration, 0);
+    }
+
+    @Override
+    public long getDuration(final Stage stage) {
+        return durations[stage.ordinal()];
+    }
+
+    /**
+     * Get the value of the {@code Server-Timing} response header containing the durations (in milliseconds) of the stages
+     * finished so far and the total time elapsed since the timer has been created.
+     *
+     * @return {@code Server-Timing} header value.
+     */
+    public String getServerTiming() {
+        final StringBuilder sb = new StringBuilder(160);
+        for (int i = 0; i < durations.length; i++) {
+            if (durations[i] >= 0) {
+                appendMetric(sb, SERVER_TIMING_NAMES[i], durations[i]);
+            }
+        }
+        appendMetric(sb, "total", enabled ? System.nanoTime() - created : 0);
+        return sb.toString();
+    }
+
+    private static void appendMetric(final StringBuilder sb, final String name, final long nanos) {
+        if (sb.length() > 0) {
+            sb.append(", ");
+        }
+        final long micros = nanos / 1000;
+        sb.append(name).append(";dur=").append(micros / 1000).append('.');
+        final long fraction = micros % 1000;
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+}
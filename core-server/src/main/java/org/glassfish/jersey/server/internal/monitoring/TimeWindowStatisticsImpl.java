@@ -46,8 +46,8 @@ import java.util.concurrent.TimeUnit;
 import org.glassfish.jersey.server.monitoring.TimeWindowStatistics;
 
 /**
- * Immutable {@link TimeWindowStatistics Time window statistics} that uses backing {@link SlidingWindowTimeReservoir} for its
- * {@code Builder} implementation.
+ * Immutable {@link TimeWindowStatistics Time window statistics} that uses backing {@link TimeReservoir} (e.g.
+ * {@link SlidingWindowTimeReservoir} or {@link HistogramTimeReservoir}) for its {@code Builder} implementation.
  *
  * @author Miroslav Fuksa
  * @author Stepan Vavra (stepan.vavra at oracle.com)
@@ -116,7 +116,7 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
 
         private TimeWindowStatisticsImpl getOrCreateEmptyStats(final long interval) {
             if (!EMPTY.containsKey(interval)) {
-                EMPTY.putIfAbsent(interval, new TimeWindowStatisticsImpl(interval, 0, -1, -1, -1, 0));
+                EMPTY.putIfAbsent(interval, new TimeWindowStatisticsImpl(interval, 0, -1, -1, -1, 0, -1, -1, -1));
             }
             return EMPTY.get(interval);
         }
@@ -129,7 +129,7 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
     private static final ConcurrentHashMap<Long, TimeWindowStatisticsImpl> EMPTY = new ConcurrentHashMap<>(6);
 
     static {
-        EMPTY.putIfAbsent(0L, new TimeWindowStatisticsImpl(0, 0, 0, 0, 0, 0));
+        EMPTY.putIfAbsent(0L, new TimeWindowStatisticsImpl(0, 0, 0, 0, 0, 0, -1, -1, -1));
     }
 
     private final long interval;
@@ -137,23 +137,36 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
     private final long minimumDuration;
     private final long maximumDuration;
     private final long averageDuration;
+    private final long medianDuration;
+    private final long percentile99Duration;
+    private final long percentile999Duration;
 
     private final long totalCount;
     private final double requestsPerSecond;
 
     private TimeWindowStatisticsImpl(final long interval, final double requestsPerSecond, final long minimumDuration,
-                                     final long maximumDuration, final long averageDuration, final long totalCount) {
+                                     final long maximumDuration, final long averageDuration, final long totalCount,
+                                     final long medianDuration, final long percentile99Duration,
+                                     final long percentile999Duration) {
         this.interval = interval;
         this.requestsPerSecond = requestsPerSecond;
         this.minimumDuration = minimumDuration;
         this.maximumDuration = maximumDuration;
         this.averageDuration = averageDuration;
         this.totalCount = totalCount;
+        this.medianDuration = medianDuration;
+        this.percentile99Duration = percentile99Duration;
+        this.percentile999Duration = percentile999Duration;
     }
 
     private TimeWindowStatisticsImpl(final long interval, final UniformTimeSnapshot snapshot) {
         this(interval, snapshot.getRate(TimeUnit.SECONDS), snapshot.getMin(), snapshot.getMax(), (long) snapshot.getMean(),
-                snapshot.size());
+                snapshot.size(), percentile(snapshot, 0.5), percentile(snapshot, 0.99), percentile(snapshot, 0.999));
+    }
+
+    private static long percentile(final UniformTimeSnapshot snapshot, final double quantile) {
+        final double value = snapshot.getValue(quantile);
+        return value < 0 ? -1 : Math.round(value);
     }
 
     @Override
@@ -191,4 +204,19 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
     public long getAverageDuration() {
         return averageDuration;
     }
+
+    @Override
+    public long getMedianDuration() {
+        return medianDuration;
+    }
+
+    @Override
+    public long get99thPercentileDuration() {
+        return percentile99Duration;
+    }
+
+    @Override
+    public long get999thPercentileDuration() {
+        return percentile999Duration;
+    }
 }
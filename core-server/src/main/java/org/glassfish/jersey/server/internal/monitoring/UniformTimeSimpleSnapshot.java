@@ -99,4 +99,10 @@ class UniformTimeSimpleSnapshot extends AbstractTimeSnapshot {
     public double getMean() {
         return mean;
     }
+
+    @Override
+    public double getValue(final double quantile) {
+        // the distribution of the values is not known
+        return -1;
+    }
 }
@@ -72,7 +72,7 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
 
     private MBeanInfo initMBeanInfo(final ExecutionStatistics initialStatistics) {
         final Map<Long, TimeWindowStatistics> statsMap = initialStatistics.getTimeWindowStatistics();
-        MBeanAttributeInfo[] attrs = new MBeanAttributeInfo[statsMap.size() * 5];
+        MBeanAttributeInfo[] attrs = new MBeanAttributeInfo[statsMap.size() * 8];
         int i = 0;
         for (final TimeWindowStatistics stats : statsMap.values()) {
             final long interval = stats.getTimeWindow();
@@ -111,6 +111,39 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
                 }
             });
 
+            name = "MedianTime[ms]_" + postfix;
+            attrs[i++] = new MBeanAttributeInfo(name, "long", "Median request processing time in milliseconds in last "
+                    + postfix + ".", true, false, false);
+
+            attributeValues.put(name, new Value<Object>() {
+                @Override
+                public Object get() {
+                    return executionStatistics.getTimeWindowStatistics().get(interval).getMedianDuration();
+                }
+            });
+
+            name = "99thPercentileTime[ms]_" + postfix;
+            attrs[i++] = new MBeanAttributeInfo(name, "long", "99th percentile of request processing time in milliseconds"
+                    + " in last " + postfix + ".", true, false, false);
+
+            attributeValues.put(name, new Value<Object>() {
+                @Override
+                public Object get() {
+                    return executionStatistics.getTimeWindowStatistics().get(interval).get99thPercentileDuration();
+                }
+            });
+
+            name = "999thPercentileTime[ms]_" + postfix;
+            attrs[i++] = new MBeanAttributeInfo(name, "long", "99.9th percentile of request processing time in milliseconds"
+                    + " in last " + postfix + ".", true, false, false);
+
+            attributeValues.put(name, new Value<Object>() {
+                @Override
+                public Object get() {
+                    return executionStatistics.getTimeWindowStatistics().get(interval).get999thPercentileDuration();
+                }
+            });
+
             name = "RequestRate[requestsPerSeconds]_" + postfix;
             attrs[i++] = new MBeanAttributeInfo(name, "double", "Average requests per second in last "
                     + postfix + ".", true, false, false);
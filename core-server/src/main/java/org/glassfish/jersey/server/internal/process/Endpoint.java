@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.server.internal.process;
 
+import org.glassfish.jersey.message.internal.EntitySizeHistogram;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ContainerResponse;
 
@@ -49,4 +50,13 @@ import org.glassfish.jersey.server.ContainerResponse;
  */
 public interface Endpoint extends Inflector<RequestProcessingContext, ContainerResponse> {
 
+    /**
+     * Get the histogram of the sizes of the serialized response entities produced by the endpoint.
+     *
+     * @return response entity size histogram or {@code null} if the sizes are not tracked by the endpoint.
+     * @see org.glassfish.jersey.server.ServerProperties#OUTBOUND_CONTENT_LENGTH_BUFFER_ADAPTIVE
+     */
+    default EntitySizeHistogram getResponseSizeHistogram() {
+        return null;
+    }
 }
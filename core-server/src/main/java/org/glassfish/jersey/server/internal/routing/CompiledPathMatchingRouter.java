@@ -0,0 +1,255 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.MatchResult;
+
+import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
+import org.glassfish.jersey.uri.PathPattern;
+import org.glassfish.jersey.uri.UriComponent;
+import org.glassfish.jersey.uri.UriTemplate;
+
+/**
+ * Matches the un-matched right-hand request path to the configured collection of path pattern matching routes
+ * using a trie of literal path segments compiled from the route {@link UriTemplate templates}.
+ * <p>
+ * Each route is registered in the trie node reached by the leading literal path segments of its template;
+ * a template variable (or any other non-literal segment) terminates the literal prefix and acts as a wildcard edge.
+ * For a request path the trie is walked as deep as the literal segments of the path permit and only the routes
+ * registered along the walked trie branch are considered as candidates. The candidates are evaluated in the original
+ * route order using their {@link PathPattern path patterns}, so the selected route as well as the pushed match result
+ * are the same as those produced by the linear {@link PathMatchingRouter}.
+ * </p>
+ */
+final class CompiledPathMatchingRouter implements Router {
+
+    private final Route[] routes;
+    private final Node root;
+    /**
+     * Linear router used when the detailed path matching tracing is enabled.
+     */
+    private final PathMatchingRouter tracingRouter;
+
+    /**
+     * Constructs a compiled path matching router.
+     *
+     * @param routes next-level request routers to be returned in case the router matching
+     *               the built router is successful.
+     */
+    CompiledPathMatchingRouter(final List<Route> routes) {
+        this.routes = routes.toArray(new Route[routes.size()]);
+        this.tracingRouter = new PathMatchingRouter(routes);
+
+        final Node builder = new Node();
+        for (int i = 0; i < this.routes.length; i++) {
+            Node node = builder;
+            for (final String segment : literalSegments(this.routes[i].routingPattern())) {
+                node = node.child(segment);
+            }
+            node.routeIndexes.add(i);
+        }
+        this.root = builder.compile(new int[0]);
+    }
+
+    @Override
+    public Router.Continuation apply(final RequestProcessingContext context) {
+        final TracingLogger tracingLogger = TracingLogger.getInstance(context.request());
+        if (tracingLogger.isLogEnabled(ServerTraceEvent.MATCH_PATH_NOT_MATCHED)) {
+            // Report every evaluated and skipped pattern the same way the linear router does.
+            return tracingRouter.apply(context);
+        }
+
+        final RoutingContext rc = context.routingContext();
+        // Peek at matching information to obtain path to match
+        final String path = rc.getFinalMatchingGroup();
+
+        tracingLogger.log(ServerTraceEvent.MATCH_PATH_FIND, path);
+
+        for (final int index : find(path).candidates) {
+            final Route route = routes[index];
+            final MatchResult m = route.routingPattern().match(path);
+            if (m != null) {
+                // Push match result information and rest of path to match
+                rc.pushMatchResult(m);
+
+                //tracing
+                tracingLogger.log(ServerTraceEvent.MATCH_PATH_SELECTED, route.routingPattern().getRegex());
+                return Router.Continuation.of(context, route.next());
+            }
+        }
+
+        // No match
+        return Router.Continuation.of(context);
+    }
+
+    /**
+     * Walk the trie along the literal segments of the path.
+     *
+     * @param path path to be matched.
+     * @return the deepest trie node reachable by the path.
+     */
+    private Node find(final String path) {
+        Node node = root;
+        if (path == null || path.length() < 2 || path.charAt(0) != '/') {
+            return node;
+        }
+
+        int start = 1;
+        while (!node.children.isEmpty()) {
+            final int end = path.indexOf('/', start);
+            final Node child = node.children.get(end < 0 ? path.substring(start) : path.substring(start, end));
+            if (child == null) {
+                break;
+            }
+            node = child;
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        return node;
+    }
+
+    /**
+     * Get the leading path segments of the pattern template that can only be matched literally.
+     * <p>
+     * The literal prefix ends with the first segment that contains a template variable. Segments with characters
+     * that are percent-encoded by the template (and matched case-insensitively by the pattern) terminate the prefix
+     * as well.
+     * </p>
+     *
+     * @param pattern routing path pattern.
+     * @return leading literal path segments.
+     */
+    static List<String> literalSegments(final PathPattern pattern) {
+        final UriTemplate template = pattern.getTemplate();
+        if (template == null || template.getTemplate().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String value = template.getTemplate();
+        final int variable = value.indexOf('{');
+        final boolean literalOnly = variable < 0;
+        if (!literalOnly) {
+            value = value.substring(0, variable);
+        }
+        if (value.startsWith("/")) {
+            value = value.substring(1);
+        }
+
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        while (start <= value.length()) {
+            int end = value.indexOf('/', start);
+            if (end < 0) {
+                // last segment is either followed by a template variable or terminates the template
+                if (!literalOnly || start == value.length()) {
+                    break;
+                }
+                end = value.length();
+            }
+
+            final String segment = value.substring(start, end);
+            final String encoded = UriComponent.contextualEncode(segment, UriComponent.Type.PATH);
+            if (encoded.indexOf('%') >= 0) {
+                break;
+            }
+            segments.add(encoded);
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    /**
+     * Trie node.
+     */
+    private static final class Node {
+
+        private Map<String, Node> children = new HashMap<>();
+        private final List<Integer> routeIndexes = new ArrayList<>();
+        /**
+         * Indexes of all routes registered in this node and its ancestors in the original route order.
+         */
+        private int[] candidates;
+
+        private Node child(final String segment) {
+            Node child = children.get(segment);
+            if (child == null) {
+                child = new Node();
+                children.put(segment, child);
+            }
+            return child;
+        }
+
+        private Node compile(final int[] inherited) {
+            candidates = merge(inherited, routeIndexes);
+            if (children.isEmpty()) {
+                children = Collections.emptyMap();
+            } else {
+                for (final Node child : children.values()) {
+                    child.compile(candidates);
+                }
+            }
+            return this;
+        }
+
+        private static int[] merge(final int[] inherited, final List<Integer> own) {
+            final int[] merged = new int[inherited.length + own.size()];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < inherited.length || j < own.size()) {
+                if (j == own.size() || (i < inherited.length && inherited[i] < own.get(j))) {
+                    merged[k++] = inherited[i++];
+                } else {
+                    merged[k++] = own.get(j++);
+                }
+            }
+            return merged;
+        }
+    }
+}
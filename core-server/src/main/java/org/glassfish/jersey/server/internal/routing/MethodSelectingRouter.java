@@ -42,6 +42,7 @@ package org.glassfish.jersey.server.internal.routing;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -51,6 +52,7 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -62,10 +64,13 @@ import javax.ws.rs.NotAllowedException;
 import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.internal.guava.Primitives;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.ReaderModel;
@@ -138,6 +143,9 @@ final class MethodSelectingRouter implements Router {
     private final Map<String, List<ConsumesProducesAcceptor>> consumesProducesAcceptors;
     private final Router router;
 
+    private final Cache<SelectionCacheKey, MethodSelection> selectionCache;
+    private final MethodSelectionCacheCounter cacheCounter;
+
     /**
      * Create a new {@code MethodSelectingRouter} for all the methods on the same path.
      *
@@ -146,9 +154,19 @@ final class MethodSelectingRouter implements Router {
      *
      * @param workers        message body workers.
      * @param methodRoutings [method model, method methodAcceptorPair] pairs.
+     * @param cacheSize      maximum number of cached method selection results, a value lower than or equal to zero
+     *                       disables the cache.
+     * @param cacheCounter   counter of method selection cache hits and misses.
      */
-    MethodSelectingRouter(MessageBodyWorkers workers, List<MethodRouting> methodRoutings) {
+    MethodSelectingRouter(MessageBodyWorkers workers,
+                          List<MethodRouting> methodRoutings,
+                          int cacheSize,
+                          MethodSelectionCacheCounter cacheCounter) {
         this.workers = workers;
+        this.cacheCounter = cacheCounter;
+        this.selectionCache = cacheSize > 0
+                ? CacheBuilder.newBuilder().maximumSize(cacheSize).<SelectionCacheKey, MethodSelection>build()
+                : null;
 
         this.consumesProducesAcceptors = new HashMap<>();
 
@@ -356,6 +374,68 @@ final class MethodSelectingRouter implements Router {
         }
     }
 
+    /**
+     * Result of a successful method selection for a combination of request method, {@code Content-Type}
+     * and {@code Accept} headers.
+     */
+    private static final class MethodSelection {
+
+        final RequestSpecificConsumesProducesAcceptor selected;
+        final List<AcceptableMediaType> acceptableMediaTypes;
+        /**
+         * Response media type that does not depend on the returned entity, {@code null} if the media type
+         * has to be determined from the entity and the available writers.
+         */
+        final MediaType preSelectedResponseType;
+
+        MethodSelection(final RequestSpecificConsumesProducesAcceptor selected,
+                        final List<AcceptableMediaType> acceptableMediaTypes) {
+            this.selected = selected;
+            this.acceptableMediaTypes = acceptableMediaTypes;
+            this.preSelectedResponseType = usePreSelectedMediaType(selected, acceptableMediaTypes)
+                    ? selected.produces.combinedType : null;
+        }
+    }
+
+    /**
+     * Method selection cache key - request method and the raw values of {@code Content-Type}
+     * and {@code Accept} headers.
+     */
+    private static final class SelectionCacheKey {
+
+        private final String method;
+        private final List<String> contentType;
+        private final List<String> accept;
+        private final int hash;
+
+        SelectionCacheKey(final String method, final List<String> contentType, final List<String> accept) {
+            this.method = method;
+            this.contentType = contentType;
+            this.accept = accept;
+            this.hash = Objects.hash(method, contentType, accept);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectionCacheKey)) {
+                return false;
+            }
+            final SelectionCacheKey that = (SelectionCacheKey) o;
+            return hash == that.hash
+                    && method.equals(that.method)
+                    && Objects.equals(contentType, that.contentType)
+                    && Objects.equals(accept, that.accept);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     private Router createInternalRouter() {
         return new Router() {
 
@@ -466,6 +546,72 @@ final class MethodSelectingRouter implements Router {
                     Response.status(Status.METHOD_NOT_ALLOWED).allow(consumesProducesAcceptors.keySet()).build());
         }
 
+        final MethodSelection selection;
+        if (selectionCache == null) {
+            selection = selectMethod(request, acceptors);
+        } else {
+            final List<String> contentType = request.getRequestHeader(HttpHeaders.CONTENT_TYPE);
+            final List<String> accept = request.getRequestHeader(HttpHeaders.ACCEPT);
+
+            final MethodSelection cached = selectionCache.getIfPresent(new SelectionCacheKey(request.getMethod(),
+                    contentType, accept));
+            if (cached != null) {
+                cacheCounter.hit();
+                selection = cached;
+            } else {
+                cacheCounter.miss();
+                selection = selectMethod(request, acceptors);
+                // Copy the header values, the request headers are mutable.
+                selectionCache.put(new SelectionCacheKey(request.getMethod(),
+                        contentType == null ? null : new ArrayList<>(contentType),
+                        accept == null ? null : new ArrayList<>(accept)), selection);
+            }
+        }
+
+        context.push(new Function<ContainerResponse, ContainerResponse>() {
+            @Override
+            public ContainerResponse apply(final ContainerResponse responseContext) {
+                // we only need to compute and set the effective media type if:
+                // - it hasn't been set already, and
+                // - either there is an entity, or we are responding to a HEAD request
+                if (responseContext.getMediaType() == null
+                        && ((responseContext.hasEntity() || HttpMethod.HEAD.equals(request.getMethod())))) {
+
+                    MediaType effectiveResponseType = selection.preSelectedResponseType != null
+                            ? selection.preSelectedResponseType
+                            : determineResponseMediaType(
+                                    responseContext.getEntityClass(),
+                                    responseContext.getEntityType(),
+                                    selection.selected,
+                                    selection.acceptableMediaTypes);
+
+                    if (MediaTypes.isWildcard(effectiveResponseType)) {
+                        if (effectiveResponseType.isWildcardType()
+                                || "application".equalsIgnoreCase(effectiveResponseType.getType())) {
+                            effectiveResponseType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
+                        } else {
+                            throw new NotAcceptableException();
+                        }
+                    }
+                    responseContext.setMediaType(effectiveResponseType);
+                }
+
+                return responseContext;
+            }
+        });
+        return selection.selected.methodRouting.routers;
+    }
+
+    /**
+     * Negotiate the resource method for the request among the acceptors bound to the request HTTP method.
+     *
+     * @param request   request to select the resource method for.
+     * @param acceptors acceptors bound to the request HTTP method.
+     * @return result of the method selection.
+     * @throws NotSupportedException  if none of the resource methods consumes the request entity media type.
+     * @throws NotAcceptableException if none of the resource methods produces an acceptable media type.
+     */
+    private MethodSelection selectMethod(final ContainerRequest request, final List<ConsumesProducesAcceptor> acceptors) {
         final List<ConsumesProducesAcceptor> satisfyingAcceptors = new LinkedList<>();
         final Set<ResourceMethod> differentInvokableMethods = Collections.newSetFromMap(new IdentityHashMap<>());
         for (ConsumesProducesAcceptor cpi : acceptors) {
@@ -487,43 +633,12 @@ final class MethodSelectingRouter implements Router {
                 differentInvokableMethods.size() == 1);
 
         if (methodSelector.selected != null) {
-            final RequestSpecificConsumesProducesAcceptor selected = methodSelector.selected;
-
             if (methodSelector.sameFitnessAcceptors != null) {
                 reportMethodSelectionAmbiguity(acceptableMediaTypes, methodSelector.selected,
                         methodSelector.sameFitnessAcceptors);
             }
 
-            context.push(new Function<ContainerResponse, ContainerResponse>() {
-                @Override
-                public ContainerResponse apply(final ContainerResponse responseContext) {
-                    // we only need to compute and set the effective media type if:
-                    // - it hasn't been set already, and
-                    // - either there is an entity, or we are responding to a HEAD request
-                    if (responseContext.getMediaType() == null
-                            && ((responseContext.hasEntity() || HttpMethod.HEAD.equals(request.getMethod())))) {
-
-                        MediaType effectiveResponseType = determineResponseMediaType(
-                                responseContext.getEntityClass(),
-                                responseContext.getEntityType(),
-                                methodSelector.selected,
-                                acceptableMediaTypes);
-
-                        if (MediaTypes.isWildcard(effectiveResponseType)) {
-                            if (effectiveResponseType.isWildcardType()
-                                    || "application".equalsIgnoreCase(effectiveResponseType.getType())) {
-                                effectiveResponseType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
-                            } else {
-                                throw new NotAcceptableException();
-                            }
-                        }
-                        responseContext.setMediaType(effectiveResponseType);
-                    }
-
-                    return responseContext;
-                }
-            });
-            return selected.methodRouting.routers;
+            return new MethodSelection(methodSelector.selected, acceptableMediaTypes);
         }
 
         throw new NotAcceptableException();
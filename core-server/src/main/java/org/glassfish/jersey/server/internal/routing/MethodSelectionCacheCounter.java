@@ -0,0 +1,105 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.spi.inject.AbstractBinder;
+
+/**
+ * Application-wide counter of hits and misses of the resource method selection caches maintained
+ * by the {@link MethodSelectingRouter method selecting routers}.
+ * <p>
+ * The counter is bound as a singleton in the application injection manager, so it is re-created together
+ * with the routers (and their caches) whenever the application is (re-)loaded.
+ * </p>
+ */
+public final class MethodSelectionCacheCounter {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Record a method selection cache hit.
+     */
+    void hit() {
+        hits.increment();
+    }
+
+    /**
+     * Record a method selection cache miss.
+     */
+    void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Get the number of requests for which the resource method and the response media type
+     * negotiation result was found in the cache.
+     *
+     * @return number of method selection cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of requests for which the resource method and the response media type
+     * had to be negotiated.
+     *
+     * @return number of method selection cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * A binder that binds the {@link MethodSelectionCacheCounter}.
+     */
+    public static class Binder extends AbstractBinder {
+
+        @Override
+        protected void configure() {
+            bindAsContract(MethodSelectionCacheCounter.class).in(Singleton.class);
+        }
+    }
+}
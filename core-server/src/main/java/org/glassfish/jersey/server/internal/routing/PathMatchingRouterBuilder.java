@@ -115,4 +115,15 @@ final class PathMatchingRouterBuilder implements PathToRouterBuilder {
         return new PathMatchingRouter(acceptedRoutes());
     }
 
+    /**
+     * Build a {@link org.glassfish.jersey.server.internal.routing.Router hierarchical request path matching processor}
+     * that selects the matching route using a trie compiled from the literal path segments of the routing patterns.
+     *
+     * @return hierarchical request path matching processor (i.e. router).
+     * @see CompiledPathMatchingRouter
+     */
+    public CompiledPathMatchingRouter buildCompiled() {
+        return new CompiledPathMatchingRouter(acceptedRoutes());
+    }
+
 }
@@ -44,9 +44,11 @@ import org.glassfish.jersey.process.internal.AbstractChainableStage;
 import org.glassfish.jersey.process.internal.Stage;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.monitoring.StageTimer;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 
 /**
  * Request pre-processing stage that encapsulates hierarchical resource matching
@@ -88,6 +90,8 @@ final class RoutingStage extends AbstractChainableStage<RequestProcessingContext
 
         final TracingLogger tracingLogger = TracingLogger.getInstance(request);
         final long timestamp = tracingLogger.timestamp(ServerTraceEvent.MATCH_SUMMARY);
+        final StageTimer stageTimer = StageTimer.getInstance(request);
+        stageTimer.begin(StageTimings.Stage.ROUTING);
         try {
             final RoutingResult result = _apply(context, routingRoot);
 
@@ -99,6 +103,7 @@ final class RoutingStage extends AbstractChainableStage<RequestProcessingContext
 
             return Continuation.of(result.context, nextStage);
         } finally {
+            stageTimer.end(StageTimings.Stage.ROUTING);
             tracingLogger.logDuration(ServerTraceEvent.MATCH_SUMMARY, timestamp);
         }
     }
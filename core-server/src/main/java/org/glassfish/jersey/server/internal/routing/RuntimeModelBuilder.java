@@ -49,6 +49,7 @@ import javax.ws.rs.core.Configuration;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.JerseyResourceContext;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.process.Endpoint;
@@ -73,6 +74,9 @@ final class RuntimeModelBuilder {
     private final ResourceMethodInvoker.Builder resourceMethodInvokerBuilder;
     private final MessageBodyWorkers workers;
     private final ProcessingProviders processingProviders;
+    private final boolean compiledPathMatching;
+    private final int methodSelectionCacheSize;
+    private final MethodSelectionCacheCounter methodSelectionCacheCounter;
 
     // SubResourceLocator Model Builder.
     private final Value<RuntimeLocatorModelBuilder> locatorBuilder;
@@ -98,6 +102,15 @@ final class RuntimeModelBuilder {
         this.resourceMethodInvokerBuilder = resourceMethodInvokerBuilder;
         this.workers = workers;
         this.processingProviders = processingProviders;
+        this.compiledPathMatching = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.ROUTING_PATH_MATCHING_COMPILED,
+                Boolean.FALSE,
+                Boolean.class);
+        this.methodSelectionCacheSize = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.METHOD_SELECTION_CACHE_SIZE,
+                ServerProperties.METHOD_SELECTION_DEFAULT_CACHE_SIZE,
+                Integer.class);
+        this.methodSelectionCacheCounter = instanceManager.getInstance(MethodSelectionCacheCounter.class);
 
         this.locatorBuilder = Values.lazy(new Value<RuntimeLocatorModelBuilder>() {
             @Override
@@ -134,7 +147,7 @@ final class RuntimeModelBuilder {
     private Router createRootRouter(final PathMatchingRouterBuilder lastRoutedBuilder, final boolean subResourceMode) {
         final Router routingRoot;
         if (lastRoutedBuilder != null) {
-            routingRoot = lastRoutedBuilder.build();
+            routingRoot = buildPathMatchingRouter(lastRoutedBuilder);
         } else {
             /**
              * Create an empty routing root that accepts any request, does not do
@@ -171,7 +184,7 @@ final class RuntimeModelBuilder {
             // resource methods
             if (!resource.getResourceMethods().isEmpty()) {
                 final List<MethodRouting> methodRoutings = createResourceMethodRouters(resource, subResourceMode);
-                final Router methodSelectingRouter = new MethodSelectingRouter(workers, methodRoutings);
+                final Router methodSelectingRouter = createMethodSelectingRouter(methodRoutings);
                 if (subResourceMode) {
                     currentRouterBuilder = startNextRoute(currentRouterBuilder, PathPattern.END_OF_PATH_PATTERN)
                             .to(resourcePushingRouter)
@@ -200,7 +213,7 @@ final class RuntimeModelBuilder {
                         srRoutedBuilder = startNextRoute(srRoutedBuilder, childClosedPattern)
                                 .to(uriPushingRouter)
                                 .to(childResourcePushingRouter)
-                                .to(new MethodSelectingRouter(workers, childMethodRoutings));
+                                .to(createMethodSelectingRouter(childMethodRoutings));
                     }
 
                     // sub resource locator
@@ -232,7 +245,7 @@ final class RuntimeModelBuilder {
             }
 
             if (srRoutedBuilder != null) {
-                final Router methodRouter = srRoutedBuilder.build();
+                final Router methodRouter = buildPathMatchingRouter(srRoutedBuilder);
 
                 if (subResourceMode) {
                     currentRouterBuilder = startNextRoute(currentRouterBuilder, PathPattern.OPEN_ROOT_PATH_PATTERN)
@@ -312,6 +325,14 @@ final class RuntimeModelBuilder {
         return methodRoutings.isEmpty() ? Collections.<MethodRouting>emptyList() : methodRoutings;
     }
 
+    private Router buildPathMatchingRouter(final PathMatchingRouterBuilder builder) {
+        return compiledPathMatching ? builder.buildCompiled() : builder.build();
+    }
+
+    private Router createMethodSelectingRouter(final List<MethodRouting> methodRoutings) {
+        return new MethodSelectingRouter(workers, methodRoutings, methodSelectionCacheSize, methodSelectionCacheCounter);
+    }
+
     private PathToRouterBuilder startNextRoute(final PathMatchingRouterBuilder currentRouterBuilder, PathPattern routingPattern) {
         return currentRouterBuilder == null
                 ? PathMatchingRouterBuilder.newRoute(routingPattern) : currentRouterBuilder.route(routingPattern);
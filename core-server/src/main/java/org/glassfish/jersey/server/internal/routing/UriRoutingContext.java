@@ -81,9 +81,15 @@ public class UriRoutingContext implements RoutingContext {
     private final LinkedList<Object> matchedResources = new LinkedList<>();
     private final LinkedList<UriTemplate> templates = new LinkedList<>();
 
-    private final MultivaluedHashMap<String, String> encodedTemplateValues = new MultivaluedHashMap<>();
-    private final ImmutableMultivaluedMap<String, String> encodedTemplateValuesView =
-            new ImmutableMultivaluedMap<>(encodedTemplateValues);
+    /**
+     * First and last of the matched templates (with template variables) that have not been resolved into the path
+     * parameter maps yet. Path parameter values are resolved lazily, only when requested.
+     */
+    private UnresolvedTemplate firstUnresolved;
+    private UnresolvedTemplate lastUnresolved;
+
+    private MultivaluedHashMap<String, String> encodedTemplateValues;
+    private ImmutableMultivaluedMap<String, String> encodedTemplateValuesView;
 
     private final LinkedList<String> paths = new LinkedList<>();
     private final LinkedList<RuntimeResource> matchedRuntimeResources = new LinkedList<>();
@@ -169,6 +175,37 @@ public class UriRoutingContext implements RoutingContext {
     }
 
     private void pushMatchedTemplateValues(final UriTemplate template, final MatchResult matchResult) {
+        if (template.getTemplateVariables().isEmpty()) {
+            return;
+        }
+
+        final UnresolvedTemplate unresolved = new UnresolvedTemplate(template, matchResult);
+        if (lastUnresolved == null) {
+            firstUnresolved = unresolved;
+        } else {
+            lastUnresolved.next = unresolved;
+        }
+        lastUnresolved = unresolved;
+    }
+
+    /**
+     * Resolve the values of template variables of all the matched templates pushed since the last resolution
+     * into the path parameter maps.
+     */
+    private void resolveMatchedTemplateValues() {
+        if (encodedTemplateValues == null) {
+            encodedTemplateValues = new MultivaluedHashMap<>();
+            encodedTemplateValuesView = new ImmutableMultivaluedMap<>(encodedTemplateValues);
+        }
+
+        for (UnresolvedTemplate unresolved = firstUnresolved; unresolved != null; unresolved = unresolved.next) {
+            resolveMatchedTemplateValues(unresolved.template, unresolved.matchResult);
+        }
+        firstUnresolved = null;
+        lastUnresolved = null;
+    }
+
+    private void resolveMatchedTemplateValues(final UriTemplate template, final MatchResult matchResult) {
         int i = 1;
         for (final String templateVariable : template.getTemplateVariables()) {
             final String value = matchResult.group(i++);
@@ -299,6 +336,8 @@ public class UriRoutingContext implements RoutingContext {
 
     @Override
     public MultivaluedMap<String, String> getPathParameters(final boolean decode) {
+        resolveMatchedTemplateValues();
+
         if (decode) {
             if (decodedTemplateValuesView != null) {
                 return decodedTemplateValuesView;
@@ -516,4 +555,19 @@ public class UriRoutingContext implements RoutingContext {
 
         return UriTemplate.relativize(getRequestUri(), uri);
     }
+
+    /**
+     * Matched template and its match result queued for the resolution of template variable values.
+     */
+    private static final class UnresolvedTemplate {
+
+        private final UriTemplate template;
+        private final MatchResult matchResult;
+        private UnresolvedTemplate next;
+
+        private UnresolvedTemplate(final UriTemplate template, final MatchResult matchResult) {
+            this.template = template;
+            this.matchResult = matchResult;
+        }
+    }
 }
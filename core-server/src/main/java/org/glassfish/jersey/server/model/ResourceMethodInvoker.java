@@ -73,6 +73,7 @@ import javax.inject.Inject;
 import org.glassfish.jersey.internal.inject.Injections;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.Producer;
+import org.glassfish.jersey.message.internal.EntitySizeHistogram;
 import org.glassfish.jersey.model.ContractProvider;
 import org.glassfish.jersey.model.NameBound;
 import org.glassfish.jersey.model.internal.ComponentBag;
@@ -81,6 +82,7 @@ import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
@@ -114,6 +116,7 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     private final List<RankedProvider<ContainerResponseFilter>> responseFilters = new ArrayList<>();
     private final Iterable<ReaderInterceptor> readerInterceptors;
     private final Iterable<WriterInterceptor> writerInterceptors;
+    private final EntitySizeHistogram responseSizeHistogram;
 
     /**
      * Resource method invoker "assisted" injection helper.
@@ -257,6 +260,10 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         this.requestFilters.addAll(_requestFilters);
         this.responseFilters.addAll(_responseFilters);
 
+        this.responseSizeHistogram = ServerProperties.getValue(globalConfig.getProperties(),
+                ServerProperties.OUTBOUND_CONTENT_LENGTH_BUFFER_ADAPTIVE, Boolean.FALSE, Boolean.class)
+                ? new EntitySizeHistogram() : null;
+
         // pre-compute & cache invocation properties
         this.methodAnnotations = invocable.getHandlingMethod().getDeclaredAnnotations();
         this.invocableResponseType = invocable.getResponseType();
@@ -313,6 +320,11 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     }
 
 
+    @Override
+    public EntitySizeHistogram getResponseSizeHistogram() {
+        return responseSizeHistogram;
+    }
+
     @Override
     public Method getResourceMethod() {
         return resourceMethod;
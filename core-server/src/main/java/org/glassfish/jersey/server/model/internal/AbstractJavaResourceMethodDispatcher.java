@@ -58,8 +58,10 @@ import org.glassfish.jersey.server.SubjectSecurityContext;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
 import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
+import org.glassfish.jersey.server.internal.monitoring.StageTimer;
 import org.glassfish.jersey.server.internal.process.MappableException;
 import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.monitoring.StageTimings;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
 
 /**
@@ -95,9 +97,13 @@ abstract class AbstractJavaResourceMethodDispatcher implements ResourceMethodDis
     @Override
     public final Response dispatch(Object resource, ContainerRequest request) throws ProcessingException {
         Response response = null;
+        // parameter values are resolved by the dispatcher implementation before the method is invoked
+        StageTimer.getInstance(request).begin(StageTimings.Stage.PARAMETER_INJECTION);
         try {
             response = doDispatch(resource, request);
         } finally {
+            // no-op unless parameter resolution failed before the method invocation
+            StageTimer.getInstance(request).end(StageTimings.Stage.PARAMETER_INJECTION);
             TracingLogger.getInstance(request).log(ServerTraceEvent.DISPATCH_RESPONSE, response);
         }
         return response;
@@ -128,6 +134,8 @@ abstract class AbstractJavaResourceMethodDispatcher implements ResourceMethodDis
      */
     final Object invoke(final ContainerRequest containerRequest, final Object resource, final Object... args)
             throws ProcessingException {
+        final StageTimer stageTimer = StageTimer.getInstance(containerRequest);
+        stageTimer.end(StageTimings.Stage.PARAMETER_INJECTION);
         try {
             // Validate resource class & method input parameters.
             if (validator != null) {
@@ -139,6 +147,7 @@ abstract class AbstractJavaResourceMethodDispatcher implements ResourceMethodDis
                 public Object run() {
                     final TracingLogger tracingLogger = TracingLogger.getInstance(containerRequest);
                     final long timestamp = tracingLogger.timestamp(ServerTraceEvent.METHOD_INVOKE);
+                    stageTimer.begin(StageTimings.Stage.METHOD_INVOCATION);
                     try {
 
                         return methodHandler.invoke(resource, method, args);
@@ -150,6 +159,7 @@ abstract class AbstractJavaResourceMethodDispatcher implements ResourceMethodDis
                     } catch (Throwable t) {
                         throw new ProcessingException(t);
                     } finally {
+                        stageTimer.end(StageTimings.Stage.METHOD_INVOCATION);
                         tracingLogger.logDuration(ServerTraceEvent.METHOD_INVOKE, timestamp, resource, method);
                     }
                 }
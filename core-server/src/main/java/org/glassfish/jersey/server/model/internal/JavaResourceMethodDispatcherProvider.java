@@ -45,6 +45,7 @@ import java.lang.reflect.Type;
 import java.util.List;
 
 import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.Response;
 
@@ -74,6 +75,10 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
     public ResourceMethodDispatcher create(final Invocable resourceMethod,
             final InvocationHandler invocationHandler,
             final ConfiguredValidator validator) {
+        final InvocationHandler handler =
+                MethodHandleInvocationHandler.isEnabled(instanceManager.getInstance(Configuration.class))
+                ? MethodHandleInvocationHandler.link(resourceMethod, invocationHandler) : invocationHandler;
+
         final List<ParamValueFactoryWithSource<?>> valueProviders =
                 ParameterValueHelper.createValueProviders(instanceManager, resourceMethod);
         final Class<?> returnType = resourceMethod.getHandlingMethod().getReturnType();
@@ -81,18 +86,18 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
         ResourceMethodDispatcher resourceMethodDispatcher;
         if (Response.class.isAssignableFrom(returnType)) {
             resourceMethodDispatcher =
-                    new ResponseOutInvoker(resourceMethod, invocationHandler, valueProviders, validator);
+                    new ResponseOutInvoker(resourceMethod, handler, valueProviders, validator);
         } else if (returnType != void.class) {
             if (returnType == Object.class || GenericEntity.class.isAssignableFrom(returnType)) {
                 resourceMethodDispatcher =
-                        new ObjectOutInvoker(resourceMethod, invocationHandler, valueProviders, validator);
+                        new ObjectOutInvoker(resourceMethod, handler, valueProviders, validator);
             } else {
                 resourceMethodDispatcher =
-                        new TypeOutInvoker(resourceMethod, invocationHandler, valueProviders, validator);
+                        new TypeOutInvoker(resourceMethod, handler, valueProviders, validator);
             }
         } else {
             resourceMethodDispatcher
-                    = new VoidOutInvoker(resourceMethod, invocationHandler, valueProviders, validator);
+                    = new VoidOutInvoker(resourceMethod, handler, valueProviders, validator);
         }
 
         // Inject validator.
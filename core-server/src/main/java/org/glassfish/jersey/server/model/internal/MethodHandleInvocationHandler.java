@@ -0,0 +1,183 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.Invocable;
+
+/**
+ * {@link InvocationHandler Invocation handler} that invokes a resource method through a {@link MethodHandle method handle}
+ * linked when the handler is created, instead of invoking the method reflectively.
+ * <p>
+ * The handler is a drop-in replacement of the default reflective invocation handler: exceptions thrown by the invoked
+ * method are wrapped into an {@link InvocationTargetException} and arguments that do not match the invoked method
+ * signature are reported as an {@link IllegalArgumentException}, exactly as {@link Method#invoke(Object, Object...)}
+ * does.
+ * </p>
+ *
+ * @see org.glassfish.jersey.server.ServerProperties#RESOURCE_METHOD_HANDLE_DISPATCH
+ */
+final class MethodHandleInvocationHandler implements InvocationHandler {
+
+    private final Method method;
+    private final MethodHandle handle;
+
+    /**
+     * Check whether the resource methods should be dispatched through method handles.
+     *
+     * @param configuration application configuration, may be {@code null}.
+     * @return {@code true} if the method handle dispatch is enabled, {@code false} otherwise.
+     */
+    static boolean isEnabled(final Configuration configuration) {
+        return configuration != null && ServerProperties.getValue(configuration.getProperties(),
+                ServerProperties.RESOURCE_METHOD_HANDLE_DISPATCH, Boolean.FALSE, Boolean.class);
+    }
+
+    /**
+     * Replace the default reflective invocation handler of the resource method with a method handle based one.
+     *
+     * @param resourceMethod invocable resource method.
+     * @param handler        invocation handler provided for the resource method.
+     * @return method handle based invocation handler if the provided handler is the default reflective one and the
+     * resource method can be invoked through a method handle, the provided handler otherwise.
+     */
+    static InvocationHandler link(final Invocable resourceMethod, final InvocationHandler handler) {
+        if (!ResourceMethodInvocationHandlerFactory.isDefaultHandler(handler)) {
+            return handler;
+        }
+        final InvocationHandler linked = create(resourceMethod);
+        return linked != null ? linked : handler;
+    }
+
+    /**
+     * Create a method handle based invocation handler for the definition method of the given resource method.
+     *
+     * @param resourceMethod invocable resource method.
+     * @return method handle based invocation handler or {@code null} if the method cannot be invoked through a method
+     * handle (in which case the reflective invocation handler has to be used).
+     */
+    static InvocationHandler create(final Invocable resourceMethod) {
+        final Method method = resourceMethod.getDefinitionMethod();
+        if (method == null || Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+
+        final MethodHandle handle;
+        try {
+            // Public lookup performs the same access checks as a reflective invocation of a non-accessible method.
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (final IllegalAccessException e) {
+            return null;
+        }
+
+        final int parameterCount = method.getParameterCount();
+        return new MethodHandleInvocationHandler(method, handle
+                .asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount));
+    }
+
+    private MethodHandleInvocationHandler(final Method method, final MethodHandle handle) {
+        this.method = method;
+        this.handle = handle;
+    }
+
+    @Override
+    public Object invoke(final Object target, final Method ignored, final Object[] args) throws Throwable {
+        if (target == null) {
+            throw new NullPointerException();
+        }
+
+        try {
+            return (Object) handle.invokeExact(target, args);
+        } catch (final Throwable t) {
+            // Argument conversion failures are indistinguishable from exceptions thrown by the method itself,
+            // check the arguments only when the invocation fails.
+            checkArguments(target, args);
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private void checkArguments(final Object target, final Object[] args) {
+        if (!method.getDeclaringClass().isInstance(target)) {
+            throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        if ((args == null ? 0 : args.length) != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            final Class<?> parameterType = parameterTypes[i];
+            if (!parameterType.isPrimitive()) {
+                if (args[i] != null && !parameterType.isInstance(args[i])) {
+                    throw new IllegalArgumentException("argument type mismatch");
+                }
+            } else if (args[i] == null || !isConvertible(args[i], parameterType)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+    }
+
+    private static boolean isConvertible(final Object value, final Class<?> primitiveType) {
+        try {
+            // Unboxing possibly followed by a widening primitive conversion - the same conversion Method#invoke applies.
+            MethodHandles.identity(primitiveType).asType(MethodType.methodType(primitiveType, Object.class)).invoke(value);
+            return true;
+        } catch (final Throwable t) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+}
@@ -98,4 +98,14 @@ public final class ResourceMethodInvocationHandlerFactory implements ResourceMet
 
         return DEFAULT_HANDLER;
     }
+
+    /**
+     * Check whether the invocation handler is the default reflective invocation handler provided by the factory.
+     *
+     * @param handler invocation handler to be checked.
+     * @return {@code true} if the handler is the default invocation handler, {@code false} otherwise.
+     */
+    static boolean isDefaultHandler(final InvocationHandler handler) {
+        return handler == DEFAULT_HANDLER;
+    }
 }
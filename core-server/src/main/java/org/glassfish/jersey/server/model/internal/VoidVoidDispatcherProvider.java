@@ -43,9 +43,11 @@ import java.lang.reflect.InvocationHandler;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.container.ResourceContext;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.glassfish.jersey.server.ContainerRequest;
@@ -53,6 +55,7 @@ import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
 import org.glassfish.jersey.server.model.Invocable;
 import org.glassfish.jersey.server.spi.ValidationInterceptor;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
+import org.glassfish.jersey.spi.inject.InstanceManager;
 
 /**
  * Specific resource method dispatcher for dispatching requests to a void
@@ -68,6 +71,9 @@ final class VoidVoidDispatcherProvider implements ResourceMethodDispatcher.Provi
     @Context
     private ResourceContext resourceContext;
 
+    @Inject
+    private InstanceManager instanceManager;
+
     private static class VoidToVoidDispatcher extends AbstractJavaResourceMethodDispatcher {
 
         private VoidToVoidDispatcher(final Invocable resourceMethod,
@@ -91,6 +97,10 @@ final class VoidVoidDispatcherProvider implements ResourceMethodDispatcher.Provi
             return null;
         }
 
-        return resourceContext.initResource(new VoidToVoidDispatcher(resourceMethod, handler, validator));
+        final InvocationHandler invocationHandler =
+                MethodHandleInvocationHandler.isEnabled(instanceManager.getInstance(Configuration.class))
+                ? MethodHandleInvocationHandler.link(resourceMethod, handler) : handler;
+
+        return resourceContext.initResource(new VoidToVoidDispatcher(resourceMethod, invocationHandler, validator));
     }
 }
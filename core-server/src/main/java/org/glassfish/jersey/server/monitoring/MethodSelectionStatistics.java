@@ -0,0 +1,77 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * Monitoring statistics of the resource method selection cache.
+ * <p/>
+ * Jersey caches the result of the resource method selection (content negotiation) for each combination
+ * of the request method, the {@code Content-Type} and the {@code Accept} request headers. The statistics
+ * show how often the cached results have been used since the application has been (re-)loaded.
+ *
+ * @see org.glassfish.jersey.server.ServerProperties#METHOD_SELECTION_CACHE_SIZE
+ * @see MonitoringStatistics See monitoring statistics for general details about statistics.
+ * @since 3.0
+ */
+public interface MethodSelectionStatistics {
+
+    /**
+     * Get the number of requests for which the result of the resource method selection was found in the cache.
+     *
+     * @return Number of method selection cache hits.
+     */
+    public long getCacheHitCount();
+
+    /**
+     * Get the number of requests for which the resource method had to be selected (negotiated) because
+     * there was no cached result available.
+     *
+     * @return Number of method selection cache misses.
+     */
+    public long getCacheMissCount();
+
+    /**
+     * Get the ratio of the method selection cache hits to all the method selection cache lookups.
+     *
+     * @return Cache hit ratio in the range of {@code 0.0} to {@code 1.0}; {@code 0.0} if the cache has not been
+     * used yet.
+     */
+    public double getCacheHitRatio();
+}
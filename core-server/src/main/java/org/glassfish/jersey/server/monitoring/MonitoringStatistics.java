@@ -138,6 +138,46 @@ public interface MonitoringStatistics {
      */
     public ExceptionMapperStatistics getExceptionMapperStatistics();
 
+    /**
+     * Get statistics of the resource method selection cache.
+     * <p/>
+     * Default implementation returns statistics of a cache that has not been used.
+     *
+     * @return Method selection cache statistics.
+     * @since 3.0
+     */
+    public default MethodSelectionStatistics getMethodSelectionStatistics() {
+        return new MethodSelectionStatistics() {
+            @Override
+            public long getCacheHitCount() {
+                return 0;
+            }
+
+            @Override
+            public long getCacheMissCount() {
+                return 0;
+            }
+
+            @Override
+            public double getCacheHitRatio() {
+                return 0.0;
+            }
+        };
+    }
+
+    /**
+     * Get the total number of request monitoring events that were dropped and are therefore not included in the
+     * statistics. Events are dropped when requests finish faster than the events can be processed into statistics.
+     * <p/>
+     * Default implementation returns {@code 0}.
+     *
+     * @return Number of dropped request events since the application has been started.
+     * @since 3.0
+     */
+    public default long getDroppedEventCount() {
+        return 0;
+    }
+
     /**
      * Get the immutable consistent snapshot of the monitoring statistics. Working with snapshots might
      * have negative performance impact as snapshot must be created but ensures consistency of data over time.
@@ -299,4 +299,19 @@ public interface RequestEvent {
      *         has not been written yet or when writing of response failed.
      */
     public boolean isResponseWritten();
+
+    /**
+     * Get the durations of the request processing stages executed so far. The returned instance is updated while
+     * the request is being processed; all the stages are recorded once the {@link Type#FINISHED} event is triggered.
+     * Stages are recorded only if monitoring statistics or the {@code Server-Timing} header are enabled, see
+     * {@link StageTimings}.
+     * <p/>
+     * Default implementation returns timings in which no stage has been executed.
+     *
+     * @return Timings of the request processing stages.
+     * @since 3.0
+     */
+    public default StageTimings getStageTimings() {
+        return stage -> -1;
+    }
 }
@@ -90,6 +90,22 @@ public interface ResourceMethodStatistics {
      */
     public ResourceMethod getResourceMethod();
 
+    /**
+     * Get the average durations of the request processing stages of requests that were matched to the resource method
+     * defined by {@link #getResourceMethod()}. Durations are averaged over all requests processed since the
+     * application has been started; a stage that has never been executed for the resource method has the duration
+     * {@code -1}. The stage timings tell whether the processing time is spent in the resource method or in
+     * the surrounding processing like filters, interceptors or entity serialization.
+     * <p/>
+     * Default implementation returns timings in which no stage has been executed.
+     *
+     * @return Average timings of the request processing stages.
+     * @since 3.0
+     */
+    public default StageTimings getAverageStageTimings() {
+        return stage -> -1;
+    }
+
     /**
      * Get the immutable and consistent snapshot of the monitoring statistics. Working with snapshots might
      * have negative performance impact as snapshot must be created but ensures consistency of data over time.
@@ -0,0 +1,108 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * Durations of the stages of request processing.
+ * <p/>
+ * Stage timings are recorded for every request when monitoring statistics are enabled (see
+ * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_ENABLED}) or when the
+ * {@link org.glassfish.jersey.server.ServerProperties#SERVER_TIMING_ENABLED Server-Timing} header is enabled. Timings of
+ * a request can be retrieved by {@link RequestEvent#getStageTimings()}, average timings of all requests processed by a
+ * resource method are available in {@link ResourceMethodStatistics#getAverageStageTimings()}. If neither is enabled,
+ * registering an {@link ApplicationEventListener application event listener} does not record the timings and all the
+ * stages of a request are reported as not executed.
+ * <p/>
+ * Unlike the {@link org.glassfish.jersey.server.ServerProperties#TRACING tracing} support, the timings do not contain
+ * durations of individual filters and interceptors, only of whole stages, and they are measured for all requests.
+ *
+ * @since 3.0
+ */
+public interface StageTimings {
+
+    /**
+     * Stage of request processing.
+     */
+    public static enum Stage {
+        /**
+         * Execution of pre-matching {@link javax.ws.rs.container.ContainerRequestFilter request filters}.
+         */
+        PRE_MATCHING_FILTERS,
+        /**
+         * Matching of the request to a resource method including execution of sub-resource locators.
+         */
+        ROUTING,
+        /**
+         * Execution of post-matching {@link javax.ws.rs.container.ContainerRequestFilter request filters}.
+         */
+        REQUEST_FILTERS,
+        /**
+         * Resolving of the resource method parameter values including reading of the request entity.
+         */
+        PARAMETER_INJECTION,
+        /**
+         * Invocation of the resource method.
+         */
+        METHOD_INVOCATION,
+        /**
+         * Execution of {@link javax.ws.rs.container.ContainerResponseFilter response filters}.
+         */
+        RESPONSE_FILTERS,
+        /**
+         * Execution of {@link javax.ws.rs.ext.WriterInterceptor writer interceptors} excluding the time spent in the
+         * message body writer.
+         */
+        WRITER_INTERCEPTORS,
+        /**
+         * Serialization of the response entity by a {@link javax.ws.rs.ext.MessageBodyWriter message body writer}.
+         */
+        SERIALIZATION
+    }
+
+    /**
+     * Get the duration of the given stage in nanoseconds. If a stage was executed multiple times (for example response
+     * filters processing a response created by an exception mapper) the durations are summed up.
+     *
+     * @param stage request processing stage.
+     * @return duration of the stage in nanoseconds or {@code -1} if the stage has not been executed.
+     */
+    public long getDuration(Stage stage);
+}
@@ -104,6 +104,51 @@ public interface TimeWindowStatistics {
      */
     public long getAverageDuration();
 
+    /**
+     * Returns the median duration (processing time) in milliseconds of the request processing measured
+     * in the time window. Half of the requests processed in the time window took at most the returned time.
+     * <p/>
+     * Default implementation returns {@code -1} as if the distribution of processing times was not tracked.
+     *
+     * @return Median processing time of the request or -1 if no request has been processed or if the distribution
+     * of processing times is not tracked for the time window.
+     * @see org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_HISTOGRAMS_ENABLED
+     * @since 3.0
+     */
+    public default long getMedianDuration() {
+        return -1;
+    }
+
+    /**
+     * Returns the 99th percentile of the duration (processing time) in milliseconds of the request processing
+     * measured in the time window. 99 % of the requests processed in the time window took at most the returned time.
+     * <p/>
+     * Default implementation returns {@code -1} as if the distribution of processing times was not tracked.
+     *
+     * @return 99th percentile of the processing time of the request or -1 if no request has been processed or if
+     * the distribution of processing times is not tracked for the time window.
+     * @see org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_HISTOGRAMS_ENABLED
+     * @since 3.0
+     */
+    public default long get99thPercentileDuration() {
+        return -1;
+    }
+
+    /**
+     * Returns the 99.9th percentile of the duration (processing time) in milliseconds of the request processing
+     * measured in the time window. 99.9 % of the requests processed in the time window took at most the returned time.
+     * <p/>
+     * Default implementation returns {@code -1} as if the distribution of processing times was not tracked.
+     *
+     * @return 99.9th percentile of the processing time of the request or -1 if no request has been processed or if
+     * the distribution of processing times is not tracked for the time window.
+     * @see org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_HISTOGRAMS_ENABLED
+     * @since 3.0
+     */
+    public default long get999thPercentileDuration() {
+        return -1;
+    }
+
     /**
      * Returns the count of requests received measured in the time window.
      *
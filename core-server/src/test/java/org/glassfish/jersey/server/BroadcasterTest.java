@@ -0,0 +1,194 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the {@link Broadcaster} writing chunks using an executor.
+ */
+public class BroadcasterTest {
+
+    /**
+     * Executor running the submitted tasks only when asked to.
+     */
+    private static class ManualExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        int runAll() {
+            int count = 0;
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Chunked output that is not connected to any response and records the written chunks.
+     */
+    private static class RecordingOutput extends ChunkedOutput<String> {
+
+        private final List<String> chunks = Collections.synchronizedList(new ArrayList<String>());
+
+        RecordingOutput() {
+            super(String.class);
+        }
+
+        @Override
+        public void write(final String chunk) throws IOException {
+            chunks.add(chunk);
+            super.write(chunk);
+        }
+    }
+
+    private static class RecordingListener implements BroadcasterListener<String> {
+
+        private final List<ChunkedOutput<String>> closed = new ArrayList<>();
+        private final List<Exception> exceptions = new ArrayList<>();
+
+        @Override
+        public void onException(final ChunkedOutput<String> chunkedOutput, final Exception exception) {
+            exceptions.add(exception);
+        }
+
+        @Override
+        public void onClose(final ChunkedOutput<String> chunkedOutput) {
+            closed.add(chunkedOutput);
+        }
+    }
+
+    @Test
+    public void testChunksWrittenInOrderByExecutor() {
+        final ManualExecutor executor = new ManualExecutor();
+        final Broadcaster<String> broadcaster = new Broadcaster<>(executor, 10);
+        final RecordingOutput first = new RecordingOutput();
+        final RecordingOutput second = new RecordingOutput();
+        broadcaster.add(first);
+        broadcaster.add(second);
+
+        broadcaster.broadcast("a");
+        broadcaster.broadcast("b");
+        broadcaster.broadcast("c");
+
+        // nothing written by the broadcasting thread, one drain task scheduled per output
+        assertTrue(first.chunks.isEmpty());
+        assertTrue(second.chunks.isEmpty());
+        assertEquals(2, executor.runAll());
+
+        assertEquals(Arrays.asList("a", "b", "c"), first.chunks);
+        assertEquals(Arrays.asList("a", "b", "c"), second.chunks);
+    }
+
+    @Test
+    public void testCloseAllAfterQueuedChunks() {
+        final ManualExecutor executor = new ManualExecutor();
+        final Broadcaster<String> broadcaster = new Broadcaster<>(executor, 10);
+        final RecordingListener listener = new RecordingListener();
+        broadcaster.add(listener);
+        final RecordingOutput output = new RecordingOutput();
+        broadcaster.add(output);
+
+        broadcaster.broadcast("a");
+        broadcaster.closeAll();
+        assertFalse(output.isClosed());
+
+        executor.runAll();
+
+        assertEquals(Collections.singletonList("a"), output.chunks);
+        assertTrue(output.isClosed());
+        assertEquals(Collections.<ChunkedOutput<String>>singletonList(output), listener.closed);
+        assertTrue(listener.exceptions.isEmpty());
+
+        // closed output has been removed from the broadcaster
+        broadcaster.broadcast("b");
+        assertEquals(0, executor.runAll());
+    }
+
+    @Test
+    public void testSlowConsumerEvicted() {
+        final ManualExecutor executor = new ManualExecutor();
+        final Broadcaster<String> broadcaster = new Broadcaster<>(executor, 2);
+        final RecordingListener listener = new RecordingListener();
+        broadcaster.add(listener);
+        final RecordingOutput slow = new RecordingOutput();
+        final RecordingOutput fast = new RecordingOutput();
+        broadcaster.add(slow);
+
+        broadcaster.broadcast("a");
+        broadcaster.broadcast("b");
+        broadcaster.add(fast);
+        broadcaster.broadcast("c");
+
+        assertEquals(1, listener.exceptions.size());
+        assertTrue(listener.exceptions.get(0) instanceof IOException);
+
+        executor.runAll();
+
+        assertTrue(slow.isClosed());
+        assertTrue(slow.chunks.isEmpty());
+        assertEquals(Collections.<ChunkedOutput<String>>singletonList(slow), listener.closed);
+        assertFalse(fast.isClosed());
+        assertEquals(Collections.singletonList("c"), fast.chunks);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueueLimit() {
+        new Broadcaster<String>(new ManualExecutor(), 0);
+    }
+}
@@ -40,14 +40,21 @@
 
 package org.glassfish.jersey.server.filter;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
 
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.glassfish.jersey.message.GZipEncoder;
 import org.glassfish.jersey.server.ApplicationHandler;
@@ -55,9 +62,11 @@ import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.RequestContextBuilder;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.spi.ContentEncoder;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -157,15 +166,127 @@ public class EncodingFilterTest {
         assertNull(response.getHeaders().getFirst(HttpHeaders.VARY));
     }
 
-    @SuppressWarnings("unchecked")
+    @Test
+    public void testSmallEntityNotEncoded() throws IOException {
+        testThresholdEncoding(threshold(10), null, "gzip");
+    }
+
+    @Test
+    public void testLargeEntityEncoded() throws IOException {
+        testThresholdEncoding(threshold(3), "gzip", "gzip");
+    }
+
+    @Test
+    public void testSmallEntityEncodedIfIdentityForbidden() throws IOException {
+        testThresholdEncoding(threshold(10), "gzip", "gzip", "identity; q=0");
+        testThresholdEncoding(threshold(10), "gzip", "gzip", "*; q=0");
+    }
+
+    @Path("/")
+    public static class StreamingResource {
+
+        @GET
+        @Path("stream")
+        public InputStream stream(@QueryParam("size") final int size) {
+            return new ByteArrayInputStream(content(size));
+        }
+
+        @GET
+        @Path("streaming")
+        public StreamingOutput streaming(@QueryParam("size") final int size) {
+            return new StreamingOutput() {
+                @Override
+                public void write(final OutputStream output) throws IOException {
+                    for (final byte b : content(size)) {
+                        output.write(b);
+                        output.flush();
+                    }
+                }
+            };
+        }
+    }
+
+    private static byte[] content(final int size) {
+        final byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        return content;
+    }
+
+    @Test
+    public void testStreamedEntityThreshold() throws Exception {
+        final ResourceConfig rc = threshold(100).register(StreamingResource.class);
+        EncodingFilter.enableFor(rc, GZipEncoder.class);
+        final ApplicationHandler handler = new ApplicationHandler(rc);
+
+        for (final int size : new int[] {0, 10, 99, 100, 5000}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final ContainerResponse response = get(handler, "/stream?size=" + size, out);
+
+            if (size < 100) {
+                assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+                assertArrayEquals(content(size), out.toByteArray());
+            } else {
+                assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+                assertArrayEquals(content(size), gunzip(out.toByteArray()));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingOutputAlwaysEncoded() throws Exception {
+        final ResourceConfig rc = threshold(100).register(StreamingResource.class);
+        EncodingFilter.enableFor(rc, GZipEncoder.class);
+        final ApplicationHandler handler = new ApplicationHandler(rc);
+
+        // the entity is flushed as it is written, it must not be held back until the threshold is reached
+        for (final int size : new int[] {0, 10, 5000}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final ContainerResponse response = get(handler, "/streaming?size=" + size, out);
+
+            assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+            assertArrayEquals(content(size), gunzip(out.toByteArray()));
+        }
+    }
+
+    private static ContainerResponse get(final ApplicationHandler handler, final String uri, final OutputStream out)
+            throws Exception {
+        return handler.apply(RequestContextBuilder.from(uri, "GET").header(HttpHeaders.ACCEPT_ENCODING, "gzip").build(), out)
+                .get();
+    }
+
+    private static byte[] gunzip(final byte[] encoded) throws IOException {
+        final InputStream decoded = new GZIPInputStream(new ByteArrayInputStream(encoded));
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = decoded.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        return result.toByteArray();
+    }
+
+    private static ResourceConfig threshold(final int threshold) {
+        return new ResourceConfig().property(ServerProperties.COMPRESSION_THRESHOLD, threshold);
+    }
+
     private EncodingFilter initializeAndGetFilter() {
-        ResourceConfig rc = new ResourceConfig();
+        return initializeAndGetFilter(new ResourceConfig());
+    }
+
+    @SuppressWarnings("unchecked")
+    private EncodingFilter initializeAndGetFilter(final ResourceConfig rc) {
         EncodingFilter.enableFor(rc, FooEncoding.class, GZipEncoder.class);
         return (EncodingFilter) new ApplicationHandler(rc).getInstanceManager().getInstance(ContainerResponseFilter.class);
     }
 
     private void testEncoding(String expected, String... accepted) throws IOException {
-        EncodingFilter filter = initializeAndGetFilter();
+        testThresholdEncoding(new ResourceConfig(), expected, accepted);
+    }
+
+    private void testThresholdEncoding(ResourceConfig rc, String expected, String... accepted) throws IOException {
+        EncodingFilter filter = initializeAndGetFilter(rc);
         RequestContextBuilder builder = RequestContextBuilder.from("/resource", "GET");
         for (String a : accepted) {
             builder.header(HttpHeaders.ACCEPT_ENCODING, a);
@@ -0,0 +1,291 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Date;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RangeFilter}.
+ */
+public class RangeFilterTest {
+
+    private static final int SIZE = 1000;
+    private static final Date LAST_MODIFIED = new Date(1500000000000L);
+
+    private static File file;
+    private static byte[] content;
+
+    @Path("/")
+    public static class FileResource {
+
+        @GET
+        @Path("file")
+        public Response file() {
+            return Response.ok(file, MediaType.TEXT_PLAIN_TYPE).tag("v1").lastModified(LAST_MODIFIED).build();
+        }
+
+        @GET
+        @Path("path")
+        public java.nio.file.Path path() {
+            return file.toPath();
+        }
+
+        @GET
+        @Path("encoded")
+        public Response encoded() {
+            return Response.ok(file).header(HttpHeaders.CONTENT_ENCODING, "foo").build();
+        }
+
+        @GET
+        @Path("string")
+        public String string() {
+            return "abc";
+        }
+    }
+
+    @BeforeClass
+    public static void createFile() throws IOException {
+        content = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        file = File.createTempFile("range", ".txt");
+        Files.write(file.toPath(), content);
+    }
+
+    @AfterClass
+    public static void deleteFile() throws IOException {
+        Files.delete(file.toPath());
+    }
+
+    @Test
+    public void testNoRange() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = apply("/file", null, null, out);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+        assertEquals(String.valueOf(SIZE), response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    @Test
+    public void testSingleRange() throws Exception {
+        assertPartial("/file", "bytes=10-19", 10, 19);
+        assertPartial("/file", "bytes=-10", 990, 999);
+        assertPartial("/file", "bytes=995-", 995, 999);
+        assertPartial("/file", "bytes=990-5000", 990, 999);
+        assertPartial("/file", "bytes=-5000", 0, 999);
+        assertPartial("/file", "Bytes = 0-0", 0, 0);
+        assertPartial("/path", "bytes=100-199", 100, 199);
+    }
+
+    @Test
+    public void testCoalescedRanges() throws Exception {
+        assertPartial("/file", "bytes=0-9,5-19", 0, 19);
+        assertPartial("/file", "bytes=10-19,0-9", 0, 19);
+        assertPartial("/file", "bytes=0-9, ,2000-3000", 0, 9);
+    }
+
+    @Test
+    public void testMultipleRanges() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = apply("/file", "bytes=500-504,0-4,-3", null, out);
+
+        assertEquals(206, response.getStatus());
+        final MediaType mediaType = response.getMediaType();
+        assertEquals("multipart", mediaType.getType());
+        assertEquals("byteranges", mediaType.getSubtype());
+        final String boundary = mediaType.getParameters().get("boundary");
+
+        final String expected = "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 0-4/1000\r\n\r\n"
+                + new String(content, 0, 5, StandardCharsets.US_ASCII)
+                + "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 500-504/1000\r\n\r\n"
+                + new String(content, 500, 5, StandardCharsets.US_ASCII)
+                + "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 997-999/1000\r\n\r\n"
+                + new String(content, 997, 3, StandardCharsets.US_ASCII)
+                + "\r\n--" + boundary + "--\r\n";
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.US_ASCII));
+        assertEquals(String.valueOf(out.size()), response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() throws Exception {
+        for (final String range : Arrays.asList("bytes=1000-", "bytes=2000-3000,5000-", "bytes=-0")) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final ContainerResponse response = apply("/file", range, null, out);
+
+            assertEquals(range, 416, response.getStatus());
+            assertEquals("bytes */1000", response.getHeaderString("Content-Range"));
+            assertEquals(0, out.size());
+        }
+    }
+
+    @Test
+    public void testInvalidRangeIgnored() throws Exception {
+        for (final String range : Arrays.asList("bytes=abc", "items=0-1", "bytes=5-1", "bytes=", "bytes=+1-2", "0-1")) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final ContainerResponse response = apply("/file", range, null, out);
+
+            assertEquals(range, 200, response.getStatus());
+            assertArrayEquals(range, content, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testIfRange() throws Exception {
+        assertPartial("/file", "bytes=0-9", "\"v1\"", 0, 9);
+        assertPartial("/file", "bytes=0-9", HttpDateFormat.getPreferredDateFormat().format(LAST_MODIFIED), 0, 9);
+
+        for (final String ifRange : Arrays.asList("\"v2\"", "W/\"v1\"", "\"v1", "Sat, 15 Jul 2017 02:40:01 GMT", "garbage")) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final ContainerResponse response = apply("/file", "bytes=0-9", ifRange, out);
+
+            assertEquals(ifRange, 200, response.getStatus());
+            assertArrayEquals(ifRange, content, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testIfRangeWithoutValidator() throws Exception {
+        final ContainerResponse response = apply("/path", "bytes=0-9", "\"v1\"", new ByteArrayOutputStream());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testNotApplicable() throws Exception {
+        ContainerResponse response = apply("/encoded", "bytes=0-9", null, new ByteArrayOutputStream());
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeaderString("Accept-Ranges"));
+
+        response = apply("/string", "bytes=0-1", null, new ByteArrayOutputStream());
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeaderString("Accept-Ranges"));
+    }
+
+    @Test
+    public void testParseRanges() {
+        assertEquals("[0-9, 20-29]", RangeFilter.parseRanges("bytes=20-29,0-9", 100).toString());
+        assertEquals("[0-29]", RangeFilter.parseRanges("bytes=20-29,10-19,0-9", 100).toString());
+        assertEquals("[0-99]", RangeFilter.parseRanges("bytes=0-99999999999999999999999", 100).toString());
+        assertTrue(RangeFilter.parseRanges("bytes=0-", 0).isEmpty());
+        assertNull(RangeFilter.parseRanges("bytes=0-1-2", 100));
+    }
+
+    @Test
+    public void testTooManyRanges() throws Exception {
+        final StringBuilder header = new StringBuilder("bytes=0-0");
+        for (int i = 1; i < RangeFilter.MAX_RANGES; i++) {
+            header.append(',').append(i * 10).append('-').append(i * 10);
+        }
+        assertEquals(RangeFilter.MAX_RANGES, RangeFilter.parseRanges(header.toString(), SIZE).size());
+
+        // Overlapping ranges are coalesced, but the number of ranges in the header is limited regardless.
+        header.append(",0-0");
+        assertNull(RangeFilter.parseRanges(header.toString(), SIZE));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = apply("/file", header.toString(), null, out);
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    private static void assertPartial(final String uri, final String range, final long first, final long last)
+            throws Exception {
+        assertPartial(uri, range, null, first, last);
+    }
+
+    private static void assertPartial(final String uri, final String range, final String ifRange, final long first,
+                                      final long last) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = apply(uri, range, ifRange, out);
+
+        assertEquals(range, 206, response.getStatus());
+        assertEquals(range, "bytes " + first + "-" + last + "/" + SIZE, response.getHeaderString("Content-Range"));
+        assertEquals(range, String.valueOf(last - first + 1), response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(range, Arrays.copyOfRange(content, (int) first, (int) last + 1), out.toByteArray());
+    }
+
+    private static ContainerResponse apply(final String uri, final String range, final String ifRange,
+                                           final ByteArrayOutputStream out) throws Exception {
+        final ResourceConfig rc = new ResourceConfig(FileResource.class, RangeFilter.class);
+        final RequestContextBuilder request = RequestContextBuilder.from(uri, "GET");
+        if (range != null) {
+            request.header("Range", range);
+        }
+        if (ifRange != null) {
+            request.header("If-Range", ifRange);
+        }
+        return new ApplicationHandler(rc).apply(request.build(), out).get();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link HistogramTimeReservoir}.
+ */
+public class HistogramTimeReservoirTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testBuckets() {
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value++) {
+            final int index = HistogramTimeReservoir.bucketIndex(value);
+            assertTrue("Buckets must be ordered: " + value, index == previous || index == previous + 1);
+            previous = index;
+
+            final long highest = HistogramTimeReservoir.highestValue(index);
+            assertTrue("Value " + value + " is greater than the bucket bound " + highest, value <= highest);
+            assertTrue("Relative error is too high for value " + value, highest - value <= value >> 5);
+        }
+
+        assertEquals(HistogramTimeReservoir.BUCKET_COUNT - 1, HistogramTimeReservoir.bucketIndex(Integer.MAX_VALUE));
+        assertEquals(HistogramTimeReservoir.BUCKET_COUNT - 1, HistogramTimeReservoir.bucketIndex(Long.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, HistogramTimeReservoir.highestValue(HistogramTimeReservoir.BUCKET_COUNT - 1));
+        assertEquals(0, HistogramTimeReservoir.bucketIndex(-1));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final HistogramTimeReservoir reservoir = new HistogramTimeReservoir(0, TimeUnit.MILLISECONDS);
+        for (long value = 1; value <= 10_000; value++) {
+            reservoir.update(value, value, TimeUnit.MILLISECONDS);
+        }
+
+        final UniformTimeSnapshot snapshot = reservoir.getSnapshot(10_000, TimeUnit.MILLISECONDS);
+        assertEquals(10_000, snapshot.size());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5000.5, snapshot.getMean(), DELTA);
+        assertEquals(1, snapshot.getRate(TimeUnit.MILLISECONDS), DELTA);
+
+        assertPercentile(5_000, snapshot.getValue(0.5));
+        assertPercentile(9_900, snapshot.getValue(0.99));
+        assertPercentile(9_990, snapshot.getValue(0.999));
+        assertEquals(1, snapshot.getValue(0), DELTA);
+        assertEquals(10_000, snapshot.getValue(1), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQuantile() {
+        new HistogramTimeReservoir(0, TimeUnit.MILLISECONDS).getSnapshot(0, TimeUnit.MILLISECONDS).getValue(1.5);
+    }
+
+    @Test
+    public void testRotation() {
+        final HistogramTimeReservoir reservoir =
+                new HistogramTimeReservoir(1, TimeUnit.SECONDS, 4, 0, TimeUnit.MILLISECONDS);
+        assertEquals(1000, reservoir.interval(TimeUnit.MILLISECONDS));
+
+        for (int time = 0; time < 1000; time += 10) {
+            reservoir.update((long) time, time, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(100, reservoir.size(999, TimeUnit.MILLISECONDS));
+
+        // the first segment [0, 250) is rotated out
+        reservoir.update(1000L, 1000, TimeUnit.MILLISECONDS);
+        assertEquals(76, reservoir.size(1000, TimeUnit.MILLISECONDS));
+        UniformTimeSnapshot snapshot = reservoir.getSnapshot(1000, TimeUnit.MILLISECONDS);
+        assertEquals(76, snapshot.size());
+        assertEquals(250, snapshot.getMin());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(750, snapshot.getTimeInterval(TimeUnit.MILLISECONDS));
+
+        // values too old for the current window are dropped
+        reservoir.update(5L, 5, TimeUnit.MILLISECONDS);
+        assertEquals(76, reservoir.size(1000, TimeUnit.MILLISECONDS));
+
+        // all the segments are rotated out after a long pause
+        snapshot = reservoir.getSnapshot(1_000_000, TimeUnit.MILLISECONDS);
+        assertEquals(0, snapshot.size());
+        reservoir.update(7L, 1_000_001, TimeUnit.MILLISECONDS);
+        snapshot = reservoir.getSnapshot(1_000_001, TimeUnit.MILLISECONDS);
+        assertEquals(1, snapshot.size());
+        assertEquals(7, snapshot.getMin());
+        assertEquals(7, snapshot.getMax());
+        assertEquals(7, snapshot.getValue(0.5), DELTA);
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        final HistogramTimeReservoir reservoir =
+                new HistogramTimeReservoir(1, TimeUnit.HOURS, 4, 0, TimeUnit.MILLISECONDS);
+        final int threads = 4;
+        final int updates = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int j = 0; j < updates; j++) {
+                            reservoir.update((long) (j % 100), j, TimeUnit.MILLISECONDS);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final UniformTimeSnapshot snapshot = reservoir.getSnapshot(updates, TimeUnit.MILLISECONDS);
+        assertEquals(threads * updates, snapshot.size());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(99, snapshot.getMax());
+        assertEquals(49.5, snapshot.getMean(), DELTA);
+        assertEquals(49, snapshot.getValue(0.5), DELTA);
+        // 98 and 99 share the same bucket
+        assertEquals(99, snapshot.getValue(0.99), DELTA);
+    }
+
+    private static void assertPercentile(final long expected, final double actual) {
+        assertTrue("Expected approximately " + expected + " but was " + actual,
+                actual >= expected && actual <= expected + (expected >> 5));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link MonitoringEventRingBuffer}.
+ */
+public class MonitoringEventRingBufferTest {
+
+    private static final List<UriTemplate> TEMPLATES = Collections.singletonList(new UriTemplate("/test"));
+
+    @Test
+    public void testOfferAndDrain() {
+        final MonitoringEventRingBuffer buffer = new MonitoringEventRingBuffer(16);
+        final Resource.Builder resourceBuilder = Resource.builder("test");
+        resourceBuilder.addMethod("GET").handledBy(containerRequestContext -> null);
+        final ResourceMethod method = resourceBuilder.build().getResourceMethods().get(0);
+
+        final StageTimer timings = new StageTimer();
+        assertTrue(buffer.offer(1000, 10, method, 1002, 5, TEMPLATES, 200, timings));
+        assertTrue(buffer.offer(2000, 20, null, 0, 0, TEMPLATES, -1, null));
+
+        final List<Object[]> events = new ArrayList<>();
+        assertEquals(2, buffer.drain((requestStartTime, requestDuration, m, methodStartTime, methodDuration, templates,
+                                      status, stageTimings) -> events.add(new Object[] {requestStartTime, requestDuration, m,
+                                                                                        methodStartTime, methodDuration,
+                                                                                        templates, status, stageTimings})));
+        assertEquals(2, events.size());
+
+        // events published by a single thread are drained in order
+        final Object[] first = events.get(0);
+        final Object[] second = events.get(1);
+        assertEquals(1000L, first[0]);
+        assertEquals(10L, first[1]);
+        assertSame(method, first[2]);
+        assertEquals(1002L, first[3]);
+        assertEquals(5L, first[4]);
+        assertSame(TEMPLATES, first[5]);
+        assertEquals(200, first[6]);
+        assertSame(timings, first[7]);
+
+        assertEquals(2000L, second[0]);
+        assertNull(second[2]);
+        assertEquals(-1, second[6]);
+        assertNull(second[7]);
+
+        // nothing more to drain
+        assertEquals(0, buffer.drain((a, b, c, d, e, f, g, h) -> {
+            throw new AssertionError("No event expected.");
+        }));
+        assertEquals(0, buffer.getDropped());
+    }
+
+    @Test
+    public void testFullBufferDropsEvents() {
+        final MonitoringEventRingBuffer buffer = new MonitoringEventRingBuffer(1);
+
+        // a single thread falls back to the other stripes once its own stripe is full
+        int published = 0;
+        while (buffer.offer(published, 1, null, 0, 0, TEMPLATES, 200, null)) {
+            published++;
+        }
+        assertEquals(buffer.getCapacity(), published);
+        assertFalse(buffer.offer(0, 1, null, 0, 0, TEMPLATES, 200, null));
+        assertEquals(2, buffer.getDropped());
+
+        final Set<Long> drained = new HashSet<>();
+        assertEquals(published, buffer.drain((requestStartTime, b, c, d, e, f, g, h) -> drained.add(requestStartTime)));
+        assertEquals(published, drained.size());
+        for (long i = 0; i < published; i++) {
+            assertTrue(drained.contains(i));
+        }
+
+        // the slots are reused after they have been drained
+        assertTrue(buffer.offer(42, 1, null, 0, 0, TEMPLATES, 200, null));
+        assertEquals(1, buffer.drain((requestStartTime, b, c, d, e, f, g, h) -> assertEquals(42, requestStartTime)));
+        assertEquals(2, buffer.getDropped());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 4;
+        final int events = 50_000;
+        final MonitoringEventRingBuffer buffer = new MonitoringEventRingBuffer(1024);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        final CountDownLatch done = new CountDownLatch(producers);
+        final long[] consumed = {0, 0};
+
+        try {
+            for (int i = 0; i < producers; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < events; j++) {
+                        buffer.offer(j, 1, null, 0, 0, TEMPLATES, 200, null);
+                    }
+                    done.countDown();
+                });
+            }
+
+            final MonitoringEventRingBuffer.EventConsumer consumer = (requestStartTime, requestDuration, method,
+                                                                      methodStartTime, methodDuration, templates,
+                                                                      status, stageTimings) -> {
+                assertSame(TEMPLATES, templates);
+                consumed[0]++;
+                consumed[1] += requestDuration;
+            };
+            while (!done.await(1, TimeUnit.MILLISECONDS)) {
+                buffer.drain(consumer);
+            }
+            buffer.drain(consumer);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(producers * events, consumed[0] + buffer.getDropped());
+        assertEquals(consumed[0], consumed[1]);
+    }
+}
@@ -42,6 +42,7 @@ package org.glassfish.jersey.server.internal.monitoring;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +62,8 @@ import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceStatistics;
+import org.glassfish.jersey.server.monitoring.StageTimings;
+import org.glassfish.jersey.server.monitoring.TimeWindowStatistics;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -242,6 +245,58 @@ public class MonitoringStatisticsTest {
         }
     }
 
+    @Test
+    public void testHistogramExecutionStatistics() {
+        final ResourceModel model = new ResourceModel.Builder(
+                Collections.singletonList(Resource.from(HelloResource.class)), false).build();
+        final MonitoringStatisticsImpl.Builder statBuilder = new MonitoringStatisticsImpl.Builder(model, true);
+        final ResourceMethod method = model.getRootResources().get(0).getResourceMethods().get(0);
+
+        final long now = System.currentTimeMillis();
+        for (int i = 1; i <= 1000; i++) {
+            statBuilder.addExecution("/hello", method, now, i, now, i + 1);
+            statBuilder.addRequestExecution(now, i + 1);
+        }
+
+        final MonitoringStatisticsImpl stat = statBuilder.build();
+        final ExecutionStatistics methodStats = stat.getUriStatistics().get("/hello").getResourceMethodStatistics()
+                .get(method).getMethodStatistics();
+        Assert.assertEquals(6, methodStats.getTimeWindowStatistics().size());
+        for (final TimeWindowStatistics window : methodStats.getTimeWindowStatistics().values()) {
+            Assert.assertEquals(1000, window.getRequestCount());
+            Assert.assertEquals(1, window.getMinimumDuration());
+            Assert.assertEquals(1000, window.getMaximumDuration());
+            Assert.assertEquals(500, window.getAverageDuration());
+            Assert.assertEquals(500, window.getMedianDuration(), 500 >> 5);
+            Assert.assertEquals(990, window.get99thPercentileDuration(), 990 >> 5);
+            Assert.assertEquals(999, window.get999thPercentileDuration(), 999 >> 5);
+        }
+
+        final TimeWindowStatistics requestStats = stat.getRequestStatistics().getTimeWindowStatistics().get(0L);
+        Assert.assertEquals(1000, requestStats.getRequestCount());
+        Assert.assertEquals(501, requestStats.getMedianDuration(), 501 >> 5);
+    }
+
+    @Test
+    public void testAverageStageTimings() {
+        final ResourceModel model = new ResourceModel.Builder(
+                Collections.singletonList(Resource.from(HelloResource.class)), false).build();
+        final MonitoringStatisticsImpl.Builder statBuilder = new MonitoringStatisticsImpl.Builder(model);
+        final ResourceMethod method = model.getRootResources().get(0).getResourceMethods().get(0);
+
+        statBuilder.addExecution("/hello", method, 10, 5, 8, 8,
+                stage -> stage == StageTimings.Stage.ROUTING ? 100 : stage == StageTimings.Stage.SERIALIZATION ? 40 : -1);
+        statBuilder.addExecution("/hello", method, 20, 5, 18, 8,
+                stage -> stage == StageTimings.Stage.ROUTING ? 300 : -1);
+        statBuilder.addExecution("/hello", method, 30, 5, 28, 8, null);
+
+        final StageTimings timings = statBuilder.build().getUriStatistics().get("/hello").getResourceMethodStatistics()
+                .get(method).getAverageStageTimings();
+        Assert.assertEquals(200, timings.getDuration(StageTimings.Stage.ROUTING));
+        Assert.assertEquals(40, timings.getDuration(StageTimings.Stage.SERIALIZATION));
+        Assert.assertEquals(-1, timings.getDuration(StageTimings.Stage.METHOD_INVOCATION));
+    }
+
 
     private void check(Iterator<Map.Entry<String, ResourceStatistics>> it,
                        String expectedUri, int expectedMethods) {
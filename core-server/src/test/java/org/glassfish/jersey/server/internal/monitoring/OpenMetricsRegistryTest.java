@@ -0,0 +1,160 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.StageTimings;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link OpenMetricsRegistry}.
+ */
+public class OpenMetricsRegistryTest {
+
+    @Path("resource")
+    public static class TestResource {
+
+        @GET
+        public String get() {
+            return "get";
+        }
+    }
+
+    public static class TestMapper implements ExceptionMapper<IllegalStateException> {
+
+        @Override
+        public Response toResponse(final IllegalStateException exception) {
+            return Response.serverError().build();
+        }
+    }
+
+    @Test
+    public void testExposition() throws IOException {
+        final Resource.Builder resourceBuilder = Resource.builder("test");
+        resourceBuilder.addMethod("GET").handledBy(containerRequestContext -> null);
+        final ResourceMethod method = resourceBuilder.build().getResourceMethods().get(0);
+
+        final OpenMetricsRegistry registry = new OpenMetricsRegistry();
+        registry.addRequest(3, method, 2, 200, null);
+        registry.addRequest(30, method, 25, 200,
+                stage -> stage == StageTimings.Stage.ROUTING ? 1500000042L : -1);
+        registry.addRequest(20000, null, 0, 404, null);
+        registry.addRequest(1, null, 0, -1, null);
+        registry.addExceptionMapping(TestMapper.class, true);
+        registry.addExceptionMapping(null, false);
+        registry.setDroppedEvents(7);
+
+        final String exposition = write(registry);
+
+        assertTrue(exposition.startsWith("# TYPE jersey_request_duration_seconds histogram\n"
+                + "# UNIT jersey_request_duration_seconds seconds\n"));
+        assertContains(exposition, "jersey_request_duration_seconds_bucket{le=\"0.005\"} 2\n");
+        assertContains(exposition, "jersey_request_duration_seconds_bucket{le=\"0.025\"} 2\n");
+        assertContains(exposition, "jersey_request_duration_seconds_bucket{le=\"0.050\"} 3\n");
+        assertContains(exposition, "jersey_request_duration_seconds_bucket{le=\"10.000\"} 3\n");
+        assertContains(exposition, "jersey_request_duration_seconds_bucket{le=\"+Inf\"} 4\n");
+        assertContains(exposition, "jersey_request_duration_seconds_count 4\n");
+        assertContains(exposition, "jersey_request_duration_seconds_sum 20.034\n");
+
+        final String labels = "method=\"apply\",http_method=\"GET\",path=\"/test\"";
+        assertContains(exposition, labels + ",le=\"0.005\"} 1\n");
+        assertContains(exposition, labels + ",le=\"0.025\"} 2\n");
+        assertContains(exposition, labels + "} 2\n");
+        assertContains(exposition, labels + "} 0.027\n");
+        assertContains(exposition, labels + ",stage=\"routing\"} 1.500000042\n");
+        assertContains(exposition, labels + ",stage=\"serialization\"} 0.000000000\n");
+
+        assertContains(exposition, "jersey_responses_total{code=\"200\"} 2\n");
+        assertContains(exposition, "jersey_responses_total{code=\"404\"} 1\n");
+        assertContains(exposition, "jersey_exception_mapper_executions_total{mapper=\"" + TestMapper.class.getName()
+                + "\"} 1\n");
+        assertContains(exposition, "jersey_exception_mappings_total{result=\"successful\"} 1\n");
+        assertContains(exposition, "jersey_exception_mappings_total{result=\"unsuccessful\"} 1\n");
+        assertContains(exposition, "jersey_monitoring_dropped_events_total 7\n");
+        assertTrue(exposition.endsWith("\n# EOF\n"));
+    }
+
+    @Test
+    public void testSubResourceMethodsShareAggregates() throws Exception {
+        final OpenMetricsRegistry registry = new OpenMetricsRegistry();
+        for (int i = 0; i < 3; i++) {
+            // equal resource methods created repeatedly (e.g. by a sub-resource locator)
+            final Resource.Builder resourceBuilder = Resource.builder("locator");
+            resourceBuilder.addMethod("GET").handledBy(TestResource.class, TestResource.class.getMethod("get"));
+            registry.addRequest(1, resourceBuilder.build().getResourceMethods().get(0), 1, 200, null);
+        }
+
+        final String exposition = write(registry);
+        final String count = "jersey_resource_method_duration_seconds_count{class=\"" + TestResource.class.getName()
+                + "\",method=\"get\",http_method=\"GET\",path=\"/locator\"} ";
+        assertContains(exposition, count + "3\n");
+        assertEquals(exposition.indexOf(count), exposition.lastIndexOf(count));
+    }
+
+    @Test
+    public void testEscape() {
+        assertEquals("plain", OpenMetricsRegistry.escape("plain"));
+        assertEquals("a\\\\b\\\"c\\nd", OpenMetricsRegistry.escape("a\\b\"c\nd"));
+        assertEquals("", OpenMetricsRegistry.escape(null));
+    }
+
+    private static String write(final OpenMetricsRegistry registry) throws IOException {
+        final StringWriter writer = new StringWriter();
+        registry.writeTo(writer);
+        return writer.toString();
+    }
+
+    private static void assertContains(final String exposition, final String expected) {
+        assertTrue("Expected \"" + expected + "\" in:\n" + exposition, exposition.contains(expected));
+    }
+}
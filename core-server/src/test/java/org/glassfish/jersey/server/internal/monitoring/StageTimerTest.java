@@ -0,0 +1,202 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.server.monitoring.StageTimings;
+import org.glassfish.jersey.server.monitoring.StageTimings.Stage;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link StageTimer} and of the {@code Server-Timing} response header.
+ */
+public class StageTimerTest {
+
+    @Test
+    public void testStages() {
+        final StageTimer timer = new StageTimer();
+        for (final Stage stage : Stage.values()) {
+            assertEquals(-1, timer.getDuration(stage));
+        }
+
+        // a stage that has not been started is not recorded
+        timer.end(Stage.ROUTING);
+        assertEquals(-1, timer.getDuration(Stage.ROUTING));
+
+        timer.begin(Stage.ROUTING);
+        timer.end(Stage.ROUTING);
+        final long routing = timer.getDuration(Stage.ROUTING);
+        assertTrue(routing >= 0);
+
+        // repeated stages are summed, repeated end is ignored
+        timer.begin(Stage.ROUTING);
+        timer.end(Stage.ROUTING);
+        timer.end(Stage.ROUTING);
+        assertTrue(timer.getDuration(Stage.ROUTING) >= routing);
+    }
+
+    @Test
+    public void testSerializationExcludedFromInterceptors() throws Exception {
+        final StageTimer timer = new StageTimer();
+        timer.begin(Stage.WRITER_INTERCEPTORS);
+        Thread.sleep(5);
+        timer.onWriteTo(Long.MAX_VALUE / 2);
+        timer.end(Stage.WRITER_INTERCEPTORS);
+
+        assertEquals(Long.MAX_VALUE / 2, timer.getDuration(Stage.SERIALIZATION));
+        // the reported serialization time is longer than the whole stage
+        assertEquals(0, timer.getDuration(Stage.WRITER_INTERCEPTORS));
+    }
+
+    @Test
+    public void testRegistration() {
+        final MapPropertiesDelegate properties = new MapPropertiesDelegate();
+        final StageTimer empty = StageTimer.getInstance(properties);
+        empty.begin(Stage.ROUTING);
+        empty.end(Stage.ROUTING);
+        assertEquals(-1, empty.getDuration(Stage.ROUTING));
+
+        final StageTimer timer = new StageTimer();
+        timer.register(properties);
+        assertSame(timer, StageTimer.getInstance(properties));
+    }
+
+    @Test
+    public void testServerTimingFormat() {
+        final StageTimer timer = new StageTimer();
+        timer.onWriteTo(1234567);
+        final String serverTiming = timer.getServerTiming();
+        assertTrue(serverTiming, serverTiming.matches("serialization;dur=1\\.234, total;dur=\\d+\\.\\d{3}"));
+    }
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        public String get() {
+            return "get";
+        }
+    }
+
+    @Test
+    public void testServerTimingHeader() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.SERVER_TIMING_ENABLED, true));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from("/", "GET").build(), out).get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("get", out.toString());
+        final String serverTiming = response.getHeaderString(StageTimer.SERVER_TIMING_HEADER);
+        for (final String name : new String[] {"prematch", "routing", "filters", "params", "invoke", "respfilters", "total"}) {
+            assertTrue(serverTiming, serverTiming.contains(name + ";dur="));
+        }
+    }
+
+    @Test
+    public void testServerTimingDisabled() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from("/", "GET").build()).get();
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeaderString(StageTimer.SERVER_TIMING_HEADER));
+    }
+
+    public static class TimingsListener implements ApplicationEventListener {
+
+        private final AtomicReference<StageTimings> timings = new AtomicReference<>();
+
+        @Override
+        public void onEvent(final ApplicationEvent event) {
+        }
+
+        @Override
+        public RequestEventListener onRequest(final RequestEvent requestEvent) {
+            return event -> {
+                if (event.getType() == RequestEvent.Type.FINISHED) {
+                    timings.set(event.getStageTimings());
+                }
+            };
+        }
+    }
+
+    private static StageTimings getStageTimings(final ResourceConfig resourceConfig) throws Exception {
+        final TimingsListener listener = new TimingsListener();
+        final ApplicationHandler handler = new ApplicationHandler(resourceConfig.register(listener));
+        assertEquals(200, handler.apply(RequestContextBuilder.from("/", "GET").build()).get().getStatus());
+        return listener.timings.get();
+    }
+
+    @Test
+    public void testStageTimingsNotRecordedForEventListener() throws Exception {
+        final StageTimings timings = getStageTimings(new ResourceConfig(Resource.class));
+        for (final Stage stage : Stage.values()) {
+            assertEquals(-1, timings.getDuration(stage));
+        }
+    }
+
+    @Test
+    public void testStageTimingsRecordedForStatistics() throws Exception {
+        final StageTimings timings = getStageTimings(new ResourceConfig(Resource.class)
+                .property(ServerProperties.MONITORING_STATISTICS_ENABLED, true));
+        assertTrue(timings.getDuration(Stage.METHOD_INVOCATION) >= 0);
+    }
+}
@@ -251,6 +251,51 @@ public class TimeWindowStatisticsImplTest {
         // check(builder, time + 3000, 5, 94, 96, 93, 0.5);
     }
 
+    @Test
+    public void testHistogram() {
+        final long now = 0;
+        final TimeWindowStatisticsImpl.Builder<Long> builder = new TimeWindowStatisticsImpl.Builder<>(
+                new HistogramTimeReservoir(1000, TimeUnit.MILLISECONDS, 4, now, TimeUnit.MILLISECONDS));
+        builder.addRequest(now, 30L);
+        builder.addRequest(now + 300, 100L);
+        builder.addRequest(now + 600, 150L);
+        builder.addRequest(now + 800, 15L);
+        builder.addRequest(now + 999, 60L);
+
+        check(builder, now + 999, 5, 15, 150, 71, 5.005005);
+        TimeWindowStatisticsImpl stat = builder.build(now + 999);
+        assertEquals(60, stat.getMedianDuration());
+        assertEquals(150, stat.get99thPercentileDuration());
+        assertEquals(150, stat.get999thPercentileDuration());
+
+        // the first two quarters of the window are rotated out
+        check(builder, now + 1250, 3, 15, 150, 75, 4);
+        stat = builder.build(now + 1250);
+        assertEquals(60, stat.getMedianDuration());
+        assertEquals(150, stat.get99thPercentileDuration());
+
+        // the whole window is rotated out
+        check(builder, now + 2000, 0, -1, -1, -1, 0);
+        assertEquals(-1, builder.build(now + 2000).getMedianDuration());
+    }
+
+    @Test
+    public void testSlidingWindowPercentiles() {
+        final long now = 0;
+        final TimeWindowStatisticsImpl.Builder<Long> builder = new TimeWindowStatisticsImpl.Builder<>(
+                new SlidingWindowTimeReservoir(1000, TimeUnit.MILLISECONDS, now, TimeUnit.MILLISECONDS));
+        builder.addRequest(now, 30L);
+        builder.addRequest(now + 300, 100L);
+        builder.addRequest(now + 600, 150L);
+        builder.addRequest(now + 800, 15L);
+        builder.addRequest(now + 999, 60L);
+
+        final TimeWindowStatisticsImpl stat = builder.build(now + 999);
+        assertEquals(60, stat.getMedianDuration());
+        assertEquals(150, stat.get99thPercentileDuration());
+        assertEquals(150, stat.get999thPercentileDuration());
+    }
+
     private void check(final TimeWindowStatisticsImpl.Builder builder,
                        final long buildTime,
                        final int totalCount,
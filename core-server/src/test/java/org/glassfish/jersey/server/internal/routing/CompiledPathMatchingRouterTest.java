@@ -0,0 +1,203 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.uri.PathPattern;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that the {@link CompiledPathMatchingRouter compiled path matching} selects the same routes as the default
+ * linear path matching.
+ */
+public class CompiledPathMatchingRouterTest {
+
+    @Path("/")
+    public static class RootResource {
+
+        @GET
+        public String get() {
+            return "root";
+        }
+
+        @GET
+        @Path("{id}")
+        public String id(@PathParam("id") final String id) {
+            return "root-id:" + id;
+        }
+    }
+
+    @Path("a")
+    public static class AResource {
+
+        @GET
+        public String get() {
+            return "a";
+        }
+
+        @GET
+        @Path("b")
+        public String b() {
+            return "a-b";
+        }
+
+        @GET
+        @Path("{x}")
+        public String x(@PathParam("x") final String x) {
+            return "a-x:" + x;
+        }
+
+        @GET
+        @Path("b/{y: .*}")
+        public String by(@PathParam("y") final String y) {
+            return "a-b-y:" + y;
+        }
+
+        @Path("sub")
+        public SubResource sub() {
+            return new SubResource();
+        }
+    }
+
+    @Path("a/{p}/c")
+    public static class ACResource {
+
+        @GET
+        public String get(@PathParam("p") final String p, @Context final UriInfo uriInfo) {
+            return "a-p-c:" + p + ":" + uriInfo.getMatchedURIs();
+        }
+    }
+
+    @Path("a/b/c")
+    public static class ABCResource {
+
+        @GET
+        public String get(@Context final UriInfo uriInfo) {
+            return "a-b-c:" + uriInfo.getMatchedURIs();
+        }
+    }
+
+    @Path("a b/{q}")
+    public static class EncodedResource {
+
+        @GET
+        public String get(@PathParam("q") final String q) {
+            return "a%20b:" + q;
+        }
+    }
+
+    @Path("{any: .*}/tail")
+    public static class RegexResource {
+
+        @GET
+        public String get(@PathParam("any") final String any) {
+            return "tail:" + any;
+        }
+    }
+
+    public static class SubResource {
+
+        @GET
+        public String get() {
+            return "sub";
+        }
+
+        @GET
+        @Path("{s}")
+        public String s(@PathParam("s") final String s) {
+            return "sub-s:" + s;
+        }
+    }
+
+    private static ApplicationHandler createApplication(final boolean compiled) {
+        return new ApplicationHandler(new ResourceConfig(RootResource.class, AResource.class, ACResource.class,
+                ABCResource.class, EncodedResource.class, RegexResource.class)
+                .property(ServerProperties.ROUTING_PATH_MATCHING_COMPILED, compiled));
+    }
+
+    @Test
+    public void testSameRoutesSelected() throws ExecutionException, InterruptedException {
+        final ApplicationHandler linear = createApplication(false);
+        final ApplicationHandler compiled = createApplication(true);
+
+        for (final String path : Arrays.asList("/", "/x", "/a", "/a/", "/a/b", "/a/b/", "/a/z", "/a/b/c", "/a/b/c/",
+                "/a/z/c", "/a/b/c/d", "/a/b/c/d/e", "/a/sub", "/a/sub/1", "/a%20b/1", "/a%20B/1", "/x/y/tail", "/a/tail",
+                "/ab", "/a/b/c;m=1", "/unknown/path")) {
+
+            final ContainerResponse expected = linear.apply(RequestContextBuilder.from(path, "GET").build()).get();
+            final ContainerResponse actual = compiled.apply(RequestContextBuilder.from(path, "GET").build()).get();
+
+            assertEquals(path, expected.getStatus(), actual.getStatus());
+            assertEquals(path, expected.getEntity(), actual.getEntity());
+        }
+    }
+
+    @Test
+    public void testLiteralSegments() {
+        assertEquals(Collections.emptyList(), CompiledPathMatchingRouter.literalSegments(PathPattern.OPEN_ROOT_PATH_PATTERN));
+        assertEquals(Collections.emptyList(), CompiledPathMatchingRouter.literalSegments(PathPattern.END_OF_PATH_PATTERN));
+        assertEquals(Collections.emptyList(), CompiledPathMatchingRouter.literalSegments(new PathPattern("/")));
+        assertEquals(Collections.emptyList(), CompiledPathMatchingRouter.literalSegments(new PathPattern("{id}")));
+        assertEquals(Collections.emptyList(), CompiledPathMatchingRouter.literalSegments(new PathPattern("a{id}")));
+        assertEquals(Collections.emptyList(), CompiledPathMatchingRouter.literalSegments(new PathPattern("a b/c")));
+        assertEquals(Arrays.asList("a"), CompiledPathMatchingRouter.literalSegments(new PathPattern("a")));
+        assertEquals(Arrays.asList("a"), CompiledPathMatchingRouter.literalSegments(new PathPattern("/a/")));
+        assertEquals(Arrays.asList("a", "b"), CompiledPathMatchingRouter.literalSegments(new PathPattern("a/b")));
+        assertEquals(Arrays.asList("a"), CompiledPathMatchingRouter.literalSegments(new PathPattern("a/b{id}")));
+        assertEquals(Arrays.asList("a", "b"), CompiledPathMatchingRouter.literalSegments(new PathPattern("a/b/{id}/c")));
+        assertEquals(Arrays.asList("a.b"), CompiledPathMatchingRouter.literalSegments(new PathPattern("a.b")));
+    }
+}
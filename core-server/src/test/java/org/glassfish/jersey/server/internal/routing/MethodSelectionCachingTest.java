@@ -0,0 +1,177 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that the cached resource method selection yields the same results as the uncached one.
+ */
+public class MethodSelectionCachingTest {
+
+    private static final int INVOCATION_COUNT = 3;
+
+    @Path("root")
+    public static class Resource {
+
+        @GET
+        @Produces("text/plain")
+        public String getPlain() {
+            return "plain";
+        }
+
+        @GET
+        @Produces("text/html")
+        public String getHtml() {
+            return "html";
+        }
+
+        @GET
+        @Path("any")
+        public String getAny() {
+            return "any";
+        }
+
+        @POST
+        @Consumes("text/plain")
+        @Produces({"text/plain", "application/xml"})
+        public String postPlain(final String entity) {
+            return "plain:" + entity;
+        }
+    }
+
+    private static final String[][] REQUESTS = {
+            // method, uri, accept, content-type
+            {"GET", "/root", null, null},
+            {"GET", "/root", "text/html", null},
+            {"GET", "/root", "text/plain", null},
+            {"GET", "/root", "text/html;q=0.5, text/plain", null},
+            {"GET", "/root", "application/json", null},
+            {"HEAD", "/root", "text/html", null},
+            {"GET", "/root/any", null, null},
+            {"GET", "/root/any", "text/*", null},
+            {"HEAD", "/root/any", "text/*", null},
+            {"POST", "/root", null, "text/plain"},
+            {"POST", "/root", "application/xml", "text/plain"},
+            {"POST", "/root", "text/plain", "application/json"},
+            {"PUT", "/root", null, "text/plain"},
+    };
+
+    private static ApplicationHandler createApplication(final int cacheSize) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.METHOD_SELECTION_CACHE_SIZE, cacheSize));
+    }
+
+    private static List<String> invokeAll(final ApplicationHandler application) throws Exception {
+        final List<String> results = new ArrayList<>();
+        for (int i = 0; i < INVOCATION_COUNT; i++) {
+            for (final String[] request : REQUESTS) {
+                final RequestContextBuilder builder = RequestContextBuilder.from(request[1], request[0]);
+                if (request[2] != null) {
+                    builder.accept(request[2]);
+                }
+                if (request[3] != null) {
+                    builder.type(request[3]).entity("entity");
+                }
+
+                final ContainerResponse response = application.apply(builder.build()).get();
+                results.add(response.getStatus() + " " + response.getMediaType() + " " + response.getEntity());
+            }
+        }
+        return results;
+    }
+
+    @Test
+    public void testCachedSelectionMatchesUncachedSelection() throws Exception {
+        assertEquals(invokeAll(createApplication(0)), invokeAll(createApplication(64)));
+    }
+
+    @Test
+    public void testCacheCounter() throws Exception {
+        final ApplicationHandler application = createApplication(64);
+        final MethodSelectionCacheCounter counter =
+                application.getInstanceManager().getInstance(MethodSelectionCacheCounter.class);
+
+        final ContainerResponse first = application.apply(RequestContextBuilder.from("/root", "GET")
+                .accept("text/html").build()).get();
+        assertEquals(0, counter.getHitCount());
+        assertEquals(1, counter.getMissCount());
+
+        final ContainerResponse second = application.apply(RequestContextBuilder.from("/root", "GET")
+                .accept("text/html").build()).get();
+        assertEquals(1, counter.getHitCount());
+        assertEquals(1, counter.getMissCount());
+        assertEquals(first.getMediaType(), second.getMediaType());
+        assertEquals("html", second.getEntity());
+
+        application.apply(RequestContextBuilder.from("/root", "GET").accept("text/plain").build()).get();
+        assertEquals(1, counter.getHitCount());
+        assertEquals(2, counter.getMissCount());
+    }
+
+    @Test
+    public void testCacheDisabled() throws Exception {
+        final ApplicationHandler application = createApplication(0);
+        final MethodSelectionCacheCounter counter =
+                application.getInstanceManager().getInstance(MethodSelectionCacheCounter.class);
+
+        for (int i = 0; i < INVOCATION_COUNT; i++) {
+            application.apply(RequestContextBuilder.from("/root", "GET").accept("text/html").build()).get();
+        }
+        assertEquals(0, counter.getHitCount());
+        assertEquals(0, counter.getMissCount());
+    }
+}
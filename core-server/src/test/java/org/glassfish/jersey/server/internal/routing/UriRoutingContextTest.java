@@ -41,6 +41,7 @@ package org.glassfish.jersey.server.internal.routing;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -49,6 +50,8 @@ import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.UriInfo;
 
 import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.uri.PathPattern;
+import org.glassfish.jersey.uri.PathTemplate;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -449,4 +452,21 @@ public class UriRoutingContextTest {
         assertEquals("+1%20", p.getFirst("x "));
         assertEquals("+2", p.getFirst(" y "));
     }
+
+    @Test
+    public void testGetPathParametersResolvedLazily() throws Exception {
+        final UriRoutingContext context = createContext("/widgets/a%20b/parts/10", "GET");
+
+        context.pushMatchResult(new PathPattern("widgets/{id}").match("/widgets/a%20b/parts/10"));
+        context.pushTemplates(new PathTemplate("widgets/{id}"), null);
+        assertEquals("a b", context.getPathParameters().getFirst("id"));
+        assertEquals("a%20b", context.getPathParameters(false).getFirst("id"));
+
+        // templates pushed after the path parameters have been resolved once
+        context.pushMatchResult(new PathPattern("parts").match("/parts/10"));
+        context.pushMatchResult(new PathPattern("{id}").match("/10"));
+        context.pushTemplates(new PathTemplate("parts"), new PathTemplate("{id}"));
+        assertEquals(Arrays.asList("10", "a b"), context.getPathParameters().get("id"));
+        assertEquals(Arrays.asList("10", "a%20b"), context.getPathParameters(false).get("id"));
+    }
 }
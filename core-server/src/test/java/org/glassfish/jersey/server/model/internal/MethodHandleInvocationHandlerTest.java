@@ -0,0 +1,218 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.MethodHandler;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test of the resource method dispatching through method handles.
+ */
+public class MethodHandleInvocationHandlerTest {
+
+    public static class CheckedException extends Exception {
+    }
+
+    public static class CheckedExceptionMapper implements ExceptionMapper<CheckedException> {
+
+        @Override
+        public Response toResponse(final CheckedException exception) {
+            return Response.status(409).entity("mapped").build();
+        }
+    }
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        @Path("void")
+        public void getVoid() {
+        }
+
+        @GET
+        @Path("void/{value}")
+        public void getVoid(@PathParam("value") final String value) {
+        }
+
+        @GET
+        @Path("response/{value}")
+        public Response getResponse(@PathParam("value") final int value) {
+            return Response.status(value).entity("response").build();
+        }
+
+        @GET
+        @Path("typed/{a}/{b}")
+        public String getTyped(@PathParam("a") final long a, @PathParam("b") final String b) {
+            return a + b;
+        }
+
+        @GET
+        @Path("generic")
+        public GenericEntity<String> getGeneric() {
+            return new GenericEntity<String>("generic") {
+            };
+        }
+
+        @GET
+        @Path("object")
+        public Object getObject() {
+            return "object";
+        }
+
+        @GET
+        @Path("web-application-exception")
+        public String getWebApplicationException() {
+            throw new WebApplicationException(418);
+        }
+
+        @GET
+        @Path("checked-exception")
+        public String getCheckedException() throws CheckedException {
+            throw new CheckedException();
+        }
+
+        @GET
+        @Path("runtime-exception")
+        public String getRuntimeException() {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static ApplicationHandler createApplication(final boolean methodHandles) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class, CheckedExceptionMapper.class)
+                .property(ServerProperties.RESOURCE_METHOD_HANDLE_DISPATCH, methodHandles));
+    }
+
+    private static String invoke(final ApplicationHandler application, final String uri) throws Exception {
+        try {
+            final ContainerResponse response = application.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+            return response.getStatus() + " " + response.getEntity();
+        } catch (final Exception e) {
+            return e.getCause().getClass().getName();
+        }
+    }
+
+    @Test
+    public void testDispatchMatchesReflectiveDispatch() throws Exception {
+        final ApplicationHandler reflective = createApplication(false);
+        final ApplicationHandler methodHandles = createApplication(true);
+
+        for (final String uri : new String[] {
+                "/resource/void", "/resource/void/value", "/resource/response/202", "/resource/typed/1/b",
+                "/resource/generic", "/resource/object", "/resource/web-application-exception",
+                "/resource/checked-exception", "/resource/runtime-exception"}) {
+            assertEquals(uri, invoke(reflective, uri), invoke(methodHandles, uri));
+        }
+    }
+
+    @Test
+    public void testInvocationTargetException() throws Throwable {
+        final InvocationHandler handler = createHandler("getCheckedException");
+        try {
+            handler.invoke(new Resource(), null, new Object[0]);
+            fail("InvocationTargetException expected.");
+        } catch (final InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof CheckedException);
+        }
+    }
+
+    @Test
+    public void testArgumentConversion() throws Throwable {
+        final InvocationHandler handler = createHandler("getTyped", long.class, String.class);
+
+        // Widening primitive conversion is applied just like in case of Method#invoke.
+        assertEquals("1b", handler.invoke(new Resource(), null, new Object[] {1, "b"}));
+
+        assertIllegalArgument(handler, new Resource(), new Object[] {null, "b"});
+        assertIllegalArgument(handler, new Resource(), new Object[] {1L, 2L});
+        assertIllegalArgument(handler, new Resource(), new Object[] {1L});
+        assertIllegalArgument(handler, new Object(), new Object[] {1L, "b"});
+    }
+
+    @Test
+    public void testLinkKeepsCustomHandler() throws Exception {
+        final Invocable invocable = Invocable.create(MethodHandler.create(Resource.class), Resource.class.getMethod("getObject"));
+        final InvocationHandler custom = (target, method, args) -> method.invoke(target, args);
+
+        assertSame(custom, MethodHandleInvocationHandler.link(invocable, custom));
+    }
+
+    private static InvocationHandler createHandler(final String name, final Class<?>... parameterTypes) throws Exception {
+        final Method method = Resource.class.getMethod(name, parameterTypes);
+        final InvocationHandler handler =
+                MethodHandleInvocationHandler.create(Invocable.create(MethodHandler.create(Resource.class), method));
+        assertNotNull(handler);
+        return handler;
+    }
+
+    private static void assertIllegalArgument(final InvocationHandler handler, final Object target, final Object[] args)
+            throws Throwable {
+        try {
+            handler.invoke(target, null, args);
+            fail("IllegalArgumentException expected.");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
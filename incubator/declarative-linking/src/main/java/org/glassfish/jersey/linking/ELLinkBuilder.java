@@ -48,14 +48,13 @@ import java.util.Map;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
-import javax.el.ExpressionFactory;
-import javax.el.ValueExpression;
-
 import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
-import org.glassfish.jersey.uri.internal.UriTemplateParser;
 
 /**
  * A helper class to build links from EL expressions.
+ * <p>
+ * The expressions are compiled once per link (see {@link InjectLinkPlan}) and evaluated for each response.
+ * </p>
  *
  * @author Mark Hadley
  * @author Gerard Davison (gerard.davison at oracle.com)
@@ -65,29 +64,38 @@ final class ELLinkBuilder {
     private ELLinkBuilder() {
     }
 
-    private static final ExpressionFactory expressionFactory =
-            ExpressionFactory.newInstance();
-
     /**
-     * TODO javadoc.
+     * Evaluate the condition of a link.
+     *
+     * @param condition compiled condition, {@code null} if the link is not conditional.
+     * @param entity    the entity returned from the resource method.
+     * @param resource  the resource class instance that returned the entity.
+     * @param instance  the instance that contains the link.
+     * @return {@code true} if the link should be built.
      */
-    static boolean evaluateCondition(String condition,
+    static boolean evaluateCondition(LinkExpression condition,
                                      Object entity,
                                      Object resource,
                                      Object instance) {
 
-        if (condition == null || condition.isEmpty()) {
+        if (condition == null) {
             return true;
         }
-        LinkELContext context = new LinkELContext(entity, resource, instance);
-        ValueExpression expr = expressionFactory.createValueExpression(context, condition, boolean.class);
 
-        Object result = expr.getValue(context).toString();
+        Object result = condition.evaluate(entity, resource, instance).toString();
         return "true".equals(result);
     }
 
     /**
-     * TODO javadoc.
+     * Build the URI of a link.
+     *
+     * @param link     link descriptor.
+     * @param entity   the entity returned from the resource method.
+     * @param resource the resource class instance that returned the entity.
+     * @param instance the instance that contains the link.
+     * @param uriInfo  the uriInfo for the request.
+     * @param rmc      resource mapping context.
+     * @return link URI.
      */
     static URI buildURI(InjectLinkDescriptor link,
                         Object entity,
@@ -96,19 +104,16 @@ final class ELLinkBuilder {
                         UriInfo uriInfo,
                         ResourceMappingContext rmc) {
 
-        String template = link.getLinkTemplate(rmc);
+        InjectLinkPlan plan = link.getPlan();
+        InjectLinkPlan.Template linkTemplate = plan.getTemplate(rmc);
 
         // first process any embedded EL expressions
-        LinkELContext context = new LinkELContext(entity, resource, instance);
-        ValueExpression expr = expressionFactory.createValueExpression(context,
-                template, String.class);
-        template = expr.getValue(context).toString();
+        String template = linkTemplate.evaluate(entity, resource, instance);
 
         // now process any embedded URI template parameters
         UriBuilder ub = applyLinkStyle(template, link.getLinkStyle(), uriInfo);
-        UriTemplateParser parser = new UriTemplateParser(template);
-        List<String> parameterNames = parser.getNames();
-        Map<String, Object> valueMap = getParameterValues(parameterNames, link, context, uriInfo);
+        List<String> parameterNames = linkTemplate.getParameterNames(template);
+        Map<String, Object> valueMap = getParameterValues(parameterNames, plan, entity, resource, instance, uriInfo);
         return ub.buildFromMap(valueMap);
     }
 
@@ -130,13 +135,15 @@ final class ELLinkBuilder {
     }
 
     private static Map<String, Object> getParameterValues(List<String> parameterNames,
-                                                          InjectLinkDescriptor linkField,
-                                                          LinkELContext context,
+                                                          InjectLinkPlan plan,
+                                                          Object entity,
+                                                          Object resource,
+                                                          Object instance,
                                                           UriInfo uriInfo) {
         Map<String, Object> values = new HashMap<>();
         for (String name : parameterNames) {
-            String elExpression = linkField.getBinding(name);
-            if (elExpression == null) {
+            LinkExpression expr = plan.getBinding(name);
+            if (expr == null) {
                 String value = uriInfo.getPathParameters().getFirst(name);
                 if (value == null) {
                     value = uriInfo.getQueryParameters().getFirst(name);
@@ -145,14 +152,12 @@ final class ELLinkBuilder {
                     values.put(name, value);
                     continue;
                 }
-                elExpression = "${" + ResponseContextResolver.INSTANCE_OBJECT + "." + name + "}";
+                expr = LinkExpression.forInstanceProperty(name);
             }
-            ValueExpression expr = expressionFactory.createValueExpression(context,
-                        elExpression, String.class);
 
-            Object value = expr.getValue(context);
+            Object value = expr.evaluate(entity, resource, instance);
             values.put(name, value != null ? value.toString() : null);
-         }
+        }
         return values;
     }
 
@@ -49,8 +49,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.ws.rs.core.Link;
+import javax.xml.bind.annotation.XmlTransient;
 
 /**
  * Describes an entity in terms of its fields, bean properties and {@link InjectLink}
@@ -64,16 +66,36 @@ class EntityDescriptor {
 
     // Maintains an internal static cache to optimize processing
 
-    private static final Map<Class<?>, EntityDescriptor> descriptors = new HashMap<>();
+    private static final Map<Class<?>, EntityDescriptor> descriptors = new ConcurrentHashMap<>();
 
-    public static synchronized EntityDescriptor getInstance(Class<?> entityClass) {
-        if (descriptors.containsKey(entityClass)) {
-            return descriptors.get(entityClass);
-        } else {
-            EntityDescriptor descriptor = new EntityDescriptor(entityClass);
-            descriptors.put(entityClass, descriptor);
-            return descriptor;
+    public static EntityDescriptor getInstance(Class<?> entityClass) {
+        EntityDescriptor descriptor = descriptors.get(entityClass);
+        if (descriptor == null) {
+            descriptor = descriptors.computeIfAbsent(entityClass, EntityDescriptor::new);
         }
+        return descriptor;
+    }
+
+    /**
+     * Kind of the members of an entity (in addition to its fields) that are processed for links.
+     */
+    enum Members {
+        /**
+         * No members.
+         */
+        NONE,
+        /**
+         * Elements of an object array.
+         */
+        ARRAY,
+        /**
+         * Elements of an {@link Iterable}.
+         */
+        ITERABLE,
+        /**
+         * Entries of a {@link Map}.
+         */
+        MAP
     }
 
     // instance
@@ -82,6 +104,12 @@ class EntityDescriptor {
     private Map<String, FieldDescriptor> linkFields;
     private List<LinkHeaderDescriptor> linkHeaders;
 
+    // processing plan
+    private final FieldDescriptor[] linkFieldPlan;
+    private final FieldDescriptor[] followedFieldPlan;
+    private final Members members;
+    private final boolean processable;
+
     /**
      * Construct an new descriptor by inspecting the supplied class.
      * @param entityClass
@@ -98,6 +126,76 @@ class EntityDescriptor {
         findFields(entityClass);
         this.nonLinkFields = Collections.unmodifiableMap(this.nonLinkFields);
         this.linkFields = Collections.unmodifiableMap(this.linkFields);
+
+        // precompute what needs to be done with instances of the class
+        this.linkFieldPlan = linkFields.values().toArray(new FieldDescriptor[linkFields.size()]);
+        final List<FieldDescriptor> followed = new ArrayList<>();
+        for (FieldDescriptor member : nonLinkFields.values()) {
+            if (fieldSuitableForIntrospection(member)) {
+                followed.add(member);
+            }
+        }
+        this.followedFieldPlan = followed.toArray(new FieldDescriptor[followed.size()]);
+
+        if (entityClass.isArray() && Object[].class.isAssignableFrom(entityClass)) {
+            this.members = Members.ARRAY;
+        } else if (Iterable.class.isAssignableFrom(entityClass)) {
+            this.members = Members.ITERABLE;
+        } else if (Map.class.isAssignableFrom(entityClass)) {
+            this.members = Members.MAP;
+        } else {
+            this.members = Members.NONE;
+        }
+
+        this.processable = !entityClass.getName().startsWith("java.lang")
+                && (linkFieldPlan.length > 0 || followedFieldPlan.length > 0 || members != Members.NONE);
+    }
+
+    private static boolean fieldSuitableForIntrospection(FieldDescriptor member) {
+        return member.field == null
+                || (!member.field.isSynthetic()
+                    && !Modifier.isTransient(member.field.getModifiers())
+                    && !member.field.getType().isPrimitive()
+                    && member.field.getType() != String.class
+                    && !member.field.isAnnotationPresent(InjectLinkNoFollow.class)
+                    && !member.field.isAnnotationPresent(XmlTransient.class));
+    }
+
+    /**
+     * Check whether instances of the entity class need to be processed, i.e. whether they contain links or members that
+     * may contain links.
+     *
+     * @return {@code true} if instances of the class need to be processed.
+     */
+    boolean isProcessable() {
+        return processable;
+    }
+
+    /**
+     * Get the link fields.
+     *
+     * @return link fields.
+     */
+    FieldDescriptor[] getLinkFieldPlan() {
+        return linkFieldPlan;
+    }
+
+    /**
+     * Get the non-link fields whose values are processed for links.
+     *
+     * @return fields to be followed.
+     */
+    FieldDescriptor[] getFollowedFieldPlan() {
+        return followedFieldPlan;
+    }
+
+    /**
+     * Get the kind of members of the entity.
+     *
+     * @return kind of members.
+     */
+    Members getMembers() {
+        return members;
     }
 
     public Collection<FieldDescriptor> getLinkFields() {
@@ -40,6 +40,9 @@
 
 package org.glassfish.jersey.linking;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.security.AccessController;
@@ -55,23 +58,88 @@ import java.util.logging.Logger;
  */
 class FieldDescriptor {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle NO_ACCESSOR = MethodHandles.constant(Object.class, null);
+
     protected Field field;
 
+    // field accessors, created on first use
+    private volatile MethodHandle getter;
+    private volatile MethodHandle setter;
+
     FieldDescriptor(Field f) {
         this.field = f;
     }
 
     public Object getFieldValue(Object instance) {
-        setAccessibleField(field);
+        MethodHandle getter = this.getter;
+        if (getter == null) {
+            setAccessibleField(field);
+            getter = unreflect(true);
+            this.getter = getter;
+        }
+
         Object value = null;
         try {
-            value = field.get(instance);
-        } catch (IllegalArgumentException | IllegalAccessException ex) {
+            value = getter != NO_ACCESSOR ? getter.invokeExact(instance) : field.get(instance);
+        } catch (IllegalArgumentException | IllegalAccessException | ClassCastException ex) {
             Logger.getLogger(FieldDescriptor.class.getName()).log(Level.FINE, null, ex);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable t) {
+            Logger.getLogger(FieldDescriptor.class.getName()).log(Level.FINE, null, t);
         }
         return value;
     }
 
+    /**
+     * Set the value of the field.
+     *
+     * @param instance instance to set the field of.
+     * @param value    new value of the field.
+     * @throws IllegalAccessException if the field cannot be set.
+     */
+    protected void setFieldValue(Object instance, Object value) throws IllegalAccessException {
+        MethodHandle setter = this.setter;
+        if (setter == null) {
+            setAccessibleField(field);
+            setter = unreflect(false);
+            this.setter = setter;
+        }
+
+        if (setter == NO_ACCESSOR) {
+            field.set(instance, value);
+            return;
+        }
+        try {
+            setter.invokeExact(instance, value);
+        } catch (ClassCastException ex) {
+            throw new IllegalArgumentException(ex);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw new IllegalArgumentException(t);
+        }
+    }
+
+    /**
+     * Create a field accessor handle. Static fields and fields that cannot be accessed by method handles (e.g. final
+     * fields) are accessed reflectively.
+     */
+    private MethodHandle unreflect(boolean get) {
+        if (Modifier.isStatic(field.getModifiers()) || (!get && Modifier.isFinal(field.getModifiers()))) {
+            return NO_ACCESSOR;
+        }
+        try {
+            return get
+                    ? MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE)
+                    : MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | SecurityException ex) {
+            return NO_ACCESSOR;
+        }
+    }
+
     public String getFieldName() {
         return field.getName();
     }
@@ -40,24 +40,24 @@
 
 package org.glassfish.jersey.linking;
 
-import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.UriInfo;
-import javax.xml.bind.annotation.XmlTransient;
 
 import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
 
 /**
  * Utility class that can inject links into {@link org.glassfish.jersey.linking.InjectLink} annotated fields in
  * an entity.
+ * <p>
+ * The fields to inject and to follow are determined once per class by the {@link EntityDescriptor}.
+ * </p>
  *
  * @author Mark Hadley
  * @author Gerard Davison (gerard.davison at oracle.com)
@@ -65,7 +65,6 @@ import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
 class FieldProcessor<T> {
 
     private EntityDescriptor instanceDescriptor;
-    private static final Logger log = Logger.getLogger(FieldProcessor.class.getName());
 
     public FieldProcessor(Class<T> c) {
         instanceDescriptor = EntityDescriptor.getInstance(c);
@@ -78,43 +77,36 @@ class FieldProcessor<T> {
      * @param uriInfo the uriInfo for the request
      */
     public void processLinks(T entity, UriInfo uriInfo, ResourceMappingContext rmc) {
-        Set<Object> processed = new HashSet<Object>();
+        // identity based, entities are not required to implement equals() and hashCode() properly (JERSEY-1656)
+        Set<Object> processed = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
         Object resource = uriInfo.getMatchedResources().get(0);
-        processLinks(entity, resource, entity, processed, uriInfo, rmc);
+        processLinks(instanceDescriptor, entity, resource, entity, processed, uriInfo, rmc);
     }
 
     /**
      * Inject any {@link org.glassfish.jersey.linking.InjectLink} annotated fields in the supplied instance. Called
      * once for the entity and then recursively for each member and field.
+     * @param descriptor descriptor of the instance class
      * @param entity
      * @param processed a list of already processed objects, used to break
      * recursion when processing circular references.
      * @param uriInfo
      */
-    private void processLinks(Object entity, Object resource, Object instance,
-                              Set<Object> processed, UriInfo uriInfo,
-                              ResourceMappingContext rmc) {
+    private static void processLinks(EntityDescriptor descriptor, Object entity, Object resource, Object instance,
+                                     Set<Object> processed, UriInfo uriInfo,
+                                     ResourceMappingContext rmc) {
 
-        try {
-            if (instance == null || processed.contains(instance)) {
-                return; // ignore null properties and defeat circular references
-            }
-            if (instance.getClass().getName().startsWith("java.lang")) {
-                return;
-            }
-            processed.add(instance);
-        } catch (RuntimeException e) {
-            // fix for JERSEY-1656
-            log.log(Level.INFO, LinkMessages.WARNING_LINKFILTER_PROCESSING(instance.getClass().getName()), e);
+        if (instance == null || !descriptor.isProcessable() || !processed.add(instance)) {
+            return; // ignore null properties, objects without links and defeat circular references
         }
 
         // Process any @Link annotated fields in entity
-        for (FieldDescriptor field : instanceDescriptor.getLinkFields()) {
+        for (FieldDescriptor field : descriptor.getLinkFieldPlan()) {
 
             // TODO replace with properly poly-morphic code
             if (field instanceof InjectLinkFieldDescriptor) {
                 InjectLinkFieldDescriptor linkField = (InjectLinkFieldDescriptor) field;
-                if (ELLinkBuilder.evaluateCondition(linkField.getCondition(), entity, resource, instance)) {
+                if (ELLinkBuilder.evaluateCondition(linkField.getPlan().getCondition(), entity, resource, instance)) {
                     URI uri = ELLinkBuilder.buildURI(linkField, entity, resource, instance, uriInfo, rmc);
                     linkField.setPropertyValue(instance, uri);
                 }
@@ -123,7 +115,7 @@ class FieldProcessor<T> {
                 InjectLinksFieldDescriptor linksField = (InjectLinksFieldDescriptor) field;
                 List<Link> list = new ArrayList<Link>();
                 for (InjectLinkFieldDescriptor linkField : linksField.getLinksToInject()) {
-                    if (ELLinkBuilder.evaluateCondition(linkField.getCondition(), entity, resource, instance)) {
+                    if (ELLinkBuilder.evaluateCondition(linkField.getPlan().getCondition(), entity, resource, instance)) {
                        URI uri = ELLinkBuilder.buildURI(linkField, entity, resource, instance, uriInfo, rmc);
                        Link link = linkField.getLink(uri);
                        list.add(link);
@@ -135,49 +127,37 @@ class FieldProcessor<T> {
         }
 
         // If entity is an array, collection, or map then process members
-        Class<?> instanceClass = instance.getClass();
-        if (instanceClass.isArray() && Object[].class.isAssignableFrom(instanceClass)) {
-            Object array[] = (Object[]) instance;
-            for (Object member : array) {
-                processMember(entity, resource, member, processed, uriInfo, rmc);
-            }
-        } else if (instance instanceof Iterable) {
-            Iterable iterable = (Iterable) instance;
-            for (Object member : iterable) {
-                processMember(entity, resource, member, processed, uriInfo, rmc);
-            }
-        } else if (instance instanceof Map) {
-            Map map = (Map) instance;
-            for (Object member : map.entrySet()) {
-                processMember(entity, resource, member, processed, uriInfo, rmc);
-            }
+        switch (descriptor.getMembers()) {
+            case ARRAY:
+                for (Object member : (Object[]) instance) {
+                    processMember(entity, resource, member, processed, uriInfo, rmc);
+                }
+                break;
+            case ITERABLE:
+                for (Object member : (Iterable<?>) instance) {
+                    processMember(entity, resource, member, processed, uriInfo, rmc);
+                }
+                break;
+            case MAP:
+                for (Object member : ((Map<?, ?>) instance).entrySet()) {
+                    processMember(entity, resource, member, processed, uriInfo, rmc);
+                }
+                break;
+            default:
+                break;
         }
 
         // Recursively process all member fields
-        for (FieldDescriptor member : instanceDescriptor.getNonLinkFields()) {
-
-            if (fieldSuitableForIntrospection(member)) {
-                processMember(entity, resource, member.getFieldValue(instance), processed, uriInfo, rmc);
-            }
+        for (FieldDescriptor member : descriptor.getFollowedFieldPlan()) {
+            processMember(entity, resource, member.getFieldValue(instance), processed, uriInfo, rmc);
         }
 
     }
 
-    private boolean fieldSuitableForIntrospection(FieldDescriptor member) {
-        return member.field == null
-                || (!member.field.isSynthetic()
-                    && !Modifier.isTransient(member.field.getModifiers())
-                    && !member.field.getType().isPrimitive()
-                    && member.field.getType() != String.class
-                    && !member.field.isAnnotationPresent(InjectLinkNoFollow.class)
-                    && !member.field.isAnnotationPresent(XmlTransient.class));
-    }
-
-    private void processMember(Object entity, Object resource, Object member, Set<Object> processed, UriInfo uriInfo,
-      ResourceMappingContext rmc) {
+    private static void processMember(Object entity, Object resource, Object member, Set<Object> processed,
+                                      UriInfo uriInfo, ResourceMappingContext rmc) {
         if (member != null) {
-            FieldProcessor proc = new FieldProcessor(member.getClass());
-            proc.processLinks(entity, resource, member, processed, uriInfo, rmc);
+            processLinks(EntityDescriptor.getInstance(member.getClass()), entity, resource, member, processed, uriInfo, rmc);
         }
     }
 
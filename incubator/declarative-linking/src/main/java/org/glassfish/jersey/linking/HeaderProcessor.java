@@ -89,7 +89,7 @@ class HeaderProcessor<T> {
             final List<String> headerValues = new ArrayList<>();
 
             for (LinkHeaderDescriptor desc : instanceDescriptor.getLinkHeaders()) {
-                if (ELLinkBuilder.evaluateCondition(desc.getCondition(), entity, resource, entity)) {
+                if (ELLinkBuilder.evaluateCondition(desc.getPlan().getCondition(), entity, resource, entity)) {
                     String headerValue = getLinkHeaderValue(desc, entity, resource, uriInfo, rmc);
                     headerValues.add(headerValue);
                 }
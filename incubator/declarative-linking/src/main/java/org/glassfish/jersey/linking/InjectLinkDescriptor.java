@@ -75,4 +75,10 @@ interface InjectLinkDescriptor {
      * @return the condition
      */
     String getCondition();
+
+    /**
+     * Get the compiled link template, condition and bindings.
+     * @return the compiled link
+     */
+    InjectLinkPlan getPlan();
 }
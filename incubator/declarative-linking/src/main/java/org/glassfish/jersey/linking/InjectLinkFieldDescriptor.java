@@ -71,6 +71,7 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
     private InjectLink link;
     private Class<?> type;
     private Map<String, String> bindings;
+    private InjectLinkPlan plan;
 
     /**
      * TODO javadoc.
@@ -83,13 +84,13 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
         for (Binding binding : l.bindings()) {
             bindings.put(binding.name(), binding.value());
         }
+        plan = new InjectLinkPlan(l);
     }
 
     /**
      * TODO javadoc.
      */
     public void setPropertyValue(Object instance, URI uri) {
-        setAccessibleField(field);
         try {
 
             Object value;
@@ -105,7 +106,7 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
                 throw new IllegalArgumentException("Field type " + type + " not one of supported String,URI and Link");
             }
 
-            field.set(instance, value);
+            setFieldValue(instance, value);
         } catch (IllegalArgumentException | IllegalAccessException ex) {
             Logger.getLogger(InjectLinkFieldDescriptor.class.getName()).log(Level.SEVERE, null, ex);
         }
@@ -247,4 +248,11 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
     public String getCondition() {
         return link.condition();
     }
+
+    /**
+     * Get the compiled link template, condition and bindings.
+     */
+    public InjectLinkPlan getPlan() {
+        return plan;
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.linking;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
+import org.glassfish.jersey.uri.internal.UriTemplateParser;
+
+/**
+ * Expressions of an {@link InjectLink} compiled when the link is first discovered so that they are not parsed again for
+ * every response.
+ */
+final class InjectLinkPlan {
+
+    private final InjectLink link;
+    private final LinkExpression condition;
+    private final Map<String, LinkExpression> bindings;
+
+    private volatile Template template;
+
+    /**
+     * Compile the condition and bindings of the given link.
+     *
+     * @param link link to compile.
+     */
+    InjectLinkPlan(final InjectLink link) {
+        this.link = link;
+        this.condition = LinkExpression.forCondition(link.condition());
+
+        final Map<String, LinkExpression> bindings = new HashMap<>();
+        for (final Binding binding : link.bindings()) {
+            bindings.put(binding.name(), LinkExpression.forString(binding.value()));
+        }
+        this.bindings = bindings;
+    }
+
+    /**
+     * Get the compiled condition.
+     *
+     * @return condition or {@code null} if the link is not conditional.
+     */
+    LinkExpression getCondition() {
+        return condition;
+    }
+
+    /**
+     * Get the compiled binding of a URI template parameter.
+     *
+     * @param name name of the URI template parameter.
+     * @return binding or {@code null} if there is no binding for the parameter.
+     */
+    LinkExpression getBinding(final String name) {
+        return bindings.get(name);
+    }
+
+    /**
+     * Get the compiled link template.
+     *
+     * @param rmc resource mapping context used to resolve templates of the links to resources.
+     * @return link template.
+     */
+    Template getTemplate(final ResourceMappingContext rmc) {
+        Template template = this.template;
+        if (template == null || template.rmc != rmc) {
+            template = new Template(rmc, InjectLinkFieldDescriptor.getLinkTemplate(rmc, link));
+            this.template = template;
+        }
+        return template;
+    }
+
+    /**
+     * Link template resolved within a resource mapping context.
+     */
+    static final class Template {
+
+        private final ResourceMappingContext rmc;
+        private final LinkExpression expression;
+        private final String literal;
+        private final List<String> parameterNames;
+
+        private Template(final ResourceMappingContext rmc, final String template) {
+            this.rmc = rmc;
+            this.expression = LinkExpression.forString(template);
+
+            if (expression.isLiteral()) {
+                this.literal = template;
+                this.parameterNames = Collections.unmodifiableList(new UriTemplateParser(template).getNames());
+            } else {
+                this.literal = null;
+                this.parameterNames = null;
+            }
+        }
+
+        /**
+         * Evaluate the EL expressions in the template.
+         *
+         * @param entity   the entity returned from the resource method.
+         * @param resource the resource class instance that returned the entity.
+         * @param instance the instance that contains the link.
+         * @return URI template.
+         */
+        String evaluate(final Object entity, final Object resource, final Object instance) {
+            return literal != null ? literal : expression.evaluate(entity, resource, instance).toString();
+        }
+
+        /**
+         * Get the names of the parameters of the URI template.
+         *
+         * @param uriTemplate URI template returned by {@link #evaluate(Object, Object, Object)}.
+         * @return names of the URI template parameters.
+         */
+        List<String> getParameterNames(final String uriTemplate) {
+            return parameterNames != null ? parameterNames : new UriTemplateParser(uriTemplate).getNames();
+        }
+    }
+}
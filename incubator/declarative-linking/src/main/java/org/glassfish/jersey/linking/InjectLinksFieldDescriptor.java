@@ -58,6 +58,7 @@ class InjectLinksFieldDescriptor extends FieldDescriptor {
 
     private final InjectLinks link;
     private final Class<?> type;
+    private final InjectLinkFieldDescriptor[] linksToInject;
 
     /**
      * TODO javadoc.
@@ -66,13 +67,18 @@ class InjectLinksFieldDescriptor extends FieldDescriptor {
         super(f);
         link = l;
         type = t;
+
+        final InjectLink[] listOfLinks = link.value();
+        linksToInject = new InjectLinkFieldDescriptor[listOfLinks.length];
+        for (int i = 0; i < linksToInject.length; i++) {
+            linksToInject[i] = new InjectLinkFieldDescriptor(field, listOfLinks[i], Link.class);
+        }
     }
 
     /**
      * TODO javadoc.
      */
     public void setPropertyValue(Object instance, List<Link> list) {
-        setAccessibleField(field);
         try {
 
             Object value;
@@ -84,7 +90,7 @@ class InjectLinksFieldDescriptor extends FieldDescriptor {
                 throw new IllegalArgumentException("Field type " + type + " not one of supported List<Link> or List[]");
             }
 
-            field.set(instance, value);
+            setFieldValue(instance, value);
 
 
         } catch (IllegalArgumentException | IllegalAccessException ex) {
@@ -96,11 +102,6 @@ class InjectLinksFieldDescriptor extends FieldDescriptor {
      * TODO javadoc.
      */
     public InjectLinkFieldDescriptor[] getLinksToInject() {
-        final InjectLink[] listOfLinks = link.value();
-        InjectLinkFieldDescriptor[] fields = new InjectLinkFieldDescriptor[listOfLinks.length];
-        for (int i = 0; i < fields.length; i++) {
-            fields[i] = new InjectLinkFieldDescriptor(field, listOfLinks[i], Link.class);
-        }
-        return fields;
+        return linksToInject;
     }
 }
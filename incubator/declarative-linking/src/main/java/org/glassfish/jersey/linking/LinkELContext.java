@@ -57,9 +57,13 @@ import javax.el.VariableMapper;
  */
 class LinkELContext extends ELContext {
 
+    // thread-safe, caches bean properties of the resolved classes
+    private static final BeanELResolver BEAN_RESOLVER = new BeanELResolver(true);
+
     private Object entity;
     private Object resource;
     private Object instance;
+    private ELResolver resolver;
 
     /**
      * Convenience constructor for the common case where a context where
@@ -90,9 +94,12 @@ class LinkELContext extends ELContext {
 
     @Override
     public ELResolver getELResolver() {
-        CompositeELResolver resolver = new CompositeELResolver();
-        resolver.add(new ResponseContextResolver(entity, resource, instance));
-        resolver.add(new BeanELResolver(true));
+        if (resolver == null) {
+            CompositeELResolver resolver = new CompositeELResolver();
+            resolver.add(new ResponseContextResolver(entity, resource, instance));
+            resolver.add(BEAN_RESOLVER);
+            this.resolver = resolver;
+        }
         return resolver;
     }
 
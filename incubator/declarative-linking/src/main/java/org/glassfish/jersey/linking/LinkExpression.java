@@ -0,0 +1,403 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.linking;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.el.ELException;
+import javax.el.ExpressionFactory;
+import javax.el.ValueExpression;
+
+/**
+ * An EL expression used in an {@link InjectLink} template, {@link Binding binding} or condition that is parsed only once.
+ * <p>
+ * Expressions consisting only of literal text and of property paths starting at one of the implicit objects (e.g.
+ * {@code widgets/${instance.id}}) are evaluated directly, using cached property getters. Other expressions are parsed into
+ * a {@link ValueExpression} that is evaluated against a new {@link LinkELContext} for each response.
+ * </p>
+ */
+final class LinkExpression {
+
+    private static final ExpressionFactory EXPRESSION_FACTORY = ExpressionFactory.newInstance();
+
+    private static final ConcurrentMap<String, LinkExpression> STRING_EXPRESSIONS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LinkExpression> CONDITIONS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LinkExpression> INSTANCE_PROPERTIES = new ConcurrentHashMap<>();
+
+    private static final Set<String> IMPLICIT_OBJECTS = new HashSet<>(Arrays.asList(
+            ResponseContextResolver.ENTITY_OBJECT, ResponseContextResolver.RESOURCE_OBJECT,
+            ResponseContextResolver.INSTANCE_OBJECT));
+
+    private static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList(
+            "and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge", "true", "false", "null", "instanceof", "empty",
+            "div", "mod"));
+
+    /**
+     * Value returned by a directly evaluated property path that cannot be resolved without the EL runtime.
+     */
+    private static final Object UNRESOLVED = new Object();
+
+    private static final ClassValue<ConcurrentMap<String, MethodHandle>> GETTERS =
+            new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+                @Override
+                protected ConcurrentMap<String, MethodHandle> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final MethodHandle NO_GETTER = MethodHandles.constant(Object.class, UNRESOLVED);
+
+    private final String expression;
+    private final Class<?> expectedType;
+    private volatile ValueExpression valueExpression;
+    /**
+     * Literal {@code String} and {@link PropertyPath} parts of a directly evaluated expression or {@code null}.
+     */
+    private final Object[] parts;
+
+    private LinkExpression(final String expression, final Class<?> expectedType) {
+        this.expression = expression;
+        this.expectedType = expectedType;
+        this.parts = parse(expression);
+        if (parts == null) {
+            this.valueExpression = createValueExpression();
+        }
+    }
+
+    private ValueExpression createValueExpression() {
+        return EXPRESSION_FACTORY.createValueExpression(new LinkELContext(null, null), expression, expectedType);
+    }
+
+    /**
+     * Get the compiled form of the given expression evaluated as a {@code String}.
+     *
+     * @param expression link template or binding.
+     * @return compiled expression.
+     */
+    static LinkExpression forString(final String expression) {
+        return compile(STRING_EXPRESSIONS, expression, String.class);
+    }
+
+    /**
+     * Get the compiled form of the given condition.
+     *
+     * @param condition condition, may be {@code null} or empty.
+     * @return compiled condition or {@code null} if the condition is not specified.
+     */
+    static LinkExpression forCondition(final String condition) {
+        return condition == null || condition.isEmpty() ? null : compile(CONDITIONS, condition, boolean.class);
+    }
+
+    /**
+     * Get the compiled form of the {@code ${instance.<name>}} expression used for URI template parameters with no binding.
+     *
+     * @param name name of the property.
+     * @return compiled expression.
+     */
+    static LinkExpression forInstanceProperty(final String name) {
+        LinkExpression expression = INSTANCE_PROPERTIES.get(name);
+        if (expression == null) {
+            expression = forString("${" + ResponseContextResolver.INSTANCE_OBJECT + "." + name + "}");
+            INSTANCE_PROPERTIES.putIfAbsent(name, expression);
+        }
+        return expression;
+    }
+
+    private static LinkExpression compile(final ConcurrentMap<String, LinkExpression> cache, final String expression,
+                                          final Class<?> expectedType) {
+        LinkExpression compiled = cache.get(expression);
+        if (compiled == null) {
+            compiled = new LinkExpression(expression, expectedType);
+            final LinkExpression previous = cache.putIfAbsent(expression, compiled);
+            if (previous != null) {
+                compiled = previous;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Check whether the expression contains no EL expressions, i.e. always evaluates to the same value.
+     *
+     * @return {@code true} if the expression is a literal.
+     */
+    boolean isLiteral() {
+        return parts != null && (parts.length == 0 || parts.length == 1 && parts[0] instanceof String);
+    }
+
+    /**
+     * Evaluate the expression.
+     *
+     * @param entity   the entity returned from the resource method.
+     * @param resource the resource class instance that returned the entity.
+     * @param instance the instance that contains the link.
+     * @return value of the expression coerced to the expected type.
+     */
+    Object evaluate(final Object entity, final Object resource, final Object instance) {
+        if (parts != null) {
+            final Object value = evaluateDirectly(entity, resource, instance);
+            if (value != UNRESOLVED) {
+                return value;
+            }
+        }
+
+        ValueExpression expr = valueExpression;
+        if (expr == null) {
+            // Property not accessible by a public getter - let the EL runtime resolve (or report) it.
+            expr = createValueExpression();
+            valueExpression = expr;
+        }
+        return expr.getValue(new LinkELContext(entity, resource, instance));
+    }
+
+    private Object evaluateDirectly(final Object entity, final Object resource, final Object instance) {
+        if (expectedType == String.class) {
+            if (parts.length == 1) {
+                final Object part = parts[0];
+                if (part instanceof String) {
+                    return part;
+                }
+                final Object value = ((PropertyPath) part).getValue(entity, resource, instance);
+                return value == UNRESOLVED ? UNRESOLVED : coerceToString(value);
+            }
+
+            final StringBuilder sb = new StringBuilder();
+            for (final Object part : parts) {
+                if (part instanceof String) {
+                    sb.append((String) part);
+                } else {
+                    final Object value = ((PropertyPath) part).getValue(entity, resource, instance);
+                    if (value == UNRESOLVED) {
+                        return UNRESOLVED;
+                    }
+                    sb.append(coerceToString(value));
+                }
+            }
+            return sb.toString();
+        }
+
+        // Conditions - only a single property path of a boolean value is evaluated directly.
+        if (parts.length == 1 && parts[0] instanceof PropertyPath) {
+            final Object value = ((PropertyPath) parts[0]).getValue(entity, resource, instance);
+            if (value == null) {
+                return Boolean.FALSE;
+            }
+            if (value instanceof Boolean) {
+                return value;
+            }
+        }
+        return UNRESOLVED;
+    }
+
+    /**
+     * Coerce the value to {@code String} the same way as EL does.
+     */
+    private static String coerceToString(final Object value) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Split the expression into literal and property path parts.
+     *
+     * @return parts or {@code null} if the expression cannot be evaluated directly.
+     */
+    private static Object[] parse(final String expression) {
+        if (expression.indexOf('\\') >= 0 || expression.contains("#{")) {
+            return null;
+        }
+
+        final List<Object> parts = new ArrayList<>();
+        int index = 0;
+        while (index < expression.length()) {
+            final int start = expression.indexOf("${", index);
+            final String literal = expression.substring(index, start < 0 ? expression.length() : start);
+            if (literal.indexOf('$') >= 0 || literal.indexOf('#') >= 0) {
+                return null;
+            }
+            if (!literal.isEmpty()) {
+                parts.add(literal);
+            }
+            if (start < 0) {
+                break;
+            }
+
+            final int end = expression.indexOf('}', start);
+            if (end < 0) {
+                return null;
+            }
+            final PropertyPath path = PropertyPath.parse(expression.substring(start + 2, end));
+            if (path == null) {
+                return null;
+            }
+            parts.add(path);
+            index = end + 1;
+        }
+        return parts.toArray();
+    }
+
+    /**
+     * A property path such as {@code instance.id} or {@code entity.parent.name}.
+     */
+    private static final class PropertyPath {
+
+        private final String root;
+        private final String[] properties;
+
+        private PropertyPath(final String root, final String[] properties) {
+            this.root = root;
+            this.properties = properties;
+        }
+
+        private static PropertyPath parse(final String path) {
+            final String[] names = path.split("\\.", -1);
+            if (!IMPLICIT_OBJECTS.contains(names[0])) {
+                return null;
+            }
+            for (int i = 1; i < names.length; i++) {
+                if (!isIdentifier(names[i])) {
+                    return null;
+                }
+            }
+            return new PropertyPath(names[0], Arrays.copyOfRange(names, 1, names.length));
+        }
+
+        private static boolean isIdentifier(final String name) {
+            if (name.isEmpty() || RESERVED_WORDS.contains(name) || !Character.isJavaIdentifierStart(name.charAt(0))) {
+                return false;
+            }
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Object getValue(final Object entity, final Object resource, final Object instance) {
+            Object value;
+            switch (root) {
+                case ResponseContextResolver.ENTITY_OBJECT:
+                    value = entity;
+                    break;
+                case ResponseContextResolver.RESOURCE_OBJECT:
+                    value = resource;
+                    break;
+                default:
+                    value = instance;
+            }
+
+            for (final String property : properties) {
+                if (value == null) {
+                    return null;
+                }
+                final MethodHandle getter = getGetter(value.getClass(), property);
+                if (getter == NO_GETTER) {
+                    return UNRESOLVED;
+                }
+                try {
+                    value = getter.invokeExact(value);
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable t) {
+                    throw new ELException(t);
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Get the handle of the public getter of a bean property.
+     *
+     * @return getter handle or {@link #NO_GETTER} if the property has to be resolved by the EL runtime.
+     */
+    private static MethodHandle getGetter(final Class<?> type, final String property) {
+        final ConcurrentMap<String, MethodHandle> getters = GETTERS.get(type);
+        MethodHandle getter = getters.get(property);
+        if (getter == null) {
+            getter = findGetter(type, property);
+            getters.putIfAbsent(property, getter);
+        }
+        return getter;
+    }
+
+    private static MethodHandle findGetter(final Class<?> type, final String property) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return NO_GETTER;
+        }
+        try {
+            for (final PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (property.equals(descriptor.getName())) {
+                    final Method method = descriptor.getReadMethod();
+                    if (method == null || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                        return NO_GETTER;
+                    }
+                    return MethodHandles.publicLookup().unreflect(method)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                }
+            }
+        } catch (final IntrospectionException | IllegalAccessException e) {
+            // Let the EL runtime report the problem.
+        }
+        return NO_GETTER;
+    }
+}
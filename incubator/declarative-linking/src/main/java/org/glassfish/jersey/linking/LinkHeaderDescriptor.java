@@ -56,6 +56,7 @@ class LinkHeaderDescriptor implements InjectLinkDescriptor {
 
     private InjectLink linkHeader;
     private Map<String, String> bindings;
+    private InjectLinkPlan plan;
 
     LinkHeaderDescriptor(InjectLink linkHeader) {
         this.linkHeader = linkHeader;
@@ -63,6 +64,7 @@ class LinkHeaderDescriptor implements InjectLinkDescriptor {
         for (Binding binding : linkHeader.bindings()) {
             bindings.put(binding.name(), binding.value());
         }
+        plan = new InjectLinkPlan(linkHeader);
     }
 
     public InjectLink getLinkHeader() {
@@ -85,4 +87,8 @@ class LinkHeaderDescriptor implements InjectLinkDescriptor {
         return linkHeader.condition();
     }
 
+    public InjectLinkPlan getPlan() {
+        return plan;
+    }
+
 }
@@ -847,6 +847,42 @@ public class FieldProcessorTest {
         assertEquals(null, testClass.transientNested.link);
     }
 
+    public static class EqualEntity {
+
+        @InjectLink(value = TEMPLATE_B, style = InjectLink.Style.RELATIVE_PATH)
+        private String link;
+
+        private String id;
+
+        public EqualEntity(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualEntity;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    @Test
+    public void testEqualInstances() {
+        LOG.info("Equal instances");
+        FieldProcessor<List> instance = new FieldProcessor(List.class);
+        List<EqualEntity> entities = Arrays.asList(new EqualEntity("1"), new EqualEntity("2"));
+        instance.processLinks(entities, mockUriInfo, mockRmc);
+        assertEquals("widgets/1", entities.get(0).link);
+        assertEquals("widgets/2", entities.get(1).link);
+    }
+
     public static class TestClassN {
         // Simulate object injected by JPA
         // in order to test a fix for JERSEY-2625
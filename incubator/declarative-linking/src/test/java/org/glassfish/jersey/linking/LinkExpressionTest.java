@@ -0,0 +1,179 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.linking;
+
+import javax.el.ExpressionFactory;
+import javax.el.PropertyNotFoundException;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiled link expressions must evaluate the same way as the EL runtime does.
+ */
+public class LinkExpressionTest {
+
+    public enum Kind {
+        WIDGET {
+            @Override
+            public String toString() {
+                return "widget-kind";
+            }
+        }
+    }
+
+    public static class Bean {
+
+        private final String id;
+        private final Bean parent;
+
+        public Bean(final String id, final Bean parent) {
+            this.id = id;
+            this.parent = parent;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Bean getParent() {
+            return parent;
+        }
+
+        public Kind getKind() {
+            return Kind.WIDGET;
+        }
+
+        public int getCount() {
+            return 42;
+        }
+
+        public boolean isEnabled() {
+            return true;
+        }
+
+        public Boolean getUnknown() {
+            return null;
+        }
+    }
+
+    private static class PrivateBean {
+
+        public String getId() {
+            return "private";
+        }
+    }
+
+    private static final Bean ENTITY = new Bean("entity", null);
+    private static final Bean INSTANCE = new Bean("instance", ENTITY);
+
+    private static Object el(final String expression, final Class<?> type, final Object instance) {
+        final LinkELContext context = new LinkELContext(ENTITY, null, instance);
+        return ExpressionFactory.newInstance().createValueExpression(context, expression, type).getValue(context);
+    }
+
+    private static void assertString(final String expression, final Object instance) {
+        assertEquals(expression, el(expression, String.class, instance),
+                LinkExpression.forString(expression).evaluate(ENTITY, null, instance));
+    }
+
+    @Test
+    public void testPropertyPaths() {
+        assertString("${instance.id}", INSTANCE);
+        assertString("${entity.id}", INSTANCE);
+        assertString("${instance.parent.id}", INSTANCE);
+        assertString("${instance.count}", INSTANCE);
+        assertString("${instance.kind}", INSTANCE);
+        assertString("${instance}", "value");
+        assertString("${resource}", INSTANCE);
+    }
+
+    @Test
+    public void testNullValues() {
+        assertString("${instance.parent.id}", ENTITY);
+        assertString("${instance.parent.parent.id}", ENTITY);
+        assertString("${instance.id}", new Bean(null, null));
+    }
+
+    @Test
+    public void testTemplates() {
+        assertString("widgets/${instance.id}/{id}", INSTANCE);
+        assertString("${entity.id}/${instance.parent.id}", INSTANCE);
+        assertString("widgets/{id}", INSTANCE);
+        assertString("", INSTANCE);
+
+        assertTrue(LinkExpression.forString("widgets/{id}").isLiteral());
+        assertFalse(LinkExpression.forString("widgets/${instance.id}").isLiteral());
+    }
+
+    @Test
+    public void testExpressionsEvaluatedByEl() {
+        assertString("${1+2}", INSTANCE);
+        assertString("${instance.id}-${instance.count + 1}", INSTANCE);
+        assertString("${empty instance.id}", INSTANCE);
+        assertString("\\${instance.id}", INSTANCE);
+    }
+
+    @Test(expected = PropertyNotFoundException.class)
+    public void testNonPublicBeanFallsBackToEl() {
+        LinkExpression.forString("${instance.id}").evaluate(ENTITY, null, new PrivateBean());
+    }
+
+    @Test
+    public void testConditions() {
+        for (final String condition : new String[] {"${instance.enabled}", "${instance.unknown}", "${instance.count > 1}",
+                "${instance.id == 'instance'}", "true", "false"}) {
+            assertEquals(condition, el(condition, boolean.class, INSTANCE),
+                    LinkExpression.forCondition(condition).evaluate(ENTITY, null, INSTANCE));
+        }
+        assertEquals(null, LinkExpression.forCondition(""));
+        assertEquals(null, LinkExpression.forCondition(null));
+    }
+
+    @Test
+    public void testCompiledOnce() {
+        assertSame(LinkExpression.forString("widgets/${instance.id}"), LinkExpression.forString("widgets/${instance.id}"));
+        assertSame(LinkExpression.forInstanceProperty("id"), LinkExpression.forString("${instance.id}"));
+    }
+}
@@ -44,15 +44,26 @@ import java.io.IOException;
 import java.net.CookieManager;
 import java.net.URI;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Connection pool for a single destination.
+ * <p>
+ * The pool does not use any monitors. Idle connections and pending requests are kept in concurrent queues,
+ * the number of open connections is limited using a CAS loop on a counter, and requests in progress are
+ * tracked in a concurrent map. Any thread that changes one of the queues then tries to match pending
+ * requests with idle connections. A thread that took an idle connection but found no pending request
+ * puts the connection back and checks the pending requests again. This way no request is left waiting
+ * while an idle connection is available.
+ * </p>
+ *
  * @author Petr Janouch (petr.janouch at oracle.com)
  */
 class DestinationConnectionPool {
@@ -61,16 +72,15 @@ class DestinationConnectionPool {
     private final Queue<HttpConnection> idleConnections = new ConcurrentLinkedDeque<>();
     private final Set<HttpConnection> connections = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Queue<RequestRecord> pendingRequests = new ConcurrentLinkedDeque<>();
-    private final Map<HttpConnection, RequestRecord> requestsInProgress = new HashMap<>();
+    private final Map<HttpConnection, RequestRecord> requestsInProgress = new ConcurrentHashMap<>();
     private final CookieManager cookieManager;
     private final ScheduledExecutorService scheduler;
     private final ConnectionStateListener connectionStateListener;
+    private final AtomicInteger connectionCounter = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     private volatile ConnectionCloseListener connectionCloseListener;
 
-    private int connectionCounter = 0;
-    private boolean closed = false;
-
     DestinationConnectionPool(ConnectorConfiguration configuration,
                               CookieManager cookieManager,
                               ScheduledExecutorService scheduler) {
@@ -90,62 +100,54 @@ class DestinationConnectionPool {
     }
 
     private void processPendingRequests() {
-        HttpConnection connection;
-        HttpRequest httpRequest;
-        CompletionHandler<HttpResponse> completionHandler;
-
-        synchronized (this) {
-            /* this is synchronized so that another thread does not steal the pending request at the head of the queue
-            while we investigate if we can execute it. */
-            RequestRecord pendingHead = pendingRequests.peek();
-            if (pendingHead == null) {
-                // no pending requests
+        while (!pendingRequests.isEmpty()) {
+            final HttpConnection connection = idleConnections.poll();
+            if (connection == null) {
+                // no connection available, keep the requests in the pending list and try to create a connection
+                openConnection();
                 return;
             }
 
-            httpRequest = pendingHead.request;
-            completionHandler = pendingHead.completionHandler;
-
-            connection = idleConnections.poll();
-            if (connection != null) {
-                pendingRequests.poll();
+            final RequestRecord pendingRequest = pendingRequests.poll();
+            if (pendingRequest == null) {
+                /* another thread has taken the request in the meantime; return the connection and check the pending
+                requests again, as a request added meanwhile might have missed the connection we were holding. */
+                idleConnections.add(connection);
+                continue;
             }
+
+            requestsInProgress.put(connection, pendingRequest);
+            connection.send(pendingRequest.request);
         }
+    }
 
-        if (connection != null) {
-            // if there was a connection available just use it
-            requestsInProgress.put(connection, new RequestRecord(httpRequest, completionHandler));
-            connection.send(httpRequest);
+    private void openConnection() {
+        final RequestRecord pendingHead = pendingRequests.peek();
+        if (pendingHead == null) {
             return;
         }
 
-        // if there was not a connection available keep this requests in pending list and try to create a connection
-        synchronized (this) {
-            // synchronized because other thread might open/close connections, so we have to make sure we get the limits right.
-
-            if (configuration.getMaxConnectionsPerDestination() == connectionCounter) {
+        final int maxConnections = configuration.getMaxConnectionsPerDestination();
+        int count;
+        do {
+            count = connectionCounter.get();
+            if (count >= maxConnections) {
                 // we are at the limit for this destination, just wait for a connection to become idle or close
                 return;
             }
+        } while (!connectionCounter.compareAndSet(count, count + 1));
 
-            // create a connection
-            connection = new HttpConnection(httpRequest.getUri(), cookieManager, configuration, scheduler,
-                    connectionStateListener);
-            connections.add(connection);
-            connectionCounter++;
-        }
-
-        // we don't want to connect inside the synchronized block
+        final HttpConnection connection = new HttpConnection(pendingHead.request.getUri(), cookieManager, configuration,
+                scheduler, connectionStateListener);
+        connections.add(connection);
         connection.connect();
     }
 
-    synchronized void close() {
-        if (closed) {
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
             return;
         }
 
-        closed = true;
-
         connections.forEach(HttpConnection::close);
     }
 
@@ -159,7 +161,7 @@ class DestinationConnectionPool {
     }
 
     private RequestRecord removeRequest(HttpConnection connection) {
-        RequestRecord requestRecord = requestsInProgress.get(connection);
+        RequestRecord requestRecord = requestsInProgress.remove(connection);
         if (requestRecord == null) {
             throw new IllegalStateException("Request not found");
         }
@@ -173,23 +175,23 @@ class DestinationConnectionPool {
     }
 
     private void cleanClosedConnection(HttpConnection connection) {
-        if (closed) {
+        if (closed.get()) {
             return;
         }
 
-        RequestRecord pendingRequest;
-        synchronized (this) {
-            idleConnections.remove(connection);
-            connections.remove(connection);
-            connectionCounter--;
+        if (!connections.remove(connection)) {
+            // already cleaned
+            return;
+        }
 
-            pendingRequest = pendingRequests.peek();
-            if (pendingRequest == null) {
-                if (connectionCounter == 0) {
-                    connectionCloseListener.onLastConnectionClosed();
-                }
-                return;
+        idleConnections.remove(connection);
+        final int count = connectionCounter.decrementAndGet();
+
+        if (pendingRequests.isEmpty()) {
+            if (count == 0) {
+                connectionCloseListener.onLastConnectionClosed();
             }
+            return;
         }
 
         processPendingRequests();
@@ -199,12 +201,11 @@ class DestinationConnectionPool {
         throw new IllegalStateException("Illegal state transition, old state: " + oldState + " new state: " + newState);
     }
 
-    private synchronized void removeAllPendingWithError(Throwable t) {
-        for (RequestRecord requestRecord : pendingRequests) {
+    private void removeAllPendingWithError(Throwable t) {
+        RequestRecord requestRecord;
+        while ((requestRecord = pendingRequests.poll()) != null) {
             requestRecord.completionHandler.failed(t);
         }
-
-        pendingRequests.clear();
     }
 
     private class ConnectionStateListener implements HttpConnection.StateChangeListener {
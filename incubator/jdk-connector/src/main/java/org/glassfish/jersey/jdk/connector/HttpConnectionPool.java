@@ -74,31 +74,25 @@ class HttpConnectionPool {
         DestinationConnectionPool destinationConnectionPool = destinationPools.get(destinationKey);
 
         if (destinationConnectionPool == null) {
-            synchronized (this) {
-                // check again while holding the lock
-                destinationConnectionPool = destinationPools.get(destinationKey);
-
-                if (destinationConnectionPool == null) {
-                    final DestinationConnectionPool pool = new DestinationConnectionPool(connectorConfiguration, cookieManager,
-                            scheduler);
-                    pool.setConnectionCloseListener(() -> {
-                        /* There is a potential race when there is a request just about to be submitted to the pool
-                        we are just removing. Such request will be executed on the removed pool without any problems.
-                        The only issue is that this listener will be called for the second time in such a case, so we
-                        have to make sure we don't remove a new pool that might have been created in the meantime. */
-                        destinationPools.remove(destinationKey, pool);
-                    });
-
-                    destinationConnectionPool = pool;
-                    destinationPools.put(destinationKey, destinationConnectionPool);
-                }
-            }
+            // the map locks only the bin of the destination key, requests to other destinations are not blocked
+            destinationConnectionPool = destinationPools.computeIfAbsent(destinationKey, key -> {
+                final DestinationConnectionPool pool = new DestinationConnectionPool(connectorConfiguration, cookieManager,
+                        scheduler);
+                pool.setConnectionCloseListener(() -> {
+                    /* There is a potential race when there is a request just about to be submitted to the pool
+                    we are just removing. Such request will be executed on the removed pool without any problems.
+                    The only issue is that this listener will be called for the second time in such a case, so we
+                    have to make sure we don't remove a new pool that might have been created in the meantime. */
+                    destinationPools.remove(key, pool);
+                });
+                return pool;
+            });
         }
 
         destinationConnectionPool.send(httpRequest, completionHandler);
     }
 
-    synchronized void close() {
+    void close() {
         destinationPools.values().forEach(DestinationConnectionPool::close);
     }
 }
@@ -88,6 +88,25 @@ public class ConnectionPoolTest extends JerseyTest {
         assertTrue(latch.await(5, TimeUnit.SECONDS));
     }
 
+    @Test
+    public void testConcurrentRequests() throws InterruptedException {
+        final int requests = 200;
+        final CountDownLatch latch = new CountDownLatch(requests);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            for (int i = 0; i < requests; i++) {
+                final String msg = "message " + i;
+                executor.submit(() -> sendMessageToJersey(msg, latch));
+            }
+
+            // all the requests have to be served by the single pooled connection
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void sendMessageToJersey(String message, final CountDownLatch latch) {
         target("echo").request().async().post(Entity.entity(message, MediaType.TEXT_PLAIN), new InvocationCallback<String>() {
             @Override
@@ -255,6 +255,7 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        Pooled<Marshaller> marshaller = null;
         try {
             final Collection c = (type.isArray())
                     ? Arrays.asList((Object[]) t)
@@ -263,7 +264,8 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             final Charset charset = getCharset(mediaType);
             final String charsetName = charset.name();
 
-            final Marshaller m = getMarshaller(elementType, mediaType);
+            marshaller = acquireMarshaller(elementType, mediaType);
+            final Marshaller m = marshaller.get();
             m.setProperty(Marshaller.JAXB_FRAGMENT, true);
             if (charset != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
@@ -272,6 +274,10 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             writeCollection(elementType, c, mediaType, charset, m, entityStream);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            if (marshaller != null) {
+                marshaller.release();
+            }
         }
     }
 
@@ -307,9 +313,11 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             throw new NoContentException(LocalizationMessages.ERROR_READING_ENTITY_MISSING());
         }
 
+        Pooled<Unmarshaller> unmarshaller = null;
         try {
             final Class<?> elementType = getElementClass(type, genericType);
-            final Unmarshaller u = getUnmarshaller(elementType, mediaType);
+            unmarshaller = acquireUnmarshaller(elementType, mediaType);
+            final Unmarshaller u = unmarshaller.get();
             final XMLStreamReader r = getXMLStreamReader(elementType, mediaType, u, entityStream);
             boolean jaxbElement = false;
 
@@ -380,6 +388,10 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            if (unmarshaller != null) {
+                unmarshaller.release();
+            }
         }
     }
 
@@ -131,12 +131,18 @@ public abstract class AbstractJaxbElementProvider extends AbstractJaxbProvider<J
         final ParameterizedType pt = (ParameterizedType) genericType;
         final Class ta = (Class) pt.getActualTypeArguments()[0];
 
+        Pooled<Unmarshaller> unmarshaller = null;
         try {
-            return readFrom(ta, mediaType, getUnmarshaller(ta, mediaType), entityStream);
+            unmarshaller = acquireUnmarshaller(ta, mediaType);
+            return readFrom(ta, mediaType, unmarshaller.get(), entityStream);
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            if (unmarshaller != null) {
+                unmarshaller.release();
+            }
         }
     }
 
@@ -165,8 +171,10 @@ public abstract class AbstractJaxbElementProvider extends AbstractJaxbProvider<J
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        Pooled<Marshaller> marshaller = null;
         try {
-            final Marshaller m = getMarshaller(t.getDeclaredType(), mediaType);
+            marshaller = acquireMarshaller(t.getDeclaredType(), mediaType);
+            final Marshaller m = marshaller.get();
             final Charset c = getCharset(mediaType);
             if (c != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, c.name());
@@ -175,6 +183,10 @@ public abstract class AbstractJaxbElementProvider extends AbstractJaxbProvider<J
             writeTo(t, mediaType, c, m, entityStream);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            if (marshaller != null) {
+                marshaller.release();
+            }
         }
     }
 
@@ -41,9 +41,17 @@ package org.glassfish.jersey.jaxb.internal;
 
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
-import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -62,6 +70,7 @@ import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.sax.SAXSource;
 
 import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.MessageProperties;
@@ -79,8 +88,58 @@ import org.xml.sax.InputSource;
  */
 public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWriterProvider<T> {
 
-    private static final Map<Class<?>, WeakReference<JAXBContext>> jaxbContexts =
-            new WeakHashMap<Class<?>, WeakReference<JAXBContext>>();
+    /**
+     * Maximal number of idle marshallers (and unmarshallers) pooled for a single JAXB context.
+     */
+    private static final int MAX_POOLED = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Marshaller properties set by the JAXB providers (including the JAXB RI specific XML header properties)
+     * that have to be reset before a marshaller is returned to the pool.
+     */
+    private static final String[] RESET_MARSHALLER_PROPERTIES = {
+            Marshaller.JAXB_ENCODING,
+            Marshaller.JAXB_FRAGMENT,
+            Marshaller.JAXB_FORMATTED_OUTPUT,
+            "com.sun.xml.bind.xmlHeaders",
+            "com.sun.xml.internal.bind.xmlHeaders"
+    };
+
+    /**
+     * JAXB providers whose marshaller and unmarshaller customisation hooks change only the state that is reset before
+     * a marshaller or unmarshaller is returned to the pool.
+     */
+    private static final Set<Class<?>> POOLING_PROVIDERS = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            AbstractRootElementJaxbProvider.class,
+            XmlRootElementJaxbProvider.class,
+            AbstractJaxbElementProvider.class,
+            XmlJaxbElementProvider.class,
+            AbstractCollectionJaxbProvider.class,
+            XmlCollectionJaxbProvider.class,
+            XmlRootObjectJaxbProvider.class));
+
+    // A marshaller or unmarshaller handed to a hook of an unknown subclass may be changed in a way that cannot be reset
+    // (e.g. an XmlAdapter or a vendor specific property), such providers do not use the pools.
+    private static final ClassValue<Boolean> pooling = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> providerClass) {
+            for (Class<?> c = providerClass; c != AbstractJaxbProvider.class; c = c.getSuperclass()) {
+                if (!POOLING_PROVIDERS.contains(c) && declaresCustomisationHook(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    };
+
+    // The context is stored with the class itself, so it does not prevent the class from being unloaded
+    private static final ClassValue<StoredContext> jaxbContexts = new ClassValue<StoredContext>() {
+        @Override
+        protected StoredContext computeValue(final Class<?> type) {
+            return new StoredContext();
+        }
+    };
+
     private final Providers jaxrsProviders;
     private final boolean fixedResolverMediaType;
     private final Value<ContextResolver<JAXBContext>> mtContext;
@@ -88,6 +147,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
     private final Value<ContextResolver<Marshaller>> mtMarshaller;
     private Value<Boolean> formattedOutput = Values.of(Boolean.FALSE);
     private Value<Boolean> xmlRootElementProcessing = Values.of(Boolean.FALSE);
+    private final boolean usePools = pooling.get(getClass());
 
     /**
      * Inheritance constructor.
@@ -183,34 +243,40 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case retrieving the unmarshaller fails with a JAXB exception.
      */
     protected final Unmarshaller getUnmarshaller(Class type, MediaType mediaType) throws JAXBException {
-        if (fixedResolverMediaType) {
-            return getUnmarshaller(type);
-        }
-
-        final ContextResolver<Unmarshaller> unmarshallerResolver =
-                jaxrsProviders.getContextResolver(Unmarshaller.class, mediaType);
-        if (unmarshallerResolver != null) {
-            Unmarshaller u = unmarshallerResolver.getContext(type);
-            if (u != null) {
-                return u;
-            }
-        }
-
-        final JAXBContext ctx = getJAXBContext(type, mediaType);
-        return (ctx == null) ? null : ctx.createUnmarshaller();
+        final Pooled<Unmarshaller> u = acquireUnmarshaller(type, mediaType);
+        return (u == null) ? null : u.get();
     }
 
-    private Unmarshaller getUnmarshaller(Class type) throws JAXBException {
-        final ContextResolver<Unmarshaller> resolver = mtUnmarshaller.get();
+    /**
+     * Get the JAXB unmarshaller for the given class and media type, taking it from the pool of unmarshallers
+     * if possible. The returned unmarshaller must be {@link Pooled#release() released} once it is not used anymore.
+     *
+     * @param type      Java type to be unmarshalled.
+     * @param mediaType entity media type.
+     * @return pooled JAXB unmarshaller for the requested Java type, media type combination.
+     * @throws JAXBException in case retrieving the unmarshaller fails with a JAXB exception.
+     * @see #getUnmarshaller(Class, MediaType)
+     */
+    final Pooled<Unmarshaller> acquireUnmarshaller(Class type, MediaType mediaType) throws JAXBException {
+        final ContextResolver<Unmarshaller> resolver = fixedResolverMediaType
+                ? mtUnmarshaller.get()
+                : jaxrsProviders.getContextResolver(Unmarshaller.class, mediaType);
         if (resolver != null) {
             Unmarshaller u = resolver.getContext(type);
             if (u != null) {
-                return u;
+                return new Pooled<Unmarshaller>(u, null);
             }
         }
 
-        final JAXBContext ctx = getJAXBContext(type);
-        return (ctx == null) ? null : ctx.createUnmarshaller();
+        final JAXBContext ctx = fixedResolverMediaType ? getJAXBContext(type) : getJAXBContext(type, mediaType);
+        if (ctx == null) {
+            return null;
+        }
+
+        final StoredContext stored = jaxbContexts.get(type);
+        return (usePools && stored.context == ctx)
+                ? stored.unmarshallers.acquire()
+                : new Pooled<Unmarshaller>(ctx.createUnmarshaller(), null);
     }
 
     /**
@@ -226,48 +292,42 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case retrieving the marshaller fails with a JAXB exception.
      */
     protected final Marshaller getMarshaller(Class type, MediaType mediaType) throws JAXBException {
-        if (fixedResolverMediaType) {
-            return getMarshaller(type);
-        }
-
-        final ContextResolver<Marshaller> mcr = jaxrsProviders.getContextResolver(Marshaller.class, mediaType);
-        if (mcr != null) {
-            Marshaller m = mcr.getContext(type);
-            if (m != null) {
-                return m;
-            }
-        }
-
-        final JAXBContext ctx = getJAXBContext(type, mediaType);
-        if (ctx == null) {
-            return null;
-        }
-
-        Marshaller m = ctx.createMarshaller();
-        if (formattedOutput.get()) {
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
-        }
-        return m;
-
+        final Pooled<Marshaller> m = acquireMarshaller(type, mediaType);
+        return (m == null) ? null : m.get();
     }
 
-    private Marshaller getMarshaller(Class type) throws JAXBException {
-        final ContextResolver<Marshaller> resolver = mtMarshaller.get();
+    /**
+     * Get the JAXB marshaller for the given class and media type, taking it from the pool of marshallers
+     * if possible. The returned marshaller must be {@link Pooled#release() released} once it is not used anymore.
+     *
+     * @param type      Java type to be marshalled.
+     * @param mediaType entity media type.
+     * @return pooled JAXB marshaller for the requested Java type, media type combination.
+     * @throws JAXBException in case retrieving the marshaller fails with a JAXB exception.
+     * @see #getMarshaller(Class, MediaType)
+     */
+    final Pooled<Marshaller> acquireMarshaller(Class type, MediaType mediaType) throws JAXBException {
+        final ContextResolver<Marshaller> resolver = fixedResolverMediaType
+                ? mtMarshaller.get()
+                : jaxrsProviders.getContextResolver(Marshaller.class, mediaType);
         if (resolver != null) {
-            Marshaller u = resolver.getContext(type);
-            if (u != null) {
-                return u;
+            Marshaller m = resolver.getContext(type);
+            if (m != null) {
+                return new Pooled<Marshaller>(m, null);
             }
         }
 
-        final JAXBContext ctx = getJAXBContext(type);
+        final JAXBContext ctx = fixedResolverMediaType ? getJAXBContext(type) : getJAXBContext(type, mediaType);
         if (ctx == null) {
             return null;
         }
 
-        Marshaller m = ctx.createMarshaller();
+        final StoredContext stored = jaxbContexts.get(type);
+        final Pooled<Marshaller> m = (usePools && stored.context == ctx)
+                ? stored.marshallers.acquire()
+                : new Pooled<Marshaller>(ctx.createMarshaller(), null);
         if (formattedOutput.get()) {
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
+            m.get().setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
         }
         return m;
     }
@@ -304,15 +364,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case the JAXB context retrieval fails.
      */
     protected JAXBContext getStoredJaxbContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            final WeakReference<JAXBContext> ref = jaxbContexts.get(type);
-            JAXBContext c = (ref != null) ? ref.get() : null;
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, new WeakReference<JAXBContext>(c));
-            }
-            return c;
-        }
+        return jaxbContexts.get(type).getContext(type);
     }
 
     /**
@@ -367,4 +419,191 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
             }
         }
     }
+
+    private static boolean declaresCustomisationHook(final Class<?> c) {
+        for (final Method method : AccessController.doPrivileged(ReflectionHelper.getDeclaredMethodsPA(c))) {
+            for (final Class<?> parameterType : method.getParameterTypes()) {
+                if (parameterType == Marshaller.class || parameterType == Unmarshaller.class) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JAXB marshaller or unmarshaller, possibly borrowed from a pool.
+     *
+     * @param <T> marshaller or unmarshaller type.
+     */
+    static final class Pooled<T> {
+
+        private final T instance;
+        private final Pool<T> pool;
+
+        private Pooled(final T instance, final Pool<T> pool) {
+            this.instance = instance;
+            this.pool = pool;
+        }
+
+        /**
+         * Get the marshaller or unmarshaller instance.
+         *
+         * @return marshaller or unmarshaller instance.
+         */
+        T get() {
+            return instance;
+        }
+
+        /**
+         * Return the instance to the pool it has been borrowed from (if any).
+         * The instance must not be used after it has been released.
+         */
+        void release() {
+            if (pool != null) {
+                pool.release(this);
+            }
+        }
+    }
+
+    /**
+     * Bounded pool of idle marshallers or unmarshallers created from a single JAXB context.
+     *
+     * @param <T> marshaller or unmarshaller type.
+     */
+    private abstract static class Pool<T> {
+
+        private final Queue<Pooled<T>> idle = new ConcurrentLinkedQueue<Pooled<T>>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        final Pooled<T> acquire() throws JAXBException {
+            final Pooled<T> pooled = idle.poll();
+            if (pooled != null) {
+                idleCount.decrementAndGet();
+                return pooled;
+            }
+            return new Pooled<T>(create(), this);
+        }
+
+        final void release(final Pooled<T> pooled) {
+            if (!reset(pooled.instance)) {
+                return;
+            }
+            if (idleCount.incrementAndGet() > MAX_POOLED) {
+                idleCount.decrementAndGet();
+                return;
+            }
+            idle.offer(pooled);
+        }
+
+        /**
+         * Create a new instance.
+         *
+         * @return new instance.
+         * @throws JAXBException in case the instance creation fails.
+         */
+        abstract T create() throws JAXBException;
+
+        /**
+         * Reset the instance to its initial state.
+         *
+         * @param instance instance to be reset.
+         * @return {@code true} if the instance has been reset and can be reused, {@code false} otherwise.
+         */
+        abstract boolean reset(T instance);
+    }
+
+    /**
+     * JAXB context created for a Java type together with the pools of its marshallers and unmarshallers.
+     */
+    private static final class StoredContext {
+
+        private volatile JAXBContext context;
+        // initial values of the RESET_MARSHALLER_PROPERTIES supported by the JAXB implementation
+        private volatile Map<String, Object> marshallerDefaults;
+
+        private final Pool<Marshaller> marshallers = new Pool<Marshaller>() {
+            @Override
+            Marshaller create() throws JAXBException {
+                final Marshaller m = context.createMarshaller();
+                if (marshallerDefaults == null) {
+                    final Map<String, Object> defaults = new HashMap<String, Object>();
+                    for (final String property : RESET_MARSHALLER_PROPERTIES) {
+                        try {
+                            defaults.put(property, m.getProperty(property));
+                        } catch (PropertyException e) {
+                            // not supported by this JAXB implementation
+                        }
+                    }
+                    marshallerDefaults = defaults;
+                }
+                return m;
+            }
+
+            @Override
+            boolean reset(final Marshaller m) {
+                try {
+                    for (final Map.Entry<String, Object> property : marshallerDefaults.entrySet()) {
+                        if (!Objects.equals(m.getProperty(property.getKey()), property.getValue())) {
+                            m.setProperty(property.getKey(), property.getValue());
+                        }
+                    }
+                    if (m.getSchema() != null) {
+                        m.setSchema(null);
+                    }
+                    if (m.getListener() != null) {
+                        m.setListener(null);
+                    }
+                    if (m.getAttachmentMarshaller() != null) {
+                        m.setAttachmentMarshaller(null);
+                    }
+                    m.setEventHandler(null);
+                    return true;
+                } catch (JAXBException e) {
+                    // e.g. the JAXB implementation does not accept the initial property value; do not reuse
+                    return false;
+                }
+            }
+        };
+
+        private final Pool<Unmarshaller> unmarshallers = new Pool<Unmarshaller>() {
+            @Override
+            Unmarshaller create() throws JAXBException {
+                return context.createUnmarshaller();
+            }
+
+            @Override
+            boolean reset(final Unmarshaller u) {
+                try {
+                    if (u.getSchema() != null) {
+                        u.setSchema(null);
+                    }
+                    if (u.getListener() != null) {
+                        u.setListener(null);
+                    }
+                    if (u.getAttachmentUnmarshaller() != null) {
+                        u.setAttachmentUnmarshaller(null);
+                    }
+                    u.setEventHandler(null);
+                    return true;
+                } catch (JAXBException e) {
+                    return false;
+                }
+            }
+        };
+
+        private JAXBContext getContext(final Class<?> type) throws JAXBException {
+            JAXBContext c = context;
+            if (c == null) {
+                synchronized (this) {
+                    c = context;
+                    if (c == null) {
+                        c = JAXBContext.newInstance(type);
+                        context = c;
+                    }
+                }
+            }
+            return c;
+        }
+    }
 }
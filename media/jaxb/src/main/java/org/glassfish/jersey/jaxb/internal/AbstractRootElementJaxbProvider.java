@@ -126,16 +126,22 @@ public abstract class AbstractRootElementJaxbProvider extends AbstractJaxbProvid
             MultivaluedMap<String, String> httpHeaders,
             InputStream inputStream) throws IOException {
 
+        Pooled<Unmarshaller> unmarshaller = null;
         try {
             final EntityInputStream entityStream = EntityInputStream.create(inputStream);
             if (entityStream.isEmpty()) {
                 throw new NoContentException(LocalizationMessages.ERROR_READING_ENTITY_MISSING());
             }
-            return readFrom(type, mediaType, getUnmarshaller(type, mediaType), entityStream);
+            unmarshaller = acquireUnmarshaller(type, mediaType);
+            return readFrom(type, mediaType, unmarshaller.get(), entityStream);
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            if (unmarshaller != null) {
+                unmarshaller.release();
+            }
         }
     }
 
@@ -170,8 +176,10 @@ public abstract class AbstractRootElementJaxbProvider extends AbstractJaxbProvid
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        Pooled<Marshaller> marshaller = null;
         try {
-            final Marshaller m = getMarshaller(type, mediaType);
+            marshaller = acquireMarshaller(type, mediaType);
+            final Marshaller m = marshaller.get();
             final Charset c = getCharset(mediaType);
             if (c != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, c.name());
@@ -180,6 +188,10 @@ public abstract class AbstractRootElementJaxbProvider extends AbstractJaxbProvid
             writeTo(t, mediaType, c, m, entityStream);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            if (marshaller != null) {
+                marshaller.release();
+            }
         }
     }
 
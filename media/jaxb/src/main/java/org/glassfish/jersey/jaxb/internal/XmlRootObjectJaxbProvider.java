@@ -142,8 +142,16 @@ public abstract class XmlRootObjectJaxbProvider extends AbstractJaxbProvider<Obj
 
     @Override
     public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (Object.class != type || !isSupported(mediaType)) {
+            return false;
+        }
         try {
-            return Object.class == type && isSupported(mediaType) && getUnmarshaller(type, mediaType) != null;
+            final Pooled<Unmarshaller> unmarshaller = acquireUnmarshaller(type, mediaType);
+            if (unmarshaller == null) {
+                return false;
+            }
+            unmarshaller.release();
+            return true;
         } catch (JAXBException cause) {
             throw new RuntimeException(LocalizationMessages.ERROR_UNMARSHALLING_JAXB(type), cause);
         }
@@ -163,13 +171,18 @@ public abstract class XmlRootObjectJaxbProvider extends AbstractJaxbProvider<Obj
             throw new NoContentException(LocalizationMessages.ERROR_READING_ENTITY_MISSING());
         }
 
+        Pooled<Unmarshaller> unmarshaller = null;
         try {
-            return getUnmarshaller(type, mediaType)
-                    .unmarshal(getSAXSource(spf.get(), entityStream));
+            unmarshaller = acquireUnmarshaller(type, mediaType);
+            return unmarshaller.get().unmarshal(getSAXSource(spf.get(), entityStream));
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            if (unmarshaller != null) {
+                unmarshaller.release();
+            }
         }
     }
 
@@ -46,7 +46,26 @@ package org.glassfish.jersey.jaxb.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
+import javax.activation.DataHandler;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import javax.xml.bind.attachment.AttachmentMarshaller;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXSource;
@@ -56,6 +75,11 @@ import org.glassfish.jersey.spi.inject.InstanceManager;
 
 import org.junit.Before;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class AbstractJaxbProviderTest {
     private InstanceManager instanceManager;
@@ -75,4 +99,163 @@ public class AbstractJaxbProviderTest {
 
         TransformerFactory.newInstance().newTransformer().transform(saxSource, new StreamResult(new ByteArrayOutputStream()));
     }
+
+    private static final MediaType XML = MediaType.APPLICATION_XML_TYPE;
+
+    @XmlRootElement
+    public static class Bean {
+
+        public String value = "v";
+    }
+
+    /**
+     * Providers without any context resolvers.
+     */
+    private static class NoProviders implements Providers {
+
+        @Override
+        public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> type, Type genericType, Annotation[] annotations,
+                                                             MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> type, Type genericType, Annotation[] annotations,
+                                                             MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(Class<T> type) {
+            return null;
+        }
+
+        @Override
+        public <T> ContextResolver<T> getContextResolver(Class<T> contextType, MediaType mediaType) {
+            return null;
+        }
+    }
+
+    private static AbstractRootElementJaxbProvider createProvider() {
+        return new AbstractRootElementJaxbProvider(new NoProviders()) {
+        };
+    }
+
+    @Test
+    public void testStoredContextShared() throws Exception {
+        assertSame(createProvider().getStoredJaxbContext(Bean.class), createProvider().getStoredJaxbContext(Bean.class));
+    }
+
+    @Test
+    public void testMarshallerResetAndReused() throws Exception {
+        final AbstractRootElementJaxbProvider provider = createProvider();
+
+        final AbstractJaxbProvider.Pooled<Marshaller> first = provider.acquireMarshaller(Bean.class, XML);
+        final AbstractJaxbProvider.Pooled<Marshaller> second = provider.acquireMarshaller(Bean.class, XML);
+        assertNotSame(first.get(), second.get());
+
+        for (final AbstractJaxbProvider.Pooled<Marshaller> m : new AbstractJaxbProvider.Pooled[] {first, second}) {
+            m.get().setProperty(Marshaller.JAXB_ENCODING, "ISO-8859-1");
+            m.get().setProperty(Marshaller.JAXB_FRAGMENT, true);
+            m.get().setAttachmentMarshaller(new AttachmentMarshaller() {
+                @Override
+                public String addMtomAttachment(DataHandler data, String elementNamespace,
+                                                String elementLocalName) {
+                    return null;
+                }
+
+                @Override
+                public String addMtomAttachment(byte[] data, int offset, int length, String mimeType,
+                                                String elementNamespace, String elementLocalName) {
+                    return null;
+                }
+
+                @Override
+                public String addSwaRefAttachment(DataHandler data) {
+                    return null;
+                }
+            });
+            m.release();
+        }
+
+        final AbstractJaxbProvider.Pooled<Marshaller> reused = provider.acquireMarshaller(Bean.class, XML);
+        try {
+            assertTrue(reused.get() == first.get() || reused.get() == second.get());
+            assertEquals("UTF-8", reused.get().getProperty(Marshaller.JAXB_ENCODING));
+            assertEquals(false, reused.get().getProperty(Marshaller.JAXB_FRAGMENT));
+            assertNull(reused.get().getAttachmentMarshaller());
+        } finally {
+            reused.release();
+        }
+    }
+
+    @Test
+    public void testPooledWriteAndRead() throws Exception {
+        final AbstractRootElementJaxbProvider provider = createProvider();
+        final MediaType latin = MediaType.valueOf("application/xml;charset=ISO-8859-1");
+
+        for (final MediaType mediaType : new MediaType[] {latin, XML, latin}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            provider.writeTo(new Bean(), Bean.class, Bean.class, new Annotation[0], mediaType, null, out);
+            final String xml = out.toString(mediaType == latin ? "ISO-8859-1" : "UTF-8");
+            assertTrue(xml, xml.contains(mediaType == latin ? "encoding=\"ISO-8859-1\"" : "encoding=\"UTF-8\""));
+
+            final Object bean = provider.readFrom((Class) Bean.class, Bean.class, new Annotation[0], mediaType, null,
+                    new ByteArrayInputStream(out.toByteArray()));
+            assertEquals("v", ((Bean) bean).value);
+        }
+
+        final AbstractJaxbProvider.Pooled<Unmarshaller> u1 = provider.acquireUnmarshaller(Bean.class, latin);
+        u1.release();
+        final AbstractJaxbProvider.Pooled<Unmarshaller> u2 = provider.acquireUnmarshaller(Bean.class, latin);
+        assertSame(u1.get(), u2.get());
+        u2.release();
+    }
+
+    public static class BeanAdapter extends XmlAdapter<String, Bean> {
+
+        @Override
+        public Bean unmarshal(final String value) {
+            return new Bean();
+        }
+
+        @Override
+        public String marshal(final Bean bean) {
+            return bean.value;
+        }
+    }
+
+    /**
+     * Provider setting an adapter the marshaller pool cannot reset on the marshaller in its hook.
+     */
+    private static class CustomisingProvider extends AbstractRootElementJaxbProvider {
+
+        private final List<Object> adapters = new ArrayList<>();
+
+        CustomisingProvider() {
+            super(new NoProviders());
+        }
+
+        @Override
+        protected void writeTo(final Object t, final MediaType mediaType, final Charset c, final Marshaller m,
+                               final OutputStream entityStream) throws JAXBException {
+            adapters.add(m.getAdapter(BeanAdapter.class));
+            if (adapters.size() == 1) {
+                m.setAdapter(new BeanAdapter());
+            }
+            super.writeTo(t, mediaType, c, m, entityStream);
+        }
+    }
+
+    @Test
+    public void testCustomisedMarshallerNotReused() throws Exception {
+        final CustomisingProvider provider = new CustomisingProvider();
+
+        for (int i = 0; i < 2; i++) {
+            provider.writeTo(new Bean(), Bean.class, Bean.class, new Annotation[0], XML, null, new ByteArrayOutputStream());
+        }
+
+        // The adapter set during the first request is gone in the second one.
+        assertNull(provider.adapters.get(1));
+    }
 }
@@ -43,8 +43,12 @@ package org.glassfish.jersey.jackson.internal;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -53,6 +57,8 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.message.filtering.spi.ObjectProvider;
 
@@ -60,6 +66,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.AnnotationIntrospector;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
 import com.fasterxml.jackson.databind.introspect.AnnotatedField;
@@ -68,6 +75,7 @@ import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import com.fasterxml.jackson.databind.ser.BeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
 import com.fasterxml.jackson.jaxrs.cfg.EndpointConfigBase;
 import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterInjector;
 import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterModifier;
@@ -76,47 +84,98 @@ import com.fasterxml.jackson.jaxrs.json.JsonEndpointConfig;
 
 /**
  * Entity Data Filtering provider based on Jackson JSON provider.
+ * <p>
+ * The shared (user) {@link ObjectMapper} is never modified. Entity-filtering is done by a copy of the mapper with the filtering
+ * annotation introspector registered and by {@link ObjectWriter writers} configured with the entity-filtering
+ * {@link FilterProvider filter provider} that are cached per entity type, filtering scopes and endpoint. Only mappers that
+ * do not support {@link ObjectMapper#copy() copying} get the filtering introspector registered directly.
+ * </p>
+ * <p>
+ * The copy is a snapshot of the mapper. It is created again when the serialization config or the serializer factory of the
+ * mapper change (e.g. a feature is enabled or a module is registered), so the change is reflected by the endpoints
+ * configured afterwards. As with the Jackson JAX-RS provider, the writer of an endpoint (resource method annotations and
+ * entity type) is configured once, when the first entity of the endpoint is written, and is not affected by later changes
+ * of the mapper.
+ * </p>
  *
  * @author Michal Gajdos
  */
 @Singleton
 public final class FilteringJacksonJaxbJsonProvider extends JacksonJaxbJsonProvider {
 
+    private static final int WRITER_CACHE_SIZE = 1000;
+
+    /**
+     * Introspector providing filter ids for entity classes and their properties.
+     */
+    private static final AnnotationIntrospector FILTERING_INTROSPECTOR = new FilteringAnnotationIntrospector();
+
     @Inject
     private Provider<ObjectProvider<FilterProvider>> provider;
 
+    /**
+     * Filtering copies of mappers. The original mappers are compared by identity and referenced weakly, the list is copied
+     * on write as there are usually only a few mappers per application.
+     */
+    private volatile List<FilteringMapper> filteringMappers = new ArrayList<>();
+
+    /**
+     * Writers configured with entity-filtering filter provider.
+     */
+    private final Cache<WriterKey, ObjectWriter> writers = CacheBuilder.newBuilder().maximumSize(WRITER_CACHE_SIZE).build();
+
     @Override
     protected JsonEndpointConfig _configForWriting(final ObjectMapper mapper, final Annotation[] annotations,
                                                    final Class<?> defaultView) {
-        final AnnotationIntrospector customIntrospector = mapper.getSerializationConfig().getAnnotationIntrospector();
-        // Set the custom (user) introspector to be the primary one.
-        final ObjectMapper filteringMapper = mapper.setAnnotationIntrospector(AnnotationIntrospector.pair(customIntrospector,
-                new JacksonAnnotationIntrospector() {
-                    @Override
-                    public Object findFilterId(final Annotated a) {
-                        final Object filterId = super.findFilterId(a);
-
-                        if (filterId != null) {
-                            return filterId;
-                        }
+        return super._configForWriting(getFilteringMapper(mapper), annotations, defaultView);
+    }
 
-                        if (a instanceof AnnotatedMethod) {
-                            final Method method = ((AnnotatedMethod) a).getAnnotated();
+    private ObjectMapper getFilteringMapper(final ObjectMapper mapper) {
+        for (final FilteringMapper filteringMapper : filteringMappers) {
+            if (filteringMapper.isUpToDate(mapper)) {
+                return filteringMapper.get(mapper);
+            }
+        }
 
-                            // Interested only in getters - trying to obtain "field" name from them.
-                            if (ReflectionHelper.isGetter(method)) {
-                                return ReflectionHelper.getPropertyName(method);
-                            }
-                        }
-                        if (a instanceof AnnotatedField || a instanceof AnnotatedClass) {
-                            return a.getName();
-                        }
+        final FilteringMapper filteringMapper = new FilteringMapper(mapper, createFilteringMapper(mapper));
+        synchronized (this) {
+            final List<FilteringMapper> updated = new ArrayList<>(filteringMappers.size() + 1);
+            for (final FilteringMapper current : filteringMappers) {
+                final ObjectMapper original = current.original.get();
+                // drop collected and outdated mappers
+                if (original != null && original != mapper) {
+                    updated.add(current);
+                }
+            }
+            updated.add(filteringMapper);
+            filteringMappers = updated;
+        }
+        return filteringMapper.get(mapper);
+    }
 
-                        return null;
-                    }
-                }));
+    /**
+     * Create a filtering copy of the mapper.
+     *
+     * @param mapper original mapper.
+     * @return filtering copy or {@code null} if the original mapper is used for filtering.
+     */
+    private static ObjectMapper createFilteringMapper(final ObjectMapper mapper) {
+        final AnnotationIntrospector customIntrospector = mapper.getSerializationConfig().getAnnotationIntrospector();
+        if (customIntrospector != null && customIntrospector.allIntrospectors().contains(FILTERING_INTROSPECTOR)) {
+            return null;
+        }
 
-        return super._configForWriting(filteringMapper, annotations, defaultView);
+        final AnnotationIntrospector filteringIntrospector = customIntrospector == null
+                ? FILTERING_INTROSPECTOR : AnnotationIntrospector.pair(customIntrospector, FILTERING_INTROSPECTOR);
+        try {
+            // A copy has its own serializer caches so the serializers with filter ids do not leak into the user mapper.
+            // Set the custom (user) introspector to be the primary one.
+            return mapper.copy().setAnnotationIntrospector(filteringIntrospector);
+        } catch (final IllegalStateException e) {
+            // Mapper subclass not supporting copies - fall back to configuring the mapper itself (only once).
+            mapper.setAnnotationIntrospector(filteringIntrospector);
+            return null;
+        }
     }
 
     @Override
@@ -129,20 +188,56 @@ public final class FilteringJacksonJaxbJsonProvider extends JacksonJaxbJsonProvi
                         final OutputStream entityStream) throws IOException {
         final FilterProvider filterProvider = provider.get().getFilteringObject(genericType, true, annotations);
         if (filterProvider != null) {
-            ObjectWriterInjector.set(new FilteringObjectWriterModifier(filterProvider, ObjectWriterInjector.getAndClear()));
+            ObjectWriterInjector.set(new FilteringObjectWriterModifier(filterProvider, ObjectWriterInjector.getAndClear(),
+                    type, genericType));
         }
 
         super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
     }
 
-    private static final class FilteringObjectWriterModifier extends ObjectWriterModifier {
+    /**
+     * Filtering copy of a mapper together with the configuration of the original mapper the copy has been created from.
+     * Does not reference the original mapper strongly.
+     */
+    private static final class FilteringMapper {
+
+        private final WeakReference<ObjectMapper> original;
+        private final SerializationConfig config;
+        private final SerializerFactory serializerFactory;
+        private final ObjectMapper copy;
+
+        private FilteringMapper(final ObjectMapper original, final ObjectMapper copy) {
+            this.original = new WeakReference<>(original);
+            this.config = original.getSerializationConfig();
+            this.serializerFactory = original.getSerializerFactory();
+            this.copy = copy;
+        }
+
+        private boolean isUpToDate(final ObjectMapper mapper) {
+            // the serialization config and the serializer factory are immutable, replaced whenever the mapper is configured
+            return original.get() == mapper
+                    && config == mapper.getSerializationConfig()
+                    && serializerFactory == mapper.getSerializerFactory();
+        }
+
+        private ObjectMapper get(final ObjectMapper mapper) {
+            return copy != null ? copy : mapper;
+        }
+    }
+
+    private final class FilteringObjectWriterModifier extends ObjectWriterModifier {
 
         private final ObjectWriterModifier original;
         private final FilterProvider filterProvider;
+        private final Class<?> type;
+        private final Type genericType;
 
-        private FilteringObjectWriterModifier(final FilterProvider filterProvider, final ObjectWriterModifier original) {
+        private FilteringObjectWriterModifier(final FilterProvider filterProvider, final ObjectWriterModifier original,
+                                              final Class<?> type, final Type genericType) {
             this.original = original;
             this.filterProvider = filterProvider;
+            this.type = type;
+            this.genericType = genericType;
         }
 
         @Override
@@ -151,7 +246,23 @@ public final class FilteringJacksonJaxbJsonProvider extends JacksonJaxbJsonProvi
                                    final Object valueToWrite,
                                    final ObjectWriter w,
                                    final JsonGenerator g) throws IOException {
-            final ObjectWriter writer = original == null ? w : original.modify(endpoint, responseHeaders, valueToWrite, w, g);
+            if (original != null) {
+                // Writer returned by the custom (user) modifier may differ for every value - cannot be cached.
+                return withFilterProvider(original.modify(endpoint, responseHeaders, valueToWrite, w, g));
+            }
+
+            // The writer passed in is determined by the endpoint and the entity types.
+            final WriterKey key = new WriterKey(endpoint, filterProvider, type, genericType);
+            ObjectWriter writer = writers.getIfPresent(key);
+
+            if (writer == null) {
+                writer = withFilterProvider(w);
+                writers.put(key, writer);
+            }
+            return writer;
+        }
+
+        private ObjectWriter withFilterProvider(final ObjectWriter writer) {
             final FilterProvider customFilterProvider = writer.getConfig().getFilterProvider();
 
             // Try the custom (user) filter provider first.
@@ -175,4 +286,76 @@ public final class FilteringJacksonJaxbJsonProvider extends JacksonJaxbJsonProvi
                     });
         }
     }
+
+    /**
+     * Key of the configured writer cache. Endpoints and filter providers are cached (by Jackson JAX-RS provider and by
+     * {@link ObjectProvider} per entity class and filtering scopes) and compared by identity.
+     */
+    private static final class WriterKey {
+
+        private final EndpointConfigBase<?> endpoint;
+        private final FilterProvider filterProvider;
+        private final Class<?> type;
+        private final Type genericType;
+
+        private WriterKey(final EndpointConfigBase<?> endpoint, final FilterProvider filterProvider,
+                          final Class<?> type, final Type genericType) {
+            this.endpoint = endpoint;
+            this.filterProvider = filterProvider;
+            this.type = type;
+            this.genericType = genericType;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WriterKey)) {
+                return false;
+            }
+
+            final WriterKey that = (WriterKey) o;
+
+            return endpoint == that.endpoint
+                    && filterProvider == that.filterProvider
+                    && type == that.type
+                    && Objects.equals(genericType, that.genericType);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(endpoint);
+            result = 47 * result + System.identityHashCode(filterProvider);
+            result = 47 * result + type.hashCode();
+            result = 47 * result + Objects.hashCode(genericType);
+            return result;
+        }
+    }
+
+    private static final class FilteringAnnotationIntrospector extends JacksonAnnotationIntrospector {
+
+        @Override
+        public Object findFilterId(final Annotated a) {
+            final Object filterId = super.findFilterId(a);
+
+            if (filterId != null) {
+                return filterId;
+            }
+
+            if (a instanceof AnnotatedMethod) {
+                final Method method = ((AnnotatedMethod) a).getAnnotated();
+
+                // Interested only in getters - trying to obtain "field" name from them.
+                if (ReflectionHelper.isGetter(method)) {
+                    return ReflectionHelper.getPropertyName(method);
+                }
+            }
+            if (a instanceof AnnotatedField || a instanceof AnnotatedClass) {
+                return a.getName();
+            }
+
+            return null;
+        }
+    }
 }
@@ -40,11 +40,12 @@
 
 package org.glassfish.jersey.jackson.internal;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 
 import org.glassfish.jersey.message.filtering.spi.AbstractObjectProvider;
 import org.glassfish.jersey.message.filtering.spi.ObjectGraph;
@@ -134,10 +135,14 @@ final class JacksonObjectProvider extends AbstractObjectProvider<FilterProvider>
         return subfilters;
     }
 
+    /**
+     * Filter provider shared by all the writes of the same entity class within the same filtering scopes. The state of the
+     * traversal of the entity graph is therefore kept per thread.
+     */
     private static class FilteringFilterProvider extends FilterProvider {
 
         private final FilteringPropertyFilter root;
-        private final Stack<FilteringPropertyFilter> stack = new Stack<>();
+        private final ThreadLocal<Deque<FilteringPropertyFilter>> stacks = ThreadLocal.withInitial(ArrayDeque::new);
 
         public FilteringFilterProvider(final FilteringPropertyFilter root) {
             this.root = root;
@@ -152,11 +157,13 @@ final class JacksonObjectProvider extends AbstractObjectProvider<FilterProvider>
         public PropertyFilter findPropertyFilter(final Object filterId, final Object valueToFilter) {
             if (filterId instanceof String) {
                 final String id = (String) filterId;
+                final Deque<FilteringPropertyFilter> stack = stacks.get();
 
                 // FilterId should represent a class only in case of root entity is marshalled.
                 if (id.equals(root.getEntityClass().getName())) {
                     stack.clear();
-                    return stack.push(root);
+                    stack.push(root);
+                    return root;
                 }
 
                 while (!stack.isEmpty()) {
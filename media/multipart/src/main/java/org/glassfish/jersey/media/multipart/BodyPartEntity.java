@@ -44,11 +44,14 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.jersey.media.multipart.internal.LocalizationMessages;
 
+import org.jvnet.mimepull.MIMEParsingException;
 import org.jvnet.mimepull.MIMEPart;
 
 /**
@@ -59,6 +62,9 @@ import org.jvnet.mimepull.MIMEPart;
  * However, it also transparently deals with storing the data in a temporary disk
  * file, if it is larger than a configurable size; otherwise, the data is stored
  * in memory for faster processing.
+ * <p/>
+ * A <em>streamed</em> body part entity is read directly from the wire as the multipart message is being
+ * parsed and is not retained, hence it can be read only once.
  *
  * @author Craig McClanahan
  * @author Paul Sandoz
@@ -69,7 +75,11 @@ public class BodyPartEntity implements Closeable {
     private static final Logger LOGGER = Logger.getLogger(BodyPartEntity.class.getName());
 
     private final MIMEPart mimePart;
+    private final long maxSize;
+    private final boolean streamed;
+
     private volatile File file;
+    private volatile InputStream stream;
 
     /**
      * Constructs a new {@code BodyPartEntity} with a {@link MIMEPart}.
@@ -77,16 +87,70 @@ public class BodyPartEntity implements Closeable {
      * @param mimePart MIMEPart containing the input stream of this body part entity.
      */
     public BodyPartEntity(final MIMEPart mimePart) {
+        this(mimePart, MultiPartProperties.MAX_PART_SIZE_UNLIMITED, false);
+    }
+
+    /**
+     * Constructs a new {@code BodyPartEntity} with a {@link MIMEPart}.
+     *
+     * @param mimePart MIMEPart containing the input stream of this body part entity.
+     * @param maxSize  maximum size (in bytes) of this body part entity, a negative value means the size is not limited.
+     * @param streamed if {@code true} the entity is read directly from the underlying MIME message and can be read only once.
+     * @since 3.0
+     */
+    public BodyPartEntity(final MIMEPart mimePart, final long maxSize, final boolean streamed) {
         this.mimePart = mimePart;
+        this.maxSize = maxSize;
+        this.streamed = streamed;
     }
 
     /**
      * Gets the input stream of the raw bytes of this body part entity.
      *
      * @return the input stream of the body part entity.
+     * @throws IllegalStateException if this entity is streamed and its input stream has already been retrieved.
      */
     public InputStream getInputStream() {
-        return mimePart.read();
+        if (!streamed) {
+            return limit(mimePart.read());
+        }
+
+        synchronized (this) {
+            if (stream != null) {
+                throw new IllegalStateException(LocalizationMessages.BODY_PART_ENTITY_ALREADY_READ());
+            }
+            stream = mimePart.readOnce();
+        }
+        return limit(stream);
+    }
+
+    private InputStream limit(final InputStream in) {
+        return maxSize < 0 ? in : new SizeLimitedInputStream(in, maxSize);
+    }
+
+    /**
+     * Skips the unread remainder of a streamed entity and cleans up.
+     */
+    void discard() {
+        try {
+            final InputStream in;
+            synchronized (this) {
+                if (stream == null) {
+                    stream = mimePart.readOnce();
+                }
+                in = stream;
+            }
+
+            final byte[] buffer = new byte[8192];
+            //noinspection StatementWithEmptyBody
+            while (in.read(buffer) != -1) {
+                // Skip.
+            }
+        } catch (final IOException | IllegalStateException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.PARSING_ERROR(), e);
+        } finally {
+            cleanup();
+        }
     }
 
     /**
@@ -118,7 +182,21 @@ public class BodyPartEntity implements Closeable {
      * @param file destination file.
      */
     public void moveTo(final File file) {
-        mimePart.moveTo(file);
+        if (streamed || maxSize >= 0) {
+            // Copy the content (directly from the wire if streamed) to the target file, enforcing the size limit.
+            try (InputStream in = getInputStream()) {
+                Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (final IOException e) {
+                throw new MIMEParsingException(e);
+            } catch (final RuntimeException e) {
+                // Do not leave a partially copied file behind.
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+                throw e;
+            }
+        } else {
+            mimePart.moveTo(file);
+        }
 
         // Remember the file where the mime-part object should be stored. Mimepull would not be able to delete it after
         // it's moved.
@@ -193,7 +193,7 @@ public class ContentDisposition {
 
     protected void addDateParameter(final StringBuilder sb, final String name, final Date p) {
         if (p != null) {
-            sb.append("; ").append(name).append("=\"").append(HttpDateFormat.getPreferredDateFormat().format(p)).append("\"");
+            sb.append("; ").append(name).append("=\"").append(HttpDateFormat.formatDate(p)).append("\"");
         }
     }
 
@@ -220,7 +220,7 @@ public class ContentDisposition {
         if (value == null) {
             return null;
         }
-        return HttpDateFormat.getPreferredDateFormat().parse(value);
+        return HttpDateFormat.readDate(value);
     }
 
     private long createLong(final String name) throws ParseException {
@@ -92,6 +92,39 @@ public class MultiPartProperties {
      */
     public static final String TEMP_DIRECTORY = "jersey.config.multipart.tempDir";
 
+    /**
+     * Name of the resource property to enable the streaming mode of reading {@code multipart/form-data} entities.
+     * <p>
+     * In streaming mode a {@link FormDataMultiPart} entity (including the one used to resolve {@link FormDataParam} injected
+     * values) is parsed lazily - body parts are read from the wire only when they are looked up. Body part entities are
+     * read directly from the wire and can be read only once. As a result a large body part injected as an
+     * {@link InputStream} or a {@link java.io.File} is not buffered to a temporary file before the resource method
+     * is invoked.
+     * </p>
+     * The default value is {@code false}.
+     *
+     * @see StreamingMultiPart
+     * @since 3.0
+     */
+    public static final String STREAMING = "jersey.config.multipart.streaming";
+
+    /**
+     * Name of the resource property for the maximum size (in bytes) of a single body part entity. Reading a body part
+     * entity larger than the limit fails with a {@code 413 Request Entity Too Large} {@link javax.ws.rs.WebApplicationException}.
+     *
+     * The default value is {@value #MAX_PART_SIZE_UNLIMITED}.
+     *
+     * @since 3.0
+     */
+    public static final String MAX_PART_SIZE = "jersey.config.multipart.maxPartSize";
+
+    /**
+     * The {@link #MAX_PART_SIZE} property value to not limit the size of body part entities.
+     *
+     * @since 3.0
+     */
+    public static final long MAX_PART_SIZE_UNLIMITED = -1;
+
     /**
      * The threshold size (in bytes) above which a body part entity will be
      * buffered to disk instead of being held in memory.
@@ -103,6 +136,16 @@ public class MultiPartProperties {
      */
     private String tempDir = null;
 
+    /**
+     * Whether {@code multipart/form-data} entities are parsed lazily.
+     */
+    private boolean streaming = false;
+
+    /**
+     * The maximum size (in bytes) of a single body part entity.
+     */
+    private long maxPartSize = MAX_PART_SIZE_UNLIMITED;
+
     /**
      * Load and customize (if necessary) the configuration values for the
      * {@code jersey-multipart} injection binder.
@@ -137,6 +180,27 @@ public class MultiPartProperties {
         return tempDir;
     }
 
+    /**
+     * Get the flag indicating whether {@code multipart/form-data} entities are parsed lazily.
+     *
+     * @return {@code true} if the streaming mode is enabled.
+     * @see #STREAMING
+     * @since 3.0
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Get the maximum size (in bytes) of a single body part entity.
+     *
+     * @return maximum size of a body part entity or {@value #MAX_PART_SIZE_UNLIMITED} if the size is not limited.
+     * @since 3.0
+     */
+    public long getMaxPartSize() {
+        return maxPartSize;
+    }
+
     /**
      * Set the size (in bytes) of the entity of an incoming {@link BodyPart} before it will be buffered to disk.
      *
@@ -162,6 +226,31 @@ public class MultiPartProperties {
         return this;
     }
 
+    /**
+     * Enable or disable the streaming mode of reading {@code multipart/form-data} entities.
+     *
+     * @param streaming {@code true} to parse {@code multipart/form-data} entities lazily.
+     * @return {@code MultiPartProperties} instance.
+     * @see #STREAMING
+     * @since 3.0
+     */
+    public MultiPartProperties streaming(final boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * Set the maximum size (in bytes) of a single body part entity.
+     *
+     * @param size maximum size of a body part entity, a negative value means the size is not limited.
+     * @return {@code MultiPartProperties} instance.
+     * @since 3.0
+     */
+    public MultiPartProperties maxPartSize(final long size) {
+        this.maxPartSize = size < 0 ? MAX_PART_SIZE_UNLIMITED : size;
+        return this;
+    }
+
     /**
      * Configure the values returned by this instance's getters based on
      * the contents of a properties resource, if it exists on the classpath
@@ -193,6 +282,12 @@ public class MultiPartProperties {
             if (props.containsKey(TEMP_DIRECTORY)) {
                 this.tempDir = props.getProperty(TEMP_DIRECTORY);
             }
+            if (props.containsKey(STREAMING)) {
+                this.streaming = Boolean.parseBoolean(props.getProperty(STREAMING));
+            }
+            if (props.containsKey(MAX_PART_SIZE)) {
+                maxPartSize(Long.parseLong(props.getProperty(MAX_PART_SIZE)));
+            }
         } catch (final IOException e) {
             throw new IllegalArgumentException(e);
         } finally {
@@ -0,0 +1,154 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.media.multipart.internal.LocalizationMessages;
+
+/**
+ * A received {@link MultiPart} entity whose body parts are read from the wire lazily, one at a time, in the order in which
+ * they arrive.
+ * <p/>
+ * Body parts are obtained by {@link #iterator() iterating} over this entity. Entities of the returned body parts are
+ * {@link BodyPartEntity streamed} - they are read directly from the wire and can be read only once. Moving to the next body
+ * part skips the unread remainder of the previous one and releases it, so no body part is buffered in memory or in a temporary
+ * file regardless of its size. The list returned by {@link #getBodyParts()} contains only the body parts returned by the
+ * iterator so far.
+ * <p/>
+ * A resource method can declare a parameter of this type to process large uploads incrementally:
+ * <pre>
+ * &#64;POST
+ * &#64;Consumes("multipart/*")
+ * public void upload(StreamingMultiPart multiPart) {
+ *     for (BodyPart part : multiPart) {
+ *         try (InputStream in = part.getEntityAs(BodyPartEntity.class).getInputStream()) {
+ *             ...
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 3.0
+ */
+public class StreamingMultiPart extends MultiPart implements Iterable<BodyPart> {
+
+    private static final Logger LOGGER = Logger.getLogger(StreamingMultiPart.class.getName());
+
+    private final Iterator<BodyPart> parts;
+
+    private boolean iterated;
+    private BodyPart current;
+
+    /**
+     * Create a new streaming multipart entity.
+     *
+     * @param parts iterator lazily reading body parts of the received message. If the iterator is also {@link Closeable}
+     *              it is closed when this entity is {@link #cleanup() cleaned up}.
+     */
+    public StreamingMultiPart(final Iterator<BodyPart> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Get an iterator over the body parts of this multipart entity. The iterator can be obtained only once.
+     *
+     * @return body part iterator.
+     * @throws IllegalStateException if the iterator has already been obtained.
+     */
+    @Override
+    public Iterator<BodyPart> iterator() {
+        if (iterated) {
+            throw new IllegalStateException(LocalizationMessages.MULTIPART_ALREADY_ITERATED());
+        }
+        iterated = true;
+
+        return new Iterator<BodyPart>() {
+
+            @Override
+            public boolean hasNext() {
+                release();
+                return parts.hasNext();
+            }
+
+            @Override
+            public BodyPart next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                current = parts.next();
+                getBodyParts().add(current);
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Skip the unread remainder of the current body part.
+     */
+    private void release() {
+        if (current != null) {
+            final Object entity = current.getEntity();
+            if (entity instanceof BodyPartEntity) {
+                ((BodyPartEntity) entity).discard();
+            }
+            current = null;
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+
+        if (parts instanceof Closeable) {
+            try {
+                ((Closeable) parts).close();
+            } catch (final IOException e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.PARSING_ERROR(), e);
+            }
+        }
+    }
+}
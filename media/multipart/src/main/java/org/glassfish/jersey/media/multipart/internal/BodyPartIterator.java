@@ -0,0 +1,141 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import javax.ws.rs.BadRequestException;
+
+import org.glassfish.jersey.media.multipart.BodyPart;
+
+import org.jvnet.mimepull.MIMEMessage;
+import org.jvnet.mimepull.MIMEParsingException;
+import org.jvnet.mimepull.MIMEPart;
+
+/**
+ * Iterator lazily parsing body parts of a {@link MIMEMessage}. A body part is parsed from the wire only when requested; its
+ * content is not read until the entity of the body part is read or until the next body part is requested.
+ */
+final class BodyPartIterator implements Iterator<BodyPart>, Closeable {
+
+    private final MIMEMessage message;
+    private final Function<MIMEPart, BodyPart> bodyPartFactory;
+
+    private int index;
+    private BodyPart next;
+    private boolean done;
+
+    /**
+     * Create a new body part iterator.
+     *
+     * @param message         MIME message to parse.
+     * @param bodyPartFactory function creating a body part from a parsed MIME part.
+     */
+    BodyPartIterator(final MIMEMessage message, final Function<MIMEPart, BodyPart> bodyPartFactory) {
+        this.message = message;
+        this.bodyPartFactory = bodyPartFactory;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            final MIMEPart mimePart;
+            try {
+                mimePart = nextPart(message, index);
+            } catch (final MIMEParsingException mpe) {
+                done = true;
+                throw new BadRequestException(mpe);
+            }
+            if (mimePart == null) {
+                done = true;
+                return false;
+            }
+
+            index++;
+            next = bodyPartFactory.apply(mimePart);
+        }
+        return next != null;
+    }
+
+    @Override
+    public BodyPart next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final BodyPart bodyPart = next;
+        next = null;
+        return bodyPart;
+    }
+
+    @Override
+    public void close() {
+        message.close();
+    }
+
+    /**
+     * Get a MIME part of the message parsed up to its headers.
+     *
+     * @param message MIME message to parse.
+     * @param index   index of the part.
+     * @return MIME part with the given index or {@code null} if the message does not contain any further part.
+     * @throws MIMEParsingException if the message is malformed.
+     */
+    static MIMEPart nextPart(final MIMEMessage message, final int index) {
+        final MIMEPart mimePart;
+        try {
+            mimePart = message.getPart(index);
+        } catch (final MIMEParsingException end) {
+            // The message has already been parsed completely and contains no part with the index.
+            return null;
+        }
+        try {
+            // Parse the message up to the headers of the part.
+            mimePart.getAllHeaders();
+        } catch (final IllegalStateException end) {
+            // The message has been parsed completely without reaching the part.
+            return null;
+        }
+        return mimePart;
+    }
+}
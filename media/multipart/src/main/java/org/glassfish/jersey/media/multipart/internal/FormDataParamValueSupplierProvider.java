@@ -281,7 +281,15 @@ final class FormDataParamValueSupplierProvider extends AbstractValueSupplierProv
         @Override
         public Object get() {
             // Return the field value for the field specified by the sourceName property.
-            final List<FormDataBodyPart> parts = getEntity().getFields(parameter.getSourceName());
+            final FormDataMultiPart multiPart = getEntity();
+            final List<FormDataBodyPart> parts;
+            if (multiPart instanceof LazyFormDataMultiPart && !Collection.class.isAssignableFrom(parameter.getRawType())) {
+                // Single value - do not parse the rest of the message.
+                final FormDataBodyPart field = multiPart.getField(parameter.getSourceName());
+                parts = field != null ? Collections.singletonList(field) : null;
+            } else {
+                parts = multiPart.getFields(parameter.getSourceName());
+            }
 
             final FormDataBodyPart part = parts != null ? parts.get(0) : null;
             final MediaType mediaType = part != null ? part.getMediaType() : MediaType.TEXT_PLAIN_TYPE;
@@ -0,0 +1,118 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.util.List;
+
+import org.glassfish.jersey.media.multipart.BodyPart;
+import org.glassfish.jersey.media.multipart.FormDataBodyPart;
+import org.glassfish.jersey.media.multipart.FormDataMultiPart;
+
+/**
+ * {@link FormDataMultiPart} entity parsing its body parts from the wire on demand. Used in the
+ * {@link org.glassfish.jersey.media.multipart.MultiPartProperties#STREAMING streaming mode}.
+ * <p/>
+ * {@link #getField(String)} reads body parts only until the first body part with the given control name is found, the
+ * content of that body part is not read until its entity is read. Methods requiring all body parts parse the rest of the
+ * message. As the body parts of this entity are {@link org.glassfish.jersey.media.multipart.BodyPartEntity streamed}, the
+ * entity of any body part, including the body parts read over, can be read only once.
+ */
+final class LazyFormDataMultiPart extends FormDataMultiPart {
+
+    private final BodyPartIterator parts;
+
+    /**
+     * Create a new lazily parsed form data multipart entity.
+     *
+     * @param parts iterator over body parts of the received message.
+     */
+    LazyFormDataMultiPart(final BodyPartIterator parts) {
+        this.parts = parts;
+    }
+
+    @Override
+    public List<BodyPart> getBodyParts() {
+        final List<BodyPart> bodyParts = super.getBodyParts();
+        while (parts.hasNext()) {
+            bodyParts.add(parts.next());
+        }
+        return bodyParts;
+    }
+
+    /**
+     * Gets the first form data body part with the given control name, reading the body parts from the wire only until the
+     * body part is found.
+     *
+     * @param name the control name.
+     * @return the form data body part, otherwise null if no part is present with the given control name.
+     */
+    @Override
+    public FormDataBodyPart getField(final String name) {
+        final List<BodyPart> bodyParts = super.getBodyParts();
+        for (final BodyPart bodyPart : bodyParts) {
+            if (isField(bodyPart, name)) {
+                return (FormDataBodyPart) bodyPart;
+            }
+        }
+
+        while (parts.hasNext()) {
+            final BodyPart bodyPart = parts.next();
+            bodyParts.add(bodyPart);
+
+            if (isField(bodyPart, name)) {
+                return (FormDataBodyPart) bodyPart;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isField(final BodyPart bodyPart, final String name) {
+        return bodyPart instanceof FormDataBodyPart && name.equals(((FormDataBodyPart) bodyPart).getName());
+    }
+
+    @Override
+    public void cleanup() {
+        // Clean up parsed body parts only, do not read the rest of the message.
+        for (final BodyPart bodyPart : super.getBodyParts()) {
+            bodyPart.cleanup();
+        }
+        parts.close();
+    }
+}
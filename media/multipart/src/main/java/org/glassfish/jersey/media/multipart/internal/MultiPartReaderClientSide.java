@@ -45,6 +45,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +75,7 @@ import org.glassfish.jersey.media.multipart.FormDataBodyPart;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.glassfish.jersey.media.multipart.MultiPart;
 import org.glassfish.jersey.media.multipart.MultiPartProperties;
+import org.glassfish.jersey.media.multipart.StreamingMultiPart;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.internal.MediaTypes;
 
@@ -85,6 +87,9 @@ import org.jvnet.mimepull.MIMEPart;
 
 /**
  * {@link MessageBodyReader} implementation for {@link MultiPart} entities.
+ * <p/>
+ * {@link StreamingMultiPart} entities, as well as {@link FormDataMultiPart} entities in the
+ * {@link MultiPartProperties#STREAMING streaming mode}, are parsed lazily, all other entities are parsed eagerly.
  *
  * @author Craig McClanahan
  * @author Paul Sandoz
@@ -105,6 +110,8 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
     private Provider<MessageBodyWorkers> messageBodyWorkers;
 
     private final MIMEConfig mimeConfig;
+    private final boolean streaming;
+    private final long maxPartSize;
 
     /**
      * Accepts constructor injection of the configuration parameters for this
@@ -123,6 +130,8 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
         }
 
         mimeConfig = createMimeConfig(properties);
+        streaming = properties.isStreaming();
+        maxPartSize = properties.getMaxPartSize();
     }
 
     private MIMEConfig createMimeConfig(final MultiPartProperties properties) {
@@ -203,9 +212,24 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
                 mimeConfig);
 
         final boolean formData = MediaTypes.typeEqual(mediaType, MediaType.MULTIPART_FORM_DATA_TYPE);
-        final MultiPart multiPart = formData ? new FormDataMultiPart() : new MultiPart();
+
+        // see if the User-Agent header corresponds to some version of MS Internet Explorer
+        // if so, need to set fileNameFix to true to handle issue http://java.net/jira/browse/JERSEY-759
+        final String userAgent = headers.getFirst(HttpHeaders.USER_AGENT);
+        final boolean fileNameFix = formData && userAgent != null && userAgent.contains(" MSIE ");
 
         final MessageBodyWorkers workers = messageBodyWorkers.get();
+
+        final MultiPart multiPart;
+        if (StreamingMultiPart.class.isAssignableFrom(type)) {
+            multiPart = new StreamingMultiPart(new BodyPartIterator(mimeMessage,
+                    mimePart -> createBodyPart(mimePart, formData, fileNameFix, workers, true)));
+        } else if (formData && streaming) {
+            multiPart = new LazyFormDataMultiPart(new BodyPartIterator(mimeMessage,
+                    mimePart -> createBodyPart(mimePart, true, fileNameFix, workers, true)));
+        } else {
+            multiPart = formData ? new FormDataMultiPart() : new MultiPart();
+        }
         multiPart.setMessageBodyWorkers(workers);
 
         final MultivaluedMap<String, String> multiPartHeaders = multiPart.getHeaders();
@@ -217,47 +241,64 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
             }
         }
 
-        final boolean fileNameFix;
-        if (!formData) {
+        if (!(multiPart instanceof FormDataMultiPart)) {
             multiPart.setMediaType(mediaType);
-            fileNameFix = false;
-        } else {
-            // see if the User-Agent header corresponds to some version of MS Internet Explorer
-            // if so, need to set fileNameFix to true to handle issue http://java.net/jira/browse/JERSEY-759
-            final String userAgent = headers.getFirst(HttpHeaders.USER_AGENT);
-            fileNameFix = userAgent != null && userAgent.contains(" MSIE ");
         }
 
-        for (final MIMEPart mimePart : getMimeParts(mimeMessage)) {
-            final BodyPart bodyPart = formData ? new FormDataBodyPart(fileNameFix) : new BodyPart();
+        if (multiPart instanceof StreamingMultiPart || multiPart instanceof LazyFormDataMultiPart) {
+            // Body parts are parsed on demand.
+            return multiPart;
+        }
 
-            // Configure providers.
-            bodyPart.setMessageBodyWorkers(workers);
+        final List<MIMEPart> mimeParts = maxPartSize < 0 ? getMimeParts(mimeMessage) : getSizeLimitedMimeParts(mimeMessage);
+        for (final MIMEPart mimePart : mimeParts) {
+            // Add this BodyPart to our MultiPart.
+            multiPart.getBodyParts().add(createBodyPart(mimePart, formData, fileNameFix, workers, false));
+        }
 
-            // Copy headers.
-            for (final Header header : mimePart.getAllHeaders()) {
-                bodyPart.getHeaders().add(header.getName(), header.getValue());
-            }
+        return multiPart;
+    }
 
-            try {
-                final String contentType = bodyPart.getHeaders().getFirst("Content-Type");
-                if (contentType != null) {
-                    bodyPart.setMediaType(MediaType.valueOf(contentType));
-                }
+    /**
+     * Create a body part from the given parsed mime part.
+     *
+     * @param mimePart    mime part with parsed headers.
+     * @param formData    whether the body part is a part of a {@code multipart/form-data} message.
+     * @param fileNameFix whether to apply a fix of the file name sent by MS Internet Explorer.
+     * @param workers     message body workers used to read the body part entity.
+     * @param streamed    whether the body part entity is read directly from the wire.
+     * @return body part.
+     */
+    private BodyPart createBodyPart(final MIMEPart mimePart,
+                                    final boolean formData,
+                                    final boolean fileNameFix,
+                                    final MessageBodyWorkers workers,
+                                    final boolean streamed) {
+        final BodyPart bodyPart = formData ? new FormDataBodyPart(fileNameFix) : new BodyPart();
+
+        // Configure providers.
+        bodyPart.setMessageBodyWorkers(workers);
+
+        // Copy headers.
+        for (final Header header : mimePart.getAllHeaders()) {
+            bodyPart.getHeaders().add(header.getName(), header.getValue());
+        }
 
-                bodyPart.getContentDisposition();
-            } catch (final IllegalArgumentException ex) {
-                throw new BadRequestException(ex);
+        try {
+            final String contentType = bodyPart.getHeaders().getFirst("Content-Type");
+            if (contentType != null) {
+                bodyPart.setMediaType(MediaType.valueOf(contentType));
             }
 
-            // Copy data into a BodyPartEntity structure.
-            bodyPart.setEntity(new BodyPartEntity(mimePart));
-
-            // Add this BodyPart to our MultiPart.
-            multiPart.getBodyParts().add(bodyPart);
+            bodyPart.getContentDisposition();
+        } catch (final IllegalArgumentException ex) {
+            throw new BadRequestException(ex);
         }
 
-        return multiPart;
+        // Copy data into a BodyPartEntity structure.
+        bodyPart.setEntity(new BodyPartEntity(mimePart, maxPartSize, streamed));
+
+        return bodyPart;
     }
 
     /**
@@ -280,6 +321,44 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
         }
     }
 
+    /**
+     * Get a list of mime part attachments from given mime message enforcing the {@link MultiPartProperties#MAX_PART_SIZE maximum
+     * size} of each part. The parts are parsed one by one and the content of each part is checked while it is being read from
+     * the wire (and buffered in memory or in a temporary file), so that an oversized part fails the request as soon as the limit
+     * is exceeded. If an exception occurs the parsed mime parts are closed (any temporary files are deleted).
+     *
+     * @param message mime message to get mime parts from.
+     * @return list of mime part attachments.
+     * @throws IOException if an I/O error occurs while reading the message.
+     */
+    private List<MIMEPart> getSizeLimitedMimeParts(final MIMEMessage message) throws IOException {
+        final List<MIMEPart> parts = new ArrayList<>();
+        final byte[] buffer = new byte[8192];
+        try {
+            while (true) {
+                final MIMEPart part = BodyPartIterator.nextPart(message, parts.size());
+                if (part == null) {
+                    return parts;
+                }
+
+                // A body part entity that is not streamed buffers the content so that it can be read again later.
+                try (InputStream in = new BodyPartEntity(part, maxPartSize, false).getInputStream()) {
+                    //noinspection StatementWithEmptyBody
+                    while (in.read(buffer) != -1) {
+                        // Drain.
+                    }
+                }
+                parts.add(part);
+            }
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.PARSING_ERROR(), e);
+
+            message.close();
+
+            throw e;
+        }
+    }
+
     private static MediaType unquoteMediaTypeParameters(final MediaType mediaType, final String... parameters) {
         if (parameters == null || parameters.length == 0) {
             return mediaType;
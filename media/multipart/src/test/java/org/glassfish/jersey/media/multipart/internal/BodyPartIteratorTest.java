@@ -0,0 +1,113 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import org.glassfish.jersey.media.multipart.BodyPart;
+
+import org.jvnet.mimepull.MIMEConfig;
+import org.jvnet.mimepull.MIMEMessage;
+import org.junit.Test;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link BodyPartIterator}.
+ */
+public class BodyPartIteratorTest {
+
+    private static final String MESSAGE = "--boundary\r\n"
+            + "Content-Type: text/plain\r\n\r\n"
+            + "first\r\n"
+            + "--boundary\r\n"
+            + "Content-Type: text/plain\r\n\r\n"
+            + "second\r\n"
+            + "--boundary--\r\n";
+
+    private static MIMEMessage message() {
+        return new MIMEMessage(new ByteArrayInputStream(MESSAGE.getBytes(StandardCharsets.US_ASCII)), "boundary",
+                new MIMEConfig());
+    }
+
+    @Test
+    public void testIteratePastLastPart() {
+        final BodyPartIterator iterator = new BodyPartIterator(message(), mimePart -> new BodyPart());
+
+        iterator.next();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail("NoSuchElementException expected.");
+        } catch (final NoSuchElementException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIteratePastLastPartOfParsedMessage() {
+        final MIMEMessage message = message();
+        message.parseAll();
+        final BodyPartIterator iterator = new BodyPartIterator(message, mimePart -> new BodyPart());
+
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testNextPartPastLastPartOfParsedMessage() {
+        final MIMEMessage message = message();
+        assertNotNull(BodyPartIterator.nextPart(message, 0));
+        assertNotNull(BodyPartIterator.nextPart(message, 1));
+        assertNull(BodyPartIterator.nextPart(message, 2));
+        // The message has been parsed completely by now.
+        assertNull(BodyPartIterator.nextPart(message, 2));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link MultiPartProperties#MAX_PART_SIZE maximum size} of body parts of eagerly parsed multipart entities
+ * whose body parts are buffered in temporary files.
+ */
+public class MaxPartSizeTest extends MultiPartJerseyTest {
+
+    private static final int MAX_PART_SIZE = StreamingMultiPartTest.MAX_PART_SIZE;
+
+    private static File tempDir;
+
+    @BeforeClass
+    public static void createTempDir() throws IOException {
+        tempDir = Files.createTempDirectory("multipart").toFile();
+    }
+
+    @AfterClass
+    public static void deleteTempDir() {
+        //noinspection ResultOfMethodCallIgnored
+        tempDir.delete();
+    }
+
+    @Override
+    protected Application configure() {
+        return ((ResourceConfig) super.configure())
+                .registerInstances(new MultiPartProperties()
+                        .bufferThreshold(4096)
+                        .tempDir(tempDir.getAbsolutePath())
+                        .maxPartSize(MAX_PART_SIZE)
+                        .resolver());
+    }
+
+    @Override
+    protected Set<Class<?>> getResourceClasses() {
+        return new HashSet<>(Arrays.asList(StreamingMultiPartTest.StreamingResource.class));
+    }
+
+    @Test
+    public void testWithinLimit() {
+        for (final String path : Arrays.asList("stream", "file")) {
+            final String response = target(path).request()
+                    .post(Entity.entity(StreamingMultiPartTest.form(MAX_PART_SIZE), MediaType.MULTIPART_FORM_DATA_TYPE),
+                            String.class);
+
+            assertEquals(path, MAX_PART_SIZE, Integer.parseInt(response.substring(response.lastIndexOf(':') + 1)));
+        }
+    }
+
+    @Test
+    public void testExceedingLimit() {
+        for (final String path : Arrays.asList("stream", "file", "form")) {
+            final Response response = target(path).request()
+                    .post(Entity.entity(StreamingMultiPartTest.form(MAX_PART_SIZE + 1), MediaType.MULTIPART_FORM_DATA_TYPE));
+
+            assertEquals(path, 413, response.getStatus());
+            // Temporary files of the partially buffered message have been removed.
+            assertArrayEquals(path, new String[0], tempDir.list());
+        }
+    }
+}
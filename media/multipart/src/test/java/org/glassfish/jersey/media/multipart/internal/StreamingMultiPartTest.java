@@ -0,0 +1,268 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.media.multipart.BodyPart;
+import org.glassfish.jersey.media.multipart.BodyPartEntity;
+import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
+import org.glassfish.jersey.media.multipart.FormDataMultiPart;
+import org.glassfish.jersey.media.multipart.FormDataParam;
+import org.glassfish.jersey.media.multipart.MultiPart;
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
+import org.glassfish.jersey.media.multipart.StreamingMultiPart;
+import org.glassfish.jersey.media.multipart.file.StreamDataBodyPart;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link StreamingMultiPart} entities and {@link MultiPartProperties#STREAMING streaming mode} of
+ * {@code multipart/form-data} entities.
+ */
+public class StreamingMultiPartTest extends MultiPartJerseyTest {
+
+    static final int MAX_PART_SIZE = 64 * 1024;
+
+    @Override
+    protected Application configure() {
+        return ((ResourceConfig) super.configure())
+                .registerInstances(new MultiPartProperties().streaming(true).maxPartSize(MAX_PART_SIZE).resolver());
+    }
+
+    @Override
+    protected Set<Class<?>> getResourceClasses() {
+        return new HashSet<>(Arrays.asList(StreamingResource.class));
+    }
+
+    @Path("/")
+    public static class StreamingResource {
+
+        @POST
+        @Path("iterate")
+        @Consumes("multipart/*")
+        @Produces("text/plain")
+        public String iterate(final StreamingMultiPart multiPart) throws IOException {
+            final StringBuilder sb = new StringBuilder();
+            for (final BodyPart part : multiPart) {
+                final String name = part.getContentDisposition().getParameters().get("name");
+                sb.append(name).append('=');
+                // Leave the content of the "skipped" parts unread.
+                if (!name.startsWith("skipped")) {
+                    try (InputStream in = part.getEntityAs(BodyPartEntity.class).getInputStream()) {
+                        sb.append(count(in));
+                    }
+                }
+                sb.append(';');
+            }
+            return sb.toString();
+        }
+
+        @POST
+        @Path("read-twice")
+        @Consumes("multipart/*")
+        @Produces("text/plain")
+        public String readTwice(final StreamingMultiPart multiPart) {
+            final BodyPartEntity entity = multiPart.iterator().next().getEntityAs(BodyPartEntity.class);
+            entity.getInputStream();
+            try {
+                entity.getInputStream();
+                return "FAILED";
+            } catch (final IllegalStateException expected) {
+                return "OK";
+            }
+        }
+
+        @POST
+        @Path("stream")
+        @Consumes("multipart/form-data")
+        @Produces("text/plain")
+        public String stream(@FormDataParam("meta") final String meta,
+                             @FormDataParam("file") final InputStream file,
+                             @FormDataParam("file") final FormDataContentDisposition disposition) throws IOException {
+            return meta + ":" + disposition.getFileName() + ":" + count(file);
+        }
+
+        @POST
+        @Path("file")
+        @Consumes("multipart/form-data")
+        @Produces("text/plain")
+        public String file(@FormDataParam("file") final File file,
+                           @FormDataParam("meta") final String meta) {
+            return meta + ":" + file.length();
+        }
+
+        @POST
+        @Path("form")
+        @Consumes("multipart/form-data")
+        @Produces("text/plain")
+        public String form(final FormDataMultiPart multiPart) {
+            return multiPart.getBodyParts().size() + ":" + multiPart.getField("meta").getValue();
+        }
+
+        @GET
+        @Path("download")
+        @Produces("multipart/mixed")
+        public MultiPart download() {
+            return new MultiPart()
+                    .bodyPart("first", MediaType.TEXT_PLAIN_TYPE)
+                    .bodyPart(new byte[MAX_PART_SIZE], MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                    .bodyPart("third", MediaType.TEXT_PLAIN_TYPE);
+        }
+
+        private static int count(final InputStream in) throws IOException {
+            final byte[] buffer = new byte[1024];
+            int total = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+            }
+            return total;
+        }
+    }
+
+    static FormDataMultiPart form(final int fileSize) {
+        final FormDataMultiPart multiPart = new FormDataMultiPart().field("meta", "archive");
+        multiPart.bodyPart(new StreamDataBodyPart("file", new ByteArrayInputStream(new byte[fileSize]), "archive.zip"));
+        return multiPart;
+    }
+
+    @Test
+    public void testIterate() {
+        final FormDataMultiPart multiPart = new FormDataMultiPart()
+                .field("first", "1234")
+                .field("skipped", new byte[20000], MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                .field("empty", "")
+                .field("last", new byte[30000], MediaType.APPLICATION_OCTET_STREAM_TYPE);
+
+        final String response = target("iterate").request()
+                .post(Entity.entity(multiPart, multiPart.getMediaType()), String.class);
+
+        assertEquals("first=4;skipped=;empty=0;last=30000;", response);
+    }
+
+    @Test
+    public void testReadTwice() {
+        final String response = target("read-twice").request()
+                .post(Entity.entity(new FormDataMultiPart().field("foo", "bar"), MediaType.MULTIPART_FORM_DATA_TYPE),
+                        String.class);
+
+        assertEquals("OK", response);
+    }
+
+    @Test
+    public void testFormDataParamInputStream() {
+        final String response = target("stream").request()
+                .post(Entity.entity(form(50000), MediaType.MULTIPART_FORM_DATA_TYPE), String.class);
+
+        assertEquals("archive:archive.zip:50000", response);
+    }
+
+    @Test
+    public void testFormDataParamFile() {
+        final String response = target("file").request()
+                .post(Entity.entity(form(50000), MediaType.MULTIPART_FORM_DATA_TYPE), String.class);
+
+        assertEquals("archive:50000", response);
+    }
+
+    @Test
+    public void testFormDataMultiPart() {
+        final String response = target("form").request()
+                .post(Entity.entity(form(1000), MediaType.MULTIPART_FORM_DATA_TYPE), String.class);
+
+        assertEquals("2:archive", response);
+    }
+
+    @Test
+    public void testMaxPartSize() {
+        final Response response = target("stream").request()
+                .post(Entity.entity(form(MAX_PART_SIZE + 1), MediaType.MULTIPART_FORM_DATA_TYPE));
+
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    public void testMaxPartSizeFile() {
+        final Response response = target("file").request()
+                .post(Entity.entity(form(MAX_PART_SIZE + 1), MediaType.MULTIPART_FORM_DATA_TYPE));
+
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    public void testClientSide() throws IOException {
+        try (StreamingMultiPart multiPart = target("download").request().get(StreamingMultiPart.class)) {
+            final Iterator<BodyPart> parts = multiPart.iterator();
+
+            assertTrue(parts.hasNext());
+            assertEquals("first", parts.next().getEntityAs(String.class));
+
+            // Skip the second part.
+            assertTrue(parts.hasNext());
+            parts.next();
+
+            assertTrue(parts.hasNext());
+            assertEquals("third", parts.next().getEntityAs(String.class));
+            assertFalse(parts.hasNext());
+        }
+    }
+}
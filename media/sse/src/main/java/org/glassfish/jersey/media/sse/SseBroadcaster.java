@@ -40,6 +40,8 @@
 
 package org.glassfish.jersey.media.sse;
 
+import java.util.concurrent.Executor;
+
 import org.glassfish.jersey.server.Broadcaster;
 
 /**
@@ -74,4 +76,37 @@ public class SseBroadcaster extends Broadcaster<OutboundEvent> {
     protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass) {
         super(subclass);
     }
+
+    /**
+     * Creates a new instance writing broadcast events to the registered {@link EventOutput event outputs} in parallel
+     * using the supplied executor.
+     * <p>
+     * Events not yet written to a particular event output are queued; once more than {@code maxQueuedEvents} events are
+     * queued for an event output, the event output is evicted from this broadcaster and closed.
+     * </p>
+     *
+     * @param executor        executor used to write the events to the registered event outputs. Must not be {@code null}.
+     * @param maxQueuedEvents maximal number of events queued for a single event output. Must be positive.
+     * @see Broadcaster#Broadcaster(Executor, int)
+     * @since 3.0
+     */
+    public SseBroadcaster(final Executor executor, final int maxQueuedEvents) {
+        this(SseBroadcaster.class, executor, maxQueuedEvents);
+    }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link org.glassfish.jersey.server.BroadcasterListener listeners} when creating a broadcaster writing the events
+     * using an executor.
+     *
+     * @param subclass        subclass of SseBroadcaster that should not be registered as a listener - if creating a direct
+     *                        instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param executor        executor used to write the events to the registered event outputs. Must not be {@code null}.
+     * @param maxQueuedEvents maximal number of events queued for a single event output. Must be positive.
+     * @see #SseBroadcaster(Executor, int)
+     * @since 3.0
+     */
+    protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass, final Executor executor, final int maxQueuedEvents) {
+        super(subclass, executor, maxQueuedEvents);
+    }
 }
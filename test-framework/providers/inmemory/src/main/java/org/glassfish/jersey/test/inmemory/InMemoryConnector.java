@@ -137,10 +137,13 @@ class InMemoryConnector implements Connector {
 
         @Override
         public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse responseContext) {
-            List<Object> length = new ArrayList<>();
-            length.add(String.valueOf(contentLength));
+            // the entity size may be known to the writer of the entity even if it has not been buffered
+            if (contentLength != -1 || !responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)) {
+                List<Object> length = new ArrayList<>();
+                length.add(String.valueOf(contentLength));
 
-            responseContext.getHeaders().put(HttpHeaders.CONTENT_LENGTH, length);
+                responseContext.getHeaders().put(HttpHeaders.CONTENT_LENGTH, length);
+            }
             headers = responseContext.getStringHeaders();
             statusInfo = responseContext.getStatusInfo();
             return baos;
@@ -43,6 +43,7 @@ package org.glassfish.jersey.tests.e2e.common;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
@@ -91,7 +92,9 @@ import static org.hamcrest.Matchers.lessThan;
         LoggingFeatureTest.ClientTest.class,
         LoggingFeatureTest.ContainerTest.class,
         LoggingFeatureTest.ContainerAutodiscoveryTest.class,
-        LoggingFeatureTest.FiltersOrderTest.class
+        LoggingFeatureTest.FiltersOrderTest.class,
+        LoggingFeatureTest.ContainerAsyncTest.class,
+        LoggingFeatureTest.ContainerSamplingTest.class
 })
 public class LoggingFeatureTest {
 
@@ -130,6 +133,13 @@ public class LoggingFeatureTest {
                     .build();
         }
 
+        @Path("/error")
+        @GET
+        @Produces(TEXT_MEDIA_TYPE)
+        public Response getError() {
+            return Response.serverError().entity(ENTITY).build();
+        }
+
         @Path("/text")
         @POST
         @Produces(TEXT_MEDIA_TYPE)
@@ -355,6 +365,84 @@ public class LoggingFeatureTest {
         }
     }
 
+    /**
+     * Server side asynchronous logging tests.
+     */
+    public static class ContainerAsyncTest extends JerseyTest {
+
+        @Override
+        protected Application configure() {
+            set(TestProperties.RECORD_LOG_LEVEL, Level.FINE.intValue());
+
+            return new ResourceConfig(MyResource.class)
+                    .register(LoggingFeature.class)
+                    .property(LoggingFeature.LOGGING_FEATURE_LOGGER_NAME_SERVER, LOGGER_NAME)
+                    .property(LoggingFeature.LOGGING_FEATURE_ASYNC_QUEUE_SIZE_SERVER, 16);
+        }
+
+        @Test
+        public void testLoggingAsContainerTextPayload() throws Exception {
+            assertThat(target("/text").request().get().getStatus(), is(Response.Status.OK.getStatusCode()));
+
+            final List<LogRecord> records = awaitLoggingFilterLogRecords(this::getLoggedRecords, 2);
+            assertThat(records.get(0).getMessage(), containsString("1 * Server has received a request"));
+            assertThat(records.get(1).getMessage(), containsString("1 * Server responded with a response"));
+            assertThat(records.get(1).getMessage(), containsString(ENTITY));
+        }
+
+        @Test
+        public void testPostedEntityLogged() throws Exception {
+            assertThat(target("/text").request().post(Entity.text(ENTITY)).getStatus(),
+                    is(Response.Status.OK.getStatusCode()));
+
+            assertThat(awaitLoggingFilterLogRecords(this::getLoggedRecords, 2).get(0).getMessage(), containsString(ENTITY));
+        }
+    }
+
+    /**
+     * Server side sampling tests.
+     */
+    public static class ContainerSamplingTest extends JerseyTest {
+
+        @Override
+        protected Application configure() {
+            set(TestProperties.RECORD_LOG_LEVEL, Level.FINE.intValue());
+
+            return new ResourceConfig(MyResource.class)
+                    .register(LoggingFeature.class)
+                    .property(LoggingFeature.LOGGING_FEATURE_LOGGER_NAME_SERVER, LOGGER_NAME)
+                    .property(LoggingFeature.LOGGING_FEATURE_SAMPLE_RATE_SERVER, 2)
+                    .property(LoggingFeature.LOGGING_FEATURE_SLOW_THRESHOLD_SERVER, 60000);
+        }
+
+        @Test
+        public void testOnlySampledFailuresLogged() throws Exception {
+            // 1 - not sampled, 2 - fast, 3 - not sampled, 4 - server error.
+            assertThat(target("/text").request().get().getStatus(), is(Response.Status.OK.getStatusCode()));
+            assertThat(target("/text").request().get().getStatus(), is(Response.Status.OK.getStatusCode()));
+            assertThat(target("/error").request().get().getStatus(), is(500));
+            assertThat(target("/error").request().get().getStatus(), is(500));
+
+            final List<LogRecord> records = getLoggingFilterLogRecord(getLoggedRecords());
+            assertThat(records.size(), is(2));
+            assertThat(records.get(0).getMessage(), containsString("4 > GET"));
+            assertThat(records.get(1).getMessage(), containsString("4 < 500"));
+            assertThat(records.get(1).getMessage(), containsString(ENTITY));
+        }
+    }
+
+    private static List<LogRecord> awaitLoggingFilterLogRecords(final Supplier<List<LogRecord>> loggedRecords,
+                                                                final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        List<LogRecord> records = getLoggingFilterLogRecord(loggedRecords.get());
+        while (records.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            records = getLoggingFilterLogRecord(loggedRecords.get());
+        }
+        assertThat(records.size(), is(count));
+        return records;
+    }
+
     private static LogRecord getLoggingFilterRequestLogRecord(final List<LogRecord> records) {
         return getLoggingFilterLogRecord(records, true);
     }
@@ -0,0 +1,178 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.tests.e2e.entity.filtering.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.ext.ContextResolver;
+
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.message.filtering.EntityFilteringFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.tests.e2e.entity.filtering.PrimaryDetailedView;
+import org.glassfish.jersey.tests.e2e.entity.filtering.domain.ComplexEntity;
+
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Entity-filtering with Jackson must neither modify the user {@link ObjectMapper} nor share the state of the filtering among
+ * concurrent writes.
+ */
+public class JacksonEntityFilteringTest extends JerseyTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final AnnotationIntrospector INTROSPECTOR = MAPPER.getSerializationConfig().getAnnotationIntrospector();
+
+    @Path("/")
+    @Produces("application/json")
+    public static class Resource {
+
+        @GET
+        @Path("default")
+        public ComplexEntity defaultView() {
+            return ComplexEntity.INSTANCE;
+        }
+
+        @GET
+        @Path("primary")
+        @PrimaryDetailedView
+        public ComplexEntity primaryView() {
+            return ComplexEntity.INSTANCE;
+        }
+
+        @GET
+        @Path("list")
+        @PrimaryDetailedView
+        public List<ComplexEntity> list() {
+            return Arrays.asList(ComplexEntity.INSTANCE, ComplexEntity.INSTANCE);
+        }
+
+        @GET
+        @Path("other")
+        @PrimaryDetailedView
+        public ComplexEntity otherPrimaryView() {
+            return ComplexEntity.INSTANCE;
+        }
+    }
+
+    public JacksonEntityFilteringTest() {
+        super(new ResourceConfig(Resource.class, EntityFilteringFeature.class, JacksonFeature.class)
+                .register(new ContextResolver<ObjectMapper>() {
+                    @Override
+                    public ObjectMapper getContext(final Class<?> type) {
+                        return MAPPER;
+                    }
+                }));
+    }
+
+    @Test
+    public void testUserMapperNotModified() throws Exception {
+        final String primary = target("primary").request().get(String.class);
+        final String defaultView = target("default").request().get(String.class);
+
+        assertThat(primary, not(is(defaultView)));
+        assertThat(MAPPER.getSerializationConfig().getAnnotationIntrospector(), is(INTROSPECTOR));
+
+        // Plain (not filtered) serialization by the user mapper.
+        assertThat(MAPPER.writeValueAsString(ComplexEntity.INSTANCE), not(is(defaultView)));
+    }
+
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        final String[] paths = {"default", "primary", "list"};
+        final String[] expected = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            expected[i] = target(paths[i]).request().get(String.class);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                final String path = paths[i % paths.length];
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return target(path).request().get(String.class);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(paths[i % paths.length], results.get(i).get(), is(expected[i % paths.length]));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMapperChangeReflected() throws Exception {
+        final String primary = target("primary").request().get(String.class);
+        MAPPER.enable(SerializationFeature.INDENT_OUTPUT);
+        try {
+            // the filtering copy is re-created for an endpoint configured after the change
+            final String other = target("other").request().get(String.class);
+            assertThat(other, not(is(primary)));
+            assertThat(other.replaceAll("\\s", ""), is(primary.replaceAll("\\s", "")));
+        } finally {
+            MAPPER.disable(SerializationFeature.INDENT_OUTPUT);
+        }
+        assertThat(MAPPER.getSerializationConfig().getAnnotationIntrospector(), is(INTROSPECTOR));
+    }
+}
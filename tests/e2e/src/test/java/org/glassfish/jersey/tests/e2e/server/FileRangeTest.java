@@ -0,0 +1,177 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.e2e.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.filter.RangeFilter;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests that file entities and byte ranges of file entities are sent correctly by the containers, which may write
+ * them without copying the file content.
+ */
+public class FileRangeTest extends JerseyTest {
+
+    private static final int SIZE = 3 * 1024 * 1024 + 17;
+
+    private static File file;
+    private static byte[] content;
+
+    @Path("/")
+    public static class FileResource {
+
+        @GET
+        @Path("file")
+        public File file() {
+            return file;
+        }
+
+        @GET
+        @Path("path")
+        public java.nio.file.Path path() {
+            return file.toPath();
+        }
+    }
+
+    @BeforeClass
+    public static void createFile() throws IOException {
+        content = new byte[SIZE];
+        new Random(42).nextBytes(content);
+        file = File.createTempFile("range", ".bin");
+        Files.write(file.toPath(), content);
+    }
+
+    @AfterClass
+    public static void deleteFile() throws IOException {
+        Files.delete(file.toPath());
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(FileResource.class, RangeFilter.class);
+    }
+
+    @Test
+    public void testFile() {
+        for (final String path : Arrays.asList("file", "path")) {
+            final Response response = target(path).request().get();
+
+            assertEquals(200, response.getStatus());
+            assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+            assertEquals(SIZE, response.getLength());
+            assertNull(response.getHeaderString("Transfer-Encoding"));
+            assertArrayEquals(content, response.readEntity(byte[].class));
+        }
+    }
+
+    @Test
+    public void testSingleRange() {
+        for (final String path : Arrays.asList("file", "path")) {
+            final Response response = target(path).request().header("Range", "bytes=1000-2000999").get();
+
+            assertEquals(206, response.getStatus());
+            assertEquals("bytes 1000-2000999/" + SIZE, response.getHeaderString("Content-Range"));
+            assertEquals(2000000, response.getLength());
+            assertArrayEquals(Arrays.copyOfRange(content, 1000, 2001000), response.readEntity(byte[].class));
+        }
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        final Response response = target("file").request(MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                .header("Range", "bytes=0-99,-1048576").get();
+
+        assertEquals(206, response.getStatus());
+        final MediaType mediaType = response.getMediaType();
+        assertEquals("multipart/byteranges", mediaType.getType() + "/" + mediaType.getSubtype());
+        final String boundary = mediaType.getParameters().get("boundary");
+
+        final byte[] entity = response.readEntity(byte[].class);
+        assertEquals(entity.length, response.getLength());
+
+        final String first = "\r\n--" + boundary + "\r\n"
+                + "Content-Type: " + MediaType.APPLICATION_OCTET_STREAM + "\r\n"
+                + "Content-Range: bytes 0-99/" + SIZE + "\r\n\r\n";
+        final String second = "\r\n--" + boundary + "\r\n"
+                + "Content-Type: " + MediaType.APPLICATION_OCTET_STREAM + "\r\n"
+                + "Content-Range: bytes " + (SIZE - 1048576) + "-" + (SIZE - 1) + "/" + SIZE + "\r\n\r\n";
+        final String end = "\r\n--" + boundary + "--\r\n";
+
+        int offset = assertBytes(entity, 0, first.getBytes(StandardCharsets.US_ASCII));
+        offset = assertBytes(entity, offset, Arrays.copyOfRange(content, 0, 100));
+        offset = assertBytes(entity, offset, second.getBytes(StandardCharsets.US_ASCII));
+        offset = assertBytes(entity, offset, Arrays.copyOfRange(content, SIZE - 1048576, SIZE));
+        offset = assertBytes(entity, offset, end.getBytes(StandardCharsets.US_ASCII));
+        assertEquals(entity.length, offset);
+    }
+
+    @Test
+    public void testUnsatisfiableRange() {
+        final Response response = target("file").request().header("Range", "bytes=" + SIZE + "-").get();
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */" + SIZE, response.getHeaderString("Content-Range"));
+    }
+
+    private static int assertBytes(final byte[] actual, final int offset, final byte[] expected) {
+        assertArrayEquals(expected, Arrays.copyOfRange(actual, offset, offset + expected.length));
+        return offset + expected.length;
+    }
+}
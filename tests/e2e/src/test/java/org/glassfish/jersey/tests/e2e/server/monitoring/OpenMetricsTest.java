@@ -0,0 +1,115 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.tests.e2e.server.monitoring;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the OpenMetrics exposition of monitoring statistics enabled by
+ * {@link ServerProperties#MONITORING_STATISTICS_OPENMETRICS_PATH}.
+ */
+public class OpenMetricsTest extends JerseyTest {
+
+    @Override
+    protected Application configure() {
+        final ResourceConfig resourceConfig = new ResourceConfig(TestResource.class);
+        resourceConfig.property(ServerProperties.MONITORING_STATISTICS_OPENMETRICS_PATH, "metrics");
+        resourceConfig.property(ServerProperties.MONITORING_STATISTICS_REFRESH_INTERVAL, 50);
+        return resourceConfig;
+    }
+
+    @Path("resource")
+    public static class TestResource {
+
+        @GET
+        public String get() {
+            return "get";
+        }
+
+        @GET
+        @Path("conflict")
+        public String conflict() {
+            throw new WebApplicationException(409);
+        }
+    }
+
+    @Test
+    public void testExposition() throws Exception {
+        assertEquals(200, target().path("resource").request().get().getStatus());
+        assertEquals(409, target().path("resource/conflict").request().get().getStatus());
+
+        final String get = "jersey_resource_method_duration_seconds_count{class=\"" + TestResource.class.getName()
+                + "\",method=\"get\",http_method=\"GET\",path=\"/resource\"} 1\n";
+        final String conflict = "jersey_resource_method_duration_seconds_count{class=\"" + TestResource.class.getName()
+                + "\",method=\"conflict\",http_method=\"GET\",path=\"/resource/conflict\"} 1\n";
+
+        // events are processed asynchronously
+        String exposition = "";
+        for (int time = 0; time < 4000 && !(exposition.contains(get) && exposition.contains(conflict)); time += 100) {
+            Thread.sleep(100);
+
+            final Response response = target().path("metrics").request().get();
+            assertEquals(200, response.getStatus());
+            assertEquals(MediaType.valueOf("application/openmetrics-text; version=1.0.0; charset=utf-8"),
+                    response.getMediaType());
+            exposition = response.readEntity(String.class);
+        }
+
+        assertTrue(exposition, exposition.contains(get));
+        assertTrue(exposition, exposition.contains(conflict));
+        assertTrue(exposition, exposition.contains("jersey_responses_total{code=\"200\"} "));
+        assertTrue(exposition, exposition.contains("jersey_responses_total{code=\"409\"} 1\n"));
+        assertTrue(exposition, exposition.endsWith("\n# EOF\n"));
+    }
+}
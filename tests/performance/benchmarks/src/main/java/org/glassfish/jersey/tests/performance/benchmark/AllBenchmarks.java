@@ -57,8 +57,15 @@ public class AllBenchmarks {
         final Options opt = new OptionsBuilder()
                 // Register our benchmarks.
                 .include(ClientBenchmark.class.getSimpleName())
+                .include(DispatchBenchmark.class.getSimpleName())
+                .include(FilteringBenchmark.class.getSimpleName())
                 .include(JacksonBenchmark.class.getSimpleName())
                 .include(LocatorBenchmark.class.getSimpleName())
+                .include(MessageBodyWorkersBenchmark.class.getSimpleName())
+                .include(ParamInjectionBenchmark.class.getSimpleName())
+                .include(ResponseCommitBenchmark.class.getSimpleName())
+                .include(RoutingBenchmark.class.getSimpleName())
+                .include(WriterInterceptorBenchmark.class.getSimpleName())
                 // Measure throughput in seconds (ops/s).
                 .mode(Mode.Throughput)
                 .timeUnit(TimeUnit.SECONDS)
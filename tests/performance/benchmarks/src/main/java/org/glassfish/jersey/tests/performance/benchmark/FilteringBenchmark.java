@@ -0,0 +1,193 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.performance.benchmark;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.test.util.server.ContainerRequestBuilder;
+import org.glassfish.jersey.tests.performance.benchmark.server.ParamResource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Container filtering stage {@link org.glassfish.jersey.server.ApplicationHandler} benchmark.
+ * <p>
+ * The application registers {@code filters} request and response filters. These are either pre-matching
+ * or post-matching. The benchmark requests a resource method without parameters.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 16, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 16, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilteringBenchmark {
+
+    private static final Class<?>[] POST_MATCHING_FILTERS = {
+            PostMatchingFilter1.class, PostMatchingFilter2.class, PostMatchingFilter3.class,
+            PostMatchingFilter4.class, PostMatchingFilter5.class};
+
+    private static final Class<?>[] PRE_MATCHING_FILTERS = {
+            PreMatchingFilter1.class, PreMatchingFilter2.class, PreMatchingFilter3.class,
+            PreMatchingFilter4.class, PreMatchingFilter5.class};
+
+    @Param(value = {"0", "1", "5"})
+    private int filters;
+
+    @Param(value = {"false", "true"})
+    private boolean preMatching;
+
+    private volatile ApplicationHandler handler;
+    private volatile ContainerRequest request;
+
+    @Setup
+    public void start() throws Exception {
+        final ResourceConfig config = new ResourceConfig(ParamResource.class);
+        for (int i = 0; i < filters; i++) {
+            config.register(preMatching ? PRE_MATCHING_FILTERS[i] : POST_MATCHING_FILTERS[i]);
+        }
+
+        // Turn off Monitoring to not affect benchmarks.
+        config.property(ServerProperties.MONITORING_ENABLED, false);
+        config.property(ServerProperties.MONITORING_STATISTICS_ENABLED, false);
+        config.property(ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, false);
+
+        handler = new ApplicationHandler(config);
+    }
+
+    @Setup(Level.Iteration)
+    public void request() {
+        request = ContainerRequestBuilder
+                .from("params/none", "GET")
+                .build();
+    }
+
+    @Benchmark
+    public Future<ContainerResponse> measure() throws Exception {
+        return handler.apply(request);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(FilteringBenchmark.class.getSimpleName())
+                // Report allocation rate.
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private abstract static class NoopFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            requestContext.getHeaders();
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+            responseContext.getHeaders();
+        }
+    }
+
+    public static class PostMatchingFilter1 extends NoopFilter {
+    }
+
+    public static class PostMatchingFilter2 extends NoopFilter {
+    }
+
+    public static class PostMatchingFilter3 extends NoopFilter {
+    }
+
+    public static class PostMatchingFilter4 extends NoopFilter {
+    }
+
+    public static class PostMatchingFilter5 extends NoopFilter {
+    }
+
+    @PreMatching
+    public static class PreMatchingFilter1 extends NoopFilter {
+    }
+
+    @PreMatching
+    public static class PreMatchingFilter2 extends NoopFilter {
+    }
+
+    @PreMatching
+    public static class PreMatchingFilter3 extends NoopFilter {
+    }
+
+    @PreMatching
+    public static class PreMatchingFilter4 extends NoopFilter {
+    }
+
+    @PreMatching
+    public static class PreMatchingFilter5 extends NoopFilter {
+    }
+}
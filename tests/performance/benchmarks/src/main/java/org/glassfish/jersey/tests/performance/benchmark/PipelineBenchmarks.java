@@ -0,0 +1,88 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.performance.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the in-memory request processing pipeline benchmarks, one benchmark per processing stage, and reports
+ * the allocation rate (GC profiler) together with the throughput.
+ * <p>
+ * The benchmarks do not start any container, they drive {@link org.glassfish.jersey.server.ApplicationHandler}
+ * or the message body workers directly:
+ * <ul>
+ * <li>{@link RoutingBenchmark} - request routing,</li>
+ * <li>{@link FilteringBenchmark} - container request and response filtering,</li>
+ * <li>{@link ParamInjectionBenchmark} - parameter injection by the value supplier providers,</li>
+ * <li>{@link DispatchBenchmark} - resource method dispatch,</li>
+ * <li>{@link MessageBodyWorkersBenchmark} - message body reader/writer lookup,</li>
+ * <li>{@link WriterInterceptorBenchmark} - entity serialization through the writer interceptors,</li>
+ * <li>{@link ResponseCommitBenchmark} - response entity buffering and commit.</li>
+ * </ul>
+ * </p>
+ * Benchmarks can be selected by passing a regular expression as the first argument, e.g. {@code Filtering}.
+ */
+public class PipelineBenchmarks {
+
+    public static void main(final String[] args) throws Exception {
+        final OptionsBuilder builder = new OptionsBuilder();
+        if (args.length > 0) {
+            builder.include(args[0]);
+        } else {
+            builder.include(RoutingBenchmark.class.getSimpleName())
+                    .include(FilteringBenchmark.class.getSimpleName())
+                    .include(ParamInjectionBenchmark.class.getSimpleName())
+                    .include(DispatchBenchmark.class.getSimpleName())
+                    .include(MessageBodyWorkersBenchmark.class.getSimpleName())
+                    .include(WriterInterceptorBenchmark.class.getSimpleName())
+                    .include(ResponseCommitBenchmark.class.getSimpleName());
+        }
+
+        final Options opt = builder
+                // Report allocation rate.
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.performance.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Form;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.internal.PropertiesDelegate;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Writer interceptors benchmark measuring the entity serialization by {@link MessageBodyWorkers#writeTo} through
+ * the chain of {@code interceptors} pass-through writer interceptors.
+ * <p>
+ * The {@code entity} parameter selects the entity type ({@code String}, {@code byte[]} or {@code Form}) together with
+ * the corresponding media type.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 16, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 16, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriterInterceptorBenchmark {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    @Param(value = {"string", "bytes", "form"})
+    private String entity;
+
+    @Param(value = {"0", "1", "5"})
+    private int interceptors;
+
+    private volatile MessageBodyWorkers workers;
+    private volatile Object instance;
+    private volatile Class<?> type;
+    private volatile MediaType mediaType;
+    private volatile List<WriterInterceptor> writerInterceptors;
+
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private final PropertiesDelegate propertiesDelegate = new MapPropertiesDelegate();
+    private final OutputStream outputStream = new NullOutputStream();
+
+    @Setup
+    public void start() throws Exception {
+        final ResourceConfig config = new ResourceConfig();
+
+        // Turn off Monitoring to not affect benchmarks.
+        config.property(ServerProperties.MONITORING_ENABLED, false);
+        config.property(ServerProperties.MONITORING_STATISTICS_ENABLED, false);
+        config.property(ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, false);
+
+        workers = new ApplicationHandler(config).getInstanceManager().getInstance(MessageBodyWorkers.class);
+
+        switch (entity) {
+            case "bytes":
+                instance = "Hello World!".getBytes();
+                type = byte[].class;
+                mediaType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
+                break;
+            case "form":
+                instance = new Form("greeting", "Hello World!");
+                type = Form.class;
+                mediaType = MediaType.APPLICATION_FORM_URLENCODED_TYPE;
+                break;
+            default:
+                instance = "Hello World!";
+                type = String.class;
+                mediaType = MediaType.TEXT_PLAIN_TYPE;
+        }
+
+        final List<WriterInterceptor> list = new ArrayList<>();
+        for (int i = 0; i < interceptors; i++) {
+            list.add(new PassThroughInterceptor());
+        }
+        writerInterceptors = list;
+    }
+
+    @Benchmark
+    public OutputStream writeTo() throws IOException {
+        return workers.writeTo(instance, type, type, NO_ANNOTATIONS, mediaType, headers, propertiesDelegate, outputStream,
+                writerInterceptors);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(WriterInterceptorBenchmark.class.getSimpleName())
+                // Report allocation rate.
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static class PassThroughInterceptor implements WriterInterceptor {
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+            context.proceed();
+        }
+    }
+
+    private static class NullOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+            // NOOP
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            // NOOP
+        }
+    }
+}
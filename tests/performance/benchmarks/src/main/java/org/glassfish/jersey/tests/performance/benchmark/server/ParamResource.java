@@ -0,0 +1,118 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.performance.benchmark.server;
+
+import java.util.List;
+
+import javax.ws.rs.BeanParam;
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.MatrixParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+/**
+ * Resource with resource methods injecting parameters of the different kinds.
+ */
+@Path("params")
+@Produces("text/plain")
+public class ParamResource {
+
+    @GET
+    @Path("none")
+    public String getNone() {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("path/{name}/{id}")
+    public String getPath(@PathParam("name") final String name, @PathParam("id") final int id) {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("query")
+    public String getQuery(@QueryParam("name") final String name, @QueryParam("id") final int id,
+                           @QueryParam("tag") final List<String> tags) {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("header")
+    public String getHeader(@HeaderParam("X-Name") final String name, @HeaderParam("X-Id") final int id) {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("cookie")
+    public String getCookie(@CookieParam("name") final String name, @CookieParam("id") final int id) {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("matrix")
+    public String getMatrix(@MatrixParam("name") final String name, @MatrixParam("id") final int id) {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("bean/{name}")
+    public String getBean(@BeanParam final Params params) {
+        return "Hello World!";
+    }
+
+    /**
+     * Parameter aggregator injected as a {@link BeanParam bean parameter}.
+     */
+    public static class Params {
+
+        @PathParam("name")
+        private String name;
+
+        @QueryParam("id")
+        private int id;
+
+        @HeaderParam("X-Name")
+        private String header;
+    }
+}